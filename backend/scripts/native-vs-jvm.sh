@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Builds the native image, runs the smoke suite against it and against the JVM jar from the
+# same build, then compares time to first healthy response and RSS.
+#
+#   backend/scripts/native-vs-jvm.sh               # build, smoke-test both, compare
+#   SKIP_BUILD=1 backend/scripts/native-vs-jvm.sh  # reuse target/careerlog-backend and the jar
+#
+# Needs GraalVM for JDK 21 as JAVA_HOME for the build, and Docker for PostgreSQL.
+set -euo pipefail
+
+MODULE_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+cd "$MODULE_DIR"
+
+BINARY="target/careerlog-backend"
+JAR="target/careerlog-backend-0.0.1-SNAPSHOT-exec.jar"
+
+if [[ "${SKIP_BUILD:-0}" != "1" ]]; then
+  # One build produces both: the jar carries the same AOT code and enhanced entities
+  mvn -B -Pnative -DskipTests package native:compile
+fi
+
+run_smoke() {
+  local label="$1" command="$2"
+  # -Dsurefire.failIfNoSpecifiedTests=false keeps the other test classes out of the way
+  mvn -B -q -o surefire:test -Dtest=NativeSmokeTests -Dsurefire.failIfNoSpecifiedTests=false \
+      -Dsmoke.label="$label" -Dsmoke.command="$command"
+}
+
+run_smoke jvm "java -jar $JAR"
+run_smoke native "$BINARY"
+
+value() {
+  grep "^$2=" "target/smoke/$1.properties" | cut -d= -f2
+}
+
+printf '\n| build  | first healthy response (ms) | RSS after smoke run (MiB) |\n'
+printf '|--------|-----------------------------|---------------------------|\n'
+for label in jvm native; do
+  printf '| %-6s | %27s | %25s |\n' "$label" "$(value "$label" timeToHealthyMillis)" \
+      "$(( $(value "$label" rssKiB) / 1024 ))"
+done
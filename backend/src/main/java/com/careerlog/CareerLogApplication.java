@@ -1,13 +1,33 @@
 package com.careerlog;
 
+import com.careerlog.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableAsync
+@EnableScheduling
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class CareerLogApplication {
 
+    // Enough for every bean instantiation step with room to spare
+    private static final int STARTUP_STEP_CAPACITY = 4096;
+
     public static void main(String[] args) {
-        SpringApplication.run(CareerLogApplication.class, args);
+        createApplication().run(args);
+    }
+
+    /** The application as deployed, with startup steps buffered for /actuator/startup. */
+    public static SpringApplication createApplication() {
+        SpringApplication application = new SpringApplication(CareerLogApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        return application;
     }
 
-}
\ No newline at end of file
+}
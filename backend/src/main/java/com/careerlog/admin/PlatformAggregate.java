@@ -0,0 +1,101 @@
+package com.careerlog.admin;
+
+import com.careerlog.dto.PlatformAnalyticsResponse;
+import com.careerlog.dto.PlatformAnalyticsResponse.CompanyVolume;
+import com.careerlog.dto.PlatformAnalyticsResponse.OfferTiming;
+import com.careerlog.model.Activity.ActivityType;
+import com.tdunning.math.stats.TDigest;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Partial platform aggregates over some users. Every part is mergeable, so aggregates of
+ * disjoint user ranges combine into exactly what one scan over all of them would give, with
+ * percentiles estimated by a t-digest.
+ */
+final class PlatformAggregate {
+
+    /** Applications at one company; spelled the way its largest share of applications spell it. */
+    private static final class Company {
+
+        private String name;
+        private long nameCount;
+        private long applications;
+    }
+
+    private final Map<String, Company> companies = new HashMap<>();
+    private final Map<ActivityType, Long> activities = new EnumMap<>(ActivityType.class);
+    private final TDigest daysToOffer;
+    private long users;
+    private long applications;
+
+    PlatformAggregate(double compression) {
+        this.daysToOffer = TDigest.createMergingDigest(compression);
+    }
+
+    void addTotals(long users, long applications) {
+        this.users += users;
+        this.applications += applications;
+    }
+
+    void addCompany(String name, long count) {
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        String trimmed = name.trim();
+        Company company = companies.computeIfAbsent(trimmed.toLowerCase(Locale.ROOT), key -> new Company());
+        company.applications += count;
+        if (count > company.nameCount) {
+            company.name = trimmed;
+            company.nameCount = count;
+        }
+    }
+
+    void addActivities(ActivityType type, long count) {
+        activities.merge(type, count, Long::sum);
+    }
+
+    void addDaysToOffer(double days) {
+        daysToOffer.add(Math.max(0, days));
+    }
+
+    /** Folds {@code other} into this aggregate and returns this. */
+    PlatformAggregate merge(PlatformAggregate other) {
+        addTotals(other.users, other.applications);
+        other.companies.values().forEach(company -> {
+            Company merged = companies.computeIfAbsent(company.name.toLowerCase(Locale.ROOT), key -> new Company());
+            merged.applications += company.applications;
+            if (company.nameCount > merged.nameCount) {
+                merged.name = company.name;
+                merged.nameCount = company.nameCount;
+            }
+        });
+        other.activities.forEach(this::addActivities);
+        daysToOffer.add(other.daysToOffer);
+        return this;
+    }
+
+    PlatformAnalyticsResponse toResponse(Instant computedAt, int topCompanies, int userRanges, long scanMillis) {
+        List<CompanyVolume> top = companies.values().stream()
+                .sorted(Comparator.comparingLong((Company company) -> company.applications).reversed()
+                        .thenComparing(company -> company.name))
+                .limit(topCompanies)
+                .map(company -> new CompanyVolume(company.name, company.applications))
+                .toList();
+        long offers = daysToOffer.size();
+        OfferTiming timing = offers == 0 ? new OfferTiming(0, null, null)
+                : new OfferTiming(offers, round(daysToOffer.quantile(0.5)), round(daysToOffer.quantile(0.9)));
+        return new PlatformAnalyticsResponse(computedAt, users, applications, top, timing,
+                new EnumMap<>(activities), userRanges, scanMillis);
+    }
+
+    private static double round(double days) {
+        return Math.round(days * 10) / 10.0;
+    }
+}
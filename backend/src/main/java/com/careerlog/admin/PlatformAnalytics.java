@@ -0,0 +1,181 @@
+package com.careerlog.admin;
+
+import com.careerlog.dto.PlatformAnalyticsResponse;
+import com.careerlog.model.Activity.ActivityType;
+import com.careerlog.model.Application.ApplicationStatus;
+import com.careerlog.repository.ActivityRepository;
+import com.careerlog.repository.ApplicationRepository;
+import com.careerlog.repository.StatusTransitionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Aggregates over all users for admins and recruiters: application volume by company, time
+ * from application to offer, and the mix of activity types.
+ * <p>
+ * Users are split into contiguous user-id ranges of about equal application counts, and the
+ * ranges are scanned fork/join style on a dedicated pool, each in its own read-only
+ * transaction and so on its own connection, answering from the user-id indexes. The partial
+ * results are merged pairwise as the tasks join. The result is cached for {@code cache-ttl},
+ * or {@code min-refresh-interval} for a refresh, so refreshes can't run scans back to back;
+ * concurrent requests for a stale result wait for one scan rather than starting their own.
+ */
+@Service
+@Slf4j
+public class PlatformAnalytics implements AutoCloseable {
+
+    private final ApplicationRepository applicationRepository;
+    private final ActivityRepository activityRepository;
+    private final StatusTransitionRepository transitionRepository;
+    private final PlatformAnalyticsProperties properties;
+    private final TransactionTemplate readOnly;
+    private final ForkJoinPool pool;
+    private final Timer scans;
+    private final Object scanLock = new Object();
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(PlatformAnalyticsResponse response, long computedAtNanos) {
+    }
+
+    /** A user-id range, both ends inclusive. */
+    private record UserRange(String first, String last) {
+    }
+
+    public PlatformAnalytics(ApplicationRepository applicationRepository, ActivityRepository activityRepository,
+                             StatusTransitionRepository transitionRepository, PlatformAnalyticsProperties properties,
+                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        if (properties.getParallelism() < 1 || properties.getUserRanges() < 1) {
+            throw new IllegalStateException("careerlog.platform-analytics.parallelism and user-ranges must be at least 1");
+        }
+        this.applicationRepository = applicationRepository;
+        this.activityRepository = activityRepository;
+        this.transitionRepository = transitionRepository;
+        this.properties = properties;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.pool = new ForkJoinPool(properties.getParallelism(), forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("platform-analytics-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        this.scans = Timer.builder("careerlog.platform.scans")
+                .description("Platform-wide analytics scans over all user ranges")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The cached result, recomputed when older than the TTL, or with {@code refresh} when older
+     * than the minimum refresh interval.
+     */
+    public PlatformAnalyticsResponse getAnalytics(boolean refresh) {
+        long requestedAt = System.nanoTime();
+        Duration maxAge = refresh && properties.getMinRefreshInterval().compareTo(properties.getCacheTtl()) < 0
+                ? properties.getMinRefreshInterval() : properties.getCacheTtl();
+        Snapshot current = snapshot;
+        if (fresh(current, requestedAt, maxAge)) {
+            return current.response();
+        }
+        synchronized (scanLock) {
+            current = snapshot;
+            // Whatever finished while this request waited is as fresh as a refresh would be
+            if (fresh(current, requestedAt, maxAge)) {
+                return current.response();
+            }
+            PlatformAnalyticsResponse response = scans.record(this::scanAll);
+            snapshot = new Snapshot(response, System.nanoTime());
+            return response;
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private static boolean fresh(Snapshot current, long now, Duration maxAge) {
+        return current != null && now - current.computedAtNanos() < maxAge.toNanos();
+    }
+
+    private PlatformAnalyticsResponse scanAll() {
+        long start = System.nanoTime();
+        List<UserRange> ranges = userRanges();
+        PlatformAggregate total = ranges.isEmpty()
+                ? new PlatformAggregate(properties.getDigestCompression())
+                : pool.invoke(new RangeScan(ranges));
+        long millis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        log.info("Scanned {} user ranges for platform analytics in {} ms", ranges.size(), millis);
+        return total.toResponse(Instant.now(), properties.getTopCompanies(), ranges.size(), millis);
+    }
+
+    // Ranges from NTILE can share a boundary user; those are merged so no user is counted twice
+    private List<UserRange> userRanges() {
+        List<Object[]> rows = readOnly.execute(status -> applicationRepository.findUserIdRanges(properties.getUserRanges()));
+        List<UserRange> ranges = new ArrayList<>();
+        for (Object[] row : rows) {
+            String first = (String) row[0];
+            String last = (String) row[1];
+            if (!ranges.isEmpty() && ranges.get(ranges.size() - 1).last().equals(first)) {
+                first = ranges.remove(ranges.size() - 1).first();
+            }
+            ranges.add(new UserRange(first, last));
+        }
+        return ranges;
+    }
+
+    private PlatformAggregate scan(UserRange range) {
+        return readOnly.execute(status -> {
+            PlatformAggregate aggregate = new PlatformAggregate(properties.getDigestCompression());
+            for (Object[] row : applicationRepository.countUsersAndApplicationsInUserRange(range.first(), range.last())) {
+                aggregate.addTotals((Long) row[0], (Long) row[1]);
+            }
+            for (Object[] row : applicationRepository.countByCompanyInUserRange(range.first(), range.last())) {
+                aggregate.addCompany((String) row[0], (Long) row[1]);
+            }
+            for (Object[] row : activityRepository.countByTypeInUserRange(range.first(), range.last())) {
+                aggregate.addActivities((ActivityType) row[0], (Long) row[1]);
+            }
+            for (Object[] row : transitionRepository.findFirstTransitionsInUserRange(range.first(), range.last(),
+                    ApplicationStatus.OFFER)) {
+                LocalDateTime appliedAt = ((LocalDate) row[0]).atStartOfDay();
+                aggregate.addDaysToOffer(Duration.between(appliedAt, (LocalDateTime) row[1]).toMinutes() / 1440.0);
+            }
+            return aggregate;
+        });
+    }
+
+    /** Splits its ranges in half until one is left, which it scans; halves merge on join. */
+    private final class RangeScan extends RecursiveTask<PlatformAggregate> {
+
+        private final List<UserRange> ranges;
+
+        private RangeScan(List<UserRange> ranges) {
+            this.ranges = ranges;
+        }
+
+        @Override
+        protected PlatformAggregate compute() {
+            if (ranges.size() == 1) {
+                return scan(ranges.get(0));
+            }
+            int middle = ranges.size() / 2;
+            RangeScan left = new RangeScan(ranges.subList(0, middle));
+            left.fork();
+            PlatformAggregate right = new RangeScan(ranges.subList(middle, ranges.size())).compute();
+            return left.join().merge(right);
+        }
+    }
+}
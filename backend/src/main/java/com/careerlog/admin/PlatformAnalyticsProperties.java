@@ -0,0 +1,35 @@
+package com.careerlog.admin;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link PlatformAnalytics}. Each concurrent scan holds a pool connection, so
+ * keep {@code parallelism} well below the pool's maximum size.
+ */
+@ConfigurationProperties(prefix = "careerlog.platform-analytics")
+@Getter
+@Setter
+public class PlatformAnalyticsProperties {
+
+    /** User-id ranges scanned at once, each on its own read-only connection. */
+    private int parallelism = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+    /** User-id ranges the scan is split into; more than {@code parallelism} evens out skew. */
+    private int userRanges = 32;
+
+    /** How long a result is served before the next request recomputes it. */
+    private Duration cacheTtl = Duration.ofMinutes(10);
+
+    /** How old a result must be before {@code refresh} recomputes it; younger ones are served. */
+    private Duration minRefreshInterval = Duration.ofMinutes(1);
+
+    /** Companies listed, by application volume. */
+    private int topCompanies = 50;
+
+    /** t-digest compression: higher is more accurate and larger. */
+    private double digestCompression = 100;
+}
@@ -0,0 +1,21 @@
+package com.careerlog.analytics;
+
+import com.careerlog.model.Activity.ActivityType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Published by the services when a write changes a user's daily counts; applied to the
+ * cached series once the transaction commits. {@code activityType} is null for applications.
+ */
+public record DailyCountChange(String userId, ActivityType activityType, LocalDate day, int delta) {
+
+    public static DailyCountChange application(String userId, LocalDate applicationDate, int delta) {
+        return new DailyCountChange(userId, null, applicationDate, delta);
+    }
+
+    public static DailyCountChange activity(String userId, ActivityType type, LocalDateTime dateTime, int delta) {
+        return new DailyCountChange(userId, type, dateTime.toLocalDate(), delta);
+    }
+}
@@ -0,0 +1,48 @@
+package com.careerlog.analytics;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Counts per calendar day, stored sparsely as parallel arrays sorted by epoch day, so a user
+ * with a few dozen active days costs a few hundred bytes whatever the time span. Not
+ * thread-safe; {@link UserTimeSeries} guards it.
+ */
+final class DailyCounts {
+
+    private int[] days = new int[8];
+    private long[] counts = new long[8];
+    private int size;
+
+    void add(LocalDate day, long delta) {
+        int epochDay = Math.toIntExact(day.toEpochDay());
+        int index = Arrays.binarySearch(days, 0, size, epochDay);
+        if (index >= 0) {
+            counts[index] += delta;
+            return;
+        }
+        int insertAt = -index - 1;
+        if (size == days.length) {
+            days = Arrays.copyOf(days, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+        }
+        System.arraycopy(days, insertAt, days, insertAt + 1, size - insertAt);
+        System.arraycopy(counts, insertAt, counts, insertAt + 1, size - insertAt);
+        days[insertAt] = epochDay;
+        counts[insertAt] = delta;
+        size++;
+    }
+
+    /**
+     * Adds the counts of days in {@code [from, to]} into {@code buckets}, where bucket 0 is the
+     * one containing {@code from}.
+     */
+    void sumInto(long[] buckets, LocalDate from, LocalDate to, Granularity granularity) {
+        LocalDate firstBucket = granularity.bucketStart(from);
+        int index = Arrays.binarySearch(days, 0, size, Math.toIntExact(from.toEpochDay()));
+        long last = to.toEpochDay();
+        for (int i = index >= 0 ? index : -index - 1; i < size && days[i] <= last; i++) {
+            buckets[(int) granularity.bucketsBetween(firstBucket, LocalDate.ofEpochDay(days[i]))] += counts[i];
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.careerlog.analytics;
+
+import com.careerlog.dto.FunnelResponse;
+import com.careerlog.events.ChangeEvent;
+import com.careerlog.model.StatusTransition;
+import com.careerlog.repository.StatusTransitionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Funnel conversion and time-in-stage analytics over the status-transition log.
+ * <p>
+ * Each user's {@link UserFunnel} is built from the log on first read and then kept current
+ * incrementally: transitions committed on this instance are applied as they happen, and
+ * transitions from other instances are picked up every {@code refresh-interval} by reading
+ * the rows after the last one read, and those recorded within {@code commit-lag} before the
+ * previous read, in case they committed late. Serving the funnel is then proportional to the
+ * number of stages, not to the history. Deleting an application drops the user's state, which
+ * is rebuilt on the next read.
+ */
+@Service
+public class FunnelAnalytics {
+
+    private final StatusTransitionRepository transitionRepository;
+    private final FunnelProperties properties;
+    private final Map<String, UserFunnel> funnels;
+
+    public FunnelAnalytics(StatusTransitionRepository transitionRepository, FunnelProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.transitionRepository = transitionRepository;
+        this.properties = properties;
+        int maxUsers = properties.getMaxCachedUsers();
+        this.funnels = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserFunnel> eldest) {
+                return size() > maxUsers;
+            }
+        };
+        Gauge.builder("careerlog.funnel.cached.users", this, FunnelAnalytics::cachedUsers)
+                .description("Users whose funnel state is held in memory")
+                .register(meterRegistry);
+    }
+
+    public FunnelResponse getFunnel(String userId) {
+        UserFunnel funnel = cached(userId);
+        if (funnel == null) {
+            UserFunnel loaded = new UserFunnel(properties.getCommitLag());
+            LocalDateTime readAt = LocalDateTime.now();
+            loaded.apply(transitionRepository.findByUserIdAndIdGreaterThanOrderById(userId, 0L), readAt);
+            synchronized (funnels) {
+                funnel = funnels.putIfAbsent(userId, loaded);
+            }
+            if (funnel == null) {
+                funnel = loaded;
+                // Transitions committed between the load and the put reached no cached funnel
+                catchUp(userId, funnel);
+            }
+        } else if (funnel.refreshDue(properties.getRefreshInterval())) {
+            catchUp(userId, funnel);
+        }
+        return funnel.snapshot();
+    }
+
+    @TransactionalEventListener
+    public void onTransition(StatusTransition transition) {
+        UserFunnel funnel = cached(transition.getUserId());
+        if (funnel != null) {
+            funnel.apply(transition);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onChange(ChangeEvent event) {
+        if (event.entity() == ChangeEvent.Entity.APPLICATION && event.action() == ChangeEvent.Action.DELETED) {
+            synchronized (funnels) {
+                funnels.remove(event.userId());
+            }
+        }
+    }
+
+    private void catchUp(String userId, UserFunnel funnel) {
+        LocalDateTime readAt = LocalDateTime.now();
+        funnel.apply(transitionRepository.findForCatchUp(userId, funnel.lastId(), funnel.recheckSince()), readAt);
+    }
+
+    private UserFunnel cached(String userId) {
+        synchronized (funnels) {
+            return funnels.get(userId);
+        }
+    }
+
+    private double cachedUsers() {
+        synchronized (funnels) {
+            return funnels.size();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.careerlog.analytics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the per-user funnel and time-in-stage analytics served at
+ * {@code /dashboard/analytics/funnel}.
+ */
+@ConfigurationProperties(prefix = "careerlog.funnel")
+@Getter
+@Setter
+public class FunnelProperties {
+
+    /** Users whose funnel state is kept in memory; the least recently read are dropped first. */
+    private int maxCachedUsers = 10_000;
+
+    /** How often a cached funnel picks up transitions written by other instances. */
+    private Duration refreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * How far before its last read a catch-up looks again for transitions that committed after
+     * a higher id was read: the longest a transaction writing transitions runs, plus clock skew
+     * between instances.
+     */
+    private Duration commitLag = Duration.ofMinutes(1);
+
+    /** Reconstruct history for applications that predate the transition log at startup. */
+    private boolean backfillOnStartup = true;
+
+    /** Applications backfilled per transaction. */
+    private int backfillBatchSize = 500;
+}
@@ -0,0 +1,37 @@
+package com.careerlog.analytics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/** Bucket size of a time series. Weeks start on Monday, as in ISO-8601. */
+public enum Granularity {
+    DAY(ChronoUnit.DAYS),
+    WEEK(ChronoUnit.WEEKS),
+    MONTH(ChronoUnit.MONTHS);
+
+    private final ChronoUnit unit;
+
+    Granularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /** First day of the bucket containing {@code day}. */
+    public LocalDate bucketStart(LocalDate day) {
+        return switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    LocalDate plus(LocalDate bucketStart, long buckets) {
+        return bucketStart.plus(buckets, unit);
+    }
+
+    /** Buckets from the one starting at {@code firstBucketStart} to the one containing {@code day}. */
+    long bucketsBetween(LocalDate firstBucketStart, LocalDate day) {
+        return unit.between(firstBucketStart, bucketStart(day));
+    }
+}
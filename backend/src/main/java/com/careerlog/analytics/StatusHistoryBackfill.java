@@ -0,0 +1,169 @@
+package com.careerlog.analytics;
+
+import com.careerlog.model.Activity.ActivityType;
+import com.careerlog.model.Application.ApplicationStatus;
+import com.careerlog.model.StatusTransition;
+import com.careerlog.repository.ActivityRepository;
+import com.careerlog.repository.StatusTransitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reconstructs status history for applications created before the transition log existed.
+ * <p>
+ * Each such application starts as APPLIED on its application date and then follows the
+ * activities that imply a stage (a phone screen, a coding test, an offer call...), moving
+ * only forward, until a rejection. Activities dated in the future are ignored. If the
+ * current status differs from where the activities lead, a final transition to it is added
+ * at the last known point in time, since when it happened was never recorded.
+ * <p>
+ * Runs at startup in batches; applications that already have transitions are skipped, so it
+ * is safe to run repeatedly, and an advisory lock keeps concurrent instances from doubling up.
+ */
+@Component
+@Slf4j
+public class StatusHistoryBackfill {
+
+    private static final long LOCK_KEY = 0x636c_6261_636b_66L;
+
+    private static final Map<ActivityType, ApplicationStatus> STAGE_BY_ACTIVITY = new EnumMap<>(Map.of(
+            ActivityType.APPLICATION_SUBMITTED, ApplicationStatus.APPLIED,
+            ActivityType.PHONE_SCREEN, ApplicationStatus.PHONE_SCREEN,
+            ActivityType.TECHNICAL_INTERVIEW, ApplicationStatus.TECHNICAL_INTERVIEW,
+            ActivityType.SYSTEM_DESIGN, ApplicationStatus.TECHNICAL_INTERVIEW,
+            ActivityType.CODING_TEST, ApplicationStatus.TECHNICAL_INTERVIEW,
+            ActivityType.TAKE_HOME_ASSIGNMENT, ApplicationStatus.TECHNICAL_INTERVIEW,
+            ActivityType.BEHAVIORAL_INTERVIEW, ApplicationStatus.BEHAVIORAL_INTERVIEW,
+            ActivityType.FINAL_ROUND, ApplicationStatus.FINAL_ROUND,
+            ActivityType.OFFER_CALL, ApplicationStatus.OFFER,
+            ActivityType.REJECTION, ApplicationStatus.REJECTED));
+
+    private final StatusTransitionRepository transitionRepository;
+    private final ActivityRepository activityRepository;
+    private final FunnelProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public StatusHistoryBackfill(StatusTransitionRepository transitionRepository, ActivityRepository activityRepository,
+                                 FunnelProperties properties, PlatformTransactionManager transactionManager) {
+        this.transitionRepository = transitionRepository;
+        this.activityRepository = activityRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!properties.isBackfillOnStartup()) {
+            return;
+        }
+        try {
+            int applications = backfill();
+            if (applications > 0) {
+                log.info("Backfilled status history for {} applications", applications);
+            }
+        } catch (RuntimeException e) {
+            // The funnel just lacks older applications until the next successful run
+            log.warn("Status history backfill failed", e);
+        }
+    }
+
+    /** Returns the number of applications given a history. */
+    public int backfill() {
+        int total = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            Batch batch = transactionTemplate.execute(status -> backfillBatch(from));
+            if (batch == null) {
+                log.info("Status history backfill is running on another instance");
+                return total;
+            }
+            total += batch.applications();
+            if (batch.lastApplicationId() == null) {
+                return total;
+            }
+            afterId = batch.lastApplicationId();
+        }
+    }
+
+    private record Batch(int applications, Long lastApplicationId) {
+    }
+
+    private Batch backfillBatch(long afterId) {
+        if (!transitionRepository.tryAdvisoryLock(LOCK_KEY)) {
+            return null;
+        }
+        List<Object[]> applications = transitionRepository.findApplicationsWithoutHistory(afterId,
+                PageRequest.ofSize(properties.getBackfillBatchSize()));
+        if (applications.isEmpty()) {
+            return new Batch(0, null);
+        }
+
+        List<Long> ids = applications.stream().map(row -> (Long) row[0]).toList();
+        Map<Long, List<Object[]>> timelines = activityRepository.findTimelineByApplicationIds(ids).stream()
+                .collect(Collectors.groupingBy(row -> (Long) row[0]));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<StatusTransition> transitions = new ArrayList<>();
+        for (Object[] application : applications) {
+            Long id = (Long) application[0];
+            transitions.addAll(reconstruct(id, (String) application[1], (ApplicationStatus) application[2],
+                    (LocalDate) application[3], timelines.getOrDefault(id, List.of()), now));
+        }
+        transitionRepository.saveAll(transitions);
+        return new Batch(applications.size(), ids.get(ids.size() - 1));
+    }
+
+    /** {@code timeline} rows are (application id, activity type, date time), oldest first. */
+    static List<StatusTransition> reconstruct(Long applicationId, String userId, ApplicationStatus status,
+                                              LocalDate applicationDate, List<Object[]> timeline, LocalDateTime now) {
+        List<StatusTransition> transitions = new ArrayList<>();
+        ApplicationStatus stage = ApplicationStatus.APPLIED;
+        LocalDateTime at = applicationDate.atStartOfDay();
+        transitions.add(transition(applicationId, userId, null, stage, at));
+
+        for (Object[] activity : timeline) {
+            ApplicationStatus next = STAGE_BY_ACTIVITY.get((ActivityType) activity[1]);
+            LocalDateTime dateTime = (LocalDateTime) activity[2];
+            if (dateTime.isAfter(now) || stage == ApplicationStatus.REJECTED) {
+                break;
+            }
+            if (next == null || (next != ApplicationStatus.REJECTED && next.ordinal() <= stage.ordinal())) {
+                continue;
+            }
+            at = dateTime.isAfter(at) ? dateTime : at;
+            transitions.add(transition(applicationId, userId, stage, next, at));
+            stage = next;
+        }
+
+        if (status != null && status != stage) {
+            transitions.add(transition(applicationId, userId, stage, status, at));
+        }
+        return transitions;
+    }
+
+    private static StatusTransition transition(Long applicationId, String userId, ApplicationStatus from,
+                                               ApplicationStatus to, LocalDateTime at) {
+        return StatusTransition.builder()
+                .applicationId(applicationId)
+                .userId(userId)
+                .fromStatus(from)
+                .toStatus(to)
+                .transitionedAt(at)
+                .source(StatusTransition.Source.BACKFILLED)
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.careerlog.analytics;
+
+import com.careerlog.dto.TimeSeriesResponse;
+import com.careerlog.events.ChangeEvent;
+import com.careerlog.exception.BadRequestException;
+import com.careerlog.model.Activity.ActivityType;
+import com.careerlog.repository.ActivityRepository;
+import com.careerlog.repository.ApplicationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Application and activity counts over time, answered from per-user daily buckets.
+ * <p>
+ * A user's buckets are loaded with one grouped query per kind on first read, then kept up to
+ * date from {@link DailyCountChange}s as writes commit; any range is then summed from the
+ * buckets into day, week or month totals without touching the database. A load is only kept
+ * if no change to the user's counts committed while it ran, since it may or may not include
+ * that change; otherwise it serves the one read. Writes made through other instances show up
+ * when the buckets are reloaded after {@code reload-after}. Deleting an application, which
+ * takes its activities with it, drops the user's buckets.
+ */
+@Service
+public class TimeSeriesAnalytics {
+
+    public enum Series { APPLICATIONS, ACTIVITIES }
+
+    private final ApplicationRepository applicationRepository;
+    private final ActivityRepository activityRepository;
+    private final TimeSeriesProperties properties;
+    private final Map<String, UserTimeSeries> users;
+    // Bumped on every change to a user's counts, striped by user, so a load that ran meanwhile
+    // is known to be possibly off by it
+    private final AtomicLongArray changes = new AtomicLongArray(64);
+
+    public TimeSeriesAnalytics(ApplicationRepository applicationRepository, ActivityRepository activityRepository,
+                               TimeSeriesProperties properties, MeterRegistry meterRegistry) {
+        this.applicationRepository = applicationRepository;
+        this.activityRepository = activityRepository;
+        this.properties = properties;
+        int maxUsers = properties.getMaxCachedUsers();
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserTimeSeries> eldest) {
+                return size() > maxUsers;
+            }
+        };
+        Gauge.builder("careerlog.time-series.cached.users", this, TimeSeriesAnalytics::cachedUsers)
+                .description("Users whose daily counts are held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts in {@code [from, to]}. For {@link Series#ACTIVITIES}, {@code activityType} narrows
+     * to one type; null counts all of them.
+     */
+    public TimeSeriesResponse getSeries(String userId, Series series, ActivityType activityType,
+                                        LocalDate from, LocalDate to, Granularity granularity) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        LocalDate firstBucket = granularity.bucketStart(from);
+        long bucketCount = granularity.bucketsBetween(firstBucket, to) + 1;
+        if (bucketCount > properties.getMaxBuckets()) {
+            throw new BadRequestException("Range spans " + bucketCount + " buckets; at most "
+                    + properties.getMaxBuckets() + " are allowed");
+        }
+
+        LocalDate[] buckets = new LocalDate[(int) bucketCount];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = granularity.plus(firstBucket, i);
+        }
+        long[] counts = new long[buckets.length];
+
+        UserTimeSeries user = user(userId);
+        if (series == Series.APPLICATIONS) {
+            if (user.needsApplications(properties.getReloadAfter())) {
+                long changesBefore = changes.get(stripe(userId));
+                List<Object[]> rows = applicationRepository.countByUserIdPerApplicationDate(userId);
+                user = load(user, userId, changesBefore, loading -> loading.loadApplications(rows));
+            }
+            user.sumApplications(counts, from, to, granularity);
+            return new TimeSeriesResponse("applications", null, granularity, from, to, buckets, counts);
+        }
+        if (user.needsActivities(properties.getReloadAfter())) {
+            long changesBefore = changes.get(stripe(userId));
+            List<Object[]> rows = activityRepository.countByUserIdPerTypeAndDay(userId);
+            user = load(user, userId, changesBefore, loading -> loading.loadActivities(rows));
+        }
+        user.sumActivities(activityType, counts, from, to, granularity);
+        return new TimeSeriesResponse("activities", activityType, granularity, from, to, buckets, counts);
+    }
+
+    @TransactionalEventListener
+    public void onDailyCountChange(DailyCountChange change) {
+        changes.incrementAndGet(stripe(change.userId()));
+        UserTimeSeries user;
+        synchronized (users) {
+            user = users.get(change.userId());
+        }
+        if (user != null) {
+            user.apply(change);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onChange(ChangeEvent event) {
+        if (event.entity() == ChangeEvent.Entity.APPLICATION && event.action() == ChangeEvent.Action.DELETED) {
+            synchronized (users) {
+                users.remove(event.userId());
+            }
+        }
+    }
+
+    /**
+     * Applies rows read by a query to the cached series, or, if a change committed since
+     * {@code changesBefore} was read, to a series serving this read only.
+     */
+    private UserTimeSeries load(UserTimeSeries user, String userId, long changesBefore,
+                                Consumer<UserTimeSeries> load) {
+        // Changes are applied under the same lock, so none lands between the check and the load
+        synchronized (user) {
+            if (changes.get(stripe(userId)) == changesBefore) {
+                load.accept(user);
+                return user;
+            }
+        }
+        UserTimeSeries once = new UserTimeSeries();
+        load.accept(once);
+        return once;
+    }
+
+    private int stripe(String userId) {
+        return userId.hashCode() & (changes.length() - 1);
+    }
+
+    private UserTimeSeries user(String userId) {
+        synchronized (users) {
+            return users.computeIfAbsent(userId, id -> new UserTimeSeries());
+        }
+    }
+
+    private double cachedUsers() {
+        synchronized (users) {
+            return users.size();
+        }
+    }
+}
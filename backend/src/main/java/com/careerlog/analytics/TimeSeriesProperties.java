@@ -0,0 +1,28 @@
+package com.careerlog.analytics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the per-user daily count series behind the weekly and time-series endpoints.
+ */
+@ConfigurationProperties(prefix = "careerlog.time-series")
+@Getter
+@Setter
+public class TimeSeriesProperties {
+
+    /** Users whose daily counts are kept in memory; the least recently read are dropped first. */
+    private int maxCachedUsers = 10_000;
+
+    /**
+     * Age after which a user's counts are reloaded, which bounds how long writes made through
+     * other instances go unseen.
+     */
+    private Duration reloadAfter = Duration.ofMinutes(5);
+
+    /** Most buckets a single request may ask for. */
+    private int maxBuckets = 1_000;
+}
@@ -0,0 +1,184 @@
+package com.careerlog.analytics;
+
+import com.careerlog.dto.FunnelResponse;
+import com.careerlog.model.Application.ApplicationStatus;
+import com.careerlog.model.StatusTransition;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One user's funnel counters and time-in-stage histograms, updated one transition at a time.
+ * Keeps the current stage of each application so transitions can be applied in any
+ * combination of initial load, catch-up and live events, each counted once.
+ * <p>
+ * Ids are assigned on insert, not on commit, so a row can become visible after a higher id
+ * was read. A catch-up therefore reads the rows after the highest id read and, again, those
+ * recorded within {@code commitLag} before the previous read; the ids applied in that window
+ * are kept to skip the ones seen before. A transition that arrives after a newer one of the
+ * same application still counts for the stages it reached, but leaves the current stage alone.
+ */
+final class UserFunnel {
+
+    static final List<ApplicationStatus> STAGES = List.of(
+            ApplicationStatus.APPLIED, ApplicationStatus.PHONE_SCREEN, ApplicationStatus.TECHNICAL_INTERVIEW,
+            ApplicationStatus.BEHAVIORAL_INTERVIEW, ApplicationStatus.FINAL_ROUND, ApplicationStatus.OFFER);
+
+    private static final long[] BUCKET_UPPER_DAYS = {1, 3, 7, 14, 30, 60};
+    private static final String[] BUCKET_LABELS = {"<1d", "1-3d", "3-7d", "7-14d", "14-30d", "30-60d", "60d+"};
+    private static final double SECONDS_PER_DAY = 86_400.0;
+
+    private final Map<Long, ApplicationState> applications = new HashMap<>();
+    private final long[] reached = new long[STAGES.size()];
+    private final long[] current = new long[ApplicationStatus.values().length];
+    private final long[] rejected = new long[STAGES.size()];
+    private final long[] withdrawn = new long[STAGES.size()];
+    private final long[][] histograms = new long[STAGES.size()][BUCKET_LABELS.length];
+    private final long[] stageSeconds = new long[STAGES.size()];
+    private final long[] stageSamples = new long[STAGES.size()];
+    // Applied transitions a catch-up may read again, with when they were recorded
+    private final Map<Long, LocalDateTime> recent = new HashMap<>();
+    private final Duration commitLag;
+    private long lastId;
+    private LocalDateTime lastReadAt;
+    private long refreshedAt = System.nanoTime();
+
+    private static final class ApplicationState {
+        private long lastId;
+        private ApplicationStatus status;
+        private LocalDateTime enteredAt;
+        private int reachedStages;
+    }
+
+    UserFunnel(Duration commitLag) {
+        this.commitLag = commitLag;
+    }
+
+    /** The highest id read from the database; catch-up reads the rows after it. */
+    synchronized long lastId() {
+        return lastId;
+    }
+
+    /** Catch-up also reads the rows recorded after this, which may have committed behind {@link #lastId()}. */
+    synchronized LocalDateTime recheckSince() {
+        return lastReadAt.minus(commitLag);
+    }
+
+    synchronized boolean refreshDue(Duration interval) {
+        long now = System.nanoTime();
+        if (now - refreshedAt < interval.toNanos()) {
+            return false;
+        }
+        refreshedAt = now;
+        return true;
+    }
+
+    /**
+     * Applies rows read from the database by a query started at {@code readAt}, and moves the
+     * catch-up watermark past them.
+     */
+    synchronized void apply(List<StatusTransition> transitions, LocalDateTime readAt) {
+        for (StatusTransition transition : transitions) {
+            apply(transition);
+            lastId = Math.max(lastId, transition.getId());
+        }
+        if (lastReadAt == null || readAt.isAfter(lastReadAt)) {
+            lastReadAt = readAt;
+        }
+        // Rows at or below the watermark recorded before the window are never read again
+        LocalDateTime since = recheckSince();
+        recent.entrySet().removeIf(entry -> entry.getKey() <= lastId
+                && (entry.getValue() == null || !entry.getValue().isAfter(since)));
+    }
+
+    /** Applies one transition as it is committed; the next catch-up still reads everything after {@link #lastId()}. */
+    synchronized void apply(StatusTransition transition) {
+        if (recent.containsKey(transition.getId())) {
+            return;
+        }
+        recent.put(transition.getId(), transition.getRecordedAt());
+        ApplicationState application = applications.computeIfAbsent(transition.getApplicationId(),
+                id -> new ApplicationState());
+        ApplicationStatus to = transition.getToStatus();
+        if (transition.getId() < application.lastId) {
+            markReached(application, to);
+            return;
+        }
+        application.lastId = transition.getId();
+
+        LocalDateTime at = transition.getTransitionedAt();
+        ApplicationStatus from = application.status;
+        if (from == to) {
+            return;
+        }
+        if (from != null) {
+            current[from.ordinal()]--;
+            int fromStage = STAGES.indexOf(from);
+            if (fromStage >= 0) {
+                recordStay(fromStage, Duration.between(application.enteredAt, at));
+                if (to == ApplicationStatus.REJECTED) {
+                    rejected[fromStage]++;
+                } else if (to == ApplicationStatus.WITHDRAWN) {
+                    withdrawn[fromStage]++;
+                }
+            }
+        }
+        current[to.ordinal()]++;
+        markReached(application, to);
+        application.status = to;
+        application.enteredAt = at;
+    }
+
+    synchronized FunnelResponse snapshot() {
+        List<FunnelResponse.Stage> stages = new ArrayList<>(STAGES.size());
+        for (int i = 0; i < STAGES.size(); i++) {
+            ApplicationStatus status = STAGES.get(i);
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int bucket = 0; bucket < BUCKET_LABELS.length; bucket++) {
+                histogram.put(BUCKET_LABELS[bucket], histograms[i][bucket]);
+            }
+            double meanDays = stageSamples[i] > 0 ? round(stageSeconds[i] / SECONDS_PER_DAY / stageSamples[i]) : 0.0;
+            stages.add(new FunnelResponse.Stage(status.name(), status.getDisplayName(), reached[i],
+                    percentage(reached[i], i == 0 ? reached[0] : reached[i - 1]), percentage(reached[i], reached[0]),
+                    current[status.ordinal()], rejected[i], withdrawn[i],
+                    new FunnelResponse.TimeInStage(stageSamples[i], meanDays, histogram)));
+        }
+        return new FunnelResponse(applications.size(), stages);
+    }
+
+    private void markReached(ApplicationState application, ApplicationStatus status) {
+        // Every application has at least applied; a later stage implies the ones before it
+        int stage = Math.max(0, STAGES.indexOf(status));
+        for (int i = 0; i <= stage; i++) {
+            if ((application.reachedStages & (1 << i)) == 0) {
+                application.reachedStages |= 1 << i;
+                reached[i]++;
+            }
+        }
+    }
+
+    private void recordStay(int stage, Duration stay) {
+        // Backfilled history can put two transitions at the same instant; clock skew can do worse
+        long seconds = Math.max(0, stay.toSeconds());
+        int bucket = 0;
+        while (bucket < BUCKET_UPPER_DAYS.length && seconds >= BUCKET_UPPER_DAYS[bucket] * SECONDS_PER_DAY) {
+            bucket++;
+        }
+        histograms[stage][bucket]++;
+        stageSeconds[stage] += seconds;
+        stageSamples[stage]++;
+    }
+
+    private static double percentage(long count, long total) {
+        return total > 0 ? round(count * 100.0 / total) : 0.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
@@ -0,0 +1,72 @@
+package com.careerlog.analytics;
+
+import com.careerlog.model.Activity.ActivityType;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One user's daily application counts and daily activity counts per type. The two are
+ * loaded independently, on first use, so a page that only charts applications never reads
+ * activities; changes to a part that isn't loaded are ignored.
+ */
+final class UserTimeSeries {
+
+    private DailyCounts applications;
+    private long applicationsLoadedAt;
+    private Map<ActivityType, DailyCounts> activities;
+    private long activitiesLoadedAt;
+
+    synchronized boolean needsApplications(Duration maxAge) {
+        return applications == null || System.nanoTime() - applicationsLoadedAt > maxAge.toNanos();
+    }
+
+    synchronized boolean needsActivities(Duration maxAge) {
+        return activities == null || System.nanoTime() - activitiesLoadedAt > maxAge.toNanos();
+    }
+
+    /** Rows are (day, count). */
+    synchronized void loadApplications(List<Object[]> rows) {
+        DailyCounts loaded = new DailyCounts();
+        rows.forEach(row -> loaded.add((LocalDate) row[0], (Long) row[1]));
+        applications = loaded;
+        applicationsLoadedAt = System.nanoTime();
+    }
+
+    /** Rows are (activity type, day, count). */
+    synchronized void loadActivities(List<Object[]> rows) {
+        Map<ActivityType, DailyCounts> loaded = new EnumMap<>(ActivityType.class);
+        rows.forEach(row -> loaded.computeIfAbsent((ActivityType) row[0], type -> new DailyCounts())
+                .add((LocalDate) row[1], (Long) row[2]));
+        activities = loaded;
+        activitiesLoadedAt = System.nanoTime();
+    }
+
+    synchronized void apply(DailyCountChange change) {
+        if (change.activityType() == null) {
+            if (applications != null) {
+                applications.add(change.day(), change.delta());
+            }
+        } else if (activities != null) {
+            activities.computeIfAbsent(change.activityType(), type -> new DailyCounts())
+                    .add(change.day(), change.delta());
+        }
+    }
+
+    synchronized void sumApplications(long[] buckets, LocalDate from, LocalDate to, Granularity granularity) {
+        applications.sumInto(buckets, from, to, granularity);
+    }
+
+    /** All activity types when {@code type} is null. */
+    synchronized void sumActivities(ActivityType type, long[] buckets, LocalDate from, LocalDate to,
+                                    Granularity granularity) {
+        for (Map.Entry<ActivityType, DailyCounts> entry : activities.entrySet()) {
+            if (type == null || entry.getKey() == type) {
+                entry.getValue().sumInto(buckets, from, to, granularity);
+            }
+        }
+    }
+}
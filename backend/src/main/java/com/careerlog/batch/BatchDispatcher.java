@@ -0,0 +1,422 @@
+package com.careerlog.batch;
+
+import com.careerlog.dto.BatchRequest;
+import com.careerlog.dto.BatchResponse;
+import com.careerlog.exception.BadRequestException;
+import com.careerlog.ratelimit.RequestRateLimiter;
+import com.careerlog.sql.RequestStatements;
+import com.careerlog.sql.StatementBudgetFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.firewall.HttpFirewall;
+import org.springframework.security.web.firewall.RequestRejectedException;
+import org.springframework.security.web.firewall.StrictHttpFirewall;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs the calls of a {@code POST /batch} through the {@code DispatcherServlet} in-process, so
+ * they reach the same controllers, validation and exception handlers as separate requests but
+ * skip the HTTP round trip, bearer token verification and the filter chain. What the chain
+ * would have enforced is applied per call instead: the same {@link HttpFirewall}, the same
+ * authorization rules, checked against the batch's authentication, and the caller's rate limits.
+ * Each call's SQL is counted in a {@link RequestStatements} scope of its own and checked
+ * against its handler's statement budget, not the batch's.
+ * <p>
+ * Calls run in order, except that consecutive {@code GET}s run side by side, up to
+ * {@code parallelism} at once, each on its own thread and in its own transaction. Any other
+ * method waits for the reads before it and runs alone, so a batch reads its own writes.
+ * A read turned away because the batch's own reads filled the caller's concurrency limit is
+ * run again once they finish.
+ */
+@Service
+@Slf4j
+public class BatchDispatcher implements AutoCloseable {
+
+    private static final Set<String> METHODS = Set.of("GET", "POST", "PUT", "DELETE");
+
+    private final DispatcherServlet dispatcherServlet;
+    private final HttpFirewall firewall;
+    private final AuthorizationManager<HttpServletRequest> authorizationManager;
+    private final RequestRateLimiter rateLimiter;
+    private final StatementBudgetFilter statementBudgets;
+    private final ObjectMapper objectMapper;
+    private final BatchProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final List<PathPattern> excludedPaths;
+    private final ExecutorService executor;
+    private final DistributionSummary sizes;
+
+    /** A call that passed the checks that need no thread of its own, or the response refusing it. */
+    private record Prepared(int index, String id, SubRequest request, BatchResponse.Result refused) {
+    }
+
+    /** {@code busy} when the call was refused for concurrency and may be retried. */
+    private record Outcome(BatchResponse.Result result, boolean busy) {
+    }
+
+    public BatchDispatcher(DispatcherServlet dispatcherServlet, ObjectProvider<HttpFirewall> firewall,
+                           List<SecurityFilterChain> filterChains, RequestRateLimiter rateLimiter,
+                           ObjectProvider<StatementBudgetFilter> statementBudgets, ObjectMapper objectMapper,
+                           BatchProperties properties, MeterRegistry meterRegistry) {
+        if (properties.getMaxRequests() < 1 || properties.getParallelism() < 1) {
+            throw new IllegalStateException("careerlog.batch.max-requests and parallelism must be at least 1");
+        }
+        this.dispatcherServlet = dispatcherServlet;
+        // The filter chain's default when no firewall bean is defined
+        this.firewall = firewall.getIfAvailable(StrictHttpFirewall::new);
+        this.authorizationManager = filterChains.stream()
+                .flatMap(chain -> chain.getFilters().stream())
+                .filter(AuthorizationFilter.class::isInstance)
+                .map(filter -> ((AuthorizationFilter) filter).getAuthorizationManager())
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(
+                        "careerlog.batch needs the security filter chain's request authorization rules"));
+        this.rateLimiter = rateLimiter;
+        // Absent when SQL accounting is disabled
+        this.statementBudgets = statementBudgets.getIfAvailable();
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.excludedPaths = properties.getExcludedPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.meterRegistry = meterRegistry;
+        // Virtual threads: a read mostly waits on the database, and the batch bounds how many run
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("batch-", 0).factory());
+        this.sizes = DistributionSummary.builder("careerlog.batch.size")
+                .description("Requests per batch")
+                .register(meterRegistry);
+    }
+
+    public BatchResponse dispatch(List<BatchRequest.Item> items, HttpServletRequest request,
+                                  HttpServletResponse response) {
+        if (items.size() > properties.getMaxRequests()) {
+            throw new BadRequestException("A batch may hold at most " + properties.getMaxRequests() + " requests");
+        }
+        sizes.record(items.size());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String userId = authentication instanceof JwtAuthenticationToken jwt ? jwt.getToken().getSubject() : null;
+        List<Locale> locales = Collections.list(request.getLocales());
+
+        BatchResponse.Result[] results = new BatchResponse.Result[items.size()];
+        List<Prepared> reads = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            Prepared prepared = prepare(i, items.get(i), request, locales, authentication);
+            if (prepared.refused() != null) {
+                results[i] = prepared.refused();
+            } else if (prepared.request().getMethod().equals("GET")) {
+                reads.add(prepared);
+            } else {
+                runReads(reads, results, userId, response);
+                reads.clear();
+                results[i] = run(prepared, userId, response, false).result();
+            }
+        }
+        runReads(reads, results, userId, response);
+        return new BatchResponse(List.of(results));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private Prepared prepare(int index, BatchRequest.Item item, HttpServletRequest batch, List<Locale> locales,
+                             Authentication authentication) {
+        String id = item.id() != null ? item.id() : Integer.toString(index);
+        String method = item.method().toUpperCase(Locale.ROOT);
+        String target = item.path();
+        int question = target.indexOf('?');
+        String rawPath = question < 0 ? target : target.substring(0, question);
+        String rawQuery = question < 0 ? null : target.substring(question + 1);
+        String uri = batch.getContextPath() + rawPath;
+
+        if (!METHODS.contains(method)) {
+            return refused(index, id, "method", HttpStatus.METHOD_NOT_ALLOWED, uri,
+                    "Method " + method + " cannot be batched");
+        }
+        String path;
+        try {
+            path = UriUtils.decode(rawPath, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return refused(index, id, "path", HttpStatus.BAD_REQUEST, uri, "Malformed path: " + e.getMessage());
+        }
+        if (!path.startsWith("/") || path.contains("//") || path.contains("/./") || path.contains("/../")
+                || path.endsWith("/.") || path.endsWith("/..")) {
+            return refused(index, id, "path", HttpStatus.BAD_REQUEST, uri,
+                    "Path must be absolute and normalized, relative to /api");
+        }
+        // Matched as handler mappings match, without ;-parameters, so /events;x is /events
+        PathContainer pathContainer = PathContainer.parsePath(rawPath);
+        for (PathPattern excluded : excludedPaths) {
+            if (excluded.matches(pathContainer)) {
+                return refused(index, id, "path", HttpStatus.BAD_REQUEST, uri, path + " cannot be batched");
+            }
+        }
+
+        byte[] body = new byte[0];
+        if (item.body() != null && !item.body().isNull()) {
+            try {
+                body = objectMapper.writeValueAsBytes(item.body());
+            } catch (JsonProcessingException e) {
+                return refused(index, id, "body", HttpStatus.BAD_REQUEST, uri, "Unreadable body");
+            }
+            if (body.length > properties.getMaxBodySize().toBytes()) {
+                return refused(index, id, "body", HttpStatus.PAYLOAD_TOO_LARGE, uri,
+                        "Body larger than " + properties.getMaxBodySize().toBytes() + " bytes");
+            }
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (body.length > 0) {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(body.length);
+        }
+        copyHeader(batch, headers, HttpHeaders.AUTHORIZATION);
+        copyHeader(batch, headers, HttpHeaders.ACCEPT_LANGUAGE);
+        SubRequest request;
+        try {
+            request = new SubRequest(batch, method, rawPath, path, rawQuery, body, headers, locales);
+        } catch (IllegalArgumentException e) {
+            return refused(index, id, "path", HttpStatus.BAD_REQUEST, uri, "Malformed query: " + e.getMessage());
+        }
+        try {
+            firewall.getFirewalledRequest(request);
+        } catch (RequestRejectedException e) {
+            return refused(index, id, "firewall", HttpStatus.BAD_REQUEST, uri, e.getMessage());
+        }
+
+        AuthorizationDecision decision = authorizationManager.check(() -> authentication, request);
+        if (decision == null || !decision.isGranted()) {
+            return refused(index, id, "forbidden", HttpStatus.FORBIDDEN, uri, "Access denied");
+        }
+        return new Prepared(index, id, request, null);
+    }
+
+    private void runReads(List<Prepared> reads, BatchResponse.Result[] results, String userId,
+                          HttpServletResponse response) {
+        if (reads.size() <= 1) {
+            // Nothing to overlap with; a thread hop would only add latency
+            reads.forEach(read -> results[read.index()] = run(read, userId, response, false).result());
+            return;
+        }
+        SecurityContext context = SecurityContextHolder.getContext();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Semaphore permits = new Semaphore(properties.getParallelism());
+        List<Future<Outcome>> futures = new ArrayList<>(reads.size());
+        for (Prepared read : reads) {
+            permits.acquireUninterruptibly();
+            try {
+                futures.add(executor.submit(DelegatingSecurityContextCallable.create(() -> {
+                    if (mdc != null) {
+                        MDC.setContextMap(mdc);
+                    }
+                    try {
+                        return run(read, userId, response, true);
+                    } finally {
+                        MDC.clear();
+                        permits.release();
+                    }
+                }, context)));
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        List<Prepared> busy = new ArrayList<>();
+        for (int i = 0; i < reads.size(); i++) {
+            Prepared read = reads.get(i);
+            Outcome outcome = await(futures.get(i), read);
+            if (outcome.busy()) {
+                busy.add(read);
+            } else {
+                results[read.index()] = outcome.result();
+            }
+        }
+        for (Prepared read : busy) {
+            results[read.index()] = run(read, userId, response, false).result();
+        }
+    }
+
+    private Outcome await(Future<Outcome> future, Prepared read) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return new Outcome(error(read.id(), HttpStatus.SERVICE_UNAVAILABLE, read.request().getRequestURI(),
+                    "Interrupted"), false);
+        } catch (ExecutionException e) {
+            log.error("Batched {} {} failed", read.request().getMethod(), read.request().path(), e.getCause());
+            return new Outcome(error(read.id(), HttpStatus.INTERNAL_SERVER_ERROR, read.request().getRequestURI(),
+                    "An unexpected error occurred"), false);
+        }
+    }
+
+    private Outcome run(Prepared prepared, String userId, HttpServletResponse batchResponse, boolean retryWhenBusy) {
+        SubRequest request = prepared.request();
+        RequestRateLimiter.Decision decision = userId == null ? null : rateLimiter.tryAcquire(userId, request.path());
+        if (decision != null && !decision.allowed()) {
+            if (retryWhenBusy && decision.rejectedFor() == RequestRateLimiter.Reason.CONCURRENCY) {
+                return new Outcome(null, true);
+            }
+            refusals("rate-limit").increment();
+            return new Outcome(error(prepared.id(), HttpStatus.TOO_MANY_REQUESTS, request.getRequestURI(),
+                    decision.rejectedFor() == RequestRateLimiter.Reason.RATE
+                            ? "Request rate limit exceeded"
+                            : "Too many concurrent requests"), false);
+        }
+
+        long start = System.nanoTime();
+        BufferedResponse response = new BufferedResponse(batchResponse);
+        BatchResponse.Result result;
+        try {
+            dispatch(request, response);
+            result = result(prepared.id(), request, response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            log.error("Batched {} {} failed", request.getMethod(), request.path(), e);
+            result = error(prepared.id(), HttpStatus.INTERNAL_SERVER_ERROR, request.getRequestURI(),
+                    "An unexpected error occurred");
+        } finally {
+            if (decision != null) {
+                decision.release().run();
+            }
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Timer.builder("careerlog.batch.requests")
+                .description("Requests handled inside a batch")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .tag("status", Integer.toString(result.status()))
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - start));
+        return new Outcome(result, false);
+    }
+
+    private void dispatch(SubRequest request, BufferedResponse response) throws ServletException, IOException {
+        if (statementBudgets == null) {
+            dispatcherServlet.service(request, response);
+            return;
+        }
+        // On the batch's thread the batch's own scope is current; it gets it back afterwards
+        RequestStatements outer = RequestStatements.current();
+        RequestStatements statements = RequestStatements.begin();
+        request.setAttribute(RequestStatements.REQUEST_ATTRIBUTE, statements);
+        try {
+            dispatcherServlet.service(request, response);
+        } finally {
+            RequestStatements.resume(outer);
+        }
+        statementBudgets.record(request, statements);
+    }
+
+    private BatchResponse.Result result(String id, SubRequest request, BufferedResponse response) {
+        byte[] body = response.body();
+        if (body.length == 0) {
+            if (response.isError()) {
+                HttpStatus status = HttpStatus.resolve(response.getStatus());
+                return error(id, status != null ? status : HttpStatus.INTERNAL_SERVER_ERROR, request.getRequestURI(),
+                        response.errorMessage());
+            }
+            return new BatchResponse.Result(id, response.getStatus(), null);
+        }
+        String contentType = response.getContentType();
+        String text = new String(body, StandardCharsets.UTF_8);
+        if (contentType != null && isJson(contentType)) {
+            return new BatchResponse.Result(id, response.getStatus(), text);
+        }
+        // Not JSON, so it goes in as a string
+        return new BatchResponse.Result(id, response.getStatus(), json(text));
+    }
+
+    private Prepared refused(int index, String id, String reason, HttpStatus status, String path, String message) {
+        refusals(reason).increment();
+        return new Prepared(index, id, null, error(id, status, path, message));
+    }
+
+    // Same shape as GlobalExceptionHandler's responses
+    private BatchResponse.Result error(String id, HttpStatus status, String path, String message) {
+        Map<String, Object> errorResponse = new LinkedHashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", status.value());
+        errorResponse.put("error", status.getReasonPhrase());
+        errorResponse.put("message", message);
+        errorResponse.put("path", path);
+        return new BatchResponse.Result(id, status.value(), json(errorResponse));
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write a batched response", e);
+        }
+    }
+
+    private Counter refusals(String reason) {
+        return Counter.builder("careerlog.batch.refused")
+                .description("Batched requests refused before reaching a controller, by reason")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static boolean isJson(String contentType) {
+        try {
+            MediaType type = MediaType.parseMediaType(contentType);
+            return MediaType.APPLICATION_JSON.isCompatibleWith(type) || type.getSubtype().endsWith("+json");
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void copyHeader(HttpServletRequest batch, HttpHeaders headers, String name) {
+        String value = batch.getHeader(name);
+        if (value != null) {
+            headers.set(name, value);
+        }
+    }
+}
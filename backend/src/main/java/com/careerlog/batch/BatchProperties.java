@@ -0,0 +1,34 @@
+package com.careerlog.batch;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits for {@code POST /batch}. Each concurrent read holds a pool connection, so keep
+ * {@code parallelism} well below the pool's maximum size.
+ */
+@ConfigurationProperties(prefix = "careerlog.batch")
+@Getter
+@Setter
+public class BatchProperties {
+
+    /** Requests accepted in one batch; a larger batch is refused with 400. */
+    private int maxRequests = 20;
+
+    /** Reads of one batch run at once, each on its own thread and connection. */
+    private int parallelism = 4;
+
+    /** Largest body a single request may carry; a larger one gets 413. */
+    private DataSize maxBodySize = DataSize.ofKilobytes(64);
+
+    /**
+     * Paths that cannot be batched: the endpoint itself and streamed responses. Patterns as in
+     * {@code @RequestMapping}, matched the same way.
+     */
+    private List<String> excludedPaths = new ArrayList<>(List.of("/batch", "/events/**"));
+}
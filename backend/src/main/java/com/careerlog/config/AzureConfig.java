@@ -9,10 +9,15 @@ import com.azure.security.keyvault.secrets.SecretClientBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
 
+// Lazy: building the credential chain and clients loads most of the Azure SDK, which
+// startup should not pay for until a request actually needs blob storage.
+// Inject these with @Lazy or ObjectProvider to keep it that way.
 @Configuration
 @Profile("azure")
+@Lazy
 public class AzureConfig {
 
     @Value("${AZURE_STORAGE_ACCOUNT_NAME}")
@@ -26,10 +31,10 @@ public class AzureConfig {
     private String keyVaultUri;
 
     @Bean
-    public BlobServiceClient blobServiceClient() {
+    public BlobServiceClient blobServiceClient(TokenCredential tokenCredential) {
         return new BlobServiceClientBuilder()
                 .endpoint(String.format("https://%s.blob.core.windows.net", storageAccountName))
-                .credential(new DefaultAzureCredentialBuilder().build())
+                .credential(tokenCredential)
                 .buildClient();
     }
 
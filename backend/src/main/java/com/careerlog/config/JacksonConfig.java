@@ -0,0 +1,16 @@
+package com.careerlog.config;
+
+import com.careerlog.dto.SparseFields;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsDefaults() {
+        // Responses carrying the sparse-fields filter serialize in full unless a controller narrows them
+        return builder -> builder.filters(SparseFields.DEFAULT_FILTERS);
+    }
+}
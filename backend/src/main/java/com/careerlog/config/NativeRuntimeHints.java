@@ -0,0 +1,90 @@
+package com.careerlog.config;
+
+import com.careerlog.analytics.Granularity;
+import com.careerlog.analytics.TimeSeriesAnalytics;
+import com.careerlog.dto.ActivityResponse;
+import com.careerlog.dto.ActivityTrendsResponse;
+import com.careerlog.dto.ApplicationFacetsResponse;
+import com.careerlog.dto.ApplicationField;
+import com.careerlog.dto.ApplicationRef;
+import com.careerlog.dto.ApplicationResponse;
+import com.careerlog.dto.AttachmentResponse;
+import com.careerlog.dto.AttachmentSearchResponse;
+import com.careerlog.dto.BatchRequest;
+import com.careerlog.dto.BatchResponse;
+import com.careerlog.dto.CountResponse;
+import com.careerlog.dto.DashboardOverviewResponse;
+import com.careerlog.dto.DistinctCountResponse;
+import com.careerlog.dto.FacetedPageResponse;
+import com.careerlog.dto.FollowUpResponse;
+import com.careerlog.dto.FunnelResponse;
+import com.careerlog.dto.PageResponse;
+import com.careerlog.dto.PlatformAnalyticsResponse;
+import com.careerlog.dto.RecentActivityResponse;
+import com.careerlog.dto.StatusSummaryResponse;
+import com.careerlog.dto.TagFacetsResponse;
+import com.careerlog.dto.TimeSeriesResponse;
+import com.careerlog.dto.TotalApplicationsResponse;
+import com.careerlog.dto.UploadSlotRequest;
+import com.careerlog.dto.UploadSlotResponse;
+import com.careerlog.events.ChangeEvent;
+import com.careerlog.logging.ConfigurationStatusListener;
+import com.careerlog.model.Activity;
+import com.careerlog.model.Application;
+import com.careerlog.model.Attachment;
+import com.careerlog.model.AttachmentText;
+import com.careerlog.model.DistinctSketch;
+import com.careerlog.model.StatusTransition;
+import com.careerlog.tags.TagMatch;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reachability metadata for the native image that Spring AOT cannot infer.
+ * <p>
+ * AOT registers the declared {@code @RequestBody} and return types of controller methods, but
+ * most of our responses are wrapped in {@code MappingJacksonValue} for sparse fieldsets and the
+ * event stream serializes {@link ChangeEvent.Notification} by hand, so Jackson would find no
+ * accessors for them. Lombok needs nothing here: its getters and builders are ordinary compiled
+ * methods, covered by the same binding hints. Entities themselves get their JPA hints from
+ * Spring's persistence-unit AOT processing.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] JSON_TYPES = {
+            ApplicationResponse.class, ActivityResponse.class, AttachmentResponse.class, ApplicationRef.class,
+            PageResponse.class, DashboardOverviewResponse.class, StatusSummaryResponse.class,
+            ActivityTrendsResponse.class, RecentActivityResponse.class, CountResponse.class,
+            TotalApplicationsResponse.class, FunnelResponse.class, TimeSeriesResponse.class,
+            TagFacetsResponse.class, FacetedPageResponse.class, ApplicationFacetsResponse.class,
+            FollowUpResponse.class, PlatformAnalyticsResponse.class, DistinctCountResponse.class,
+            UploadSlotRequest.class, UploadSlotResponse.class, AttachmentSearchResponse.class,
+            BatchRequest.class, BatchResponse.class, ChangeEvent.Notification.class,
+            Application.class, Activity.class, Attachment.class
+    };
+
+    // Bound by name from JSON, query strings, path variables and EnumType.STRING columns
+    private static final Class<?>[] ENUM_TYPES = {
+            Application.ApplicationStatus.class, Activity.ActivityType.class, Attachment.AttachmentType.class,
+            ApplicationField.class, ChangeEvent.Entity.class, ChangeEvent.Action.class,
+            StatusTransition.Source.class, Granularity.class, TimeSeriesAnalytics.Series.class, TagMatch.class,
+            DistinctSketch.Field.class, AttachmentText.Status.class
+    };
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(), JSON_TYPES);
+        for (Class<?> type : ENUM_TYPES) {
+            hints.reflection().registerType(type, MemberCategory.PUBLIC_FIELDS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        // Instantiated by name from logback-spring.xml
+        hints.reflection().registerType(ConfigurationStatusListener.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        // PDFBox loads its glyph lists, CMaps and standard font metrics from the classpath
+        hints.resources().registerPattern("org/apache/pdfbox/resources/**");
+        hints.resources().registerPattern("org/apache/fontbox/cmap/**");
+    }
+}
@@ -1,5 +1,8 @@
 package com.careerlog.config;
 
+import com.careerlog.ratelimit.RateLimitFilter;
+import com.careerlog.ratelimit.RequestRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,8 +11,10 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.SupplierJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -32,7 +37,8 @@ public class SecurityConfig {
     private String frontendUrl;
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, RequestRateLimiter rateLimiter,
+                                           ObjectMapper objectMapper) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -40,6 +46,8 @@ public class SecurityConfig {
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers("/actuator/health", "/actuator/info").permitAll()
                 .requestMatchers("/error").permitAll()
+                .requestMatchers("/actuator/slowqueries", "/actuator/slowqueries/**").hasRole("Admin")
+                .requestMatchers("/admin/**").hasAnyRole("Admin", "Recruiter")
                 .anyRequest().authenticated()
             )
             .oauth2ResourceServer(oauth2 -> oauth2
@@ -47,15 +55,18 @@ public class SecurityConfig {
                     .jwtAuthenticationConverter(jwtAuthenticationConverter())
                     .decoder(jwtDecoder())
                 )
-            );
+            )
+            // Admission control needs the authenticated subject, so it runs after bearer token auth
+            .addFilterAfter(new RateLimitFilter(rateLimiter, objectMapper), BearerTokenAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
     public JwtDecoder jwtDecoder() {
-        // Using the tenant-specific issuer avoids the {tenantid} vs common mismatch from Azure metadata
-        return NimbusJwtDecoder.withIssuerLocation(resolveIssuer()).build();
+        // Using the tenant-specific issuer avoids the {tenantid} vs common mismatch from Azure metadata.
+        // Resolved on the first token rather than at startup, which would block on a call to Entra ID.
+        return new SupplierJwtDecoder(() -> NimbusJwtDecoder.withIssuerLocation(resolveIssuer()).build());
     }
 
     private String resolveIssuer() {
@@ -82,7 +93,8 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(List.of(frontendUrl, "http://localhost:5173"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type", "Retry-After",
+                "X-SQL-Statements", "Server-Timing"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,50 @@
+package com.careerlog.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    public WebConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    /**
+     * Spring MVC registers CBOR and Smile converters on its own once the dataformats are on the
+     * classpath, but with a bare ObjectMapper. Swap them in place for ones built from Boot's
+     * builder so binary responses get the same date handling and sparse-field filters as JSON.
+     * JSON stays ahead of them, so clients that send no Accept header still get JSON.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        replaceOrAppend(converters, MappingJackson2CborHttpMessageConverter.class,
+                new MappingJackson2CborHttpMessageConverter(
+                        objectMapperBuilder.getObject().factory(new CBORFactory()).build()));
+        replaceOrAppend(converters, MappingJackson2SmileHttpMessageConverter.class,
+                new MappingJackson2SmileHttpMessageConverter(
+                        objectMapperBuilder.getObject().factory(new SmileFactory()).build()));
+    }
+
+    private static void replaceOrAppend(List<HttpMessageConverter<?>> converters,
+                                        Class<?> type, HttpMessageConverter<?> replacement) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (type.isInstance(converters.get(i))) {
+                converters.set(i, replacement);
+                return;
+            }
+        }
+        converters.add(replacement);
+    }
+}
@@ -1,10 +1,12 @@
 package com.careerlog.controller;
 
+import com.careerlog.dto.ActivityResponse;
+import com.careerlog.dto.CountResponse;
 import com.careerlog.model.Activity;
 import com.careerlog.service.ActivityService;
+import com.careerlog.sql.StatementBudget;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -17,125 +19,137 @@ import java.util.Map;
 @RestController
 @RequestMapping("/activities")
 @RequiredArgsConstructor
-@Slf4j
 @CrossOrigin(origins = "${FRONTEND_URL:http://localhost:5173}")
 public class ActivityController {
 
     private final ActivityService activityService;
 
     @GetMapping("/application/{applicationId}")
-    public ResponseEntity<List<Activity>> getActivitiesByApplication(@PathVariable Long applicationId,
-                                                                     @AuthenticationPrincipal Jwt jwt) {
-        String userId = jwt.getClaim("sub");
-        log.info("Fetching activities for application {} by user: {}", applicationId, userId);
-
-        List<Activity> activities = activityService.getActivitiesByApplication(applicationId);
+    public ResponseEntity<List<ActivityResponse>> getActivitiesByApplication(@PathVariable Long applicationId,
+                                                                             @AuthenticationPrincipal Jwt jwt) {
+        List<ActivityResponse> activities = activityService.getActivitiesByApplication(applicationId)
+                .stream()
+                .map(ActivityResponse::from)
+                .toList();
         return ResponseEntity.ok(activities);
     }
 
     @GetMapping("/user")
-    public ResponseEntity<List<Activity>> getActivitiesByUser(
+    public ResponseEntity<List<ActivityResponse>> getActivitiesByUser(
             @RequestParam(defaultValue = "20") int limit,
             @AuthenticationPrincipal Jwt jwt) {
 
         String userId = jwt.getClaim("sub");
-        log.info("Fetching recent activities for user: {}", userId);
 
-        List<Activity> activities = activityService.getRecentActivitiesByUser(userId, limit);
+        List<ActivityResponse> activities = activityService.getRecentActivitiesByUser(userId, limit)
+                .stream()
+                .map(ActivityResponse::from)
+                .toList();
         return ResponseEntity.ok(activities);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Activity> getActivity(@PathVariable Long id,
-                                              @AuthenticationPrincipal Jwt jwt) {
+    public ResponseEntity<ActivityResponse> getActivity(@PathVariable Long id,
+                                                        @AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getClaim("sub");
-        log.info("Fetching activity {} for user: {}", id, userId);
 
         Activity activity = activityService.getActivityById(id, userId);
-        return ResponseEntity.ok(activity);
+        return ResponseEntity.ok(ActivityResponse.from(activity));
     }
 
     @PostMapping
-    public ResponseEntity<Activity> createActivity(@Valid @RequestBody Activity activity,
-                                                  @AuthenticationPrincipal Jwt jwt) {
+    public ResponseEntity<ActivityResponse> createActivity(@Valid @RequestBody Activity activity,
+                                                           @AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getClaim("sub");
-        log.info("Creating new activity for user: {}", userId);
 
-        Activity createdActivity = activityService.createActivity(activity);
-        return ResponseEntity.ok(createdActivity);
+        Activity createdActivity = activityService.createActivity(activity, userId);
+        return ResponseEntity.ok(ActivityResponse.from(createdActivity));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Activity> updateActivity(@PathVariable Long id,
-                                                  @Valid @RequestBody Activity activityDetails,
-                                                  @AuthenticationPrincipal Jwt jwt) {
+    public ResponseEntity<ActivityResponse> updateActivity(@PathVariable Long id,
+                                                           @Valid @RequestBody Activity activityDetails,
+                                                           @AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getClaim("sub");
-        log.info("Updating activity {} for user: {}", id, userId);
 
         Activity updatedActivity = activityService.updateActivity(id, activityDetails, userId);
-        return ResponseEntity.ok(updatedActivity);
+        return ResponseEntity.ok(ActivityResponse.from(updatedActivity));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteActivity(@PathVariable Long id,
                                                @AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getClaim("sub");
-        log.info("Deleting activity {} for user: {}", id, userId);
 
         activityService.deleteActivity(id, userId);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/application/{applicationId}/type/{type}")
-    public ResponseEntity<List<Activity>> getActivitiesByApplicationAndType(
+    public ResponseEntity<List<ActivityResponse>> getActivitiesByApplicationAndType(
             @PathVariable Long applicationId,
             @PathVariable Activity.ActivityType type,
             @AuthenticationPrincipal Jwt jwt) {
 
-        String userId = jwt.getClaim("sub");
-        log.info("Fetching {} activities for application {} by user: {}", type, applicationId, userId);
-
-        List<Activity> activities = activityService.getActivitiesByApplicationAndType(applicationId, type);
+        List<ActivityResponse> activities = activityService.getActivitiesByApplicationAndType(applicationId, type)
+                .stream()
+                .map(ActivityResponse::from)
+                .toList();
         return ResponseEntity.ok(activities);
     }
 
     @GetMapping("/analytics/recent")
-    public ResponseEntity<List<Activity>> getRecentActivities(
+    public ResponseEntity<List<ActivityResponse>> getRecentActivities(
             @RequestParam(defaultValue = "30") int days,
             @RequestParam(defaultValue = "50") int limit,
             @AuthenticationPrincipal Jwt jwt) {
 
         String userId = jwt.getClaim("sub");
-        log.info("Fetching activities from last {} days for user: {}", days, userId);
 
         LocalDateTime startDate = LocalDateTime.now().minusDays(days);
-        List<Activity> activities = activityService.getActivitiesByUserSince(userId, startDate)
+        List<ActivityResponse> activities = activityService.getActivitiesByUserSince(userId, startDate)
                 .stream()
                 .limit(limit)
+                .map(ActivityResponse::from)
                 .toList();
 
         return ResponseEntity.ok(activities);
     }
 
+    @GetMapping("/upcoming")
+    @StatementBudget(max = 1)
+    public ResponseEntity<List<ActivityResponse>> getUpcomingActivities(
+            @RequestParam(defaultValue = "14") int days,
+            @RequestParam(defaultValue = "50") int limit,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        String userId = jwt.getClaim("sub");
+
+        List<ActivityResponse> activities = activityService.getUpcomingActivities(userId, days, limit)
+                .stream()
+                .map(ActivityResponse::from)
+                .toList();
+        return ResponseEntity.ok(activities);
+    }
+
     @GetMapping("/analytics/type-breakdown")
     public ResponseEntity<Map<String, Long>> getActivityTypeBreakdown(
             @AuthenticationPrincipal Jwt jwt) {
 
         String userId = jwt.getClaim("sub");
-        log.info("Fetching activity type breakdown for user: {}", userId);
 
         Map<String, Long> breakdown = activityService.getActivityTypeBreakdown(userId);
         return ResponseEntity.ok(breakdown);
     }
 
     @GetMapping("/analytics/count/{type}")
-    public ResponseEntity<Map<String, Long>> getActivityCountByType(
+    public ResponseEntity<CountResponse> getActivityCountByType(
             @PathVariable Activity.ActivityType type,
             @AuthenticationPrincipal Jwt jwt) {
 
         String userId = jwt.getClaim("sub");
         long count = activityService.getActivityCountByType(userId, type);
 
-        return ResponseEntity.ok(Map.of("count", count));
+        return ResponseEntity.ok(new CountResponse(count));
     }
 }
\ No newline at end of file
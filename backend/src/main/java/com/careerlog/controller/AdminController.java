@@ -0,0 +1,52 @@
+package com.careerlog.controller;
+
+import com.careerlog.admin.PlatformAnalytics;
+import com.careerlog.distinct.DistinctCounts;
+import com.careerlog.dto.DistinctCountResponse;
+import com.careerlog.dto.PlatformAnalyticsResponse;
+import com.careerlog.model.DistinctSketch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+/**
+ * Platform-wide views across all users. Restricted to the Admin and Recruiter app roles in
+ * SecurityConfig; nothing here is scoped to the caller.
+ */
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "${FRONTEND_URL:http://localhost:5173}")
+public class AdminController {
+
+    private final PlatformAnalytics platformAnalytics;
+    private final DistinctCounts distinctCounts;
+
+    /**
+     * Served from cache unless the cached result has expired, or with {@code refresh}, unless it
+     * was computed within {@code min-refresh-interval}.
+     */
+    @GetMapping("/analytics")
+    public ResponseEntity<PlatformAnalyticsResponse> getPlatformAnalytics(
+            @RequestParam(defaultValue = "false") boolean refresh) {
+        return ResponseEntity.ok(platformAnalytics.getAnalytics(refresh));
+    }
+
+    /**
+     * Estimated distinct companies or sources across all users, over {@code [from, to]} and per
+     * month, defaulting to the last twelve months; merged from the per-user sketches.
+     */
+    @GetMapping("/analytics/distinct")
+    public ResponseEntity<DistinctCountResponse> getDistinctCounts(
+            @RequestParam(defaultValue = "COMPANY") DistinctSketch.Field field,
+            @RequestParam(required = false) YearMonth from,
+            @RequestParam(required = false) YearMonth to) {
+
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.minusMonths(11);
+
+        return ResponseEntity.ok(distinctCounts.getPlatformCounts(field, start, end));
+    }
+}
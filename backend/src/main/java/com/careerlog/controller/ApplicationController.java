@@ -1,110 +1,161 @@
 package com.careerlog.controller;
 
+import com.careerlog.analytics.Granularity;
+import com.careerlog.analytics.TimeSeriesAnalytics;
+import com.careerlog.dto.ApplicationFacetsResponse;
+import com.careerlog.dto.ApplicationField;
+import com.careerlog.dto.ApplicationFilter;
+import com.careerlog.dto.ApplicationResponse;
+import com.careerlog.dto.FacetedPageResponse;
+import com.careerlog.dto.PageResponse;
+import com.careerlog.dto.SparseFields;
+import com.careerlog.dto.TagFacetsResponse;
+import com.careerlog.dto.TimeSeriesResponse;
+import com.careerlog.dto.TotalApplicationsResponse;
+import com.careerlog.filter.FilteredApplications;
+import com.careerlog.model.Activity;
 import com.careerlog.model.Application;
+import com.careerlog.model.Attachment;
 import com.careerlog.service.ApplicationService;
+import com.careerlog.sql.StatementBudget;
+import com.careerlog.tags.TagFacets;
+import com.careerlog.tags.TagMatch;
+import com.careerlog.tags.TechStackTags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDate;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/applications")
 @RequiredArgsConstructor
-@Slf4j
 @CrossOrigin(origins = "${FRONTEND_URL:http://localhost:5173}")
 public class ApplicationController {
 
     private final ApplicationService applicationService;
-
+    private final FilteredApplications filteredApplications;
+    private final TimeSeriesAnalytics timeSeriesAnalytics;
+    private final TagFacets tagFacets;
+
+    /**
+     * Lists applications as {@link ApplicationResponse} rows. {@code fields} is a comma separated
+     * subset of its properties; only those columns are selected and serialized. Without it every
+     * property is returned.
+     * <p>
+     * All filters are optional and combine; {@code status}, {@code activityType},
+     * {@code attachmentType} and {@code tags} take comma separated values, matching any of them
+     * ({@code tags} per {@code tagMatch}). With {@code facets=true} the response also carries
+     * counts per filter dimension; those and the total are cached per filter, so the budget
+     * covers a cold request.
+     */
     @GetMapping
-    public ResponseEntity<Page<Application>> getApplications(
+    @StatementBudget(max = 10)
+    public ResponseEntity<MappingJacksonValue> getApplications(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "applicationDate") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir,
             @RequestParam(required = false) String search,
+            @RequestParam(required = false) Set<Application.ApplicationStatus> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) Set<Activity.ActivityType> activityType,
+            @RequestParam(required = false) Set<Attachment.AttachmentType> attachmentType,
+            @RequestParam(required = false) String tags,
+            @RequestParam(defaultValue = "ALL") TagMatch tagMatch,
+            @RequestParam(defaultValue = "false") boolean facets,
+            @RequestParam(required = false) String fields,
             @AuthenticationPrincipal Jwt jwt) {
 
         String userId = jwt.getClaim("sub");
-        log.info("Fetching applications for user: {} with search term: {}", userId, search);
 
+        // Sort keys are validated like fields=; an unknown attribute would otherwise fail in the query
+        ApplicationField.fromAttribute(sortBy);
         Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
         Sort sort = Sort.by(direction, sortBy).and(Sort.by(Sort.Direction.DESC, "id"));
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<Application> applications;
-        if (search != null && !search.trim().isEmpty()) {
-            applications = applicationService.searchApplications(userId, search.trim(), pageable);
-        } else {
-            applications = applicationService.getApplicationsByUser(userId, pageable);
+        Set<ApplicationField> selected = ApplicationField.parse(fields, ApplicationField.ALL);
+        ApplicationFilter filter = new ApplicationFilter(search, status, from, to, location, source,
+                activityType, attachmentType, TechStackTags.parse(tags), tagMatch);
+        PageResponse<ApplicationResponse> applications =
+                PageResponse.from(filteredApplications.page(userId, filter, selected, pageable));
+        if (!facets) {
+            return ResponseEntity.ok(SparseFields.select(applications, selected));
         }
-
-        return ResponseEntity.ok(applications);
+        ApplicationFacetsResponse facetCounts = filteredApplications.facets(userId, filter);
+        return ResponseEntity.ok(SparseFields.select(new FacetedPageResponse<>(applications, facetCounts), selected));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Application> getApplication(@PathVariable Long id,
-                                                   @AuthenticationPrincipal Jwt jwt) {
+    @StatementBudget(max = 1)
+    public ResponseEntity<MappingJacksonValue> getApplication(@PathVariable Long id,
+                                                              @RequestParam(required = false) String fields,
+                                                              @AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getClaim("sub");
-        log.info("Fetching application {} for user: {}", id, userId);
 
         Application application = applicationService.getApplicationById(id, userId);
-        return ResponseEntity.ok(application);
+        Set<ApplicationField> selected = ApplicationField.parse(fields, ApplicationField.ALL);
+        return ResponseEntity.ok(SparseFields.select(ApplicationResponse.from(application), selected));
     }
 
     @PostMapping
-    public ResponseEntity<Application> createApplication(@Valid @RequestBody Application application,
-                                                        @AuthenticationPrincipal Jwt jwt) {
+    public ResponseEntity<ApplicationResponse> createApplication(@Valid @RequestBody Application application,
+                                                                 @AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getClaim("sub");
-        log.info("Creating new application for user: {}", userId);
 
         application.setUserId(userId);
         Application createdApplication = applicationService.createApplication(application);
 
-        return ResponseEntity.ok(createdApplication);
+        return ResponseEntity.ok(ApplicationResponse.from(createdApplication));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Application> updateApplication(@PathVariable Long id,
-                                                        @Valid @RequestBody Application applicationDetails,
-                                                        @AuthenticationPrincipal Jwt jwt) {
+    public ResponseEntity<ApplicationResponse> updateApplication(@PathVariable Long id,
+                                                                 @Valid @RequestBody Application applicationDetails,
+                                                                 @AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getClaim("sub");
-        log.info("Updating application {} for user: {}", id, userId);
 
         Application updatedApplication = applicationService.updateApplication(id, applicationDetails, userId);
-        return ResponseEntity.ok(updatedApplication);
+        return ResponseEntity.ok(ApplicationResponse.from(updatedApplication));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteApplication(@PathVariable Long id,
                                                   @AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getClaim("sub");
-        log.info("Deleting application {} for user: {}", id, userId);
 
         applicationService.deleteApplication(id, userId);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Application>> getApplicationsByStatus(
+    public ResponseEntity<MappingJacksonValue> getApplicationsByStatus(
             @PathVariable Application.ApplicationStatus status,
+            @RequestParam(required = false) String fields,
             @AuthenticationPrincipal Jwt jwt) {
 
         String userId = jwt.getClaim("sub");
-        log.info("Fetching applications with status {} for user: {}", status, userId);
 
-        List<Application> applications = applicationService.getApplicationsByStatus(userId, status);
-        return ResponseEntity.ok(applications);
+        Set<ApplicationField> selected = ApplicationField.parse(fields, ApplicationField.ALL);
+        Pageable unpaged = Pageable.unpaged(Sort.by(Sort.Direction.DESC, "applicationDate", "id"));
+        Page<ApplicationResponse> applications =
+                filteredApplications.page(userId, ApplicationFilter.ofStatus(status), selected, unpaged);
+        return ResponseEntity.ok(SparseFields.select(applications.getContent(), selected));
     }
 
     @GetMapping("/analytics/status-breakdown")
@@ -112,35 +163,49 @@ public class ApplicationController {
             @AuthenticationPrincipal Jwt jwt) {
 
         String userId = jwt.getClaim("sub");
-        log.info("Fetching application status breakdown for user: {}", userId);
 
         Map<String, Long> breakdown = applicationService.getApplicationStatusBreakdown(userId);
         return ResponseEntity.ok(breakdown);
     }
 
+    /**
+     * Applications and offer rate per tech-stack tag, over all applications or over those
+     * matching {@code tags}.
+     */
+    @GetMapping("/analytics/tags")
+    @StatementBudget(max = 3)
+    public ResponseEntity<TagFacetsResponse> getTagFacets(
+            @RequestParam(required = false) String tags,
+            @RequestParam(defaultValue = "ALL") TagMatch tagMatch,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        String userId = jwt.getClaim("sub");
+
+        return ResponseEntity.ok(tagFacets.getFacets(userId, TechStackTags.parse(tags), tagMatch));
+    }
+
     @GetMapping("/analytics/weekly-count")
-    public ResponseEntity<Map<String, Long>> getApplicationsPerWeek(
+    public ResponseEntity<TimeSeriesResponse> getApplicationsPerWeek(
             @RequestParam(required = false) Integer weeks,
             @AuthenticationPrincipal Jwt jwt) {
 
         String userId = jwt.getClaim("sub");
-        log.info("Fetching weekly application count for user: {}", userId);
 
-        java.time.LocalDate startDate = weeks != null ?
-                java.time.LocalDate.now().minusWeeks(weeks) :
-                java.time.LocalDate.now().minusMonths(3);
+        LocalDate today = LocalDate.now();
+        LocalDate startDate = weeks != null ? today.minusWeeks(weeks) : today.minusMonths(3);
 
-        Map<String, Long> weeklyCount = applicationService.getApplicationsPerWeek(userId, startDate);
+        TimeSeriesResponse weeklyCount = timeSeriesAnalytics.getSeries(userId,
+                TimeSeriesAnalytics.Series.APPLICATIONS, null, startDate, today, Granularity.WEEK);
         return ResponseEntity.ok(weeklyCount);
     }
 
     @GetMapping("/analytics/total-count")
-    public ResponseEntity<Map<String, Long>> getTotalApplicationsCount(
+    public ResponseEntity<TotalApplicationsResponse> getTotalApplicationsCount(
             @AuthenticationPrincipal Jwt jwt) {
 
         String userId = jwt.getClaim("sub");
         long totalCount = applicationService.getTotalApplicationsCount(userId);
 
-        return ResponseEntity.ok(Map.of("totalApplications", totalCount));
+        return ResponseEntity.ok(new TotalApplicationsResponse(totalCount));
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,16 @@
 package com.careerlog.controller;
 
+import com.careerlog.dto.AttachmentResponse;
+import com.careerlog.dto.AttachmentSearchResponse;
+import com.careerlog.dto.CountResponse;
+import com.careerlog.dto.UploadSlotRequest;
+import com.careerlog.dto.UploadSlotResponse;
 import com.careerlog.model.Attachment;
+import com.careerlog.search.AttachmentSearch;
 import com.careerlog.service.AttachmentService;
+import com.careerlog.uploads.DirectUploads;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -12,82 +18,109 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/attachments")
 @RequiredArgsConstructor
-@Slf4j
 @CrossOrigin(origins = "${FRONTEND_URL:http://localhost:5173}")
 public class AttachmentController {
 
     private final AttachmentService attachmentService;
+    private final DirectUploads directUploads;
+    private final AttachmentSearch attachmentSearch;
 
     @GetMapping("/application/{applicationId}")
-    public ResponseEntity<List<Attachment>> getAttachmentsByApplication(@PathVariable Long applicationId,
-                                                                       @AuthenticationPrincipal Jwt jwt) {
-        String userId = jwt.getClaim("sub");
-        log.info("Fetching attachments for application {} by user: {}", applicationId, userId);
-
-        List<Attachment> attachments = attachmentService.getAttachmentsByApplication(applicationId);
+    public ResponseEntity<List<AttachmentResponse>> getAttachmentsByApplication(@PathVariable Long applicationId,
+                                                                                @AuthenticationPrincipal Jwt jwt) {
+        List<AttachmentResponse> attachments = attachmentService.getAttachmentsByApplication(applicationId)
+                .stream()
+                .map(AttachmentResponse::from)
+                .toList();
         return ResponseEntity.ok(attachments);
     }
 
     @GetMapping("/user")
-    public ResponseEntity<List<Attachment>> getAttachmentsByUser(
+    public ResponseEntity<List<AttachmentResponse>> getAttachmentsByUser(
             @RequestParam(defaultValue = "50") int limit,
             @AuthenticationPrincipal Jwt jwt) {
 
         String userId = jwt.getClaim("sub");
-        log.info("Fetching recent attachments for user: {}", userId);
 
-        List<Attachment> attachments = attachmentService.getAttachmentsByUser(userId)
+        List<AttachmentResponse> attachments = attachmentService.getAttachmentsByUser(userId)
                 .stream()
                 .limit(limit)
+                .map(AttachmentResponse::from)
                 .toList();
 
         return ResponseEntity.ok(attachments);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<AttachmentSearchResponse> searchAttachments(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        String userId = jwt.getClaim("sub");
+
+        return ResponseEntity.ok(attachmentSearch.search(userId, q, limit));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Attachment> getAttachment(@PathVariable Long id,
-                                                    @AuthenticationPrincipal Jwt jwt) {
+    public ResponseEntity<AttachmentResponse> getAttachment(@PathVariable Long id,
+                                                            @AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getClaim("sub");
-        log.info("Fetching attachment {} for user: {}", id, userId);
 
         Attachment attachment = attachmentService.getAttachmentById(id, userId);
-        return ResponseEntity.ok(attachment);
+        return ResponseEntity.ok(AttachmentResponse.from(attachment));
     }
 
     @PostMapping
-    public ResponseEntity<Attachment> createAttachment(@Valid @RequestBody Attachment attachment,
-                                                       @AuthenticationPrincipal Jwt jwt) {
+    public ResponseEntity<AttachmentResponse> createAttachment(@Valid @RequestBody Attachment attachment,
+                                                               @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getClaim("sub");
+
+        Attachment createdAttachment = attachmentService.createAttachment(attachment, userId);
+        return ResponseEntity.ok(AttachmentResponse.from(createdAttachment));
+    }
+
+    @PostMapping("/uploads")
+    public ResponseEntity<UploadSlotResponse> createUploadSlot(@Valid @RequestBody UploadSlotRequest request,
+                                                               @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getClaim("sub");
+
+        return ResponseEntity.ok(directUploads.createSlot(userId, request));
+    }
+
+    @PostMapping("/uploads/{slotId}/finalize")
+    public ResponseEntity<AttachmentResponse> finalizeUpload(@PathVariable UUID slotId,
+                                                             @AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getClaim("sub");
-        log.info("Creating new attachment for user: {}", userId);
 
-        Attachment createdAttachment = attachmentService.createAttachment(attachment);
-        return ResponseEntity.ok(createdAttachment);
+        Attachment attachment = directUploads.finalizeUpload(userId, slotId);
+        return ResponseEntity.ok(AttachmentResponse.from(attachment));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAttachment(@PathVariable Long id,
-                                                  @AuthenticationPrincipal Jwt jwt) {
+                                                 @AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getClaim("sub");
-        log.info("Deleting attachment {} for user: {}", id, userId);
 
         attachmentService.deleteAttachment(id, userId);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/application/{applicationId}/type/{type}")
-    public ResponseEntity<List<Attachment>> getAttachmentsByApplicationAndType(
+    public ResponseEntity<List<AttachmentResponse>> getAttachmentsByApplicationAndType(
             @PathVariable Long applicationId,
             @PathVariable Attachment.AttachmentType type,
             @AuthenticationPrincipal Jwt jwt) {
 
-        String userId = jwt.getClaim("sub");
-        log.info("Fetching {} attachments for application {} by user: {}", type, applicationId, userId);
-
-        List<Attachment> attachments = attachmentService.getAttachmentsByApplicationAndType(applicationId, type);
+        List<AttachmentResponse> attachments = attachmentService.getAttachmentsByApplicationAndType(applicationId, type)
+                .stream()
+                .map(AttachmentResponse::from)
+                .toList();
         return ResponseEntity.ok(attachments);
     }
 
@@ -96,21 +129,17 @@ public class AttachmentController {
             @AuthenticationPrincipal Jwt jwt) {
 
         String userId = jwt.getClaim("sub");
-        log.info("Fetching attachment type breakdown for user: {}", userId);
 
         Map<String, Long> breakdown = attachmentService.getAttachmentTypeBreakdown(userId);
         return ResponseEntity.ok(breakdown);
     }
 
     @GetMapping("/application/{applicationId}/count")
-    public ResponseEntity<Map<String, Long>> getAttachmentCountByApplication(
+    public ResponseEntity<CountResponse> getAttachmentCountByApplication(
             @PathVariable Long applicationId,
             @AuthenticationPrincipal Jwt jwt) {
 
-        String userId = jwt.getClaim("sub");
-        log.info("Fetching attachment count for application {} by user: {}", applicationId, userId);
-
         long count = attachmentService.getAttachmentCountByApplication(applicationId);
-        return ResponseEntity.ok(Map.of("count", count));
+        return ResponseEntity.ok(new CountResponse(count));
     }
 }
\ No newline at end of file
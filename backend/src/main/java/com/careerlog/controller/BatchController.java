@@ -0,0 +1,30 @@
+package com.careerlog.controller;
+
+import com.careerlog.batch.BatchDispatcher;
+import com.careerlog.dto.BatchRequest;
+import com.careerlog.dto.BatchResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Several API calls in one round trip, for pages that need more than one. The batch succeeds
+ * as a whole; each call's own status is in its response.
+ */
+@RestController
+@RequestMapping("/batch")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "${FRONTEND_URL:http://localhost:5173}")
+public class BatchController {
+
+    private final BatchDispatcher batchDispatcher;
+
+    @PostMapping
+    public ResponseEntity<BatchResponse> dispatch(@Valid @RequestBody BatchRequest batch,
+                                                  HttpServletRequest request, HttpServletResponse response) {
+        return ResponseEntity.ok(batchDispatcher.dispatch(batch.requests(), request, response));
+    }
+}
@@ -1,16 +1,33 @@
 package com.careerlog.controller;
 
+import com.careerlog.analytics.FunnelAnalytics;
+import com.careerlog.analytics.Granularity;
+import com.careerlog.analytics.TimeSeriesAnalytics;
+import com.careerlog.distinct.DistinctCounts;
+import com.careerlog.followup.FollowUpSuggestions;
+import com.careerlog.dto.ActivityTrendsResponse;
+import com.careerlog.dto.DashboardOverviewResponse;
+import com.careerlog.dto.DistinctCountResponse;
+import com.careerlog.dto.FollowUpResponse;
+import com.careerlog.dto.FunnelResponse;
+import com.careerlog.dto.RecentActivityResponse;
+import com.careerlog.dto.StatusSummaryResponse;
+import com.careerlog.dto.TimeSeriesResponse;
+import com.careerlog.model.Activity;
+import com.careerlog.model.DistinctSketch;
 import com.careerlog.service.ApplicationService;
 import com.careerlog.service.ActivityService;
 import com.careerlog.service.AttachmentService;
+import com.careerlog.sql.StatementBudget;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,118 +35,93 @@ import java.util.Map;
 @RestController
 @RequestMapping("/dashboard")
 @RequiredArgsConstructor
-@Slf4j
 @CrossOrigin(origins = "${FRONTEND_URL:http://localhost:5173}")
 public class DashboardController {
 
     private final ApplicationService applicationService;
     private final ActivityService activityService;
     private final AttachmentService attachmentService;
+    private final FunnelAnalytics funnelAnalytics;
+    private final TimeSeriesAnalytics timeSeriesAnalytics;
+    private final FollowUpSuggestions followUpSuggestions;
+    private final DistinctCounts distinctCounts;
 
     @GetMapping("/overview")
-    public ResponseEntity<Map<String, Object>> getDashboardOverview(
+    @StatementBudget(max = 5, maxRepeats = 1)
+    public ResponseEntity<DashboardOverviewResponse> getDashboardOverview(
             @AuthenticationPrincipal Jwt jwt) {
 
         String userId = jwt.getClaim("sub");
-        log.info("Fetching dashboard overview for user: {}", userId);
-
-        Map<String, Object> overview = new HashMap<>();
 
         // Application statistics
         long totalApplications = applicationService.getTotalApplicationsCount(userId);
-        overview.put("totalApplications", totalApplications);
-
         Map<String, Long> statusBreakdown = applicationService.getApplicationStatusBreakdown(userId);
-        overview.put("applicationStatusBreakdown", statusBreakdown);
 
         // Weekly application trends (last 12 weeks)
-        LocalDate twelveWeeksAgo = LocalDate.now().minusWeeks(12);
-        Map<String, Long> weeklyApplications = applicationService.getApplicationsPerWeek(userId, twelveWeeksAgo);
-        overview.put("weeklyApplications", weeklyApplications);
+        LocalDate today = LocalDate.now();
+        TimeSeriesResponse weeklyApplications = timeSeriesAnalytics.getSeries(userId,
+                TimeSeriesAnalytics.Series.APPLICATIONS, null, today.minusWeeks(12), today, Granularity.WEEK);
 
         // Recent activities
-        List<Map<String, Object>> recentActivities = activityService.getRecentActivitiesByUser(userId, 10)
+        List<RecentActivityResponse> recentActivities = activityService.getRecentActivitiesByUser(userId, 10)
                 .stream()
-                .map(activity -> {
-                    Map<String, Object> activityMap = new HashMap<>();
-                    activityMap.put("id", activity.getId());
-                    activityMap.put("type", activity.getType().getDisplayName());
-                    activityMap.put("dateTime", activity.getDateTime());
-                    activityMap.put("companyName", activity.getApplication().getCompanyName());
-                    activityMap.put("jobTitle", activity.getApplication().getJobTitle());
-                    return activityMap;
-                })
+                .map(RecentActivityResponse::from)
                 .toList();
-        overview.put("recentActivities", recentActivities);
 
         // Activity statistics
         Map<String, Long> activityTypeBreakdown = activityService.getActivityTypeBreakdown(userId);
-        overview.put("activityTypeBreakdown", activityTypeBreakdown);
 
-        return ResponseEntity.ok(overview);
+        return ResponseEntity.ok(new DashboardOverviewResponse(
+                totalApplications, statusBreakdown, weeklyApplications, recentActivities, activityTypeBreakdown));
     }
 
     @GetMapping("/applications-per-week")
-    public ResponseEntity<Map<String, Long>> getApplicationsPerWeek(
+    public ResponseEntity<TimeSeriesResponse> getApplicationsPerWeek(
             @RequestParam(defaultValue = "12") int weeks,
             @AuthenticationPrincipal Jwt jwt) {
 
         String userId = jwt.getClaim("sub");
-        LocalDate startDate = LocalDate.now().minusWeeks(weeks);
+        LocalDate today = LocalDate.now();
 
-        Map<String, Long> weeklyApplications = applicationService.getApplicationsPerWeek(userId, startDate);
+        TimeSeriesResponse weeklyApplications = timeSeriesAnalytics.getSeries(userId,
+                TimeSeriesAnalytics.Series.APPLICATIONS, null, today.minusWeeks(weeks), today, Granularity.WEEK);
         return ResponseEntity.ok(weeklyApplications);
     }
 
     @GetMapping("/recent-activities")
-    public ResponseEntity<List<Map<String, Object>>> getRecentActivities(
+    public ResponseEntity<List<RecentActivityResponse>> getRecentActivities(
             @RequestParam(defaultValue = "10") int limit,
             @AuthenticationPrincipal Jwt jwt) {
 
         String userId = jwt.getClaim("sub");
 
-        List<Map<String, Object>> recentActivities = activityService.getRecentActivitiesByUser(userId, limit)
+        List<RecentActivityResponse> recentActivities = activityService.getRecentActivitiesByUser(userId, limit)
                 .stream()
-                .map(activity -> {
-                    Map<String, Object> activityMap = new HashMap<>();
-                    activityMap.put("id", activity.getId());
-                    activityMap.put("type", activity.getType().getDisplayName());
-                    activityMap.put("dateTime", activity.getDateTime());
-                    activityMap.put("notes", activity.getNotes());
-                    activityMap.put("companyName", activity.getApplication().getCompanyName());
-                    activityMap.put("jobTitle", activity.getApplication().getJobTitle());
-                    activityMap.put("applicationId", activity.getApplication().getId());
-                    return activityMap;
-                })
+                .map(RecentActivityResponse::from)
                 .toList();
 
         return ResponseEntity.ok(recentActivities);
     }
 
     @GetMapping("/analytics/status-summary")
-    public ResponseEntity<Map<String, Object>> getStatusSummary(@AuthenticationPrincipal Jwt jwt) {
+    public ResponseEntity<StatusSummaryResponse> getStatusSummary(@AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getClaim("sub");
 
         Map<String, Long> statusBreakdown = applicationService.getApplicationStatusBreakdown(userId);
         long totalApplications = statusBreakdown.values().stream().mapToLong(Long::longValue).sum();
 
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("totalApplications", totalApplications);
-        summary.put("statusBreakdown", statusBreakdown);
-
         // Calculate percentages
         Map<String, Double> statusPercentages = new HashMap<>();
         statusBreakdown.forEach((status, count) -> {
             double percentage = totalApplications > 0 ? (count * 100.0 / totalApplications) : 0.0;
             statusPercentages.put(status, Math.round(percentage * 10.0) / 10.0);
         });
-        summary.put("statusPercentages", statusPercentages);
 
-        return ResponseEntity.ok(summary);
+        return ResponseEntity.ok(new StatusSummaryResponse(totalApplications, statusBreakdown, statusPercentages));
     }
 
     @GetMapping("/analytics/activity-trends")
-    public ResponseEntity<Map<String, Object>> getActivityTrends(
+    public ResponseEntity<ActivityTrendsResponse> getActivityTrends(
             @RequestParam(defaultValue = "30") int days,
             @AuthenticationPrincipal Jwt jwt) {
 
@@ -138,10 +130,65 @@ public class DashboardController {
         Map<String, Long> activityTypeBreakdown = activityService.getActivityTypeBreakdown(userId);
         Map<String, Long> attachmentTypeBreakdown = attachmentService.getAttachmentTypeBreakdown(userId);
 
-        Map<String, Object> trends = new HashMap<>();
-        trends.put("activityTypeBreakdown", activityTypeBreakdown);
-        trends.put("attachmentTypeBreakdown", attachmentTypeBreakdown);
+        return ResponseEntity.ok(new ActivityTrendsResponse(activityTypeBreakdown, attachmentTypeBreakdown));
+    }
+
+    /**
+     * Applications or activities per day, week or month over {@code [from, to]}, defaulting to
+     * the last three months by week. {@code activityType} narrows activities to one type.
+     */
+    @GetMapping("/analytics/time-series")
+    @StatementBudget(max = 1)
+    public ResponseEntity<TimeSeriesResponse> getTimeSeries(
+            @RequestParam(defaultValue = "APPLICATIONS") TimeSeriesAnalytics.Series series,
+            @RequestParam(required = false) Activity.ActivityType activityType,
+            @RequestParam(defaultValue = "WEEK") Granularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        String userId = jwt.getClaim("sub");
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusMonths(3);
+
+        return ResponseEntity.ok(timeSeriesAnalytics.getSeries(userId, series, activityType, start, end, granularity));
+    }
+
+    /**
+     * Estimated distinct companies or sources applied through, over {@code [from, to]} and per
+     * month, defaulting to the last twelve months.
+     */
+    @GetMapping("/analytics/distinct")
+    @StatementBudget(max = 1)
+    public ResponseEntity<DistinctCountResponse> getDistinctCounts(
+            @RequestParam(defaultValue = "COMPANY") DistinctSketch.Field field,
+            @RequestParam(required = false) YearMonth from,
+            @RequestParam(required = false) YearMonth to,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        String userId = jwt.getClaim("sub");
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.minusMonths(11);
 
-        return ResponseEntity.ok(trends);
+        return ResponseEntity.ok(distinctCounts.getUserCounts(userId, field, start, end));
+    }
+
+    // Two lookups at most: the initial load and the catch-up that follows it
+    @GetMapping("/analytics/funnel")
+    @StatementBudget(max = 2, maxRepeats = 2)
+    public ResponseEntity<FunnelResponse> getFunnel(@AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getClaim("sub");
+        return ResponseEntity.ok(funnelAnalytics.getFunnel(userId));
+    }
+
+    /** Open applications with no activity for a while, as found by the last stale application run. */
+    @GetMapping("/follow-ups")
+    @StatementBudget(max = 1)
+    public ResponseEntity<List<FollowUpResponse>> getFollowUps(
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        String userId = jwt.getClaim("sub");
+        return ResponseEntity.ok(followUpSuggestions.getSuggestions(userId, limit));
     }
-}
\ No newline at end of file
+}
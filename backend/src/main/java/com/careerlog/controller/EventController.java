@@ -0,0 +1,28 @@
+package com.careerlog.controller;
+
+import com.careerlog.events.EventStreamService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/events")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "${FRONTEND_URL:http://localhost:5173}")
+public class EventController {
+
+    private final EventStreamService eventStreamService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getClaim("sub");
+        log.info("Opening event stream for user: {}", userId);
+
+        return eventStreamService.subscribe(userId);
+    }
+}
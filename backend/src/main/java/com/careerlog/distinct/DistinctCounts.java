@@ -0,0 +1,96 @@
+package com.careerlog.distinct;
+
+import com.careerlog.dto.DistinctCountResponse;
+import com.careerlog.exception.BadRequestException;
+import com.careerlog.model.DistinctSketch;
+import com.careerlog.repository.DistinctSketchRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Distinct companies and sources over a range of months, for one user or across all of them,
+ * estimated by merging the stored monthly sketches instead of scanning applications.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DistinctCounts {
+
+    private final DistinctSketchRepository distinctSketchRepository;
+    private final DistinctSketches distinctSketches;
+    private final DistinctProperties properties;
+
+    public DistinctCounts(DistinctSketchRepository distinctSketchRepository, DistinctSketches distinctSketches,
+                          DistinctProperties properties) {
+        this.distinctSketchRepository = distinctSketchRepository;
+        this.distinctSketches = distinctSketches;
+        this.properties = properties;
+    }
+
+    public DistinctCountResponse getUserCounts(String userId, DistinctSketch.Field field, YearMonth from, YearMonth to) {
+        Months months = months(from, to);
+        return months.response(field, distinctSketchRepository.findRegisters(userId, field,
+                from.atDay(1), to.atDay(1)).iterator());
+    }
+
+    public DistinctCountResponse getPlatformCounts(DistinctSketch.Field field, YearMonth from, YearMonth to) {
+        Months months = months(from, to);
+        try (Stream<Object[]> rows = distinctSketchRepository.streamRegisters(field, from.atDay(1), to.atDay(1))) {
+            return months.response(field, rows.iterator());
+        }
+    }
+
+    private Months months(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        long count = from.until(to, ChronoUnit.MONTHS) + 1;
+        if (count > properties.getMaxMonths()) {
+            throw new BadRequestException("Range spans " + count + " months; at most "
+                    + properties.getMaxMonths() + " are allowed");
+        }
+        return new Months(from, to, (int) count);
+    }
+
+    /** One sketch per month and one for the whole range, each row merged into both. */
+    private final class Months {
+
+        private final YearMonth from;
+        private final YearMonth to;
+        private final HyperLogLog[] perMonth;
+        private final HyperLogLog total = distinctSketches.newSketch();
+
+        private Months(YearMonth from, YearMonth to, int count) {
+            this.from = from;
+            this.to = to;
+            this.perMonth = new HyperLogLog[count];
+        }
+
+        private DistinctCountResponse response(DistinctSketch.Field field, Iterator<Object[]> rows) {
+            while (rows.hasNext()) {
+                Object[] row = rows.next();
+                HyperLogLog sketch = HyperLogLog.fromBytes((byte[]) row[1]);
+                int index = (int) from.until(YearMonth.from((LocalDate) row[0]), ChronoUnit.MONTHS);
+                if (perMonth[index] == null) {
+                    perMonth[index] = sketch;
+                } else {
+                    perMonth[index].merge(sketch);
+                }
+                total.merge(sketch);
+            }
+            YearMonth[] months = new YearMonth[perMonth.length];
+            long[] counts = new long[perMonth.length];
+            for (int i = 0; i < perMonth.length; i++) {
+                months[i] = from.plusMonths(i);
+                counts[i] = perMonth[i] == null ? 0 : perMonth[i].estimate();
+            }
+            return new DistinctCountResponse(field, from, to, total.estimate(), months, counts,
+                    total.relativeStandardError());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.careerlog.distinct;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the per-user, per-month distinct company and source sketches.
+ */
+@ConfigurationProperties(prefix = "careerlog.distinct")
+@Getter
+@Setter
+public class DistinctProperties {
+
+    /**
+     * Sketch precision p, for 2^p registers and a relative standard error of about
+     * 1.04 / sqrt(2^p). Existing sketches keep theirs; merging folds to the lower one.
+     */
+    private int precision = 12;
+
+    /** Most months a single request may span. */
+    private int maxMonths = 120;
+
+    /** Sketch the applications of users who have none yet at startup. */
+    private boolean backfillOnStartup = true;
+
+    /** Users backfilled per transaction. */
+    private int backfillBatchSize = 100;
+}
@@ -0,0 +1,114 @@
+package com.careerlog.distinct;
+
+import com.careerlog.model.DistinctSketch;
+import com.careerlog.repository.ApplicationRepository;
+import com.careerlog.repository.DistinctSketchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sketches the applications of users who have no sketches yet, such as those entered before
+ * sketches existed. Runs at startup in batches of users; sketches are merged into rather than
+ * replaced, so it is safe alongside live writes and to run repeatedly, and an advisory lock
+ * keeps concurrent instances from doubling up.
+ */
+@Component
+@Slf4j
+public class DistinctSketchBackfill {
+
+    private static final long LOCK_KEY = 0x636c_6468_6c6c_6266L;
+
+    private final DistinctSketchRepository distinctSketchRepository;
+    private final ApplicationRepository applicationRepository;
+    private final DistinctSketches distinctSketches;
+    private final DistinctProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public DistinctSketchBackfill(DistinctSketchRepository distinctSketchRepository,
+                                  ApplicationRepository applicationRepository, DistinctSketches distinctSketches,
+                                  DistinctProperties properties, PlatformTransactionManager transactionManager) {
+        this.distinctSketchRepository = distinctSketchRepository;
+        this.applicationRepository = applicationRepository;
+        this.distinctSketches = distinctSketches;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!properties.isBackfillOnStartup()) {
+            return;
+        }
+        try {
+            int users = backfill();
+            if (users > 0) {
+                log.info("Sketched distinct companies and sources of {} users", users);
+            }
+        } catch (RuntimeException e) {
+            // Distinct counts just miss those users until the next successful run
+            log.warn("Distinct sketch backfill failed", e);
+        }
+    }
+
+    /** Returns the number of users sketched. */
+    public int backfill() {
+        int total = 0;
+        String afterUserId = "";
+        while (true) {
+            String from = afterUserId;
+            Batch batch = transactionTemplate.execute(status -> backfillBatch(from));
+            if (batch == null) {
+                log.info("Distinct sketch backfill is running on another instance");
+                return total;
+            }
+            total += batch.users();
+            if (batch.lastUserId() == null) {
+                return total;
+            }
+            afterUserId = batch.lastUserId();
+        }
+    }
+
+    private record Batch(int users, String lastUserId) {
+    }
+
+    private record SketchKey(String userId, DistinctSketch.Field field, LocalDate month) {
+    }
+
+    private Batch backfillBatch(String afterUserId) {
+        if (!distinctSketchRepository.tryAdvisoryLock(LOCK_KEY)) {
+            return null;
+        }
+        List<String> userIds = distinctSketchRepository.findUnsketchedUserIds(afterUserId,
+                PageRequest.ofSize(properties.getBackfillBatchSize()));
+        if (userIds.isEmpty()) {
+            return new Batch(0, null);
+        }
+        // Built in memory first, so each sketch is written once
+        Map<SketchKey, HyperLogLog> sketches = new HashMap<>();
+        for (Object[] row : applicationRepository.findDistinctValuesByUserIds(userIds)) {
+            if (row[1] == null) {
+                continue;
+            }
+            for (DistinctSketch.Field field : DistinctSketch.Field.values()) {
+                String value = DistinctSketches.normalize(field, (String) row[2], (String) row[3]);
+                if (value != null) {
+                    SketchKey key = new SketchKey((String) row[0], field, DistinctSketches.month((LocalDate) row[1]));
+                    sketches.computeIfAbsent(key, k -> distinctSketches.newSketch()).add(value);
+                }
+            }
+        }
+        sketches.forEach((key, sketch) -> distinctSketches.merge(key.userId(), key.field(), key.month(), sketch));
+        return new Batch(userIds.size(), userIds.get(userIds.size() - 1));
+    }
+}
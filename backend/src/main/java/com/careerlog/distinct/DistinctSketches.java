@@ -0,0 +1,84 @@
+package com.careerlog.distinct;
+
+import com.careerlog.model.Application;
+import com.careerlog.model.DistinctSketch;
+import com.careerlog.repository.DistinctSketchRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Adds applications' companies and sources to the sketch for their user and month, inside the
+ * caller's transaction. The row is locked while it is merged into; adding a value already seen
+ * leaves the registers as they were and writes nothing.
+ */
+@Component
+public class DistinctSketches {
+
+    private final DistinctSketchRepository distinctSketchRepository;
+    private final int precision;
+
+    public DistinctSketches(DistinctSketchRepository distinctSketchRepository, DistinctProperties properties) {
+        int precision = properties.getPrecision();
+        if (precision < HyperLogLog.MIN_PRECISION || precision > HyperLogLog.MAX_PRECISION) {
+            throw new IllegalStateException("careerlog.distinct.precision must be between "
+                    + HyperLogLog.MIN_PRECISION + " and " + HyperLogLog.MAX_PRECISION);
+        }
+        this.distinctSketchRepository = distinctSketchRepository;
+        this.precision = precision;
+    }
+
+    /** Records a new application, or the current values of an edited one. */
+    public void record(Application application) {
+        if (application.getApplicationDate() == null) {
+            return;
+        }
+        LocalDate month = month(application.getApplicationDate());
+        for (DistinctSketch.Field field : DistinctSketch.Field.values()) {
+            String value = normalize(field, application.getCompanyName(), application.getSource());
+            if (value != null) {
+                update(application.getUserId(), field, month, sketch -> sketch.add(value));
+            }
+        }
+    }
+
+    void merge(String userId, DistinctSketch.Field field, LocalDate month, HyperLogLog other) {
+        update(userId, field, month, sketch -> sketch.merge(other));
+    }
+
+    HyperLogLog newSketch() {
+        return new HyperLogLog(precision);
+    }
+
+    /** Counted case-insensitively, like {@code COUNT(DISTINCT LOWER(...))}; blank values are not counted. */
+    static String normalize(DistinctSketch.Field field, String companyName, String source) {
+        String value = field == DistinctSketch.Field.COMPANY ? companyName : source;
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static LocalDate month(LocalDate date) {
+        return date.withDayOfMonth(1);
+    }
+
+    private void update(String userId, DistinctSketch.Field field, LocalDate month, Predicate<HyperLogLog> change) {
+        DistinctSketch row = distinctSketchRepository.findForUpdate(userId, field, month).orElse(null);
+        if (row == null) {
+            HyperLogLog sketch = newSketch();
+            change.test(sketch);
+            if (distinctSketchRepository.insertIfAbsent(userId, field.name(), month, sketch.toBytes()) == 1) {
+                return;
+            }
+            // Created by a concurrent transaction since the lookup; merge into that one instead
+            row = distinctSketchRepository.findForUpdate(userId, field, month).orElseThrow();
+        }
+        HyperLogLog sketch = HyperLogLog.fromBytes(row.getRegisters());
+        if (change.test(sketch)) {
+            row.setRegisters(sketch.toBytes());
+        }
+    }
+}
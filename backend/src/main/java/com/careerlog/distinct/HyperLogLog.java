@@ -0,0 +1,210 @@
+package com.careerlog.distinct;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A HyperLogLog sketch of distinct strings: {@code 2^precision} registers, each holding the
+ * longest run of leading zeros seen among the hashes routed to it. The estimate uses Ertl's
+ * improved estimator ("New cardinality estimation algorithms for HyperLogLog sketches", 2017),
+ * which is unbiased from zero up without empirical correction tables; the relative standard
+ * error is about {@code 1.04 / sqrt(2^precision)}.
+ * <p>
+ * Sketches merge by taking the larger register, so merging is order-free and idempotent; a
+ * sketch merged with one of higher precision is folded down to the lower one. The stored form
+ * lists only the non-zero registers while that is smaller than the full array, so a month with
+ * a handful of companies costs a few dozen bytes. Not thread-safe.
+ */
+final class HyperLogLog {
+
+    static final int MIN_PRECISION = 4;
+    static final int MAX_PRECISION = 16;
+
+    private static final byte SPARSE = 1;
+    private static final byte DENSE = 2;
+
+    private int precision;
+    private byte[] registers;
+
+    HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision must be between " + MIN_PRECISION + " and "
+                    + MAX_PRECISION);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    int precision() {
+        return precision;
+    }
+
+    /** Returns whether the sketch changed, which is rare once a value has been seen. */
+    boolean add(String value) {
+        long hash = hash(value);
+        int index = (int) (hash >>> (64 - precision));
+        // Leading zeros of the remaining bits, plus one; capped at 64 - precision + 1 when all are zero
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (rank <= registers[index]) {
+            return false;
+        }
+        registers[index] = (byte) rank;
+        return true;
+    }
+
+    /** Merges {@code other} into this sketch; returns whether this sketch changed. */
+    boolean merge(HyperLogLog other) {
+        boolean changed = false;
+        if (other.precision < precision) {
+            reduceTo(other.precision);
+            changed = true;
+        }
+        byte[] theirs = other.precision == precision ? other.registers : other.folded(precision);
+        for (int i = 0; i < registers.length; i++) {
+            if (theirs[i] > registers[i]) {
+                registers[i] = theirs[i];
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    double relativeStandardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    long estimate() {
+        int m = registers.length;
+        int q = 64 - precision;
+        int[] histogram = new int[q + 2];
+        for (byte register : registers) {
+            histogram[register]++;
+        }
+        if (histogram[0] == m) {
+            return 0;
+        }
+        double z = m * tau(1.0 - (double) histogram[q + 1] / m);
+        for (int k = q; k >= 1; k--) {
+            z = 0.5 * (z + histogram[k]);
+        }
+        z += m * sigma((double) histogram[0] / m);
+        return Math.round(m / (2.0 * Math.log(2)) * m / z);
+    }
+
+    /** Version byte, precision, then either (index, register) pairs or every register. */
+    byte[] toBytes() {
+        int nonZero = 0;
+        for (byte register : registers) {
+            if (register != 0) {
+                nonZero++;
+            }
+        }
+        if (3 * nonZero >= registers.length) {
+            return ByteBuffer.allocate(2 + registers.length).put(DENSE).put((byte) precision).put(registers).array();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(2 + 3 * nonZero).put(SPARSE).put((byte) precision);
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] != 0) {
+                buffer.putShort((short) i).put(registers[i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes.length < 2) {
+            throw new IllegalArgumentException("Not a sketch: " + bytes.length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte encoding = buffer.get();
+        HyperLogLog sketch = new HyperLogLog(buffer.get());
+        if (encoding == DENSE && buffer.remaining() == sketch.registers.length) {
+            buffer.get(sketch.registers);
+        } else if (encoding == SPARSE && buffer.remaining() % 3 == 0) {
+            while (buffer.hasRemaining()) {
+                int index = buffer.getShort() & 0xFFFF;
+                if (index >= sketch.registers.length) {
+                    throw new IllegalArgumentException("Not a sketch: register " + index + " out of range");
+                }
+                sketch.registers[index] = buffer.get();
+            }
+        } else {
+            throw new IllegalArgumentException("Not a sketch: encoding " + encoding + ", " + bytes.length + " bytes");
+        }
+        return sketch;
+    }
+
+    private void reduceTo(int lower) {
+        registers = folded(lower);
+        precision = lower;
+    }
+
+    /**
+     * The registers at a lower precision: the index bits dropped become the top of the
+     * remaining hash, so a register whose dropped bits are not all zero gets their leading
+     * zeros plus one, and the others keep their rank shifted by the dropped width.
+     */
+    private byte[] folded(int lower) {
+        int shift = precision - lower;
+        byte[] folded = new byte[1 << lower];
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] == 0) {
+                continue;
+            }
+            int dropped = i & ((1 << shift) - 1);
+            int rank = dropped != 0
+                    ? Integer.numberOfLeadingZeros(dropped) - (32 - shift) + 1
+                    : registers[i] + shift;
+            folded[i >>> shift] = (byte) Math.max(folded[i >>> shift], rank);
+        }
+        return folded;
+    }
+
+    private static double sigma(double x) {
+        if (x == 1.0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double y = 1;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while (z != previous);
+        return z;
+    }
+
+    private static double tau(double x) {
+        if (x == 0.0 || x == 1.0) {
+            return 0.0;
+        }
+        double y = 1.0;
+        double z = 1 - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= Math.pow(1 - x, 2) * y;
+        } while (z != previous);
+        return z / 3;
+    }
+
+    // FNV-1a over the UTF-8 bytes, then the MurmurHash3 finalizer to spread it over all 64 bits.
+    // Stored sketches depend on it, so it must never change.
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
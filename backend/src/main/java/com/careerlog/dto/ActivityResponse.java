@@ -0,0 +1,28 @@
+package com.careerlog.dto;
+
+import com.careerlog.model.Activity;
+
+import java.time.LocalDateTime;
+
+public record ActivityResponse(
+        Long id,
+        ApplicationRef application,
+        Activity.ActivityType type,
+        LocalDateTime dateTime,
+        String notes,
+        String location,
+        String participants,
+        Integer durationMinutes) {
+
+    public static ActivityResponse from(Activity activity) {
+        return new ActivityResponse(
+                activity.getId(),
+                ApplicationRef.from(activity.getApplication()),
+                activity.getType(),
+                activity.getDateTime(),
+                activity.getNotes(),
+                activity.getLocation(),
+                activity.getParticipants(),
+                activity.getDurationMinutes());
+    }
+}
@@ -0,0 +1,8 @@
+package com.careerlog.dto;
+
+import java.util.Map;
+
+public record ActivityTrendsResponse(
+        Map<String, Long> activityTypeBreakdown,
+        Map<String, Long> attachmentTypeBreakdown) {
+}
@@ -0,0 +1,22 @@
+package com.careerlog.dto;
+
+/** A filter dimension of the application list that facet counts are given for. */
+public enum ApplicationFacet {
+    STATUS("status"),
+    MONTH("month"),
+    LOCATION("location"),
+    SOURCE("source"),
+    ACTIVITY_TYPE("activityType"),
+    ATTACHMENT_TYPE("attachmentType");
+
+    private final String key;
+
+    ApplicationFacet(String key) {
+        this.key = key;
+    }
+
+    /** Its key in {@link ApplicationFacetsResponse#facets()}. */
+    public String key() {
+        return key;
+    }
+}
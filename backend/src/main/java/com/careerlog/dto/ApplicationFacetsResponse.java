@@ -0,0 +1,15 @@
+package com.careerlog.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts for each filter dimension of the application list. Each dimension is counted with
+ * every other filter applied but its own, so it shows what selecting another value would
+ * give. Values are ordered by count; free-text dimensions keep only the most common ones.
+ */
+public record ApplicationFacetsResponse(long applications, Map<String, List<FacetCount>> facets) {
+
+    public record FacetCount(String value, long applications) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.careerlog.dto;
+
+import com.careerlog.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Selectable fields of {@link ApplicationResponse}. Declaration order matches the
+ * record components, and {@link #attribute()} is the JPA attribute (and JSON property)
+ * name, so a field set drives both the SQL select list and the serialized output.
+ */
+public enum ApplicationField {
+    ID("id"),
+    USER_ID("userId"),
+    COMPANY_NAME("companyName"),
+    JOB_TITLE("jobTitle"),
+    LOCATION("location"),
+    TECH_STACK("techStack"),
+    APPLICATION_DATE("applicationDate"),
+    STATUS("status"),
+    SALARY_RANGE("salaryRange"),
+    SOURCE("source"),
+    DESCRIPTION("description");
+
+    /**
+     * What list views render; the SPA asks for these with {@code fields=}. Without it lists
+     * return {@link #ALL}, the shape clients had before fields could be selected.
+     */
+    public static final Set<ApplicationField> LIST_VIEW = Collections.unmodifiableSet(
+            EnumSet.of(ID, COMPANY_NAME, JOB_TITLE, LOCATION, APPLICATION_DATE, STATUS, SOURCE));
+
+    public static final Set<ApplicationField> ALL = Collections.unmodifiableSet(EnumSet.allOf(ApplicationField.class));
+
+    private final String attribute;
+
+    ApplicationField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    public static ApplicationField fromAttribute(String attribute) {
+        for (ApplicationField field : values()) {
+            if (field.attribute.equals(attribute)) {
+                return field;
+            }
+        }
+        throw new BadRequestException("Unknown application field: " + attribute);
+    }
+
+    /**
+     * Parses a comma separated {@code fields=} parameter. {@code id} is always included so
+     * clients can link rows back to the detail view.
+     */
+    public static Set<ApplicationField> parse(String fields, Set<ApplicationField> defaults) {
+        if (fields == null || fields.isBlank()) {
+            return defaults;
+        }
+        EnumSet<ApplicationField> selected = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(ApplicationField::fromAttribute)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(ApplicationField.class)));
+        selected.add(ID);
+        return selected;
+    }
+}
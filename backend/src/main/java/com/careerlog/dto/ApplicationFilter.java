@@ -0,0 +1,62 @@
+package com.careerlog.dto;
+
+import com.careerlog.exception.BadRequestException;
+import com.careerlog.model.Activity.ActivityType;
+import com.careerlog.model.Application.ApplicationStatus;
+import com.careerlog.model.Attachment.AttachmentType;
+import com.careerlog.tags.TagMatch;
+import com.careerlog.tags.TechStackTags;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Filters on a user's application list; every part is optional and they all apply together.
+ * Within {@code status}, {@code activityType} and {@code attachmentType} any value matches.
+ * <p>
+ * Values are normalized on construction (trimmed, lowercased, empty becomes null, sets sorted)
+ * so filters that select the same rows are equal and share cached counts.
+ */
+public record ApplicationFilter(String search, Set<ApplicationStatus> status, LocalDate from, LocalDate to,
+                                String location, String source, Set<ActivityType> activityType,
+                                Set<AttachmentType> attachmentType, Set<String> tags, TagMatch tagMatch) {
+
+    public static final ApplicationFilter NONE =
+            new ApplicationFilter(null, null, null, null, null, null, null, null, null, null);
+
+    public ApplicationFilter {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        search = text(search);
+        location = text(location);
+        source = text(source);
+        status = values(status);
+        activityType = values(activityType);
+        attachmentType = values(attachmentType);
+        tags = tags == null ? Set.of()
+                : Collections.unmodifiableSortedSet(new TreeSet<>(TechStackTags.parse(String.join(",", tags))));
+        tagMatch = tags.isEmpty() ? null : tagMatch != null ? tagMatch : TagMatch.ALL;
+    }
+
+    public static ApplicationFilter ofStatus(ApplicationStatus status) {
+        return new ApplicationFilter(null, Set.of(status), null, null, null, null, null, null, null, null);
+    }
+
+    public boolean hasTags() {
+        return !tags.isEmpty();
+    }
+
+    private static String text(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static <E extends Enum<E>> Set<E> values(Collection<E> values) {
+        return values == null || values.isEmpty() ? Set.of() : Collections.unmodifiableSet(EnumSet.copyOf(values));
+    }
+}
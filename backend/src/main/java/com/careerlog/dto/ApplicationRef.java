@@ -0,0 +1,11 @@
+package com.careerlog.dto;
+
+import com.careerlog.model.Application;
+
+/** The few application fields shown next to an activity or attachment. */
+public record ApplicationRef(Long id, String companyName, String jobTitle) {
+
+    public static ApplicationRef from(Application application) {
+        return new ApplicationRef(application.getId(), application.getCompanyName(), application.getJobTitle());
+    }
+}
@@ -0,0 +1,52 @@
+package com.careerlog.dto;
+
+import com.careerlog.model.Application;
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+import java.time.LocalDate;
+
+@JsonFilter(SparseFields.FILTER_ID)
+public record ApplicationResponse(
+        Long id,
+        String userId,
+        String companyName,
+        String jobTitle,
+        String location,
+        String techStack,
+        LocalDate applicationDate,
+        Application.ApplicationStatus status,
+        String salaryRange,
+        String source,
+        String description) {
+
+    public static ApplicationResponse from(Application application) {
+        return new ApplicationResponse(
+                application.getId(),
+                application.getUserId(),
+                application.getCompanyName(),
+                application.getJobTitle(),
+                application.getLocation(),
+                application.getTechStack(),
+                application.getApplicationDate(),
+                application.getStatus(),
+                application.getSalaryRange(),
+                application.getSource(),
+                application.getDescription());
+    }
+
+    /** Builds a response from values indexed by {@link ApplicationField#ordinal()}; unselected fields are null. */
+    public static ApplicationResponse fromValues(Object[] values) {
+        return new ApplicationResponse(
+                (Long) values[ApplicationField.ID.ordinal()],
+                (String) values[ApplicationField.USER_ID.ordinal()],
+                (String) values[ApplicationField.COMPANY_NAME.ordinal()],
+                (String) values[ApplicationField.JOB_TITLE.ordinal()],
+                (String) values[ApplicationField.LOCATION.ordinal()],
+                (String) values[ApplicationField.TECH_STACK.ordinal()],
+                (LocalDate) values[ApplicationField.APPLICATION_DATE.ordinal()],
+                (Application.ApplicationStatus) values[ApplicationField.STATUS.ordinal()],
+                (String) values[ApplicationField.SALARY_RANGE.ordinal()],
+                (String) values[ApplicationField.SOURCE.ordinal()],
+                (String) values[ApplicationField.DESCRIPTION.ordinal()]);
+    }
+}
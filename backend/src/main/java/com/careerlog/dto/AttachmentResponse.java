@@ -0,0 +1,32 @@
+package com.careerlog.dto;
+
+import com.careerlog.model.Attachment;
+
+import java.time.LocalDateTime;
+
+public record AttachmentResponse(
+        Long id,
+        Long applicationId,
+        Attachment.AttachmentType type,
+        String fileName,
+        String originalFileName,
+        String contentType,
+        Long fileSizeBytes,
+        String blobUrl,
+        LocalDateTime uploadedAt,
+        String description) {
+
+    public static AttachmentResponse from(Attachment attachment) {
+        return new AttachmentResponse(
+                attachment.getId(),
+                attachment.getApplication().getId(),
+                attachment.getType(),
+                attachment.getFileName(),
+                attachment.getOriginalFileName(),
+                attachment.getContentType(),
+                attachment.getFileSizeBytes(),
+                attachment.getBlobUrl(),
+                attachment.getUploadedAt(),
+                attachment.getDescription());
+    }
+}
@@ -0,0 +1,14 @@
+package com.careerlog.dto;
+
+import java.util.List;
+
+/**
+ * Attachments whose text contains every word of the query, best match first, each with its
+ * application and a snippet of text around the matches. {@code pending} counts the user's
+ * attachments not yet extracted, which the search cannot find yet.
+ */
+public record AttachmentSearchResponse(String query, List<Hit> hits, long pending) {
+
+    public record Hit(AttachmentResponse attachment, ApplicationRef application, String snippet, double score) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.careerlog.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * API calls to run in one round trip. Paths are relative to {@code /api} and may carry a query
+ * string; {@code id} is echoed back in the matching response and defaults to the position.
+ */
+public record BatchRequest(
+        @NotEmpty(message = "At least one request is required")
+        List<@Valid Item> requests) {
+
+    public record Item(
+            String id,
+            @NotBlank(message = "Method is required")
+            String method,
+            @NotBlank(message = "Path is required")
+            String path,
+            JsonNode body) {
+    }
+}
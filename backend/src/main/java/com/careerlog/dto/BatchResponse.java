@@ -0,0 +1,15 @@
+package com.careerlog.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.util.List;
+
+/**
+ * One response per batched request, in request order. {@code body} is the JSON the call would
+ * have returned on its own, or null when it had none.
+ */
+public record BatchResponse(List<Result> responses) {
+
+    public record Result(String id, int status, @JsonRawValue String body) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.careerlog.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record DashboardOverviewResponse(
+        long totalApplications,
+        Map<String, Long> applicationStatusBreakdown,
+        TimeSeriesResponse weeklyApplications,
+        List<RecentActivityResponse> recentActivities,
+        Map<String, Long> activityTypeBreakdown) {
+}
@@ -0,0 +1,21 @@
+package com.careerlog.dto;
+
+import com.careerlog.model.DistinctSketch;
+
+import java.time.YearMonth;
+
+/**
+ * Estimated distinct values of a field over {@code [from, to]} in total and per month, oldest
+ * first with empty months included: {@code counts[i]} is for {@code months[i]}. A value seen
+ * in several months counts once in {@code distinct}. Estimates are typically within
+ * {@code relativeStandardError} of the exact count, and within three times it almost always.
+ */
+public record DistinctCountResponse(
+        DistinctSketch.Field field,
+        YearMonth from,
+        YearMonth to,
+        long distinct,
+        YearMonth[] months,
+        long[] counts,
+        double relativeStandardError) {
+}
@@ -0,0 +1,7 @@
+package com.careerlog.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+/** A {@link PageResponse} with facet counts for the same filter alongside it. */
+public record FacetedPageResponse<T>(@JsonUnwrapped PageResponse<T> page, ApplicationFacetsResponse facets) {
+}
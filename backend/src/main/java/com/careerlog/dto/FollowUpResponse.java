@@ -0,0 +1,15 @@
+package com.careerlog.dto;
+
+import com.careerlog.model.Application.ApplicationStatus;
+
+import java.time.LocalDateTime;
+
+/** An application due a follow-up; {@code lastActivityAt} is its application date if it has no activities. */
+public record FollowUpResponse(
+        Long applicationId,
+        String companyName,
+        String jobTitle,
+        ApplicationStatus status,
+        LocalDateTime lastActivityAt,
+        long idleDays) {
+}
@@ -0,0 +1,28 @@
+package com.careerlog.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pipeline stages in order. An application counts as having reached a stage when it reached
+ * that stage or any later one, so {@code reached} never increases down the funnel.
+ * Conversion rates are percentages.
+ */
+public record FunnelResponse(long totalApplications, List<Stage> stages) {
+
+    public record Stage(
+            String status,
+            String displayName,
+            long reached,
+            double conversionFromPrevious,
+            double conversionFromApplied,
+            long current,
+            long rejected,
+            long withdrawn,
+            TimeInStage timeInStage) {
+    }
+
+    /** Completed stays only; applications still in the stage are not included. */
+    public record TimeInStage(long samples, double meanDays, Map<String, Long> histogram) {
+    }
+}
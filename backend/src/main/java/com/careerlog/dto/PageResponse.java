@@ -0,0 +1,30 @@
+package com.careerlog.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Stable JSON shape for paged lists, instead of serializing Spring Data's {@link Page}
+ * implementation directly.
+ */
+public record PageResponse<T>(
+        List<T> content,
+        int number,
+        int size,
+        long totalElements,
+        int totalPages,
+        boolean first,
+        boolean last) {
+
+    public static <T> PageResponse<T> from(Page<T> page) {
+        return new PageResponse<>(
+                page.getContent(),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.isFirst(),
+                page.isLast());
+    }
+}
@@ -0,0 +1,29 @@
+package com.careerlog.dto;
+
+import com.careerlog.model.Activity.ActivityType;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Platform-wide aggregates over all users, as of {@code computedAt}. Offer timings are null
+ * until some application has reached an offer.
+ */
+public record PlatformAnalyticsResponse(
+        Instant computedAt,
+        long users,
+        long applications,
+        List<CompanyVolume> topCompanies,
+        OfferTiming timeToOffer,
+        Map<ActivityType, Long> activityMix,
+        int userRanges,
+        long scanMillis) {
+
+    public record CompanyVolume(String company, long applications) {
+    }
+
+    /** Days from application date to the first move to OFFER; percentiles are estimates. */
+    public record OfferTiming(long offers, Double medianDays, Double p90Days) {
+    }
+}
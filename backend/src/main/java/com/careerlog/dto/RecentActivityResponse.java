@@ -0,0 +1,27 @@
+package com.careerlog.dto;
+
+import com.careerlog.model.Activity;
+
+import java.time.LocalDateTime;
+
+/** Flattened activity row for the dashboard; {@code type} is the display name. */
+public record RecentActivityResponse(
+        Long id,
+        String type,
+        LocalDateTime dateTime,
+        String notes,
+        Long applicationId,
+        String companyName,
+        String jobTitle) {
+
+    public static RecentActivityResponse from(Activity activity) {
+        return new RecentActivityResponse(
+                activity.getId(),
+                activity.getType().getDisplayName(),
+                activity.getDateTime(),
+                activity.getNotes(),
+                activity.getApplication().getId(),
+                activity.getApplication().getCompanyName(),
+                activity.getApplication().getJobTitle());
+    }
+}
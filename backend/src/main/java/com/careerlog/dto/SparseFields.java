@@ -0,0 +1,36 @@
+package com.careerlog.dto;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Jackson side of {@code fields=}: responses annotated with {@link #FILTER_ID} serialize
+ * every property by default and only the selected ones when wrapped by {@link #select}.
+ */
+public final class SparseFields {
+
+    public static final String FILTER_ID = "sparseFields";
+
+    /** Registered on the application ObjectMapper so unfiltered responses serialize normally. */
+    public static final FilterProvider DEFAULT_FILTERS =
+            new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.serializeAll());
+
+    private SparseFields() {
+    }
+
+    public static FilterProvider filtersFor(Set<ApplicationField> fields) {
+        Set<String> properties = fields.stream().map(ApplicationField::attribute).collect(Collectors.toSet());
+        return new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(properties));
+    }
+
+    public static MappingJacksonValue select(Object body, Set<ApplicationField> fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(filtersFor(fields));
+        return value;
+    }
+}
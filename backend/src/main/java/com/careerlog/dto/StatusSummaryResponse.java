@@ -0,0 +1,9 @@
+package com.careerlog.dto;
+
+import java.util.Map;
+
+public record StatusSummaryResponse(
+        long totalApplications,
+        Map<String, Long> statusBreakdown,
+        Map<String, Double> statusPercentages) {
+}
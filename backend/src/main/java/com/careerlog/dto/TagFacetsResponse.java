@@ -0,0 +1,13 @@
+package com.careerlog.dto;
+
+import java.util.List;
+
+/**
+ * Tag facet counts over a user's applications, or over those matching a tag filter. Tags are
+ * ordered by application count; {@code offerRate} is the percentage of them at OFFER.
+ */
+public record TagFacetsResponse(long applications, List<TagFacet> tags) {
+
+    public record TagFacet(String tag, long applications, long offers, double offerRate) {
+    }
+}
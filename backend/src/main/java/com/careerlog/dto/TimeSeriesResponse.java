@@ -0,0 +1,21 @@
+package com.careerlog.dto;
+
+import com.careerlog.analytics.Granularity;
+import com.careerlog.model.Activity.ActivityType;
+
+import java.time.LocalDate;
+
+/**
+ * Counts per bucket, oldest first, with empty buckets included: {@code counts[i]} is the
+ * bucket starting on {@code buckets[i]}. The first and last buckets may extend past
+ * {@code from} and {@code to} but only count days inside the range.
+ */
+public record TimeSeriesResponse(
+        String series,
+        ActivityType activityType,
+        Granularity granularity,
+        LocalDate from,
+        LocalDate to,
+        LocalDate[] buckets,
+        long[] counts) {
+}
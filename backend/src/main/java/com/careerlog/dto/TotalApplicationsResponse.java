@@ -0,0 +1,4 @@
+package com.careerlog.dto;
+
+public record TotalApplicationsResponse(long totalApplications) {
+}
@@ -0,0 +1,27 @@
+package com.careerlog.dto;
+
+import com.careerlog.model.Attachment;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+/** What the client is about to upload; the size and MD5 digest are checked when it is finalized. */
+public record UploadSlotRequest(
+        @NotNull(message = "Application is required")
+        Long applicationId,
+        @NotNull(message = "Attachment type is required")
+        Attachment.AttachmentType type,
+        @NotBlank(message = "File name is required")
+        @Size(max = 255, message = "File name must not exceed 255 characters")
+        String fileName,
+        @Size(max = 100, message = "Content type must not exceed 100 characters")
+        String contentType,
+        @NotNull(message = "Size is required")
+        @Positive(message = "Size must be positive")
+        Long sizeBytes,
+        @NotBlank(message = "MD5 digest is required")
+        String md5,
+        @Size(max = 255, message = "Description must not exceed 255 characters")
+        String description) {
+}
@@ -0,0 +1,18 @@
+package com.careerlog.dto;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Where and how to upload: send {@code method} to {@code uploadUrl} with {@code headers} before
+ * {@code expiresAt}, in UTC, then finalize the slot.
+ */
+public record UploadSlotResponse(
+        UUID slotId,
+        URI uploadUrl,
+        String method,
+        Map<String, String> headers,
+        LocalDateTime expiresAt) {
+}
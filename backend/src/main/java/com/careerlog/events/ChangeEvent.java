@@ -0,0 +1,20 @@
+package com.careerlog.events;
+
+/**
+ * Published by the services whenever a user's data is mutated. Delivered to the
+ * user's open event streams once the surrounding transaction has committed.
+ */
+public record ChangeEvent(String userId, Entity entity, Action action, Long id, Long applicationId) {
+
+    public enum Entity { APPLICATION, ACTIVITY, ATTACHMENT }
+
+    public enum Action { CREATED, UPDATED, DELETED }
+
+    /** The client-facing payload; the user is implied by the stream it is sent on. */
+    public Notification notification() {
+        return new Notification(entity, action, id, applicationId);
+    }
+
+    public record Notification(Entity entity, Action action, Long id, Long applicationId) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.careerlog.events;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Limits for the per-user change notification stream served at {@code /events}.
+ */
+@ConfigurationProperties(prefix = "careerlog.events")
+@Getter
+@Setter
+public class EventStreamProperties {
+
+    /** Comment frames sent on otherwise idle connections so proxies do not time them out. */
+    private Duration heartbeatInterval = Duration.ofSeconds(20);
+
+    /** Server-side lifetime of a stream; clients reconnect automatically once it ends. */
+    private Duration connectionTimeout = Duration.ofMinutes(30);
+
+    /** Pending events buffered per connection before it is collapsed to a single resync. */
+    private int queueCapacity = 32;
+
+    /** Open streams allowed per user; the oldest is closed when a new one exceeds this. */
+    private int maxConnectionsPerUser = 5;
+
+    /** Platform threads that flush queued events to the sockets. */
+    private int writerThreads = 4;
+
+    /**
+     * How long one write may block before its stream is dropped as stalled. The stuck writer
+     * thread is replaced so other streams keep flowing, and exits once the socket write fails.
+     */
+    private Duration sendTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,268 @@
+package com.careerlog.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans change notifications out to each user's open {@code /events} streams.
+ * <p>
+ * Streams are servlet async requests, so an idle connection holds no thread. Each
+ * connection has a bounded queue drained by a small shared writer pool; when a slow
+ * client lets its queue fill up, the backlog is discarded and replaced by a single
+ * {@code resync} event telling the client to refetch instead of replaying deltas.
+ * <p>
+ * A client that stops reading blocks its writer thread inside {@code send}, which cannot be
+ * interrupted. Sends running longer than the send timeout are written off: the stream is
+ * dropped and the pool gets an extra thread until the stuck send returns.
+ */
+@Component
+@Slf4j
+public class EventStreamService {
+
+    static final String CHANGE_EVENT = "change";
+    static final String RESYNC_EVENT = "resync";
+    private static final long RECONNECT_MILLIS = 5_000;
+
+    private final ConcurrentMap<String, Deque<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    /** Sends in progress, by the {@link System#nanoTime()} they started at. */
+    private final ConcurrentMap<Subscription, Long> sending = new ConcurrentHashMap<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicInteger stalledWriters = new AtomicInteger();
+    private final EventStreamProperties properties;
+    private final ThreadPoolExecutor writers;
+    private final Counter resyncs;
+    private final Counter dropped;
+    private final Counter stalled;
+
+    public EventStreamService(EventStreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        // Platform threads: SseEmitter.send writes under a monitor, which would pin a virtual thread.
+        this.writers = new ThreadPoolExecutor(properties.getWriterThreads(), properties.getWriterThreads(),
+                0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), new CustomizableThreadFactory("careerlog-sse-"));
+        this.resyncs = Counter.builder("careerlog.events.resyncs")
+                .description("Streams whose backlog overflowed and was replaced by a resync")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("careerlog.events.dropped")
+                .description("Notifications discarded because a stream fell behind")
+                .register(meterRegistry);
+        this.stalled = Counter.builder("careerlog.events.stalled")
+                .description("Streams dropped because a write blocked longer than the send timeout")
+                .register(meterRegistry);
+        Gauge.builder("careerlog.events.connections", openConnections, AtomicInteger::get)
+                .description("Open event streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(String userId) {
+        return subscribe(userId, new SseEmitter(properties.getConnectionTimeout().toMillis()));
+    }
+
+    SseEmitter subscribe(String userId, SseEmitter emitter) {
+        Subscription subscription = new Subscription(userId, emitter, properties.getQueueCapacity());
+
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unsubscribe(subscription));
+
+        // Added inside compute so it cannot race with unsubscribe dropping an emptied deque.
+        Deque<Subscription> userStreams = subscriptions.compute(userId, (id, streams) -> {
+            Deque<Subscription> target = streams != null ? streams : new ConcurrentLinkedDeque<>();
+            target.addLast(subscription);
+            return target;
+        });
+        openConnections.incrementAndGet();
+        while (userStreams.size() > properties.getMaxConnectionsPerUser()) {
+            Subscription oldest = userStreams.pollFirst();
+            if (oldest != null) {
+                log.debug("Closing oldest event stream for user {} over the per-user limit", userId);
+                oldest.emitter.complete();
+            }
+        }
+
+        enqueue(subscription, new Frame(null, null, "connected"));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        Deque<Subscription> userStreams = subscriptions.get(event.userId());
+        if (userStreams == null) {
+            return;
+        }
+        ChangeEvent.Notification notification = event.notification();
+        for (Subscription subscription : userStreams) {
+            enqueue(subscription, new Frame(CHANGE_EVENT, notification, null));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${careerlog.events.heartbeat-interval:PT20S}")
+    public void sendHeartbeats() {
+        Frame heartbeat = new Frame(null, null, "heartbeat");
+        for (Deque<Subscription> userStreams : subscriptions.values()) {
+            for (Subscription subscription : userStreams) {
+                // A stream with queued events is not idle, so there is nothing to keep alive.
+                if (subscription.queue.isEmpty()) {
+                    enqueue(subscription, heartbeat);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.SECONDS)
+    public void dropStalledStreams() {
+        long now = System.nanoTime();
+        long timeout = properties.getSendTimeout().toNanos();
+        for (Subscription subscription : sending.keySet()) {
+            // Inside computeIfPresent so the send cannot finish between the check and the write-off
+            sending.computeIfPresent(subscription, (s, started) -> {
+                if (now - started > timeout && s.stalled.compareAndSet(false, true)) {
+                    // The emitter is locked by the blocked send, so it is not touched here
+                    unsubscribe(s);
+                    stalled.increment();
+                    stalledWriters.incrementAndGet();
+                    resizeWriters();
+                    log.debug("Event stream for user {} stalled for over {}; dropping it", s.userId,
+                            properties.getSendTimeout());
+                }
+                return started;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.values().forEach(userStreams -> userStreams.forEach(s -> s.emitter.complete()));
+        writers.shutdown();
+    }
+
+    private void enqueue(Subscription subscription, Frame frame) {
+        if (subscription.closed.get()) {
+            return;
+        }
+        if (!subscription.queue.offer(frame)) {
+            int discarded = subscription.queue.size();
+            subscription.queue.clear();
+            subscription.queue.offer(new Frame(RESYNC_EVENT, null, null));
+            dropped.increment(discarded + 1);
+            resyncs.increment();
+            log.debug("Event stream for user {} fell behind; sending resync", subscription.userId);
+        }
+        scheduleDrain(subscription);
+    }
+
+    private void scheduleDrain(Subscription subscription) {
+        if (subscription.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscription));
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        try {
+            Frame frame;
+            while (!subscription.closed.get() && (frame = subscription.queue.poll()) != null) {
+                send(subscription, frame);
+            }
+            if (subscription.stalled.get()) {
+                subscription.emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Event stream for user {} closed: {}", subscription.userId, e.getMessage());
+            unsubscribe(subscription);
+            subscription.emitter.completeWithError(e);
+        } finally {
+            subscription.draining.set(false);
+        }
+        // An event may have been queued after the last poll but before the flag was cleared.
+        if (!subscription.queue.isEmpty() && !subscription.closed.get()) {
+            scheduleDrain(subscription);
+        }
+    }
+
+    private void send(Subscription subscription, Frame frame) throws IOException {
+        sending.put(subscription, System.nanoTime());
+        try {
+            subscription.emitter.send(frame.toEvent());
+        } finally {
+            sending.remove(subscription);
+            // Written off while this send was blocked; hand back the replacement thread
+            if (subscription.stalled.get()) {
+                stalledWriters.decrementAndGet();
+                resizeWriters();
+            }
+        }
+    }
+
+    private synchronized void resizeWriters() {
+        int size = properties.getWriterThreads() + stalledWriters.get();
+        // The core size may not exceed the maximum, so the order depends on the direction
+        if (size > writers.getMaximumPoolSize()) {
+            writers.setMaximumPoolSize(size);
+            writers.setCorePoolSize(size);
+        } else {
+            writers.setCorePoolSize(size);
+            writers.setMaximumPoolSize(size);
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        if (!subscription.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscription.queue.clear();
+        openConnections.decrementAndGet();
+        subscriptions.computeIfPresent(subscription.userId, (userId, userStreams) -> {
+            userStreams.remove(subscription);
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+
+    private record Frame(String name, Object data, String comment) {
+
+        SseEmitter.SseEventBuilder toEvent() {
+            SseEmitter.SseEventBuilder event = SseEmitter.event();
+            if (comment != null) {
+                return event.comment(comment).reconnectTime(RECONNECT_MILLIS);
+            }
+            event.name(name);
+            return data == null ? event.data("{}", MediaType.APPLICATION_JSON) : event.data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private static final class Subscription {
+
+        private final String userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Frame> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean stalled = new AtomicBoolean();
+
+        private Subscription(String userId, SseEmitter emitter, int capacity) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.careerlog.exception;
+
+/**
+ * Request input the API rejects, such as an unknown {@code fields=} entry or an inverted date
+ * range. Mapped to 400 with its message, so the message must be safe to show to the client.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
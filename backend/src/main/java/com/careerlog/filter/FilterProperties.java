@@ -0,0 +1,31 @@
+package com.careerlog.filter;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the filtered application list and its cached result counts.
+ */
+@ConfigurationProperties(prefix = "careerlog.filter")
+@Getter
+@Setter
+public class FilterProperties {
+
+    /** Users whose counts are kept in memory; the least recently read are dropped first. */
+    private int maxCachedUsers = 10_000;
+
+    /** Distinct filters cached per user; the least recently used are dropped first. */
+    private int maxFiltersPerUser = 32;
+
+    /**
+     * Age after which cached counts are recomputed, which bounds how long writes made through
+     * other instances go unseen. Writes on this instance drop the user's counts straight away.
+     */
+    private Duration expireAfter = Duration.ofMinutes(1);
+
+    /** Values returned for the free-text facets (location, source) and for months. */
+    private int facetLimit = 20;
+}
@@ -0,0 +1,177 @@
+package com.careerlog.filter;
+
+import com.careerlog.dto.ApplicationFacet;
+import com.careerlog.dto.ApplicationFacetsResponse;
+import com.careerlog.dto.ApplicationFacetsResponse.FacetCount;
+import com.careerlog.dto.ApplicationField;
+import com.careerlog.dto.ApplicationFilter;
+import com.careerlog.dto.ApplicationResponse;
+import com.careerlog.events.ChangeEvent;
+import com.careerlog.repository.ApplicationRepository;
+import com.careerlog.tags.TagFacets;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The application list under an {@link ApplicationFilter}, with facet counts.
+ * <p>
+ * A page is one statement. Its total and the facet counts are cached per user, keyed by the
+ * normalized filter, so paging through a result or coming back to it doesn't recount; a
+ * user's counts are dropped when any of their applications, activities or attachments
+ * changes on this instance, and recomputed after {@code expire-after} otherwise. Counts taken
+ * while such a change committed are not cached, since they may or may not include it.
+ */
+@Service
+public class FilteredApplications {
+
+    private record Counts(long total, ApplicationFacetsResponse facets, long computedAt) {
+    }
+
+    private final ApplicationRepository applicationRepository;
+    private final TagFacets tagFacets;
+    private final FilterProperties properties;
+    private final Map<String, Map<ApplicationFilter, Counts>> users;
+    // Bumped on every change to a user's data, striped by user, so counts taken meanwhile are
+    // known to be possibly stale
+    private final AtomicLongArray changes = new AtomicLongArray(64);
+    private final Counter hits;
+    private final Counter misses;
+
+    public FilteredApplications(ApplicationRepository applicationRepository, TagFacets tagFacets,
+                                FilterProperties properties, MeterRegistry meterRegistry) {
+        this.applicationRepository = applicationRepository;
+        this.tagFacets = tagFacets;
+        this.properties = properties;
+        this.users = lru(properties.getMaxCachedUsers());
+        Gauge.builder("careerlog.filter.cached.users", this, FilteredApplications::cachedUsers)
+                .description("Users whose filtered list counts are held in memory")
+                .register(meterRegistry);
+        this.hits = cacheCounter(meterRegistry, "hit");
+        this.misses = cacheCounter(meterRegistry, "miss");
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ApplicationResponse> page(String userId, ApplicationFilter filter, Set<ApplicationField> fields,
+                                          Pageable pageable) {
+        List<Integer> tagIds = tagIds(filter);
+        if (tagIds != null && tagIds.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        List<ApplicationResponse> content = applicationRepository.findProjected(userId, filter, tagIds, fields,
+                pageable);
+        return PageableExecutionUtils.getPage(content, pageable, () -> total(userId, filter, tagIds));
+    }
+
+    /** Total and per-dimension counts for the filter. */
+    @Transactional(readOnly = true)
+    public ApplicationFacetsResponse facets(String userId, ApplicationFilter filter) {
+        Counts cached = cached(userId, filter);
+        if (cached != null && cached.facets() != null) {
+            hits.increment();
+            return cached.facets();
+        }
+        misses.increment();
+
+        long changesBefore = changes.get(stripe(userId));
+        List<Integer> tagIds = tagIds(filter);
+        Map<String, List<FacetCount>> facets = new LinkedHashMap<>();
+        long total = 0;
+        if (tagIds == null || !tagIds.isEmpty()) {
+            total = applicationRepository.countFiltered(userId, filter, tagIds);
+        }
+        for (ApplicationFacet facet : ApplicationFacet.values()) {
+            facets.put(facet.key(), total == 0 ? List.of()
+                    : applicationRepository.countFacet(userId, filter, tagIds, facet, properties.getFacetLimit()));
+        }
+        ApplicationFacetsResponse response = new ApplicationFacetsResponse(total, facets);
+        store(userId, filter, new Counts(total, response, System.nanoTime()), changesBefore);
+        return response;
+    }
+
+    @TransactionalEventListener
+    public void onChange(ChangeEvent event) {
+        changes.incrementAndGet(stripe(event.userId()));
+        synchronized (users) {
+            users.remove(event.userId());
+        }
+    }
+
+    // Null means no tag filter; empty, that nothing can match it
+    private List<Integer> tagIds(ApplicationFilter filter) {
+        return filter.hasTags() ? tagFacets.filterTagIds(filter.tags(), filter.tagMatch()) : null;
+    }
+
+    private long total(String userId, ApplicationFilter filter, List<Integer> tagIds) {
+        Counts cached = cached(userId, filter);
+        if (cached != null) {
+            hits.increment();
+            return cached.total();
+        }
+        misses.increment();
+        long changesBefore = changes.get(stripe(userId));
+        long total = applicationRepository.countFiltered(userId, filter, tagIds);
+        store(userId, filter, new Counts(total, null, System.nanoTime()), changesBefore);
+        return total;
+    }
+
+    private Counts cached(String userId, ApplicationFilter filter) {
+        synchronized (users) {
+            Map<ApplicationFilter, Counts> filters = users.get(userId);
+            Counts counts = filters != null ? filters.get(filter) : null;
+            if (counts != null && System.nanoTime() - counts.computedAt() < properties.getExpireAfter().toNanos()) {
+                return counts;
+            }
+            return null;
+        }
+    }
+
+    // Counted outside the lock; kept only if nothing changed meanwhile, or the change could be missing
+    private void store(String userId, ApplicationFilter filter, Counts counts, long changesBefore) {
+        synchronized (users) {
+            if (changes.get(stripe(userId)) == changesBefore) {
+                users.computeIfAbsent(userId, id -> lru(properties.getMaxFiltersPerUser())).put(filter, counts);
+            } else {
+                users.remove(userId);
+            }
+        }
+    }
+
+    private int stripe(String userId) {
+        return userId.hashCode() & (changes.length() - 1);
+    }
+
+    private double cachedUsers() {
+        synchronized (users) {
+            return users.size();
+        }
+    }
+
+    private static <K, V> Map<K, V> lru(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("careerlog.filter.count.cache")
+                .description("Filtered list counts served from the cache, or computed")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
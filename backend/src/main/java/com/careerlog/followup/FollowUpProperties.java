@@ -0,0 +1,43 @@
+package com.careerlog.followup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+/**
+ * Settings for {@link StaleApplicationJob} and the follow-up suggestions it records.
+ */
+@ConfigurationProperties(prefix = "careerlog.follow-up")
+@Getter
+@Setter
+public class FollowUpProperties {
+
+    private boolean enabled = true;
+
+    /** An open application with no activity for this long gets a follow-up suggestion. */
+    private Duration staleAfter = Duration.ofDays(14);
+
+    /** How often each partition is rescanned. */
+    private Duration interval = Duration.ofHours(1);
+
+    /** How often partitions are checked for a due run or an abandoned one to resume. */
+    private Duration pollInterval = Duration.ofMinutes(1);
+
+    /** Stale applications recorded per transaction; progress is checkpointed after each. */
+    private int chunkSize = 500;
+
+    /**
+     * Applications are split into this many partitions by id, each leased to one instance at
+     * a time, so several instances share a run. 1 runs on whichever instance gets there first.
+     */
+    private int partitions = 1;
+
+    /** A lease not renewed for this long is up for grabs, e.g. after its holder crashed. */
+    private Duration leaseDuration = Duration.ofMinutes(5);
+
+    /** Names this instance as lease owner; defaults to pid@host. */
+    private String instanceId = ManagementFactory.getRuntimeMXBean().getName();
+}
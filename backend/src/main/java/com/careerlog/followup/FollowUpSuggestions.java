@@ -0,0 +1,46 @@
+package com.careerlog.followup;
+
+import com.careerlog.dto.FollowUpResponse;
+import com.careerlog.exception.BadRequestException;
+import com.careerlog.model.Application.ApplicationStatus;
+import com.careerlog.repository.FollowUpSuggestionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads the follow-up suggestions recorded by {@link StaleApplicationJob}.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class FollowUpSuggestions {
+
+    /** Statuses where a follow-up can still make a difference. */
+    public static final Set<ApplicationStatus> OPEN_STATUSES = Collections.unmodifiableSet(EnumSet.of(
+            ApplicationStatus.APPLIED, ApplicationStatus.PHONE_SCREEN, ApplicationStatus.TECHNICAL_INTERVIEW,
+            ApplicationStatus.BEHAVIORAL_INTERVIEW, ApplicationStatus.FINAL_ROUND));
+
+    private final FollowUpSuggestionRepository suggestionRepository;
+
+    /** The user's stale applications, longest idle first. */
+    public List<FollowUpResponse> getSuggestions(String userId, int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("limit must be positive");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return suggestionRepository.findByUserId(userId, OPEN_STATUSES, PageRequest.ofSize(limit)).stream()
+                .map(row -> new FollowUpResponse((Long) row[0], (String) row[1], (String) row[2],
+                        (ApplicationStatus) row[3], (LocalDateTime) row[4],
+                        ChronoUnit.DAYS.between((LocalDateTime) row[4], now)))
+                .toList();
+    }
+}
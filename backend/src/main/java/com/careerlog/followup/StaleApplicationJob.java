@@ -0,0 +1,207 @@
+package com.careerlog.followup;
+
+import com.careerlog.model.FollowUpPartition;
+import com.careerlog.repository.FollowUpPartitionRepository;
+import com.careerlog.repository.FollowUpSuggestionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Finds open applications with no activity for {@code stale-after}, across all users, and
+ * records them as follow-up suggestions for the dashboard.
+ * <p>
+ * Each partition of applications is scanned with one grouped anti-join against activities,
+ * streamed from a server-side cursor and recorded in chunks, each its own transaction that
+ * also checkpoints the last application id and renews the partition's lease. A run cut short
+ * by a crash or a lost lease is resumed from its checkpoint, with its original cutoff, by
+ * whichever instance takes the lease next. At the end of a run, suggestions it did not find
+ * again are deleted.
+ */
+@Component
+@ConditionalOnProperty(prefix = "careerlog.follow-up", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class StaleApplicationJob {
+
+    private final FollowUpPartitionRepository partitionRepository;
+    private final FollowUpSuggestionRepository suggestionRepository;
+    private final FollowUpProperties properties;
+    private final TransactionTemplate scan;
+    private final TransactionTemplate write;
+    private final long leaseSeconds;
+    private final Counter recorded;
+    private final Timer chunks;
+    // Epoch millis of the least recent completed run over all partitions, 0 before the first
+    private final AtomicLong oldestCompletion = new AtomicLong();
+
+    private record Run(int partition, LocalDateTime startedAt, LocalDateTime cutoff, long checkpoint) {
+    }
+
+    public StaleApplicationJob(FollowUpPartitionRepository partitionRepository,
+                               FollowUpSuggestionRepository suggestionRepository, FollowUpProperties properties,
+                               PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        if (properties.getPartitions() < 1 || properties.getChunkSize() < 1) {
+            throw new IllegalStateException("careerlog.follow-up.partitions and chunk-size must be at least 1");
+        }
+        this.partitionRepository = partitionRepository;
+        this.suggestionRepository = suggestionRepository;
+        this.properties = properties;
+        this.scan = new TransactionTemplate(transactionManager);
+        this.scan.setReadOnly(true);
+        // Chunks commit on their own while the scan's cursor stays open
+        this.write = new TransactionTemplate(transactionManager);
+        this.write.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.leaseSeconds = Math.max(1, properties.getLeaseDuration().toSeconds());
+        this.recorded = Counter.builder("careerlog.followup.recorded")
+                .description("Stale applications recorded as follow-up suggestions")
+                .register(meterRegistry);
+        this.chunks = Timer.builder("careerlog.followup.chunks")
+                .description("Time to record one chunk of stale applications and checkpoint it")
+                .register(meterRegistry);
+        Gauge.builder("careerlog.followup.lag", oldestCompletion,
+                        value -> value.get() == 0 ? Double.NaN : (System.currentTimeMillis() - value.get()) / 1000.0)
+                .description("Seconds since the least recently completed partition finished a run")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${careerlog.follow-up.poll-interval:PT1M}",
+               initialDelayString = "${careerlog.follow-up.poll-interval:PT1M}")
+    public void poll() {
+        int partitions = properties.getPartitions();
+        // Start at a random partition so instances polling together spread out
+        int first = ThreadLocalRandom.current().nextInt(partitions);
+        for (int i = 0; i < partitions; i++) {
+            int partition = (first + i) % partitions;
+            try {
+                runPartition(partition);
+            } catch (RuntimeException e) {
+                // The lease expires and the run resumes from its last checkpoint
+                log.warn("Stale application scan of partition {} failed", partition, e);
+            }
+        }
+        try {
+            LocalDateTime oldest = partitionRepository.findAll().stream()
+                    .filter(state -> state.getPartitionId() < partitions)
+                    .map(FollowUpPartition::getLastCompletedAt)
+                    .filter(Objects::nonNull)
+                    .min(LocalDateTime::compareTo)
+                    .orElse(null);
+            if (oldest != null) {
+                oldestCompletion.set(oldest.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not read stale application job progress: {}", e.getMessage());
+        }
+    }
+
+    /** Scans the partition if it is due and its lease is free; returns whether a run completed. */
+    boolean runPartition(int partition) {
+        Run run = write.execute(status -> claim(partition));
+        if (run == null) {
+            return false;
+        }
+
+        long started = System.nanoTime();
+        Integer total = scan.execute(status -> {
+            int count = 0;
+            try (Stream<Object[]> rows = suggestionRepository.streamStale(FollowUpSuggestions.OPEN_STATUSES,
+                    run.checkpoint(), properties.getPartitions(), partition, run.cutoff(),
+                    run.cutoff().toLocalDate())) {
+                List<Object[]> chunk = new ArrayList<>(properties.getChunkSize());
+                for (Iterator<Object[]> iterator = rows.iterator(); iterator.hasNext(); ) {
+                    chunk.add(iterator.next());
+                    if (chunk.size() == properties.getChunkSize() || !iterator.hasNext()) {
+                        if (!Boolean.TRUE.equals(write.execute(chunkStatus -> record(run, chunk)))) {
+                            return null;
+                        }
+                        count += chunk.size();
+                        chunk.clear();
+                    }
+                }
+            }
+            return count;
+        });
+        if (total == null) {
+            log.warn("Lost the lease on follow-up partition {}; another instance resumes the run", partition);
+            return false;
+        }
+
+        Integer deleted = write.execute(status -> {
+            int stale = suggestionRepository.deleteOlderRuns(properties.getPartitions(), partition, run.startedAt());
+            if (partitionRepository.completeRun(partition, properties.getInstanceId(), LocalDateTime.now()) == 0) {
+                status.setRollbackOnly();
+                return null;
+            }
+            return stale;
+        });
+        if (deleted == null) {
+            log.warn("Lost the lease on follow-up partition {} before completing the run", partition);
+            return false;
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("Follow-up partition {}: {} stale applications recorded, {} resolved, in {} s ({} per s)",
+                partition, total, deleted, String.format("%.1f", seconds),
+                String.format("%.0f", seconds > 0 ? total / seconds : total));
+        return true;
+    }
+
+    // Takes the lease, then resumes the unfinished run or starts one if the partition is due
+    private Run claim(int partition) {
+        String owner = properties.getInstanceId();
+        partitionRepository.insertIfAbsent(partition);
+        if (partitionRepository.tryLease(partition, owner, leaseSeconds) == 0) {
+            return null;
+        }
+        FollowUpPartition state = partitionRepository.findById(partition).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+        if (state.getCheckpoint() != null) {
+            log.info("Resuming the follow-up run on partition {} after application {}", partition,
+                    state.getCheckpoint());
+            return new Run(partition, state.getRunStartedAt(), state.getCutoff(), state.getCheckpoint());
+        }
+        if (state.getLastCompletedAt() != null && state.getLastCompletedAt().isAfter(now.minus(properties.getInterval()))) {
+            partitionRepository.release(partition, owner);
+            return null;
+        }
+        LocalDateTime cutoff = now.minus(properties.getStaleAfter());
+        partitionRepository.startRun(partition, owner, now, cutoff);
+        return new Run(partition, now, cutoff, 0);
+    }
+
+    // Rows are (application id, user id, application date, latest activity time or null)
+    private boolean record(Run run, List<Object[]> chunk) {
+        Timer.Sample sample = Timer.start();
+        long lastId = (Long) chunk.get(chunk.size() - 1)[0];
+        // Checkpoint first: if the lease is gone, nothing is written
+        if (partitionRepository.checkpoint(run.partition(), properties.getInstanceId(), lastId, leaseSeconds) == 0) {
+            return false;
+        }
+        for (Object[] row : chunk) {
+            LocalDateTime lastActivityAt = row[3] != null ? (LocalDateTime) row[3] : ((LocalDate) row[2]).atStartOfDay();
+            suggestionRepository.upsert((String) row[1], (Long) row[0], lastActivityAt, run.startedAt());
+        }
+        sample.stop(chunks);
+        recorded.increment(chunk.size());
+        return true;
+    }
+}
@@ -0,0 +1,29 @@
+package com.careerlog.logging;
+
+import ch.qos.logback.core.status.Status;
+import ch.qos.logback.core.status.StatusListener;
+import ch.qos.logback.core.util.StatusPrinter;
+
+import java.util.regex.Pattern;
+
+/**
+ * Prints logback's warnings and errors to stderr, except the one expected on every start:
+ * logback-spring.xml defines an appender per output format and references only the chosen
+ * one, so the other is reported as not referenced. Registering any listener stops logback
+ * from dumping its whole status log whenever a warning is present.
+ */
+public class ConfigurationStatusListener implements StatusListener {
+
+    private static final Pattern UNREFERENCED_APPENDER =
+            Pattern.compile("Appender named \\[[^]]+] not referenced\\. Skipping further processing\\.");
+
+    @Override
+    public void addStatusEvent(Status status) {
+        if (status.getLevel() < Status.WARN || UNREFERENCED_APPENDER.matcher(status.getMessage()).matches()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder();
+        StatusPrinter.buildStr(message, "", status);
+        System.err.print(message);
+    }
+}
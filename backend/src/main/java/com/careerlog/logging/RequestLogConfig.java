@@ -0,0 +1,22 @@
+package com.careerlog.logging;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "careerlog.request-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestLogConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestLogFilter> requestLogFilter(RequestLogProperties properties) {
+        FilterRegistrationBean<RequestLogFilter> registration =
+                new FilterRegistrationBean<>(new RequestLogFilter(properties));
+        // After Spring Security's filters, so the user is known, and outside the SQL statement
+        // scope (StatementBudgetFilter, lowest precedence), so the request's totals are final
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,199 @@
+package com.careerlog.logging;
+
+import com.careerlog.sql.RequestStatements;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Writes one structured event per request to the {@code careerlog.request} logger: request id,
+ * route, status, latency, SQL statement count and DB time, and a salted hash of the user id.
+ * <p>
+ * Busy read endpoints are sampled 1-in-N per {@link RequestLogProperties.Category}; errors and
+ * requests slower than the slow threshold are always logged. The request id comes from an
+ * incoming {@code X-Request-Id} when it looks sane, is echoed back, and is in the MDC for the
+ * whole request so every other log line carries it too.
+ */
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+    static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private static final Logger log = LoggerFactory.getLogger(RequestLogFilter.class);
+    private static final Logger requestLog = LoggerFactory.getLogger("careerlog.request");
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final Category UNSAMPLED = new Category(Set.of(), List.of(), 1);
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<Category> categories = new ArrayList<>();
+    private final String userIdSalt;
+    private final long slowThresholdNanos;
+
+    public RequestLogFilter(RequestLogProperties properties) {
+        this.userIdSalt = properties.getUserIdSalt().isBlank() ? randomSalt() : properties.getUserIdSalt();
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+        properties.getCategories().values().forEach(category -> categories.add(new Category(
+                category.getMethods().stream().map(method -> method.toUpperCase(Locale.ROOT)).collect(Collectors.toSet()),
+                category.getPaths(),
+                Math.max(1, category.getSampleEvery()))));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = requestId(request);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            try {
+                // An exception escaping the chain becomes a 500 later, in the error page dispatch
+                log(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                        System.nanoTime() - start);
+            } finally {
+                MDC.remove(REQUEST_ID_MDC_KEY);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, long latencyNanos) {
+        if (!requestLog.isInfoEnabled()) {
+            return;
+        }
+        String method = request.getMethod();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Category category = categoryFor(method, path);
+        if (status < 400 && latencyNanos < slowThresholdNanos && !category.sample()) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : path;
+        String latencyMillis = millis(latencyNanos);
+
+        LoggingEventBuilder event = (status >= 500 ? requestLog.atWarn() : requestLog.atInfo())
+                .addKeyValue("requestId", MDC.get(REQUEST_ID_MDC_KEY))
+                .addKeyValue("method", method)
+                .addKeyValue("route", route)
+                .addKeyValue("status", status)
+                .addKeyValue("latencyMs", latencyMillis)
+                .addKeyValue("sampleEvery", category.sampleEvery);
+        String userHash = userHash();
+        if (userHash != null) {
+            event = event.addKeyValue("user", userHash);
+        }
+        if (request.getAttribute(RequestStatements.REQUEST_ATTRIBUTE) instanceof RequestStatements statements) {
+            event = event.addKeyValue("statements", statements.statements())
+                    .addKeyValue("dbMs", millis(statements.dbTimeNanos()));
+        }
+        event.log("{} {} -> {} in {} ms", method, route, status, latencyMillis);
+    }
+
+    private Category categoryFor(String method, String path) {
+        for (Category category : categories) {
+            if (category.matches(method, path, pathMatcher)) {
+                return category;
+            }
+        }
+        return UNSAMPLED;
+    }
+
+    // Without a salt, a logged hash could be reversed by hashing candidate user ids
+    private static String randomSalt() {
+        byte[] salt = new byte[16];
+        new SecureRandom().nextBytes(salt);
+        log.warn("careerlog.request-log.user-id-salt is not set; using a random salt, so user hashes only "
+                + "match within this process. Set REQUEST_LOG_SALT to keep them stable across instances and restarts");
+        return HexFormat.of().formatHex(salt);
+    }
+
+    private String userHash() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!(authentication instanceof JwtAuthenticationToken jwtAuthentication)) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(userIdSalt.getBytes(StandardCharsets.UTF_8));
+            byte[] hash = digest.digest(jwtAuthentication.getToken().getSubject().getBytes(StandardCharsets.UTF_8));
+            // 64 bits is plenty to tell users apart in logs
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String requestId(HttpServletRequest request) {
+        String incoming = request.getHeader(REQUEST_ID_HEADER);
+        if (incoming != null && VALID_REQUEST_ID.matcher(incoming).matches()) {
+            return incoming;
+        }
+        return Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    private static final class Category {
+
+        private final Set<String> methods;
+        private final List<String> paths;
+        private final int sampleEvery;
+        private final AtomicLong seen = new AtomicLong();
+
+        private Category(Set<String> methods, List<String> paths, int sampleEvery) {
+            this.methods = methods;
+            this.paths = paths;
+            this.sampleEvery = sampleEvery;
+        }
+
+        boolean matches(String method, String path, AntPathMatcher pathMatcher) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            for (String pattern : paths) {
+                if (pathMatcher.match(pattern, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Deterministic 1-in-N, so sampled counts can be scaled back up by {@code sampleEvery}. */
+        boolean sample() {
+            return sampleEvery == 1 || seen.getAndIncrement() % sampleEvery == 0;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.careerlog.logging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One structured log event per request, sampled per category. Categories are matched
+ * in declaration order; requests matching none are logged every time.
+ */
+@ConfigurationProperties(prefix = "careerlog.request-log")
+@Getter
+@Setter
+public class RequestLogProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Mixed into the user id before hashing, so logged hashes can't be matched against known ids.
+     * Share one value across instances; when blank, each process picks a random one.
+     */
+    private String userIdSalt = "";
+
+    /** Requests slower than this are always logged, whatever their category's sampling. */
+    private Duration slowThreshold = Duration.ofSeconds(1);
+
+    private Map<String, Category> categories = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Category {
+
+        /** HTTP methods this category covers; empty means all. */
+        private List<String> methods = new ArrayList<>();
+
+        /** Ant-style patterns relative to the servlet context path. */
+        private List<String> paths = new ArrayList<>();
+
+        /** Log one in this many requests. Errors (4xx/5xx) are always logged. */
+        private int sampleEvery = 1;
+    }
+}
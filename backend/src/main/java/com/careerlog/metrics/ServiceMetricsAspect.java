@@ -0,0 +1,87 @@
+package com.careerlog.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the service layer, tagged by class, method and outcome.
+ * The pointcut is a static package match; {@code @within(Service)} would be resolved
+ * with a runtime check on every call.
+ * <p>
+ * Timers are resolved once per method and cached, so the per-call cost is a map lookup
+ * and a histogram update rather than a meter registry lookup. Runs outside the
+ * transaction interceptor so commit time, and commit failures, are included.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    public static final String METRIC_NAME = "careerlog.service.calls";
+
+    private final ConcurrentMap<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(com.careerlog.service..*) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodTimers methodTimers = timers.get(method);
+        if (methodTimers == null) {
+            methodTimers = timers.computeIfAbsent(method, MethodTimers::new);
+        }
+
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            methodTimers.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            methodTimers.error(e).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private final class MethodTimers {
+
+        private final String className;
+        private final String methodName;
+        private final Timer success;
+        private final ConcurrentMap<Class<?>, Timer> errors = new ConcurrentHashMap<>();
+
+        private MethodTimers(Method method) {
+            this.className = method.getDeclaringClass().getSimpleName();
+            this.methodName = method.getName();
+            this.success = timer("SUCCESS", "none");
+        }
+
+        private Timer error(Throwable e) {
+            return errors.computeIfAbsent(e.getClass(), type -> timer("ERROR", type.getSimpleName()));
+        }
+
+        private Timer timer(String outcome, String exception) {
+            return Timer.builder(METRIC_NAME)
+                    .description("Service method invocations")
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry);
+        }
+    }
+}
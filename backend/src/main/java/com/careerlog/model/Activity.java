@@ -9,7 +9,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "activities")
+@Table(name = "activities", indexes = {
+        @Index(name = "idx_activities_application_id_type", columnList = "application_id, type"),
+        @Index(name = "idx_activities_date_time", columnList = "dateTime")
+})
 @Getter
 @Setter
 @NoArgsConstructor
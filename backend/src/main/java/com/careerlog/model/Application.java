@@ -11,7 +11,9 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Entity
-@Table(name = "applications")
+@Table(name = "applications", indexes = {
+        @Index(name = "idx_applications_user_id_date", columnList = "userId, applicationDate")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,33 @@
+package com.careerlog.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/** Links an application to one of the tags parsed from its tech stack. */
+@Entity
+@Table(name = "application_tags", indexes = {
+        @Index(name = "idx_application_tags_tag_id", columnList = "tagId")
+})
+@IdClass(ApplicationTag.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationTag {
+
+    @Id
+    private Long applicationId;
+
+    @Id
+    private Integer tagId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long applicationId;
+        private Integer tagId;
+    }
+}
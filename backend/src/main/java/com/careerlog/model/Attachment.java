@@ -10,7 +10,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "attachments")
+@Table(name = "attachments", indexes = {
+        @Index(name = "idx_attachments_application_id_type", columnList = "application_id, type")
+})
 @Getter
 @Setter
 @NoArgsConstructor
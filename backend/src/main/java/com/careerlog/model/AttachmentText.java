@@ -0,0 +1,63 @@
+package com.careerlog.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.Length;
+
+import java.time.LocalDateTime;
+
+/**
+ * The text extracted from an attachment for search, and the state of its extraction. A row is
+ * queued as {@link Status#PENDING} when the attachment is created; {@code nextAttemptAt} is
+ * when a worker may pick it up, and is pushed out while one holds it and after a failure.
+ */
+@Entity
+@Table(name = "attachment_texts", indexes = {
+        @Index(name = "idx_attachment_texts_user_id", columnList = "userId, status"),
+        @Index(name = "idx_attachment_texts_application_id", columnList = "applicationId"),
+        @Index(name = "idx_attachment_texts_due", columnList = "status, nextAttemptAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentText {
+
+    @Id
+    private Long attachmentId;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    private Long applicationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    /** Capped at {@code careerlog.attachment-search.max-chars}; null until extracted. */
+    @Column(length = Length.LONG32)
+    private String text;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime extractedAt;
+
+    /** Why the last attempt failed, or why the attachment was skipped. */
+    @Column(length = 500)
+    private String error;
+
+    public enum Status {
+        PENDING,
+        EXTRACTED,
+        /** Retries used up. */
+        FAILED,
+        /** Not a format text is extracted from, too large, or not in our blob storage. */
+        SKIPPED
+    }
+}
@@ -0,0 +1,53 @@
+package com.careerlog.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * A HyperLogLog sketch of the distinct values of one application field among a user's
+ * applications dated in one month. Values are only ever added, so edited and deleted
+ * applications stay counted; deleting a user's sketches has the startup backfill rebuild them
+ * from the current applications.
+ */
+@Entity
+@Table(name = "distinct_sketches", indexes = {
+        @Index(name = "idx_distinct_sketches_user_id", columnList = "userId, field, monthStart")
+})
+@IdClass(DistinctSketch.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistinctSketch {
+
+    @Id
+    private String userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Field field;
+
+    /** First day of the month. */
+    @Id
+    private LocalDate monthStart;
+
+    /** At most 2 + 2^16 bytes, for a dense sketch at the highest precision. */
+    @Column(nullable = false, length = 65_538)
+    private byte[] registers;
+
+    public enum Field {
+        COMPANY, SOURCE
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String userId;
+        private Field field;
+        private LocalDate monthStart;
+    }
+}
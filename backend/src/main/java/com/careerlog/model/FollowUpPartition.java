@@ -0,0 +1,39 @@
+package com.careerlog.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease and progress of the stale application job over one partition of applications
+ * ({@code id % partitions}). An instance works on a partition only while it holds the lease;
+ * the checkpoint lets whoever takes the lease next resume an unfinished run.
+ */
+@Entity
+@Table(name = "follow_up_partitions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FollowUpPartition {
+
+    @Id
+    private Integer partitionId;
+
+    private String owner;
+
+    private LocalDateTime leasedUntil;
+
+    /** Start of the run in progress, or null between runs. */
+    private LocalDateTime runStartedAt;
+
+    /** Applications with no activity since this are stale in the run in progress. */
+    private LocalDateTime cutoff;
+
+    /** Last application id recorded by the run in progress. */
+    private Long checkpoint;
+
+    private LocalDateTime lastCompletedAt;
+}
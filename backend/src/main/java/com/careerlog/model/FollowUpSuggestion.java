@@ -0,0 +1,42 @@
+package com.careerlog.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * An open application with no activity since {@code lastActivityAt}, found by the stale
+ * application job. Rebuilt by every run; rows a run no longer finds are deleted at its end.
+ */
+@Entity
+@Table(name = "follow_up_suggestions", indexes = {
+        @Index(name = "idx_follow_up_suggestions_user_id", columnList = "userId, lastActivityAt")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_follow_up_suggestions_application_id", columnNames = "applicationId")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FollowUpSuggestion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    private Long applicationId;
+
+    /** The latest activity, or the start of the application date if there is none. */
+    @Column(nullable = false)
+    private LocalDateTime lastActivityAt;
+
+    /** Start of the run that last found the application stale. */
+    @Column(nullable = false)
+    private LocalDateTime runStartedAt;
+}
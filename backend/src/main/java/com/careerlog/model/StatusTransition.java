@@ -0,0 +1,71 @@
+package com.careerlog.model;
+
+import com.careerlog.model.Application.ApplicationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change of an application's status. Rows are only ever inserted; they are removed
+ * together with their application.
+ */
+@Entity
+@Table(name = "status_transitions", indexes = {
+        @Index(name = "idx_status_transitions_user_id", columnList = "userId, id"),
+        @Index(name = "idx_status_transitions_recorded_at", columnList = "userId, recordedAt"),
+        @Index(name = "idx_status_transitions_application_id", columnList = "applicationId")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatusTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    private Long applicationId;
+
+    /** Null for the status an application was created with. */
+    @Enumerated(EnumType.STRING)
+    private ApplicationStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ApplicationStatus toStatus;
+
+    @Column(nullable = false)
+    private LocalDateTime transitionedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Source source;
+
+    /**
+     * When the row was inserted, by the inserting instance's clock; null for rows written
+     * before this was kept. Ids are assigned on insert but rows become visible on commit, so
+     * readers use this to find rows that committed behind a higher id they already read.
+     */
+    private LocalDateTime recordedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (recordedAt == null) {
+            recordedAt = LocalDateTime.now();
+        }
+    }
+
+    public enum Source {
+        /** Written when the status was changed. */
+        RECORDED,
+        /** Reconstructed from activities for applications created before the log existed. */
+        BACKFILLED
+    }
+}
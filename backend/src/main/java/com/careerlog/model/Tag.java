@@ -0,0 +1,23 @@
+package com.careerlog.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/** A normalized tech-stack tag. Tags are created on first use and never removed. */
+@Entity
+@Table(name = "tags")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Tag {
+
+    public static final int MAX_LENGTH = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, unique = true, length = MAX_LENGTH)
+    private String name;
+}
@@ -0,0 +1,74 @@
+package com.careerlog.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A direct upload: the blob path a signed URL was issued for and what the client declared it
+ * would upload there. Kept after the upload is finalized into an {@link Attachment}, since the
+ * URL still accepts uploads until it expires; the cleanup job deletes it, with anything uploaded
+ * to its path, once it has expired. Times are UTC.
+ */
+@Entity
+@Table(name = "upload_slots", indexes = {
+        @Index(name = "idx_upload_slots_user_id", columnList = "userId"),
+        @Index(name = "idx_upload_slots_expires_at", columnList = "expiresAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    private Long applicationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Attachment.AttachmentType type;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    private String contentType;
+
+    private String description;
+
+    @Column(nullable = false, unique = true, length = 500)
+    private String blobPath;
+
+    @Column(nullable = false)
+    private Long sizeBytes;
+
+    /** Base64 MD5 digest of the content, as in a Content-MD5 header. */
+    @Column(nullable = false, length = 24)
+    private String md5;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /** When the signed URL stops accepting the upload. */
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Where finalizing copies the upload for the attachment. Committed before the copy is made,
+     * so the cleanup job can remove a copy whose attachment was never created.
+     */
+    @Column(length = 500)
+    private String attachmentPath;
+
+    /** When the upload became an attachment, kept at {@link #attachmentPath}; null while open. */
+    private LocalDateTime finalizedAt;
+}
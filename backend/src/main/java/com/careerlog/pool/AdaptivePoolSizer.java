@@ -0,0 +1,157 @@
+package com.careerlog.pool;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resizes the Hikari pool between {@link PoolSizingProperties#getMinSize()} and
+ * {@link PoolSizingProperties#getMaxSize()} from what the pool actually experiences.
+ * <p>
+ * Occupancy is sampled every {@code sample-interval} and judged once per {@code window}:
+ * the pool grows by {@code step} when requests waited too long on average for a connection
+ * (from Hikari's {@code hikaricp.connections.acquire} timer) or when it was nearly always
+ * busy, and shrinks by {@code step} only after several consecutive quiet windows. Shrinking
+ * lowers the ceiling; surplus idle connections then retire through Hikari's idle timeout.
+ * The configured {@code minimum-idle} is kept below the ceiling and restored as it grows.
+ */
+@Component
+@ConditionalOnProperty(prefix = "careerlog.pool", name = "adaptive", havingValue = "true")
+@Slf4j
+public class AdaptivePoolSizer {
+
+    private static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+    private final HikariDataSource dataSource;
+    private final PoolSizingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Counter grown;
+    private final Counter shrunk;
+    // Last window's utilization in per mille, for the gauge
+    private final AtomicLong lastUtilization = new AtomicLong();
+
+    private long windowStart = System.nanoTime();
+    private long activeSum;
+    private long capacitySum;
+    private int maxWaiting;
+    private int quietWindows;
+    private long lastAcquireCount;
+    private double lastAcquireNanos;
+    // Hikari settles minimum-idle when the pool starts, so it is read on the first resize
+    private int configuredMinimumIdle = -1;
+
+    public AdaptivePoolSizer(DataSource dataSource, PoolSizingProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+        if (hikari == null) {
+            throw new IllegalStateException("careerlog.pool.adaptive requires a Hikari DataSource, found "
+                    + dataSource.getClass().getName());
+        }
+        if (properties.getMinSize() < 1 || properties.getMinSize() > properties.getMaxSize()) {
+            throw new IllegalStateException("careerlog.pool.min-size must be between 1 and max-size");
+        }
+        this.dataSource = hikari;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.grown = Counter.builder("careerlog.pool.resizes")
+                .description("Connection pool resizes by the adaptive sizer")
+                .tag("direction", "grow")
+                .register(meterRegistry);
+        this.shrunk = Counter.builder("careerlog.pool.resizes")
+                .description("Connection pool resizes by the adaptive sizer")
+                .tag("direction", "shrink")
+                .register(meterRegistry);
+        Gauge.builder("careerlog.pool.utilization", lastUtilization, value -> value.get() / 1000.0)
+                .description("Average fraction of the pool in use over the last sizing window")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedRateString = "${careerlog.pool.sample-interval:PT1S}")
+    public void sample() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            // The pool starts on the first getConnection()
+            return;
+        }
+        activeSum += pool.getActiveConnections();
+        capacitySum += dataSource.getHikariConfigMXBean().getMaximumPoolSize();
+        maxWaiting = Math.max(maxWaiting, pool.getThreadsAwaitingConnection());
+
+        if (System.nanoTime() - windowStart >= properties.getWindow().toNanos()) {
+            evaluate();
+            windowStart = System.nanoTime();
+            activeSum = 0;
+            capacitySum = 0;
+            maxWaiting = 0;
+        }
+    }
+
+    private void evaluate() {
+        double utilization = capacitySum == 0 ? 0 : (double) activeSum / capacitySum;
+        lastUtilization.set(Math.round(utilization * 1000));
+        double meanAcquireNanos = meanAcquireNanosSinceLastWindow();
+
+        HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+        int size = config.getMaximumPoolSize();
+        boolean starved = meanAcquireNanos > properties.getTargetAcquireTime().toNanos()
+                || utilization >= properties.getHighUtilization();
+
+        if (starved) {
+            quietWindows = 0;
+            if (size < properties.getMaxSize()) {
+                resize(config, Math.min(properties.getMaxSize(), size + properties.getStep()),
+                        utilization, meanAcquireNanos);
+                grown.increment();
+            }
+        } else if (utilization < properties.getLowUtilization() && maxWaiting == 0) {
+            quietWindows++;
+            if (quietWindows >= properties.getShrinkAfterWindows() && size > properties.getMinSize()) {
+                resize(config, Math.max(properties.getMinSize(), size - properties.getStep()),
+                        utilization, meanAcquireNanos);
+                shrunk.increment();
+                quietWindows = 0;
+            }
+        } else {
+            quietWindows = 0;
+        }
+    }
+
+    private double meanAcquireNanosSinceLastWindow() {
+        Timer acquire = meterRegistry.find(ACQUIRE_TIMER).tag("pool", dataSource.getPoolName()).timer();
+        if (acquire == null) {
+            return 0;
+        }
+        long count = acquire.count();
+        double totalNanos = acquire.totalTime(TimeUnit.NANOSECONDS);
+        long acquisitions = count - lastAcquireCount;
+        double mean = acquisitions > 0 ? (totalNanos - lastAcquireNanos) / acquisitions : 0;
+        lastAcquireCount = count;
+        lastAcquireNanos = totalNanos;
+        return mean;
+    }
+
+    private void resize(HikariConfigMXBean config, int newSize, double utilization, double meanAcquireNanos) {
+        log.info("Resizing connection pool {} from {} to {} (utilization {}, mean acquire {} ms)",
+                dataSource.getPoolName(), config.getMaximumPoolSize(), newSize,
+                String.format(Locale.ROOT, "%.2f", utilization),
+                String.format(Locale.ROOT, "%.2f", meanAcquireNanos / 1_000_000));
+        if (configuredMinimumIdle < 0) {
+            configuredMinimumIdle = config.getMinimumIdle();
+        }
+        config.setMinimumIdle(Math.min(configuredMinimumIdle, newSize));
+        config.setMaximumPoolSize(newSize);
+    }
+}
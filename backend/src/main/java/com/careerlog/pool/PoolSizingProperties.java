@@ -0,0 +1,45 @@
+package com.careerlog.pool;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Bounds and thresholds for {@link AdaptivePoolSizer}. Keep {@code maxSize} times the number
+ * of instances below PostgreSQL's {@code max_connections}.
+ */
+@ConfigurationProperties(prefix = "careerlog.pool")
+@Getter
+@Setter
+public class PoolSizingProperties {
+
+    /** Resize the Hikari pool at runtime from observed wait time and utilization. */
+    private boolean adaptive = false;
+
+    private int minSize = 4;
+
+    private int maxSize = 20;
+
+    /** How often pool occupancy is sampled. */
+    private Duration sampleInterval = Duration.ofSeconds(1);
+
+    /** Samples are aggregated over this window before deciding whether to resize. */
+    private Duration window = Duration.ofSeconds(30);
+
+    /** Grow when the mean connection acquire time over a window exceeds this. */
+    private Duration targetAcquireTime = Duration.ofMillis(5);
+
+    /** Grow when on average this fraction of the pool was in use. */
+    private double highUtilization = 0.85;
+
+    /** Shrink when usage stays below this fraction with no waiting threads... */
+    private double lowUtilization = 0.4;
+
+    /** ...for this many consecutive windows, so a short lull does not drop warm connections. */
+    private int shrinkAfterWindows = 4;
+
+    /** Connections added or removed per resize. */
+    private int step = 2;
+}
@@ -0,0 +1,81 @@
+package com.careerlog.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link RequestRateLimiter} to authenticated requests. Registered in the
+ * security chain right after bearer token authentication so the JWT {@code sub}
+ * is available; anonymous requests pass through untouched.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RequestRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!(authentication instanceof JwtAuthenticationToken jwtAuthentication)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String userId = jwtAuthentication.getToken().getSubject();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+
+        RequestRateLimiter.Decision decision = rateLimiter.tryAcquire(userId, path);
+        if (!decision.allowed()) {
+            reject(request, response, decision);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            decision.release().run();
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        RequestRateLimiter.Decision decision) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.retryAfterNanos() + 999_999_999L));
+        log.warn("Rejecting {} {} for group {}: {} limit exceeded",
+                request.getMethod(), request.getRequestURI(), decision.group(), decision.rejectedFor());
+
+        Map<String, Object> errorResponse = new LinkedHashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        errorResponse.put("error", "Too Many Requests");
+        errorResponse.put("message", decision.rejectedFor() == RequestRateLimiter.Reason.RATE
+                ? "Request rate limit exceeded"
+                : "Too many concurrent requests");
+        errorResponse.put("path", request.getRequestURI());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
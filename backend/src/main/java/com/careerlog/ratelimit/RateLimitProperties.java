@@ -0,0 +1,45 @@
+package com.careerlog.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-endpoint-group admission limits. Groups are matched in declaration order,
+ * so the catch-all group must come last.
+ */
+@ConfigurationProperties(prefix = "careerlog.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** How long an idle user's limiter state is kept before being dropped. */
+    private Duration evictionInterval = Duration.ofMinutes(1);
+
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Group {
+
+        /** Ant-style patterns relative to the servlet context path. */
+        private List<String> paths = new ArrayList<>();
+
+        /** Sustained token refill rate. */
+        private double requestsPerSecond = 10;
+
+        /** Bucket capacity, i.e. how many requests may be sent back to back. */
+        private int burst = 20;
+
+        /** Maximum concurrently executing requests per user in this group. */
+        private int maxInFlight = 4;
+    }
+}
@@ -0,0 +1,183 @@
+package com.careerlog.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-user admission control: a token bucket bounds the request rate and an
+ * in-flight counter bounds concurrency, both tracked separately per endpoint group.
+ * All state is held in lock-free atomics keyed by a {@link ConcurrentHashMap}, so
+ * the hot path never blocks.
+ */
+@Component
+@Slf4j
+public class RequestRateLimiter {
+
+    public enum Reason { RATE, CONCURRENCY }
+
+    /** Outcome of an admission check. A granted permit must be released when the request completes. */
+    public record Decision(String group, Reason rejectedFor, long retryAfterNanos, Runnable release) {
+
+        private static final Runnable NO_OP = () -> { };
+
+        static final Decision UNLIMITED = new Decision(null, null, 0, NO_OP);
+
+        static Decision rejected(String group, Reason reason, long retryAfterNanos) {
+            return new Decision(group, reason, retryAfterNanos, NO_OP);
+        }
+
+        public boolean allowed() {
+            return rejectedFor == null;
+        }
+    }
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<GroupLimiter> groups = new ArrayList<>();
+    private final boolean enabled;
+
+    public RequestRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        properties.getGroups().forEach((name, group) ->
+                groups.add(new GroupLimiter(name, group, meterRegistry)));
+    }
+
+    public Decision tryAcquire(String userId, String path) {
+        if (!enabled) {
+            return Decision.UNLIMITED;
+        }
+        GroupLimiter group = resolveGroup(path);
+        return group == null ? Decision.UNLIMITED : group.tryAcquire(userId, System.nanoTime());
+    }
+
+    private GroupLimiter resolveGroup(String path) {
+        for (GroupLimiter group : groups) {
+            for (String pattern : group.config.getPaths()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${careerlog.rate-limit.eviction-interval:PT1M}")
+    public void evictIdleUsers() {
+        long now = System.nanoTime();
+        for (GroupLimiter group : groups) {
+            int evicted = 0;
+            for (String userId : group.users.keySet()) {
+                if (group.users.computeIfPresent(userId, (id, state) -> state.retireIfIdle(now) ? null : state) == null) {
+                    evicted++;
+                }
+            }
+            if (evicted > 0) {
+                log.debug("Evicted {} idle rate limit entries from group {}", evicted, group.name);
+            }
+        }
+    }
+
+    private static final class GroupLimiter {
+
+        private final String name;
+        private final RateLimitProperties.Group config;
+        private final ConcurrentMap<String, UserState> users = new ConcurrentHashMap<>();
+        private final Counter rateRejections;
+        private final Counter concurrencyRejections;
+
+        GroupLimiter(String name, RateLimitProperties.Group config, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.config = config;
+            this.rateRejections = Counter.builder("careerlog.ratelimit.rejected")
+                    .description("Requests rejected by per-user admission control")
+                    .tag("group", name)
+                    .tag("reason", "rate")
+                    .register(meterRegistry);
+            this.concurrencyRejections = Counter.builder("careerlog.ratelimit.rejected")
+                    .description("Requests rejected by per-user admission control")
+                    .tag("group", name)
+                    .tag("reason", "concurrency")
+                    .register(meterRegistry);
+            Gauge.builder("careerlog.ratelimit.tracked.users", users, ConcurrentMap::size)
+                    .description("Users with live limiter state")
+                    .tag("group", name)
+                    .register(meterRegistry);
+        }
+
+        Decision tryAcquire(String userId, long now) {
+            // Taking an in-flight slot first pins the state: eviction only retires a state with
+            // nothing in flight, so a pinned one is never dropped while its bucket is updated. A
+            // request turned away for concurrency never gets as far as spending a token.
+            UserState state = users.get(userId);
+            while (true) {
+                if (state == null) {
+                    state = users.computeIfAbsent(userId, id -> new UserState(config, now));
+                }
+                int inFlight = state.inFlight.get();
+                if (inFlight == UserState.RETIRED) {
+                    // Retired by eviction and leaving the map; retry against its replacement
+                    Thread.onSpinWait();
+                    state = users.get(userId);
+                    continue;
+                }
+                if (inFlight >= config.getMaxInFlight()) {
+                    concurrencyRejections.increment();
+                    return Decision.rejected(name, Reason.CONCURRENCY, TimeUnit.SECONDS.toNanos(1));
+                }
+                if (state.inFlight.compareAndSet(inFlight, inFlight + 1)) {
+                    break;
+                }
+            }
+
+            AtomicInteger counter = state.inFlight;
+            long wait = state.bucket.tryConsume(now);
+            if (wait > 0) {
+                counter.decrementAndGet();
+                rateRejections.increment();
+                return Decision.rejected(name, Reason.RATE, wait);
+            }
+            return new Decision(name, null, 0, counter::decrementAndGet);
+        }
+    }
+
+    private static final class UserState {
+
+        /** In-flight count of a state being evicted; requests that see it retry against the map. */
+        private static final int RETIRED = -1;
+
+        private final TokenBucket bucket;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        UserState(RateLimitProperties.Group config, long now) {
+            this.bucket = new TokenBucket(config.getRequestsPerSecond(), config.getBurst(), now);
+        }
+
+        /**
+         * Retires the state if nothing is in flight and its bucket is full. Once retired no request
+         * takes a slot or touches the bucket, so the fullness check cannot be invalidated before
+         * the entry is removed.
+         */
+        boolean retireIfIdle(long now) {
+            if (!inFlight.compareAndSet(0, RETIRED)) {
+                return false;
+            }
+            if (bucket.isFull(now)) {
+                return true;
+            }
+            // Not idle after all; nothing took a slot while it was retired
+            inFlight.set(0);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.careerlog.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket using the generic cell rate algorithm: the whole bucket
+ * state is a single "theoretical arrival time", updated with a CAS loop.
+ */
+class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double requestsPerSecond, int burst, long nowNanos) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / requestsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(burst - 1, 0);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return 0 if the request is admitted, otherwise the nanoseconds until a token frees up
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = Math.max(tat, nowNanos);
+            long next = base + emissionIntervalNanos;
+            long wait = next - nowNanos - burstToleranceNanos - emissionIntervalNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** True once the bucket has refilled completely, i.e. it is indistinguishable from a new one. */
+    boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,22 @@
+package com.careerlog.reminders;
+
+import com.careerlog.model.Activity;
+import com.careerlog.model.Activity.ActivityType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by ActivityService when an activity is created, moved or deleted, so a pending
+ * reminder can be rescheduled once the transaction commits. {@code type} and
+ * {@code dateTime} are null for a deleted activity.
+ */
+public record ActivityScheduleChange(long activityId, ActivityType type, LocalDateTime dateTime) {
+
+    public static ActivityScheduleChange saved(Activity activity) {
+        return new ActivityScheduleChange(activity.getId(), activity.getType(), activity.getDateTime());
+    }
+
+    public static ActivityScheduleChange deleted(long activityId) {
+        return new ActivityScheduleChange(activityId, null, null);
+    }
+}
@@ -0,0 +1,23 @@
+package com.careerlog.reminders;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes each reminder to the {@code careerlog.reminders} logger, standing in for a mailbox
+ * until a real delivery channel is configured. User ids and company names stay out of the log.
+ */
+public class LogReminderSink implements ReminderSink {
+
+    private static final Logger reminderLog = LoggerFactory.getLogger("careerlog.reminders");
+
+    @Override
+    public void send(Reminder reminder) {
+        reminderLog.atInfo()
+                .addKeyValue("activityId", reminder.activityId())
+                .addKeyValue("applicationId", reminder.applicationId())
+                .addKeyValue("type", reminder.type())
+                .addKeyValue("at", reminder.dateTime())
+                .log("Reminder: {} at {}", reminder.type().getDisplayName(), reminder.dateTime());
+    }
+}
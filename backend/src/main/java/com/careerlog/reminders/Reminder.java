@@ -0,0 +1,10 @@
+package com.careerlog.reminders;
+
+import com.careerlog.model.Activity.ActivityType;
+
+import java.time.LocalDateTime;
+
+/** An upcoming activity a user should be reminded of. */
+public record Reminder(String userId, long activityId, long applicationId, String companyName, String jobTitle,
+                       ActivityType type, LocalDateTime dateTime) {
+}
@@ -0,0 +1,60 @@
+package com.careerlog.reminders;
+
+import com.careerlog.model.Activity.ActivityType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Settings for {@link ReminderScheduler}. Off by default: enable it on one instance only, or
+ * every instance sends every reminder.
+ */
+@ConfigurationProperties(prefix = "careerlog.reminders")
+@Getter
+@Setter
+public class ReminderProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Zone that activity date-times are wall-clock times in. They are stored without an offset,
+     * so this decides the instant a reminder is due, independently of the host's time zone.
+     */
+    private ZoneId zone = ZoneOffset.UTC;
+
+    /** How long before an activity its reminder is sent. */
+    private Duration leadTime = Duration.ofHours(1);
+
+    /**
+     * How far ahead reminders are loaded into memory; must exceed {@code load-interval}.
+     * Only reminders due within this window are held, whatever the table size.
+     */
+    private Duration horizon = Duration.ofMinutes(30);
+
+    /**
+     * How often the horizon is rescanned, and so how long a change made on another instance
+     * can take to be scheduled.
+     */
+    private Duration loadInterval = Duration.ofMinutes(5);
+
+    /** Activities read per query while loading. */
+    private int batchSize = 1_000;
+
+    /** Resolution of the timing wheel, and how often it is advanced. */
+    private Duration tick = Duration.ofSeconds(1);
+
+    /** Slots per timing wheel level. */
+    private int wheelSize = 512;
+
+    /** Activity types that get a reminder. */
+    private Set<ActivityType> types = EnumSet.of(ActivityType.PHONE_SCREEN, ActivityType.TECHNICAL_INTERVIEW,
+            ActivityType.BEHAVIORAL_INTERVIEW, ActivityType.SYSTEM_DESIGN, ActivityType.CODING_TEST,
+            ActivityType.FINAL_ROUND, ActivityType.OFFER_CALL, ActivityType.NETWORKING_COFFEE,
+            ActivityType.INFO_SESSION, ActivityType.REFERENCE_CHECK);
+}
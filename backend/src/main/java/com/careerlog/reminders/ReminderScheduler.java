@@ -0,0 +1,238 @@
+package com.careerlog.reminders;
+
+import com.careerlog.model.Activity.ActivityType;
+import com.careerlog.repository.ActivityRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sends a reminder {@code lead-time} before each upcoming activity of the configured types.
+ * <p>
+ * Every {@code load-interval} the reminders up to {@code horizon} ahead are read from the
+ * {@code date_time} index in keyset-paged batches into a {@link TimingWheel}, so memory holds
+ * only what falls due within the horizon. Each load rescans the whole horizon, not just the
+ * stretch added since the last one, because only this instance's changes reach it as events:
+ * activities created or moved on other instances are picked up by the next load, and
+ * scheduling an activity again replaces its entry. Changes made here are applied to the wheel
+ * as they commit. The wheel is advanced every {@code tick};
+ * due activities are re-read in one query per batch before sending, which also drops those
+ * deleted along with their application. Reminders falling due while no instance was running,
+ * or for activities entered less than the lead time ahead, are not sent.
+ */
+@Component
+@ConditionalOnProperty(prefix = "careerlog.reminders", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReminderScheduler {
+
+    private static final long RETRY_DELAY_MILLIS = 30_000;
+
+    private final ActivityRepository activityRepository;
+    private final ReminderSink sink;
+    private final Set<ActivityType> types;
+    private final long leadMillis;
+    private final long horizonMillis;
+    private final int batchSize;
+    private final ZoneId zone;
+    private final Counter sent;
+    private final Counter skipped;
+    private final Counter failed;
+    private final TimingWheel wheel;
+    // Every reminder due up to here is in the wheel; guarded by the wheel
+    private long loadedUntil;
+
+    public ReminderScheduler(ActivityRepository activityRepository, ObjectProvider<ReminderSink> sinks,
+                             ReminderProperties properties, MeterRegistry meterRegistry) {
+        if (properties.getHorizon().compareTo(properties.getLoadInterval()) <= 0) {
+            throw new IllegalStateException("careerlog.reminders.horizon must exceed load-interval");
+        }
+        if (properties.getBatchSize() < 1) {
+            throw new IllegalStateException("careerlog.reminders.batch-size must be at least 1");
+        }
+        this.activityRepository = activityRepository;
+        this.sink = sinks.getIfAvailable(LogReminderSink::new);
+        this.types = properties.getTypes().isEmpty()
+                ? EnumSet.noneOf(ActivityType.class) : EnumSet.copyOf(properties.getTypes());
+        this.leadMillis = properties.getLeadTime().toMillis();
+        this.horizonMillis = properties.getHorizon().toMillis();
+        this.batchSize = properties.getBatchSize();
+        this.zone = properties.getZone();
+        this.sent = reminders(meterRegistry, "sent");
+        this.skipped = reminders(meterRegistry, "skipped");
+        this.failed = reminders(meterRegistry, "failed");
+
+        long now = System.currentTimeMillis();
+        this.wheel = new TimingWheel(properties.getTick().toMillis(), properties.getWheelSize(), now);
+        this.loadedUntil = now;
+        Gauge.builder("careerlog.reminders.pending", this, ReminderScheduler::pending)
+                .description("Reminders loaded and waiting to be sent")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedRateString = "${careerlog.reminders.tick:PT1S}")
+    public void tick() {
+        List<Long> due = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(System.currentTimeMillis(), (id, deadline) -> due.add(id));
+        }
+        for (int start = 0; start < due.size(); start += batchSize) {
+            deliver(due.subList(start, Math.min(due.size(), start + batchSize)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${careerlog.reminders.load-interval:PT5M}")
+    public void load() {
+        if (types.isEmpty()) {
+            return;
+        }
+        long from = System.currentTimeMillis();
+        long until = from + horizonMillis;
+        long previous;
+        synchronized (wheel) {
+            previous = loadedUntil;
+            // Changes committing while this runs are scheduled by onScheduleChange
+            loadedUntil = Math.max(loadedUntil, until);
+        }
+        LocalDateTime after = dateTimeOf(from + leadMillis);
+        LocalDateTime last = dateTimeOf(until + leadMillis);
+        long afterId = Long.MAX_VALUE;
+        int loaded = 0;
+        try {
+            List<Object[]> rows;
+            do {
+                rows = activityRepository.findReminderCandidates(types, after, afterId, last,
+                        PageRequest.ofSize(batchSize));
+                synchronized (wheel) {
+                    long now = System.currentTimeMillis();
+                    for (Object[] row : rows) {
+                        long remindAt = remindAt((LocalDateTime) row[1]);
+                        // Fallen due since the query: still pending if it was loaded before, or already sent
+                        if (remindAt > now) {
+                            wheel.schedule((Long) row[0], remindAt);
+                        }
+                    }
+                }
+                if (!rows.isEmpty()) {
+                    Object[] lastRow = rows.get(rows.size() - 1);
+                    afterId = (Long) lastRow[0];
+                    after = (LocalDateTime) lastRow[1];
+                }
+                loaded += rows.size();
+            } while (rows.size() == batchSize);
+        } catch (DataAccessException e) {
+            synchronized (wheel) {
+                // The next load rescans anyway; until then, changes beyond what was loaded wait for it
+                loadedUntil = Math.min(loadedUntil, previous);
+            }
+            log.warn("Could not load upcoming reminders: {}", e.getMessage());
+            return;
+        }
+        log.debug("Loaded {} reminders due before {}", loaded, Instant.ofEpochMilli(until));
+    }
+
+    @TransactionalEventListener
+    public void onScheduleChange(ActivityScheduleChange change) {
+        synchronized (wheel) {
+            if (change.dateTime() == null || !types.contains(change.type())) {
+                wheel.cancel(change.activityId());
+                return;
+            }
+            long remindAt = remindAt(change.dateTime());
+            // Beyond loadedUntil the next load picks it up; already due means already sent, or too late
+            if (remindAt > loadedUntil || remindAt <= System.currentTimeMillis()) {
+                wheel.cancel(change.activityId());
+            } else {
+                wheel.schedule(change.activityId(), remindAt);
+            }
+        }
+    }
+
+    private void deliver(List<Long> ids) {
+        Map<Long, Object[]> details = new HashMap<>();
+        try {
+            for (Object[] row : activityRepository.findReminderDetails(ids)) {
+                details.put((Long) row[0], row);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not read {} due reminders, retrying: {}", ids.size(), e.getMessage());
+            long retryAt = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+            synchronized (wheel) {
+                ids.forEach(id -> wheel.schedule(id, retryAt));
+            }
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (Long id : ids) {
+            Object[] row = details.get(id);
+            // Deleted, or no longer a type that gets reminders
+            if (row == null || !types.contains((ActivityType) row[1])) {
+                skipped.increment();
+                continue;
+            }
+            LocalDateTime dateTime = (LocalDateTime) row[2];
+            long remindAt = remindAt(dateTime);
+            if (remindAt > now) {
+                // Moved later, and the change was made on another instance
+                synchronized (wheel) {
+                    if (remindAt <= loadedUntil) {
+                        wheel.schedule(id, remindAt);
+                    }
+                }
+                continue;
+            }
+            if (remindAt + leadMillis <= now) {
+                // Already started
+                skipped.increment();
+                continue;
+            }
+            try {
+                sink.send(new Reminder((String) row[4], id, (Long) row[3], (String) row[5], (String) row[6],
+                        (ActivityType) row[1], dateTime));
+                sent.increment();
+            } catch (RuntimeException e) {
+                log.warn("Could not send the reminder for activity {}", id, e);
+                failed.increment();
+            }
+        }
+    }
+
+    private int pending() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private long remindAt(LocalDateTime dateTime) {
+        return dateTime.atZone(zone).toInstant().toEpochMilli() - leadMillis;
+    }
+
+    private LocalDateTime dateTimeOf(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+    }
+
+    private static Counter reminders(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("careerlog.reminders")
+                .description("Reminders handled when due, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,11 @@
+package com.careerlog.reminders;
+
+/**
+ * Where reminders go. Defaults to {@link LogReminderSink}; define a bean of this type to
+ * deliver them some other way (mail, push). Called on the scheduler thread, so slow
+ * deliveries should hand off.
+ */
+public interface ReminderSink {
+
+    void send(Reminder reminder);
+}
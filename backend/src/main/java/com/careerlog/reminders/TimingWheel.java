@@ -0,0 +1,197 @@
+package com.careerlog.reminders;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A hierarchical timing wheel (Varghese and Lauck) of long keys, each with a deadline.
+ * <p>
+ * Level 0 has one slot per tick; each level above has slots {@code wheelSize} times as wide,
+ * and levels are added as far-off deadlines need them. A timeout sits in the lowest level
+ * whose span reaches its deadline and moves down a level each time the wheel enters its
+ * slot, so scheduling, cancelling and expiring are all O(1) however many are pending.
+ * Deadlines are rounded up to a whole tick, so a timeout never fires early.
+ * <p>
+ * Scheduling a key that is already pending replaces it. Not thread-safe.
+ */
+final class TimingWheel {
+
+    /** Receives each expired key with the deadline it was scheduled for. */
+    @FunctionalInterface
+    interface ExpiryHandler {
+        void expired(long key, long deadlineMillis);
+    }
+
+    private static final class Timeout {
+
+        private final long key;
+        private final long deadlineMillis;
+        private final long expiryTick;
+        private Timeout previous;
+        private Timeout next;
+        private Bucket bucket;
+
+        private Timeout(long key, long deadlineMillis, long expiryTick) {
+            this.key = key;
+            this.deadlineMillis = deadlineMillis;
+            this.expiryTick = expiryTick;
+        }
+    }
+
+    /** A doubly linked list of timeouts, so any of them can be unlinked directly. */
+    private static final class Bucket {
+
+        private Timeout head;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.previous = null;
+            timeout.next = head;
+            if (head != null) {
+                head.previous = timeout;
+            }
+            head = timeout;
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        /** Empties the bucket, returning its former head; walk it with {@code next} before re-adding. */
+        private Timeout takeAll() {
+            Timeout all = head;
+            head = null;
+            for (Timeout timeout = all; timeout != null; timeout = timeout.next) {
+                timeout.bucket = null;
+            }
+            return all;
+        }
+    }
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Bucket[]> levels = new ArrayList<>();
+    private final Bucket expired = new Bucket();
+    private final Map<Long, Timeout> timeouts = new HashMap<>();
+    private long currentTick;
+
+    TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis < 1 || wheelSize < 2) {
+            throw new IllegalArgumentException("tick must be at least 1 ms and wheel size at least 2");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    int size() {
+        return timeouts.size();
+    }
+
+    boolean contains(long key) {
+        return timeouts.containsKey(key);
+    }
+
+    /** Schedules {@code key} to expire at {@code deadlineMillis}; a deadline already passed expires on the next advance. */
+    void schedule(long key, long deadlineMillis) {
+        cancel(key);
+        Timeout timeout = new Timeout(key, deadlineMillis, Math.ceilDiv(deadlineMillis, tickMillis));
+        timeouts.put(key, timeout);
+        place(timeout);
+    }
+
+    boolean cancel(long key) {
+        Timeout timeout = timeouts.remove(key);
+        if (timeout == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        return true;
+    }
+
+    /** Moves the wheel to {@code nowMillis}, handing every timeout due by then to {@code handler}. */
+    int advance(long nowMillis, ExpiryHandler handler) {
+        int count = expire(expired, handler);
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Entering a new slot on an upper level moves its timeouts down, highest level first
+            for (int level = highestLevelStartingSlot(); level >= 1; level--) {
+                Bucket bucket = levels.get(level)[slot(currentTick, level)];
+                for (Timeout timeout = bucket.takeAll(), next; timeout != null; timeout = next) {
+                    next = timeout.next;
+                    place(timeout);
+                }
+            }
+            if (!levels.isEmpty()) {
+                count += expire(levels.get(0)[slot(currentTick, 0)], handler);
+            }
+            count += expire(expired, handler);
+        }
+        return count;
+    }
+
+    private int expire(Bucket bucket, ExpiryHandler handler) {
+        int count = 0;
+        for (Timeout timeout = bucket.takeAll(), next; timeout != null; timeout = next) {
+            next = timeout.next;
+            timeouts.remove(timeout.key);
+            handler.expired(timeout.key, timeout.deadlineMillis);
+            count++;
+        }
+        return count;
+    }
+
+    private void place(Timeout timeout) {
+        if (timeout.expiryTick <= currentTick) {
+            expired.add(timeout);
+            return;
+        }
+        long span = 1;
+        for (int level = 0; ; level++) {
+            // Slots ahead of the current one on this level; never 0, or it would fit a lower level
+            if (timeout.expiryTick / span - currentTick / span < wheelSize) {
+                while (levels.size() <= level) {
+                    Bucket[] buckets = new Bucket[wheelSize];
+                    for (int i = 0; i < wheelSize; i++) {
+                        buckets[i] = new Bucket();
+                    }
+                    levels.add(buckets);
+                }
+                levels.get(level)[(int) ((timeout.expiryTick / span) % wheelSize)].add(timeout);
+                return;
+            }
+            span = Math.multiplyExact(span, wheelSize);
+        }
+    }
+
+    private int highestLevelStartingSlot() {
+        int level = 0;
+        long span = wheelSize;
+        while (level + 1 < levels.size() && currentTick % span == 0) {
+            level++;
+            span = Math.multiplyExact(span, wheelSize);
+        }
+        return level;
+    }
+
+    private int slot(long tick, int level) {
+        long span = 1;
+        for (int i = 0; i < level; i++) {
+            span *= wheelSize;
+        }
+        return (int) ((tick / span) % wheelSize);
+    }
+}
@@ -2,40 +2,78 @@ package com.careerlog.repository;
 
 import com.careerlog.model.Activity;
 import com.careerlog.model.Activity.ActivityType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
 
+    // Responses show the application's name; fetch it here, since the session is closed by then
+    @EntityGraph(attributePaths = "application")
     List<Activity> findByApplicationIdOrderByDateTimeDesc(Long applicationId);
 
+    @EntityGraph(attributePaths = "application")
     List<Activity> findByApplicationIdAndTypeOrderByDateTimeDesc(Long applicationId, ActivityType type);
 
-    @Query("SELECT a FROM Activity a WHERE a.application.id IN " +
-           "(SELECT app.id FROM Application app WHERE app.userId = :userId) " +
+    @Override
+    @EntityGraph(attributePaths = "application")
+    Optional<Activity> findById(Long id);
+
+    @Query("SELECT a FROM Activity a JOIN FETCH a.application app WHERE app.userId = :userId " +
            "ORDER BY a.dateTime DESC")
     List<Activity> findByUserIdOrderByDateTimeDesc(@Param("userId") String userId);
 
-    @Query("SELECT a FROM Activity a WHERE a.application.id IN " +
-           "(SELECT app.id FROM Application app WHERE app.userId = :userId) " +
+    @Query("SELECT a FROM Activity a JOIN FETCH a.application app WHERE app.userId = :userId " +
            "AND a.dateTime >= :startDate ORDER BY a.dateTime DESC")
     List<Activity> findByUserIdAndDateTimeAfter(@Param("userId") String userId,
                                                 @Param("startDate") LocalDateTime startDate);
 
+    // Range scan on idx_activities_date_time, stopping after the page
+    @Query("SELECT a FROM Activity a JOIN FETCH a.application app WHERE app.userId = :userId " +
+           "AND a.dateTime >= :from AND a.dateTime < :to ORDER BY a.dateTime, a.id")
+    List<Activity> findUpcomingByUserId(@Param("userId") String userId, @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to, Pageable pageable);
+
+    /** (id, date time) of activities after the (date time, id) cursor up to {@code until}, in that order. */
+    @Query("SELECT a.id, a.dateTime FROM Activity a WHERE a.type IN :types AND a.dateTime <= :until " +
+           "AND (a.dateTime > :after OR (a.dateTime = :after AND a.id > :afterId)) ORDER BY a.dateTime, a.id")
+    List<Object[]> findReminderCandidates(@Param("types") Collection<ActivityType> types,
+                                          @Param("after") LocalDateTime after, @Param("afterId") long afterId,
+                                          @Param("until") LocalDateTime until, Pageable pageable);
+
+    @Query("SELECT a.id, a.type, a.dateTime, app.id, app.userId, app.companyName, app.jobTitle " +
+           "FROM Activity a JOIN a.application app WHERE a.id IN :ids")
+    List<Object[]> findReminderDetails(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT COUNT(a) FROM Activity a WHERE a.application.id IN " +
            "(SELECT app.id FROM Application app WHERE app.userId = :userId) " +
            "AND a.type = :activityType")
     long countByUserIdAndActivityType(@Param("userId") String userId,
                                      @Param("activityType") ActivityType activityType);
 
+    @Query("SELECT a.type, CAST(a.dateTime AS LocalDate), COUNT(a) FROM Activity a JOIN a.application app " +
+           "WHERE app.userId = :userId GROUP BY a.type, CAST(a.dateTime AS LocalDate)")
+    List<Object[]> countByUserIdPerTypeAndDay(@Param("userId") String userId);
+
+    @Query("SELECT a.application.id, a.type, a.dateTime FROM Activity a WHERE a.application.id IN :applicationIds " +
+           "ORDER BY a.application.id, a.dateTime")
+    List<Object[]> findTimelineByApplicationIds(@Param("applicationIds") List<Long> applicationIds);
+
     @Query("SELECT a.type, COUNT(a) FROM Activity a WHERE a.application.id IN " +
            "(SELECT app.id FROM Application app WHERE app.userId = :userId) " +
            "GROUP BY a.type")
     List<Object[]> getActivityTypeBreakdown(@Param("userId") String userId);
-}
\ No newline at end of file
+
+    @Query("SELECT a.type, COUNT(a) FROM Activity a JOIN a.application app " +
+           "WHERE app.userId BETWEEN :first AND :last GROUP BY a.type")
+    List<Object[]> countByTypeInUserRange(@Param("first") String first, @Param("last") String last);
+}
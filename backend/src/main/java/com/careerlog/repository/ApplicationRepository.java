@@ -10,10 +10,11 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ApplicationRepository extends JpaRepository<Application, Long> {
+public interface ApplicationRepository extends JpaRepository<Application, Long>, ApplicationRepositoryCustom {
 
     Page<Application> findByUserId(String userId, Pageable pageable);
 
@@ -34,11 +35,33 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
     @Query("SELECT a.status, COUNT(a) FROM Application a WHERE a.userId = :userId GROUP BY a.status")
     List<Object[]> getApplicationStatusBreakdown(@Param("userId") String userId);
 
-    @Query("SELECT DATE_TRUNC('week', a.applicationDate), COUNT(a) FROM Application a " +
-           "WHERE a.userId = :userId AND a.applicationDate >= :startDate " +
-           "GROUP BY DATE_TRUNC('week', a.applicationDate) ORDER BY DATE_TRUNC('week', a.applicationDate)")
-    List<Object[]> getApplicationsPerWeek(@Param("userId") String userId,
-                                        @Param("startDate") LocalDate startDate);
+    @Query("SELECT a.applicationDate, COUNT(a) FROM Application a WHERE a.userId = :userId " +
+           "GROUP BY a.applicationDate")
+    List<Object[]> countByUserIdPerApplicationDate(@Param("userId") String userId);
 
     boolean existsByUserIdAndCompanyNameAndJobTitle(String userId, String companyName, String jobTitle);
-}
\ No newline at end of file
+
+    /**
+     * Splits users into up to {@code ranges} contiguous ranges of user id holding about as
+     * many applications each, as (first, last) user id pairs in order. A user with many
+     * applications can end one range and start the next.
+     */
+    @Query(value = "SELECT MIN(user_id), MAX(user_id) FROM " +
+                   "(SELECT user_id, NTILE(:ranges) OVER (ORDER BY user_id) AS part FROM applications) parts " +
+                   "GROUP BY part ORDER BY part",
+           nativeQuery = true)
+    List<Object[]> findUserIdRanges(@Param("ranges") int ranges);
+
+    /** Users and applications with a user id in {@code [first, last]}, as one row. */
+    @Query("SELECT COUNT(DISTINCT a.userId), COUNT(a) FROM Application a WHERE a.userId BETWEEN :first AND :last")
+    List<Object[]> countUsersAndApplicationsInUserRange(@Param("first") String first, @Param("last") String last);
+
+    @Query("SELECT a.companyName, COUNT(a) FROM Application a WHERE a.userId BETWEEN :first AND :last " +
+           "GROUP BY a.companyName")
+    List<Object[]> countByCompanyInUserRange(@Param("first") String first, @Param("last") String last);
+
+    /** User id, application date, company and source of the given users' applications. */
+    @Query("SELECT a.userId, a.applicationDate, a.companyName, a.source FROM Application a " +
+           "WHERE a.userId IN :userIds")
+    List<Object[]> findDistinctValuesByUserIds(@Param("userIds") Collection<String> userIds);
+}
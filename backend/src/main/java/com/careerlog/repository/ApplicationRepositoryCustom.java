@@ -0,0 +1,33 @@
+package com.careerlog.repository;
+
+import com.careerlog.dto.ApplicationFacet;
+import com.careerlog.dto.ApplicationFacetsResponse.FacetCount;
+import com.careerlog.dto.ApplicationField;
+import com.careerlog.dto.ApplicationFilter;
+import com.careerlog.dto.ApplicationResponse;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Filtered application listing. Each call is a single statement; activity and attachment
+ * filters are EXISTS subqueries. So are tag filters: {@code tagIds}, when not null, are the ids
+ * of the filter's tags, matched per its {@code tagMatch}.
+ */
+public interface ApplicationRepositoryCustom {
+
+    /** One page of a user's applications selecting only the given columns; unselected fields are null. */
+    List<ApplicationResponse> findProjected(String userId, ApplicationFilter filter, Collection<Integer> tagIds,
+                                            Set<ApplicationField> fields, Pageable pageable);
+
+    long countFiltered(String userId, ApplicationFilter filter, Collection<Integer> tagIds);
+
+    /**
+     * Applications per value of {@code facet}, under every filter but the one on {@code facet}
+     * itself, most common first and at most {@code limit} values.
+     */
+    List<FacetCount> countFacet(String userId, ApplicationFilter filter, Collection<Integer> tagIds,
+                                ApplicationFacet facet, int limit);
+}
@@ -0,0 +1,210 @@
+package com.careerlog.repository;
+
+import com.careerlog.dto.ApplicationFacet;
+import com.careerlog.dto.ApplicationFacetsResponse.FacetCount;
+import com.careerlog.dto.ApplicationField;
+import com.careerlog.dto.ApplicationFilter;
+import com.careerlog.dto.ApplicationResponse;
+import com.careerlog.model.Activity;
+import com.careerlog.model.Application;
+import com.careerlog.model.ApplicationTag;
+import com.careerlog.model.Attachment;
+import com.careerlog.tags.TagMatch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+class ApplicationRepositoryImpl implements ApplicationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ApplicationResponse> findProjected(String userId, ApplicationFilter filter, Collection<Integer> tagIds,
+                                                   Set<ApplicationField> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        List<ApplicationField> selected = List.copyOf(fields);
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Application> root = query.from(Application.class);
+        List<Selection<?>> columns = new ArrayList<>(selected.size());
+        for (ApplicationField field : selected) {
+            columns.add(root.get(field.attribute()));
+        }
+        query.multiselect(columns)
+                .where(filters(cb, query, root, userId, filter, tagIds, null))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        return typedQuery.getResultList().stream()
+                .map(tuple -> {
+                    Object[] values = new Object[ApplicationField.values().length];
+                    for (int i = 0; i < selected.size(); i++) {
+                        values[selected.get(i).ordinal()] = tuple.get(i);
+                    }
+                    return ApplicationResponse.fromValues(values);
+                })
+                .toList();
+    }
+
+    @Override
+    public long countFiltered(String userId, ApplicationFilter filter, Collection<Integer> tagIds) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Application> root = query.from(Application.class);
+        query.select(cb.count(root)).where(filters(cb, query, root, userId, filter, tagIds, null));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public List<FacetCount> countFacet(String userId, ApplicationFilter filter, Collection<Integer> tagIds,
+                                       ApplicationFacet facet, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+
+        From<?, Application> application;
+        List<Expression<?>> groups;
+        Expression<Long> count;
+        if (facet == ApplicationFacet.ACTIVITY_TYPE || facet == ApplicationFacet.ATTACHMENT_TYPE) {
+            // Applications per type, from the child table; an application counts once per type
+            Class<?> type = facet == ApplicationFacet.ACTIVITY_TYPE ? Activity.class : Attachment.class;
+            Root<?> child = query.from(type);
+            application = child.join("application");
+            groups = List.of(child.get("type"));
+            count = cb.countDistinct(application);
+        } else {
+            Root<Application> root = query.from(Application.class);
+            application = root;
+            groups = switch (facet) {
+                case STATUS -> List.of(root.get("status"));
+                case MONTH -> List.of(cb.function("year", Integer.class, root.get("applicationDate")),
+                        cb.function("month", Integer.class, root.get("applicationDate")));
+                case LOCATION -> List.of(cb.lower(root.get("location")));
+                case SOURCE -> List.of(cb.lower(root.get("source")));
+                default -> throw new IllegalArgumentException("Unsupported facet " + facet);
+            };
+            count = cb.count(root);
+        }
+
+        List<Predicate> predicates = new ArrayList<>(List.of(
+                filters(cb, query, application, userId, filter, tagIds, facet)));
+        groups.forEach(group -> predicates.add(cb.isNotNull(group)));
+        List<Selection<?>> selections = new ArrayList<>(groups);
+        selections.add(count);
+        query.multiselect(selections)
+                .where(predicates.toArray(Predicate[]::new))
+                .groupBy(groups)
+                // Months newest first; everything else most common first
+                .orderBy(facet == ApplicationFacet.MONTH
+                        ? groups.stream().map(cb::desc).toList()
+                        : List.of(cb.desc(count), cb.asc(groups.get(0))));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList().stream()
+                .map(row -> new FacetCount(facetValue(facet, row), row.get(groups.size(), Long.class)))
+                .toList();
+    }
+
+    private static String facetValue(ApplicationFacet facet, Tuple row) {
+        if (facet == ApplicationFacet.MONTH) {
+            return String.format(Locale.ROOT, "%04d-%02d", row.get(0, Integer.class), row.get(1, Integer.class));
+        }
+        Object value = row.get(0);
+        return value instanceof Enum<?> constant ? constant.name() : (String) value;
+    }
+
+    /**
+     * The filter as predicates on {@code root}, leaving out the one on {@code excluded} (null
+     * for none). The search term has the same matching rules as
+     * ApplicationRepository.findByUserIdAndSearchTerm.
+     */
+    private Predicate[] filters(CriteriaBuilder cb, AbstractQuery<?> query, From<?, Application> root,
+                                String userId, ApplicationFilter filter, Collection<Integer> tagIds,
+                                ApplicationFacet excluded) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get("userId"), userId));
+        if (tagIds != null) {
+            predicates.add(tagged(cb, query, root, tagIds, filter.tagMatch()));
+        }
+        if (filter.search() != null) {
+            String pattern = "%" + filter.search() + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(root.get("companyName")), pattern),
+                    cb.like(cb.lower(root.get("jobTitle")), pattern),
+                    cb.like(cb.lower(root.get("location")), pattern)));
+        }
+        if (!filter.status().isEmpty() && excluded != ApplicationFacet.STATUS) {
+            predicates.add(root.get("status").in(filter.status()));
+        }
+        if (excluded != ApplicationFacet.MONTH) {
+            if (filter.from() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("applicationDate"), filter.from()));
+            }
+            if (filter.to() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("applicationDate"), filter.to()));
+            }
+        }
+        if (filter.location() != null && excluded != ApplicationFacet.LOCATION) {
+            predicates.add(cb.equal(cb.lower(root.get("location")), filter.location()));
+        }
+        if (filter.source() != null && excluded != ApplicationFacet.SOURCE) {
+            predicates.add(cb.equal(cb.lower(root.get("source")), filter.source()));
+        }
+        if (!filter.activityType().isEmpty() && excluded != ApplicationFacet.ACTIVITY_TYPE) {
+            predicates.add(cb.exists(childOfType(cb, query, Activity.class, root, filter.activityType())));
+        }
+        if (!filter.attachmentType().isEmpty() && excluded != ApplicationFacet.ATTACHMENT_TYPE) {
+            predicates.add(cb.exists(childOfType(cb, query, Attachment.class, root, filter.attachmentType())));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    // EXISTS (SELECT 1 FROM <child> c WHERE c.application_id = a.id AND c.type IN (...)),
+    // answered from the (application_id, type) index
+    private static Subquery<Integer> childOfType(CriteriaBuilder cb, AbstractQuery<?> query, Class<?> child,
+                                                 From<?, Application> application, Set<?> types) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<?> row = subquery.from(child);
+        return subquery.select(cb.literal(1))
+                .where(cb.equal(row.get("application"), application), row.get("type").in(types));
+    }
+
+    // ANY: EXISTS (SELECT 1 FROM application_tags t WHERE t.application_id = a.id AND t.tag_id IN (...)),
+    // ALL: the same rows counted against the number of tags; both answered from the primary key
+    private static Predicate tagged(CriteriaBuilder cb, AbstractQuery<?> query, From<?, Application> application,
+                                    Collection<Integer> tagIds, TagMatch match) {
+        if (match == TagMatch.ANY) {
+            Subquery<Integer> subquery = query.subquery(Integer.class);
+            Root<ApplicationTag> row = subquery.from(ApplicationTag.class);
+            return cb.exists(subquery.select(cb.literal(1))
+                    .where(cb.equal(row.get("applicationId"), application.get("id")), row.get("tagId").in(tagIds)));
+        }
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<ApplicationTag> row = subquery.from(ApplicationTag.class);
+        subquery.select(cb.count(row))
+                .where(cb.equal(row.get("applicationId"), application.get("id")), row.get("tagId").in(tagIds));
+        return cb.equal(subquery, (long) tagIds.size());
+    }
+}
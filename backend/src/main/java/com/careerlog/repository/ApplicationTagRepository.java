@@ -0,0 +1,40 @@
+package com.careerlog.repository;
+
+import com.careerlog.model.ApplicationTag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ApplicationTagRepository extends JpaRepository<ApplicationTag, ApplicationTag.Key> {
+
+    @Modifying
+    @Query("DELETE FROM ApplicationTag t WHERE t.applicationId = :applicationId")
+    void deleteByApplicationId(@Param("applicationId") Long applicationId);
+
+    // Plain insert: saving an entity with an assigned id would SELECT it first to decide insert or update
+    @Modifying
+    @Query(value = "INSERT INTO application_tags (application_id, tag_id) VALUES (:applicationId, :tagId)",
+           nativeQuery = true)
+    void insert(@Param("applicationId") Long applicationId, @Param("tagId") Integer tagId);
+
+    /** One row per (application, tag) for the user, with a null tag for untagged applications. */
+    @Query("SELECT a.id, a.status, t.tagId FROM Application a " +
+           "LEFT JOIN ApplicationTag t ON t.applicationId = a.id WHERE a.userId = :userId")
+    List<Object[]> findTagRowsByUserId(@Param("userId") String userId);
+
+    /** Id and tech stack of applications with a tech stack but no tags yet. */
+    @Query("SELECT a.id, a.techStack FROM Application a WHERE a.id > :afterId " +
+           "AND a.techStack IS NOT NULL AND a.techStack <> '' " +
+           "AND NOT EXISTS (SELECT t.tagId FROM ApplicationTag t WHERE t.applicationId = a.id) ORDER BY a.id")
+    List<Object[]> findUntaggedApplications(@Param("afterId") Long afterId, Pageable pageable);
+
+    /** Serializes backfill runs across instances; released when the transaction ends. */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("key") long key);
+}
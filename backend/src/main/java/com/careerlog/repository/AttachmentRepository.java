@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,6 +22,10 @@ public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
            "ORDER BY a.uploadedAt DESC")
     List<Attachment> findByUserIdOrderByUploadedAtDesc(@Param("userId") String userId);
 
+    /** The user's attachments among {@code ids}, with their applications. */
+    @Query("SELECT a FROM Attachment a JOIN FETCH a.application app WHERE a.id IN :ids AND app.userId = :userId")
+    List<Attachment> findWithApplicationByIds(@Param("userId") String userId, @Param("ids") Collection<Long> ids);
+
     boolean existsByApplicationIdAndFileName(Long applicationId, String fileName);
 
     long countByApplicationId(Long applicationId);
@@ -0,0 +1,89 @@
+package com.careerlog.repository;
+
+import com.careerlog.model.AttachmentText;
+import com.careerlog.model.AttachmentText.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AttachmentTextRepository extends JpaRepository<AttachmentText, Long> {
+
+    /** Queues the attachment for extraction, for the user owning its application. */
+    @Modifying
+    @Query(value = "INSERT INTO attachment_texts (attachment_id, user_id, application_id, status, attempts, " +
+                   "next_attempt_at) " +
+                   "SELECT :attachmentId, a.user_id, a.id, 'PENDING', 0, :now FROM applications a " +
+                   "WHERE a.id = :applicationId ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertPending(@Param("attachmentId") Long attachmentId, @Param("applicationId") Long applicationId,
+                      @Param("now") LocalDateTime now);
+
+    /** Queues every attachment that has no row yet; returns how many were queued. */
+    @Modifying
+    @Query(value = "INSERT INTO attachment_texts (attachment_id, user_id, application_id, status, attempts, " +
+                   "next_attempt_at) " +
+                   "SELECT at.id, a.user_id, a.id, 'PENDING', 0, :now FROM attachments at " +
+                   "JOIN applications a ON a.id = at.application_id " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM attachment_texts t WHERE t.attachment_id = at.id) " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertMissing(@Param("now") LocalDateTime now);
+
+    /** Pending attachments that are due, oldest first. */
+    @Query("SELECT t.attachmentId FROM AttachmentText t WHERE t.status = 'PENDING' AND t.nextAttemptAt <= :now " +
+           "ORDER BY t.nextAttemptAt")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Takes a due attachment for one attempt, holding it until {@code leaseUntil}; returns 0 if it
+     * is not due, because it is done or another worker has it.
+     */
+    @Modifying
+    @Query("UPDATE AttachmentText t SET t.nextAttemptAt = :leaseUntil, t.attempts = t.attempts + 1 " +
+           "WHERE t.attachmentId = :id AND t.status = 'PENDING' AND t.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE AttachmentText t SET t.status = :status, t.text = :text, t.error = :error, " +
+           "t.extractedAt = :now WHERE t.attachmentId = :id")
+    int complete(@Param("id") Long id, @Param("status") Status status, @Param("text") String text,
+                 @Param("error") String error, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE AttachmentText t SET t.nextAttemptAt = :nextAttemptAt, t.error = :error " +
+           "WHERE t.attachmentId = :id")
+    int retryAt(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                @Param("error") String error);
+
+    /** Blob URL, content type, original file name and size of the attachment, if it still exists. */
+    @Query("SELECT a.blobUrl, a.contentType, a.originalFileName, a.fileSizeBytes FROM Attachment a WHERE a.id = :id")
+    List<Object[]> findSource(@Param("id") Long id);
+
+    /** Attachment id, application id and text of each of the user's extracted attachments. */
+    @Query("SELECT t.attachmentId, t.applicationId, t.text FROM AttachmentText t " +
+           "WHERE t.userId = :userId AND t.status = 'EXTRACTED'")
+    List<Object[]> findIndexRows(@Param("userId") String userId);
+
+    /** Attachment id and text of each of the given attachments of the user. */
+    @Query("SELECT t.attachmentId, t.text FROM AttachmentText t " +
+           "WHERE t.attachmentId IN :ids AND t.userId = :userId AND t.status = 'EXTRACTED'")
+    List<Object[]> findTexts(@Param("userId") String userId, @Param("ids") Collection<Long> ids);
+
+    long countByUserIdAndStatus(String userId, Status status);
+
+    @Modifying
+    @Query("DELETE FROM AttachmentText t WHERE t.attachmentId = :id")
+    int deleteByAttachmentId(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM AttachmentText t WHERE t.applicationId = :applicationId")
+    int deleteByApplicationId(@Param("applicationId") Long applicationId);
+}
@@ -0,0 +1,59 @@
+package com.careerlog.repository;
+
+import com.careerlog.model.DistinctSketch;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface DistinctSketchRepository extends JpaRepository<DistinctSketch, DistinctSketch.Key> {
+
+    /** The sketch, locked until the transaction ends so concurrent merges into it are not lost. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM DistinctSketch s WHERE s.userId = :userId AND s.field = :field AND s.monthStart = :month")
+    Optional<DistinctSketch> findForUpdate(@Param("userId") String userId, @Param("field") DistinctSketch.Field field,
+                                           @Param("month") LocalDate month);
+
+    /** Returns the rows inserted: 0 when another transaction created the sketch first. */
+    @Modifying
+    @Query(value = "INSERT INTO distinct_sketches (user_id, field, month_start, registers) " +
+                   "VALUES (:userId, :field, :month, :registers) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("userId") String userId, @Param("field") String field, @Param("month") LocalDate month,
+                       @Param("registers") byte[] registers);
+
+    /** Month and registers of the user's sketches in {@code [from, to]}. */
+    @Query("SELECT s.monthStart, s.registers FROM DistinctSketch s " +
+           "WHERE s.userId = :userId AND s.field = :field AND s.monthStart BETWEEN :from AND :to")
+    List<Object[]> findRegisters(@Param("userId") String userId, @Param("field") DistinctSketch.Field field,
+                                 @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /** Month and registers of every user's sketches in {@code [from, to]}; close the stream. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT s.monthStart, s.registers FROM DistinctSketch s " +
+           "WHERE s.field = :field AND s.monthStart BETWEEN :from AND :to")
+    Stream<Object[]> streamRegisters(@Param("field") DistinctSketch.Field field,
+                                     @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /** Users with applications but no sketches yet, in id order after {@code afterUserId}. */
+    @Query("SELECT DISTINCT a.userId FROM Application a WHERE a.userId > :afterUserId " +
+           "AND NOT EXISTS (SELECT s.monthStart FROM DistinctSketch s WHERE s.userId = a.userId) ORDER BY a.userId")
+    List<String> findUnsketchedUserIds(@Param("afterUserId") String afterUserId, Pageable pageable);
+
+    /** Serializes backfill runs across instances; released when the transaction ends. */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("key") long key);
+}
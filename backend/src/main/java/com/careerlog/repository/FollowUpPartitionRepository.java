@@ -0,0 +1,56 @@
+package com.careerlog.repository;
+
+import com.careerlog.model.FollowUpPartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+// Lease expiry is judged by the database clock, so instance clock skew cannot hand out a lease twice
+@Repository
+public interface FollowUpPartitionRepository extends JpaRepository<FollowUpPartition, Integer> {
+
+    @Modifying
+    @Query(value = "INSERT INTO follow_up_partitions (partition_id) VALUES (:partition) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    void insertIfAbsent(@Param("partition") int partition);
+
+    /** Takes the lease if it is free, expired or already ours; returns the rows updated (0 or 1). */
+    @Modifying
+    @Query(value = "UPDATE follow_up_partitions SET owner = :owner, " +
+                   "leased_until = LOCALTIMESTAMP + make_interval(secs => :seconds) " +
+                   "WHERE partition_id = :partition " +
+                   "AND (owner IS NULL OR owner = :owner OR leased_until < LOCALTIMESTAMP)",
+           nativeQuery = true)
+    int tryLease(@Param("partition") int partition, @Param("owner") String owner, @Param("seconds") long seconds);
+
+    /** Saves progress and extends the lease, if it is still ours; returns the rows updated (0 or 1). */
+    @Modifying
+    @Query(value = "UPDATE follow_up_partitions SET checkpoint = :checkpoint, " +
+                   "leased_until = LOCALTIMESTAMP + make_interval(secs => :seconds) " +
+                   "WHERE partition_id = :partition AND owner = :owner",
+           nativeQuery = true)
+    int checkpoint(@Param("partition") int partition, @Param("owner") String owner,
+                   @Param("checkpoint") long checkpoint, @Param("seconds") long seconds);
+
+    @Modifying
+    @Query("UPDATE FollowUpPartition p SET p.runStartedAt = :runStartedAt, p.cutoff = :cutoff, p.checkpoint = 0 " +
+           "WHERE p.partitionId = :partition AND p.owner = :owner")
+    int startRun(@Param("partition") int partition, @Param("owner") String owner,
+                 @Param("runStartedAt") LocalDateTime runStartedAt, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("UPDATE FollowUpPartition p SET p.runStartedAt = NULL, p.cutoff = NULL, p.checkpoint = NULL, " +
+           "p.lastCompletedAt = :completedAt, p.owner = NULL, p.leasedUntil = NULL " +
+           "WHERE p.partitionId = :partition AND p.owner = :owner")
+    int completeRun(@Param("partition") int partition, @Param("owner") String owner,
+                    @Param("completedAt") LocalDateTime completedAt);
+
+    @Modifying
+    @Query("UPDATE FollowUpPartition p SET p.owner = NULL, p.leasedUntil = NULL " +
+           "WHERE p.partitionId = :partition AND p.owner = :owner")
+    void release(@Param("partition") int partition, @Param("owner") String owner);
+}
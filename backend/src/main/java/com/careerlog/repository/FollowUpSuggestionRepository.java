@@ -0,0 +1,67 @@
+package com.careerlog.repository;
+
+import com.careerlog.model.Application.ApplicationStatus;
+import com.careerlog.model.FollowUpSuggestion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface FollowUpSuggestionRepository extends JpaRepository<FollowUpSuggestion, Long> {
+
+    /**
+     * Id, user id, application date and latest activity time (null if none) of every open
+     * application in the partition, after {@code afterId}, with no activity since
+     * {@code cutoff}: one grouped anti-join over all users, streamed from a server-side cursor.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a.id, a.userId, a.applicationDate, MAX(act.dateTime) FROM Application a " +
+           "LEFT JOIN Activity act ON act.application = a " +
+           "WHERE a.status IN :open AND a.id > :afterId AND MOD(a.id, :partitions) = :partition " +
+           "GROUP BY a.id, a.userId, a.applicationDate " +
+           "HAVING MAX(act.dateTime) < :cutoff OR (MAX(act.dateTime) IS NULL AND a.applicationDate < :cutoffDate) " +
+           "ORDER BY a.id")
+    Stream<Object[]> streamStale(@Param("open") Collection<ApplicationStatus> open, @Param("afterId") long afterId,
+                                 @Param("partitions") int partitions, @Param("partition") int partition,
+                                 @Param("cutoff") LocalDateTime cutoff, @Param("cutoffDate") LocalDate cutoffDate);
+
+    @Modifying
+    @Query(value = "INSERT INTO follow_up_suggestions (user_id, application_id, last_activity_at, run_started_at) " +
+                   "VALUES (:userId, :applicationId, :lastActivityAt, :runStartedAt) " +
+                   "ON CONFLICT (application_id) DO UPDATE SET last_activity_at = EXCLUDED.last_activity_at, " +
+                   "run_started_at = EXCLUDED.run_started_at",
+           nativeQuery = true)
+    void upsert(@Param("userId") String userId, @Param("applicationId") Long applicationId,
+                @Param("lastActivityAt") LocalDateTime lastActivityAt, @Param("runStartedAt") LocalDateTime runStartedAt);
+
+    /** Drops suggestions in the partition that the run starting at {@code runStartedAt} did not find again. */
+    @Modifying
+    @Query("DELETE FROM FollowUpSuggestion s WHERE MOD(s.applicationId, :partitions) = :partition " +
+           "AND s.runStartedAt < :runStartedAt")
+    int deleteOlderRuns(@Param("partitions") int partitions, @Param("partition") int partition,
+                        @Param("runStartedAt") LocalDateTime runStartedAt);
+
+    /**
+     * Application id, company, job title, status and last activity time of the user's
+     * suggestions, longest idle first, leaving out any the user has acted on since the run.
+     */
+    @Query("SELECT s.applicationId, a.companyName, a.jobTitle, a.status, s.lastActivityAt " +
+           "FROM FollowUpSuggestion s JOIN Application a ON a.id = s.applicationId " +
+           "WHERE s.userId = :userId AND a.status IN :open AND NOT EXISTS " +
+           "(SELECT act.id FROM Activity act WHERE act.application = a AND act.dateTime > s.lastActivityAt) " +
+           "ORDER BY s.lastActivityAt, s.applicationId")
+    List<Object[]> findByUserId(@Param("userId") String userId, @Param("open") Collection<ApplicationStatus> open,
+                                Pageable pageable);
+}
@@ -0,0 +1,45 @@
+package com.careerlog.repository;
+
+import com.careerlog.model.Application.ApplicationStatus;
+import com.careerlog.model.StatusTransition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StatusTransitionRepository extends JpaRepository<StatusTransition, Long> {
+
+    List<StatusTransition> findByUserIdAndIdGreaterThanOrderById(String userId, Long afterId);
+
+    /** Rows after {@code afterId}, and rows recorded after {@code since} whatever their id. */
+    @Query("SELECT t FROM StatusTransition t WHERE t.userId = :userId AND (t.id > :afterId OR t.recordedAt > :since) " +
+           "ORDER BY t.id")
+    List<StatusTransition> findForCatchUp(@Param("userId") String userId, @Param("afterId") Long afterId,
+                                          @Param("since") LocalDateTime since);
+
+    /** Id, user id, status and application date of applications that have no transitions yet. */
+    @Query("SELECT a.id, a.userId, a.status, a.applicationDate FROM Application a WHERE a.id > :afterId " +
+           "AND NOT EXISTS (SELECT t.id FROM StatusTransition t WHERE t.applicationId = a.id) ORDER BY a.id")
+    List<Object[]> findApplicationsWithoutHistory(@Param("afterId") Long afterId, Pageable pageable);
+
+    /** Serializes backfill runs across instances; released when the transaction ends. */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("key") long key);
+
+    @Modifying
+    @Query("DELETE FROM StatusTransition t WHERE t.applicationId = :applicationId")
+    void deleteByApplicationId(@Param("applicationId") Long applicationId);
+
+    /** Application date and first time in {@code status} of each application that reached it, per user range. */
+    @Query("SELECT a.applicationDate, MIN(t.transitionedAt) FROM StatusTransition t " +
+           "JOIN Application a ON a.id = t.applicationId " +
+           "WHERE t.userId BETWEEN :first AND :last AND t.toStatus = :status GROUP BY t.applicationId, a.applicationDate")
+    List<Object[]> findFirstTransitionsInUserRange(@Param("first") String first, @Param("last") String last,
+                                                   @Param("status") ApplicationStatus status);
+}
@@ -0,0 +1,24 @@
+package com.careerlog.repository;
+
+import com.careerlog.model.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TagRepository extends JpaRepository<Tag, Integer> {
+
+    Optional<Tag> findByName(String name);
+
+    List<Tag> findByNameIn(List<String> names);
+
+    /** Creates the tag unless it exists, without failing the transaction on a concurrent insert. */
+    @Modifying
+    @Query(value = "INSERT INTO tags (name) VALUES (:name) ON CONFLICT (name) DO NOTHING", nativeQuery = true)
+    void insertIfAbsent(@Param("name") String name);
+}
@@ -0,0 +1,37 @@
+package com.careerlog.repository;
+
+import com.careerlog.model.UploadSlot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UploadSlotRepository extends JpaRepository<UploadSlot, UUID> {
+
+    /** The slot, locked until the transaction ends so it is finalized or cleaned up once. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UploadSlot s WHERE s.id = :id")
+    Optional<UploadSlot> findForUpdate(@Param("id") UUID id);
+
+    long countByUserIdAndFinalizedAtIsNull(String userId);
+
+    /** Slots that expired before {@code cutoff}, oldest first, skipping any being finalized right now. */
+    @Query(value = "SELECT * FROM upload_slots WHERE expires_at < :cutoff ORDER BY expires_at LIMIT :limit " +
+                   "FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<UploadSlot> lockExpired(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM UploadSlot s WHERE s.id IN :ids")
+    void deleteByIds(@Param("ids") Collection<UUID> ids);
+}
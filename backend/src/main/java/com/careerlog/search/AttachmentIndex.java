@@ -0,0 +1,227 @@
+package com.careerlog.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * An inverted index over one user's attachment texts: for each term, the documents containing
+ * it with the term's frequency, packed into an int array in document order.
+ * <p>
+ * Documents are added and removed one at a time. A removed document is only marked, and skipped
+ * when matching; once marked documents outnumber live ones, the postings are rewritten without
+ * them. Searches match documents containing every term, ranked by BM25. Not thread-safe.
+ */
+public final class AttachmentIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MIN_COMPACTION = 64;
+
+    /** A matching attachment and its score. */
+    public record Hit(long attachmentId, long applicationId, double score) {
+    }
+
+    /** (document, frequency) pairs in document order. */
+    private static final class Postings {
+
+        private int[] entries = new int[4];
+        private int size;
+
+        private void add(int document, int frequency) {
+            if (2 * size + 2 > entries.length) {
+                entries = Arrays.copyOf(entries, entries.length * 2);
+            }
+            entries[2 * size] = document;
+            entries[2 * size + 1] = frequency;
+            size++;
+        }
+
+        private int document(int i) {
+            return entries[2 * i];
+        }
+
+        private int frequency(int i) {
+            return entries[2 * i + 1];
+        }
+    }
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> documents = new HashMap<>();
+    private final BitSet removed = new BitSet();
+    private long[] attachmentIds = new long[8];
+    private long[] applicationIds = new long[8];
+    private int[] lengths = new int[8];
+    private int documentCount;
+    private long liveLength;
+
+    /** Indexes the text of an attachment, replacing what was indexed for it before. */
+    public void add(long attachmentId, long applicationId, String text) {
+        remove(attachmentId);
+        Map<String, int[]> frequencies = new HashMap<>();
+        int[] length = new int[1];
+        Tokenizer.tokenize(text, (term, start, end) -> {
+            frequencies.computeIfAbsent(term, t -> new int[1])[0]++;
+            length[0]++;
+            return true;
+        });
+
+        int document = documentCount++;
+        if (document == attachmentIds.length) {
+            attachmentIds = Arrays.copyOf(attachmentIds, document * 2);
+            applicationIds = Arrays.copyOf(applicationIds, document * 2);
+            lengths = Arrays.copyOf(lengths, document * 2);
+        }
+        attachmentIds[document] = attachmentId;
+        applicationIds[document] = applicationId;
+        lengths[document] = length[0];
+        liveLength += length[0];
+        documents.put(attachmentId, document);
+        frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, t -> new Postings()).add(document, frequency[0]));
+    }
+
+    public boolean remove(long attachmentId) {
+        Integer document = documents.remove(attachmentId);
+        if (document == null) {
+            return false;
+        }
+        removed.set(document);
+        liveLength -= lengths[document];
+        if (removed.cardinality() >= MIN_COMPACTION && removed.cardinality() > documents.size()) {
+            compact();
+        }
+        return true;
+    }
+
+    /** Removes every attachment of the application; returns how many there were. */
+    public int removeApplication(long applicationId) {
+        List<Long> attachments = new ArrayList<>();
+        documents.forEach((attachmentId, document) -> {
+            if (applicationIds[document] == applicationId) {
+                attachments.add(attachmentId);
+            }
+        });
+        attachments.forEach(this::remove);
+        return attachments.size();
+    }
+
+    public boolean contains(long attachmentId) {
+        return documents.containsKey(attachmentId);
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public int termCount() {
+        return postings.size();
+    }
+
+    /** The best {@code limit} attachments containing all of {@code terms}, best first. */
+    public List<Hit> search(Collection<String> terms, int limit) {
+        if (terms.isEmpty() || documents.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        Postings[] lists = new Postings[terms.size()];
+        int n = 0;
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list == null) {
+                return List.of();
+            }
+            lists[n++] = list;
+        }
+        // Drive the intersection from the rarest term
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        double[] idf = new double[lists.length];
+        int live = documents.size();
+        for (int i = 0; i < lists.length; i++) {
+            idf[i] = Math.log(1 + (live - lists[i].size + 0.5) / (lists[i].size + 0.5));
+        }
+        double averageLength = Math.max(1.0, (double) liveLength / live);
+
+        PriorityQueue<Hit> best = new PriorityQueue<>(Comparator.comparingDouble(Hit::score));
+        int[] cursors = new int[lists.length];
+        Postings rarest = lists[0];
+        candidates:
+        for (int i = 0; i < rarest.size; i++) {
+            int document = rarest.document(i);
+            if (removed.get(document)) {
+                continue;
+            }
+            double norm = K1 * (1 - B + B * lengths[document] / averageLength);
+            double score = idf[0] * termScore(rarest.frequency(i), norm);
+            for (int t = 1; t < lists.length; t++) {
+                Postings list = lists[t];
+                int cursor = cursors[t];
+                while (cursor < list.size && list.document(cursor) < document) {
+                    cursor++;
+                }
+                cursors[t] = cursor;
+                if (cursor == list.size) {
+                    break candidates;
+                }
+                if (list.document(cursor) != document) {
+                    continue candidates;
+                }
+                score += idf[t] * termScore(list.frequency(cursor), norm);
+            }
+            if (best.size() < limit) {
+                best.add(new Hit(attachmentIds[document], applicationIds[document], score));
+            } else if (score > best.peek().score()) {
+                best.poll();
+                best.add(new Hit(attachmentIds[document], applicationIds[document], score));
+            }
+        }
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed());
+        return hits;
+    }
+
+    private static double termScore(int frequency, double norm) {
+        return frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    /** Rewrites the documents and postings without the removed documents, keeping their order. */
+    private void compact() {
+        int[] renumbered = new int[documentCount];
+        int next = 0;
+        for (int document = 0; document < documentCount; document++) {
+            if (removed.get(document)) {
+                renumbered[document] = -1;
+            } else {
+                renumbered[document] = next;
+                attachmentIds[next] = attachmentIds[document];
+                applicationIds[next] = applicationIds[document];
+                lengths[next] = lengths[document];
+                documents.put(attachmentIds[next], next);
+                next++;
+            }
+        }
+        documentCount = next;
+        removed.clear();
+        attachmentIds = Arrays.copyOf(attachmentIds, Math.max(8, next));
+        applicationIds = Arrays.copyOf(applicationIds, Math.max(8, next));
+        lengths = Arrays.copyOf(lengths, Math.max(8, next));
+
+        postings.values().removeIf(list -> {
+            Postings kept = new Postings();
+            for (int i = 0; i < list.size; i++) {
+                int document = renumbered[list.document(i)];
+                if (document >= 0) {
+                    kept.add(document, list.frequency(i));
+                }
+            }
+            list.entries = Arrays.copyOf(kept.entries, Math.max(4, 2 * kept.size));
+            list.size = kept.size;
+            return kept.size == 0;
+        });
+    }
+}
@@ -0,0 +1,242 @@
+package com.careerlog.search;
+
+import com.careerlog.dto.ApplicationRef;
+import com.careerlog.dto.AttachmentResponse;
+import com.careerlog.dto.AttachmentSearchResponse;
+import com.careerlog.events.ChangeEvent;
+import com.careerlog.exception.BadRequestException;
+import com.careerlog.model.Attachment;
+import com.careerlog.model.AttachmentText;
+import com.careerlog.repository.AttachmentRepository;
+import com.careerlog.repository.AttachmentTextRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over the text extracted from a user's attachments, answered from a per-user
+ * {@link AttachmentIndex}. The index is built from the stored texts on first search, then kept
+ * up to date as attachments are extracted and deleted on this instance; it is rebuilt once it
+ * is older than {@code rebuild-after}. Snippets are cut from the stored text of the hits.
+ * <p>
+ * This is also where attachments are queued for extraction: a row is added in the transaction
+ * creating the attachment and removed in the one deleting it or its application.
+ */
+@Service
+public class AttachmentSearch {
+
+    private final AttachmentTextRepository attachmentTextRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final AttachmentSearchProperties properties;
+    private final Map<String, UserIndex> users;
+    // Bumped on every change applied to the indexes, striped by user, so an index built meanwhile
+    // is known to be possibly stale
+    private final AtomicLongArray changes = new AtomicLongArray(64);
+
+    private record UserIndex(AttachmentIndex index, long builtAt) {
+    }
+
+    private record Match(int start, int end, String term) {
+    }
+
+    public AttachmentSearch(AttachmentTextRepository attachmentTextRepository,
+                            AttachmentRepository attachmentRepository, AttachmentSearchProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.attachmentTextRepository = attachmentTextRepository;
+        this.attachmentRepository = attachmentRepository;
+        this.properties = properties;
+        int maxUsers = properties.getMaxCachedUsers();
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserIndex> eldest) {
+                return size() > maxUsers;
+            }
+        };
+        Gauge.builder("careerlog.attachment.search.cached.users", this, AttachmentSearch::cachedUsers)
+                .description("Users whose attachment search index is held in memory")
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    public AttachmentSearchResponse search(String userId, String query, int limit) {
+        Set<String> terms = Tokenizer.terms(query == null ? "" : query);
+        if (terms.isEmpty()) {
+            throw new BadRequestException("q must contain a word of at least two letters or digits");
+        }
+        int size = Math.max(1, Math.min(limit, properties.getMaxResults()));
+        AttachmentIndex index = index(userId);
+        List<AttachmentIndex.Hit> found;
+        synchronized (index) {
+            found = index.search(terms, size);
+        }
+        long pending = attachmentTextRepository.countByUserIdAndStatus(userId, AttachmentText.Status.PENDING);
+        if (found.isEmpty()) {
+            return new AttachmentSearchResponse(query, List.of(), pending);
+        }
+
+        List<Long> ids = found.stream().map(AttachmentIndex.Hit::attachmentId).toList();
+        Map<Long, Attachment> attachments = attachmentRepository.findWithApplicationByIds(userId, ids).stream()
+                .collect(Collectors.toMap(Attachment::getId, Function.identity()));
+        Map<Long, String> texts = new HashMap<>();
+        for (Object[] row : attachmentTextRepository.findTexts(userId, ids)) {
+            texts.put((Long) row[0], (String) row[1]);
+        }
+        List<AttachmentSearchResponse.Hit> hits = new ArrayList<>(found.size());
+        for (AttachmentIndex.Hit hit : found) {
+            Attachment attachment = attachments.get(hit.attachmentId());
+            String text = texts.get(hit.attachmentId());
+            // Deleted through another instance since the index was built
+            if (attachment != null && text != null) {
+                hits.add(new AttachmentSearchResponse.Hit(AttachmentResponse.from(attachment),
+                        ApplicationRef.from(attachment.getApplication()),
+                        snippet(text, terms, properties.getSnippetLength()),
+                        Math.round(hit.score() * 1000) / 1000.0));
+            }
+        }
+        return new AttachmentSearchResponse(query, hits, pending);
+    }
+
+    /** Adds a freshly extracted text to the user's index, if it is loaded. */
+    public void indexed(String userId, long attachmentId, long applicationId, String text) {
+        changes.incrementAndGet(stripe(userId));
+        UserIndex loaded;
+        synchronized (users) {
+            loaded = users.get(userId);
+        }
+        if (loaded != null) {
+            synchronized (loaded.index()) {
+                loaded.index().add(attachmentId, applicationId, text);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void queueChange(ChangeEvent event) {
+        if (event.entity() == ChangeEvent.Entity.ATTACHMENT && event.action() == ChangeEvent.Action.CREATED) {
+            attachmentTextRepository.insertPending(event.id(), event.applicationId(), LocalDateTime.now());
+        } else if (event.entity() == ChangeEvent.Entity.ATTACHMENT && event.action() == ChangeEvent.Action.DELETED) {
+            attachmentTextRepository.deleteByAttachmentId(event.id());
+        } else if (event.entity() == ChangeEvent.Entity.APPLICATION && event.action() == ChangeEvent.Action.DELETED) {
+            attachmentTextRepository.deleteByApplicationId(event.id());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onChange(ChangeEvent event) {
+        boolean attachmentDeleted = event.entity() == ChangeEvent.Entity.ATTACHMENT
+                && event.action() == ChangeEvent.Action.DELETED;
+        boolean applicationDeleted = event.entity() == ChangeEvent.Entity.APPLICATION
+                && event.action() == ChangeEvent.Action.DELETED;
+        if (!attachmentDeleted && !applicationDeleted) {
+            return;
+        }
+        changes.incrementAndGet(stripe(event.userId()));
+        UserIndex loaded;
+        synchronized (users) {
+            loaded = users.get(event.userId());
+        }
+        if (loaded != null) {
+            synchronized (loaded.index()) {
+                if (attachmentDeleted) {
+                    loaded.index().remove(event.id());
+                } else {
+                    loaded.index().removeApplication(event.id());
+                }
+            }
+        }
+    }
+
+    /**
+     * About {@code length} characters of {@code text} around the stretch with the most distinct
+     * query terms, with whitespace collapsed and an ellipsis where it was cut.
+     */
+    static String snippet(String text, Set<String> terms, int length) {
+        Deque<Match> window = new ArrayDeque<>();
+        Map<String, Integer> inWindow = new HashMap<>();
+        int[] best = {-1, -1, 0};
+        Tokenizer.tokenize(text, (term, start, end) -> {
+            if (!terms.contains(term)) {
+                return true;
+            }
+            window.addLast(new Match(start, end, term));
+            inWindow.merge(term, 1, Integer::sum);
+            while (end - window.peekFirst().start() > length) {
+                Match first = window.removeFirst();
+                inWindow.computeIfPresent(first.term(), (t, count) -> count == 1 ? null : count - 1);
+            }
+            if (inWindow.size() > best[2]) {
+                best[0] = window.peekFirst().start();
+                best[1] = end;
+                best[2] = inWindow.size();
+            }
+            return best[2] < terms.size();
+        });
+        if (best[2] == 0) {
+            best[0] = 0;
+            best[1] = 0;
+        }
+
+        // Centre the matched stretch, then widen to whole words
+        int start = Math.max(0, best[0] - Math.max(0, length - (best[1] - best[0])) / 2);
+        int end = Math.min(text.length(), start + length);
+        start = Math.max(0, Math.min(start, end - length));
+        while (start > 0 && start > best[0] - length && !Character.isWhitespace(text.charAt(start - 1))) {
+            start--;
+        }
+        while (end < text.length() && end < best[1] + length && !Character.isWhitespace(text.charAt(end))) {
+            end++;
+        }
+        String snippet = text.substring(start, end).strip().replaceAll("\\s+", " ");
+        return (start > 0 ? "…" : "") + snippet + (end < text.length() ? "…" : "");
+    }
+
+    private AttachmentIndex index(String userId) {
+        synchronized (users) {
+            UserIndex loaded = users.get(userId);
+            if (loaded != null && System.nanoTime() - loaded.builtAt() < properties.getRebuildAfter().toNanos()) {
+                return loaded.index();
+            }
+        }
+        // Built outside the lock; kept only if nothing changed meanwhile, or the change could be missing
+        long changesBefore = changes.get(stripe(userId));
+        long builtAt = System.nanoTime();
+        AttachmentIndex index = new AttachmentIndex();
+        for (Object[] row : attachmentTextRepository.findIndexRows(userId)) {
+            index.add((Long) row[0], (Long) row[1], (String) row[2]);
+        }
+        synchronized (users) {
+            if (changes.get(stripe(userId)) == changesBefore) {
+                users.put(userId, new UserIndex(index, builtAt));
+            } else {
+                users.remove(userId);
+            }
+        }
+        return index;
+    }
+
+    private int stripe(String userId) {
+        return userId.hashCode() & (changes.length() - 1);
+    }
+
+    private double cachedUsers() {
+        synchronized (users) {
+            return users.size();
+        }
+    }
+}
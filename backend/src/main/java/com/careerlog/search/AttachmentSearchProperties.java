@@ -0,0 +1,63 @@
+package com.careerlog.search;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for extracting attachment text in the background and the per-user search index.
+ */
+@ConfigurationProperties(prefix = "careerlog.attachment-search")
+@Getter
+@Setter
+public class AttachmentSearchProperties {
+
+    /** Run extraction workers on this instance; attachments are still queued, for others to take. */
+    private boolean extractionEnabled = true;
+
+    /** Extraction threads; 0 uses one per available processor. */
+    private int workers = 0;
+
+    /**
+     * Attachments waiting in memory for a worker. When it is full, new attachments stay queued
+     * in the database and are picked up by a later poll.
+     */
+    private int queueCapacity = 1_000;
+
+    /** How often due attachments are read from the database: deferred, retried, or queued elsewhere. */
+    private Duration pollInterval = Duration.ofSeconds(30);
+
+    /** How long an attempt holds an attachment before another worker may take it over. */
+    private Duration lease = Duration.ofMinutes(10);
+
+    private int maxAttempts = 5;
+
+    /** Delay before the first retry; doubled for each one after. */
+    private Duration retryDelay = Duration.ofMinutes(1);
+
+    /** Larger attachments are skipped. */
+    private DataSize maxFileSize = DataSize.ofMegabytes(25);
+
+    /** Text kept per attachment; the rest of a longer document is not searchable. */
+    private int maxChars = 1_000_000;
+
+    /** Queue attachments that predate extraction at startup. */
+    private boolean backfillOnStartup = true;
+
+    /** Users whose index is kept in memory; the least recently searched are dropped first. */
+    private int maxCachedUsers = 1_000;
+
+    /**
+     * Age after which a user's index is rebuilt, which bounds how long extractions and deletes
+     * on other instances go unseen. Those on this instance update the index straight away.
+     */
+    private Duration rebuildAfter = Duration.ofMinutes(10);
+
+    private int maxResults = 50;
+
+    /** Characters of text shown around the matches. */
+    private int snippetLength = 200;
+}
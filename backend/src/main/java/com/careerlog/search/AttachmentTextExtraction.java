@@ -0,0 +1,308 @@
+package com.careerlog.search;
+
+import com.careerlog.events.ChangeEvent;
+import com.careerlog.model.AttachmentText;
+import com.careerlog.repository.AttachmentTextRepository;
+import com.careerlog.uploads.UploadStorage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Extracts the text of new attachments in the background and adds it to the search index.
+ * <p>
+ * Work is queued durably in {@code attachment_texts} and handed to a fixed pool of workers
+ * through a bounded in-memory queue. An attachment created on this instance is handed over as
+ * soon as its transaction commits; when the queue is full it is left in the table, and a poll
+ * every {@code poll-interval} takes as many due attachments as there is room for. Each attempt
+ * first claims the attachment for {@code lease}, so instances never work on the same one and
+ * an attempt lost to a crash is retried once the lease runs out.
+ * <p>
+ * Failing to read the blob is retried with exponential backoff, up to {@code max-attempts};
+ * a document that cannot be parsed fails straight away, and unsupported or oversized ones are
+ * skipped.
+ */
+@Component
+@ConditionalOnProperty(prefix = "careerlog.attachment-search", name = "extraction-enabled", havingValue = "true",
+        matchIfMissing = true)
+@Slf4j
+public class AttachmentTextExtraction {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final AttachmentTextRepository attachmentTextRepository;
+    private final UploadStorage storage;
+    private final AttachmentSearch attachmentSearch;
+    private final AttachmentSearchProperties properties;
+    private final TextExtractor extractor;
+    private final TransactionTemplate write;
+    private final ThreadPoolExecutor workers;
+    // Handed to the workers and not yet started, so a poll does not queue them twice
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final Counter extracted;
+    private final Counter skipped;
+    private final Counter failed;
+    private final Counter retried;
+    private final Counter deferred;
+    private final Timer extraction;
+
+    public AttachmentTextExtraction(AttachmentTextRepository attachmentTextRepository, UploadStorage storage,
+                                    AttachmentSearch attachmentSearch, AttachmentSearchProperties properties,
+                                    PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        if (properties.getQueueCapacity() < 1 || properties.getMaxAttempts() < 1 || properties.getMaxChars() < 1) {
+            throw new IllegalStateException(
+                    "careerlog.attachment-search.queue-capacity, max-attempts and max-chars must be at least 1");
+        }
+        this.attachmentTextRepository = attachmentTextRepository;
+        this.storage = storage;
+        this.attachmentSearch = attachmentSearch;
+        this.properties = properties;
+        this.extractor = new TextExtractor(properties.getMaxChars());
+        this.write = new TransactionTemplate(transactionManager);
+
+        int threads = properties.getWorkers() > 0 ? properties.getWorkers() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()), runnable -> {
+                    Thread thread = new Thread(runnable, "attachment-text-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.extracted = attachments(meterRegistry, "extracted");
+        this.skipped = attachments(meterRegistry, "skipped");
+        this.failed = attachments(meterRegistry, "failed");
+        this.retried = attachments(meterRegistry, "retried");
+        this.deferred = attachments(meterRegistry, "deferred");
+        this.extraction = Timer.builder("careerlog.attachment.text.extraction")
+                .description("Time to download an attachment and extract its text")
+                .register(meterRegistry);
+        Gauge.builder("careerlog.attachment.text.queue", workers, executor -> executor.getQueue().size())
+                .description("Attachments waiting in memory for an extraction worker")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!properties.isBackfillOnStartup()) {
+            return;
+        }
+        try {
+            Integer attachments = write.execute(status -> attachmentTextRepository.insertMissing(LocalDateTime.now()));
+            if (attachments != null && attachments > 0) {
+                log.info("Queued {} existing attachments for text extraction", attachments);
+            }
+        } catch (RuntimeException e) {
+            // Search just misses those attachments until the next successful run
+            log.warn("Queueing existing attachments for text extraction failed: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onChange(ChangeEvent event) {
+        if (event.entity() == ChangeEvent.Entity.ATTACHMENT && event.action() == ChangeEvent.Action.CREATED) {
+            submit(event.id());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${careerlog.attachment-search.poll-interval:PT30S}")
+    public void poll() {
+        int room = workers.getQueue().remainingCapacity();
+        if (room == 0) {
+            return;
+        }
+        try {
+            List<Long> due = attachmentTextRepository.findDueIds(LocalDateTime.now(),
+                    PageRequest.ofSize(room + queued.size()));
+            due.forEach(this::submit);
+        } catch (RuntimeException e) {
+            log.warn("Could not read attachments due for text extraction: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Claimed attachments are retried elsewhere once their lease runs out
+        workers.shutdownNow();
+    }
+
+    private void submit(long attachmentId) {
+        if (!queued.add(attachmentId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                queued.remove(attachmentId);
+                try {
+                    process(attachmentId);
+                } catch (RuntimeException e) {
+                    // Left pending; retried by a poll once the lease runs out
+                    log.warn("Text extraction of attachment {} failed", attachmentId, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Stays due in the table; a later poll takes it when there is room
+            queued.remove(attachmentId);
+            deferred.increment();
+        }
+    }
+
+    void process(long attachmentId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = write.execute(status ->
+                attachmentTextRepository.claim(attachmentId, now, now.plus(properties.getLease())));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+        Optional<AttachmentText> row = attachmentTextRepository.findById(attachmentId);
+        List<Object[]> source = attachmentTextRepository.findSource(attachmentId);
+        if (row.isEmpty() || source.isEmpty()) {
+            // Deleted meanwhile
+            write.executeWithoutResult(status -> attachmentTextRepository.deleteByAttachmentId(attachmentId));
+            return;
+        }
+        AttachmentText text = row.get();
+        Object[] attachment = source.get(0);
+        String blobUrl = (String) attachment[0];
+        Long sizeBytes = (Long) attachment[3];
+
+        Optional<TextExtractor.Format> format = TextExtractor.formatOf((String) attachment[1], (String) attachment[2]);
+        if (format.isEmpty()) {
+            finish(attachmentId, AttachmentText.Status.SKIPPED, null, "Not a PDF, Word or text document");
+            return;
+        }
+        long maxBytes = properties.getMaxFileSize().toBytes();
+        if (sizeBytes != null && sizeBytes > maxBytes) {
+            finish(attachmentId, AttachmentText.Status.SKIPPED, null, "Larger than " + maxBytes + " bytes");
+            return;
+        }
+
+        long started = System.nanoTime();
+        Path file = null;
+        try {
+            file = Files.createTempFile("careerlog-attachment-", ".tmp");
+            Download download;
+            try {
+                download = download(blobUrl, file, maxBytes);
+            } catch (IOException | RuntimeException e) {
+                retryOrFail(text, e);
+                return;
+            }
+            if (download != Download.COMPLETE) {
+                finish(attachmentId, AttachmentText.Status.SKIPPED, null, download == Download.TOO_LARGE
+                        ? "Larger than " + maxBytes + " bytes" : "Not found in blob storage");
+                return;
+            }
+
+            String content;
+            try {
+                content = extractor.extract(format.get(), file);
+            } catch (IOException | RuntimeException e) {
+                // A document the parser cannot read will not get better with retries
+                finish(attachmentId, AttachmentText.Status.FAILED, null, "Unreadable document: " + e.getMessage());
+                return;
+            }
+            finish(attachmentId, AttachmentText.Status.EXTRACTED, content, null);
+            extraction.record(Duration.ofNanos(System.nanoTime() - started));
+            attachmentSearch.indexed(text.getUserId(), attachmentId, text.getApplicationId(), content);
+        } catch (IOException e) {
+            retryOrFail(text, e);
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    private enum Download { COMPLETE, NOT_FOUND, TOO_LARGE }
+
+    private Download download(String blobUrl, Path file, long maxBytes) throws IOException {
+        Optional<InputStream> blob = storage.open(blobUrl);
+        if (blob.isEmpty()) {
+            return Download.NOT_FOUND;
+        }
+        try (InputStream in = blob.get(); OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            long total = 0;
+            for (int read; (read = in.read(buffer)) != -1; ) {
+                total += read;
+                if (total > maxBytes) {
+                    return Download.TOO_LARGE;
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return Download.COMPLETE;
+    }
+
+    private void finish(long attachmentId, AttachmentText.Status status, String content, String error) {
+        write.executeWithoutResult(transaction -> attachmentTextRepository.complete(attachmentId, status, content,
+                truncate(error), LocalDateTime.now()));
+        switch (status) {
+            case EXTRACTED -> extracted.increment();
+            case SKIPPED -> skipped.increment();
+            default -> failed.increment();
+        }
+    }
+
+    private void retryOrFail(AttachmentText text, Exception e) {
+        if (text.getAttempts() >= properties.getMaxAttempts()) {
+            log.warn("Giving up on text extraction of attachment {} after {} attempts: {}", text.getAttachmentId(),
+                    text.getAttempts(), e.toString());
+            finish(text.getAttachmentId(), AttachmentText.Status.FAILED, null, e.toString());
+            return;
+        }
+        Duration delay = properties.getRetryDelay().multipliedBy(1L << Math.min(20, text.getAttempts() - 1));
+        write.executeWithoutResult(status -> attachmentTextRepository.retryAt(text.getAttachmentId(),
+                LocalDateTime.now().plus(delay), truncate(e.toString())));
+        retried.increment();
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.debug("Could not delete {}", file, e);
+            }
+        }
+    }
+
+    private static Counter attachments(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("careerlog.attachment.text")
+                .description("Attachments handled by text extraction, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,183 @@
+package com.careerlog.search;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Extracts plain text from PDF, DOCX and text files, keeping at most {@code maxChars}
+ * characters; extraction stops once that many are collected, so a huge document costs no more
+ * than its first part. Works on a local file: PDFs need random access, and keeping the download
+ * apart means any {@link IOException} here is about the document, not the storage.
+ * <p>
+ * DOCX is read directly as the zipped WordprocessingML it is, taking the text runs, tabs and
+ * breaks of {@code word/document.xml}; headers, footers and comments are left out. PDFs are
+ * read with PDFBox, which keeps its parsing buffers in temporary files rather than on the heap.
+ */
+public final class TextExtractor {
+
+    public enum Format { PDF, DOCX, TEXT }
+
+    private static final String WORDPROCESSING_ML = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    private final int maxChars;
+    private final XMLInputFactory xmlInputFactory;
+
+    public TextExtractor(int maxChars) {
+        this.maxChars = maxChars;
+        this.xmlInputFactory = XMLInputFactory.newFactory();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /** The format to extract, from the content type or else the file extension; empty if not supported. */
+    public static Optional<Format> formatOf(String contentType, String fileName) {
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (type.startsWith("application/pdf") || name.endsWith(".pdf")) {
+            return Optional.of(Format.PDF);
+        }
+        if (type.startsWith("application/vnd.openxmlformats-officedocument.wordprocessingml.document")
+                || name.endsWith(".docx")) {
+            return Optional.of(Format.DOCX);
+        }
+        if (type.startsWith("text/plain") || type.startsWith("text/markdown")
+                || name.endsWith(".txt") || name.endsWith(".md")) {
+            return Optional.of(Format.TEXT);
+        }
+        return Optional.empty();
+    }
+
+    public String extract(Format format, Path file) throws IOException {
+        CappedWriter text = new CappedWriter(maxChars);
+        try {
+            switch (format) {
+                case PDF -> extractPdf(file, text);
+                case DOCX -> extractDocx(file, text);
+                case TEXT -> extractText(file, text);
+            }
+        } catch (CappedWriter.Full e) {
+            // Enough text collected
+        }
+        return text.toString();
+    }
+
+    private static void extractPdf(Path file, CappedWriter text) throws IOException {
+        try (PDDocument document = Loader.loadPDF(file.toFile(), "", null, null,
+                IOUtils.createTempFileOnlyStreamCache())) {
+            new PDFTextStripper().writeText(document, text);
+        }
+    }
+
+    private void extractDocx(Path file, CappedWriter text) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry entry = zip.getEntry("word/document.xml");
+            if (entry == null) {
+                throw new IOException("Not a Word document: no word/document.xml");
+            }
+            try (InputStream in = zip.getInputStream(entry)) {
+                XMLStreamReader xml = xmlInputFactory.createXMLStreamReader(in);
+                boolean inText = false;
+                while (xml.hasNext()) {
+                    int event = xml.next();
+                    if (event == XMLStreamConstants.START_ELEMENT && WORDPROCESSING_ML.equals(xml.getNamespaceURI())) {
+                        switch (xml.getLocalName()) {
+                            case "t" -> inText = true;
+                            case "tab" -> text.write(' ');
+                            case "br", "cr" -> text.write('\n');
+                            default -> {
+                            }
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT
+                            && WORDPROCESSING_ML.equals(xml.getNamespaceURI())) {
+                        if (xml.getLocalName().equals("t")) {
+                            inText = false;
+                        } else if (xml.getLocalName().equals("p")) {
+                            text.write('\n');
+                        }
+                    } else if (inText && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                        text.write(xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+                    }
+                }
+            } catch (XMLStreamException e) {
+                throw new IOException("Malformed Word document", e);
+            }
+        }
+    }
+
+    private static void extractText(Path file, CappedWriter text) throws IOException {
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE))) {
+            reader.transferTo(text);
+        }
+    }
+
+    /** Collects text up to a limit, then fails the write that reaches it to stop the extraction. */
+    private static final class CappedWriter extends Writer {
+
+        private static final class Full extends IOException {
+            private Full() {
+                super("Text limit reached");
+            }
+
+            @Override
+            public synchronized Throwable fillInStackTrace() {
+                return this;
+            }
+        }
+
+        private final StringBuilder text = new StringBuilder();
+        private final int maxChars;
+
+        private CappedWriter(int maxChars) {
+            this.maxChars = maxChars;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            int room = maxChars - text.length();
+            text.append(chars, offset, Math.min(room, length));
+            if (length >= room) {
+                throw new Full();
+            }
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            write(new char[]{(char) c}, 0, 1);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.careerlog.search;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into lowercase search terms: runs of letters and digits of at least two
+ * characters, so "Node.js" gives "node" and "js". A single letter is kept when followed by
+ * {@code ++} or {@code #}, with them ("C++", "C#", "F#"). Runs longer than
+ * {@link #MAX_TERM_LENGTH} are skipped, which drops base64 and hex noise from PDFs.
+ */
+final class Tokenizer {
+
+    static final int MAX_TERM_LENGTH = 40;
+
+    /** Receives each term with its {@code [start, end)} offsets in the text; returns false to stop. */
+    @FunctionalInterface
+    interface TermConsumer {
+        boolean accept(String term, int start, int end);
+    }
+
+    private Tokenizer() {
+    }
+
+    static void tokenize(CharSequence text, TermConsumer consumer) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int end = i;
+            if (i < length && Character.isLetter(text.charAt(start))) {
+                if (text.charAt(i) == '#') {
+                    end = i + 1;
+                } else if (text.charAt(i) == '+' && i + 1 < length && text.charAt(i + 1) == '+') {
+                    end = i + 2;
+                }
+            }
+            int letters = i - start;
+            if ((letters >= 2 || end > i) && end - start <= MAX_TERM_LENGTH) {
+                if (!consumer.accept(text.subSequence(start, end).toString().toLowerCase(Locale.ROOT), start, end)) {
+                    return;
+                }
+            }
+            i = end;
+        }
+    }
+
+    /** The distinct terms of a query, in order. */
+    static Set<String> terms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(query, (term, start, end) -> {
+            terms.add(term);
+            return true;
+        });
+        return terms;
+    }
+}
@@ -1,9 +1,15 @@
 package com.careerlog.service;
 
+import com.careerlog.analytics.DailyCountChange;
+import com.careerlog.events.ChangeEvent;
+import com.careerlog.exception.BadRequestException;
 import com.careerlog.model.Activity;
+import com.careerlog.reminders.ActivityScheduleChange;
 import com.careerlog.repository.ActivityRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,10 +21,12 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
+@Transactional(readOnly = true)
 public class ActivityService {
 
     private final ActivityRepository activityRepository;
+    private final ApplicationService applicationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<Activity> getActivitiesByApplication(Long applicationId) {
         return activityRepository.findByApplicationIdOrderByDateTimeDesc(applicationId);
@@ -37,21 +45,34 @@ public class ActivityService {
                 .orElseThrow(() -> new RuntimeException("Activity not found or access denied"));
     }
 
-    public Activity createActivity(Activity activity) {
+    @Transactional
+    public Activity createActivity(Activity activity, String userId) {
+        if (activity.getApplication() == null || activity.getApplication().getId() == null) {
+            throw new BadRequestException("application.id is required");
+        }
         log.info("Creating new activity of type {} for application {}",
                 activity.getType(), activity.getApplication().getId());
+        // The body only carries the application's id; the response shows the stored one
+        activity.setApplication(applicationService.getApplicationById(activity.getApplication().getId(), userId));
 
         if (activity.getDateTime() == null) {
             activity.setDateTime(LocalDateTime.now());
         }
 
-        return activityRepository.save(activity);
+        Activity saved = activityRepository.save(activity);
+        eventPublisher.publishEvent(DailyCountChange.activity(userId, saved.getType(), saved.getDateTime(), 1));
+        eventPublisher.publishEvent(ActivityScheduleChange.saved(saved));
+        publishChange(userId, ChangeEvent.Action.CREATED, saved);
+        return saved;
     }
 
+    @Transactional
     public Activity updateActivity(Long id, Activity activityDetails, String userId) {
         log.info("Updating activity {} for user: {}", id, userId);
 
         Activity existingActivity = getActivityById(id, userId);
+        DailyCountChange removed = DailyCountChange.activity(userId, existingActivity.getType(),
+                existingActivity.getDateTime(), -1);
 
         existingActivity.setType(activityDetails.getType());
         existingActivity.setDateTime(activityDetails.getDateTime());
@@ -60,14 +81,23 @@ public class ActivityService {
         existingActivity.setParticipants(activityDetails.getParticipants());
         existingActivity.setDurationMinutes(activityDetails.getDurationMinutes());
 
-        return activityRepository.save(existingActivity);
+        Activity saved = activityRepository.save(existingActivity);
+        eventPublisher.publishEvent(removed);
+        eventPublisher.publishEvent(DailyCountChange.activity(userId, saved.getType(), saved.getDateTime(), 1));
+        eventPublisher.publishEvent(ActivityScheduleChange.saved(saved));
+        publishChange(userId, ChangeEvent.Action.UPDATED, saved);
+        return saved;
     }
 
+    @Transactional
     public void deleteActivity(Long id, String userId) {
         log.info("Deleting activity {} for user: {}", id, userId);
 
         Activity activity = getActivityById(id, userId);
         activityRepository.delete(activity);
+        eventPublisher.publishEvent(DailyCountChange.activity(userId, activity.getType(), activity.getDateTime(), -1));
+        eventPublisher.publishEvent(ActivityScheduleChange.deleted(activity.getId()));
+        publishChange(userId, ChangeEvent.Action.DELETED, activity);
     }
 
     public List<Activity> getActivitiesByApplicationAndType(Long applicationId, Activity.ActivityType type) {
@@ -85,6 +115,15 @@ public class ActivityService {
         return activityRepository.findByUserIdAndDateTimeAfter(userId, startDate);
     }
 
+    /** The user's activities from now until {@code days} ahead, soonest first. */
+    public List<Activity> getUpcomingActivities(String userId, int days, int limit) {
+        if (days < 1 || limit < 1) {
+            throw new BadRequestException("days and limit must be positive");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return activityRepository.findUpcomingByUserId(userId, now, now.plusDays(days), PageRequest.ofSize(limit));
+    }
+
     public Map<String, Long> getActivityTypeBreakdown(String userId) {
         List<Object[]> results = activityRepository.getActivityTypeBreakdown(userId);
         return results.stream()
@@ -97,4 +136,9 @@ public class ActivityService {
     public long getActivityCountByType(String userId, Activity.ActivityType type) {
         return activityRepository.countByUserIdAndActivityType(userId, type);
     }
-}
\ No newline at end of file
+
+    private void publishChange(String userId, ChangeEvent.Action action, Activity activity) {
+        eventPublisher.publishEvent(new ChangeEvent(userId, ChangeEvent.Entity.ACTIVITY, action,
+                activity.getId(), activity.getApplication().getId()));
+    }
+}
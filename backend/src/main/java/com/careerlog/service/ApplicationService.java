@@ -1,26 +1,39 @@
 package com.careerlog.service;
 
+import com.careerlog.analytics.DailyCountChange;
+import com.careerlog.distinct.DistinctSketches;
+import com.careerlog.events.ChangeEvent;
 import com.careerlog.model.Application;
+import com.careerlog.model.StatusTransition;
 import com.careerlog.repository.ApplicationRepository;
+import com.careerlog.repository.StatusTransitionRepository;
+import com.careerlog.tags.ApplicationTagger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
+@Transactional(readOnly = true)
 public class ApplicationService {
 
     private final ApplicationRepository applicationRepository;
+    private final StatusTransitionRepository statusTransitionRepository;
+    private final ApplicationTagger applicationTagger;
+    private final DistinctSketches distinctSketches;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Page<Application> getApplicationsByUser(String userId, Pageable pageable) {
         return applicationRepository.findByUserId(userId, pageable);
@@ -36,6 +49,7 @@ public class ApplicationService {
                 .orElseThrow(() -> new RuntimeException("Application not found or access denied"));
     }
 
+    @Transactional
     public Application createApplication(Application application) {
         log.info("Creating new application for user: {} at company: {}",
                 application.getUserId(), application.getCompanyName());
@@ -49,13 +63,24 @@ public class ApplicationService {
             application.setApplicationDate(LocalDate.now());
         }
 
-        return applicationRepository.save(application);
+        Application saved = applicationRepository.save(application);
+        recordTransition(saved, null);
+        applicationTagger.tag(saved.getId(), saved.getTechStack());
+        distinctSketches.record(saved);
+        eventPublisher.publishEvent(DailyCountChange.application(saved.getUserId(), saved.getApplicationDate(), 1));
+        publishChange(saved.getUserId(), ChangeEvent.Action.CREATED, saved.getId());
+        return saved;
     }
 
+    @Transactional
     public Application updateApplication(Long id, Application applicationDetails, String userId) {
         log.info("Updating application {} for user: {}", id, userId);
 
         Application existingApplication = getApplicationById(id, userId);
+        Application.ApplicationStatus previousStatus = existingApplication.getStatus();
+        String previousTechStack = existingApplication.getTechStack();
+        String previousCompanyName = existingApplication.getCompanyName();
+        String previousSource = existingApplication.getSource();
 
         existingApplication.setCompanyName(applicationDetails.getCompanyName());
         existingApplication.setJobTitle(applicationDetails.getJobTitle());
@@ -66,14 +91,47 @@ public class ApplicationService {
         existingApplication.setSource(applicationDetails.getSource());
         existingApplication.setDescription(applicationDetails.getDescription());
 
-        return applicationRepository.save(existingApplication);
+        Application saved = applicationRepository.save(existingApplication);
+        if (saved.getStatus() != previousStatus) {
+            recordTransition(saved, previousStatus);
+        }
+        if (!Objects.equals(saved.getTechStack(), previousTechStack)) {
+            applicationTagger.retag(id, saved.getTechStack());
+        }
+        if (!Objects.equals(saved.getCompanyName(), previousCompanyName)
+                || !Objects.equals(saved.getSource(), previousSource)) {
+            distinctSketches.record(saved);
+        }
+        publishChange(userId, ChangeEvent.Action.UPDATED, id);
+        return saved;
     }
 
+    @Transactional
     public void deleteApplication(Long id, String userId) {
         log.info("Deleting application {} for user: {}", id, userId);
 
         Application application = getApplicationById(id, userId);
+        statusTransitionRepository.deleteByApplicationId(id);
+        applicationTagger.untag(id);
         applicationRepository.delete(application);
+        publishChange(userId, ChangeEvent.Action.DELETED, id);
+    }
+
+    // Appended to the status history; FunnelAnalytics applies it once the transaction commits
+    private void recordTransition(Application application, Application.ApplicationStatus from) {
+        StatusTransition transition = statusTransitionRepository.save(StatusTransition.builder()
+                .userId(application.getUserId())
+                .applicationId(application.getId())
+                .fromStatus(from)
+                .toStatus(application.getStatus())
+                .transitionedAt(LocalDateTime.now())
+                .source(StatusTransition.Source.RECORDED)
+                .build());
+        eventPublisher.publishEvent(transition);
+    }
+
+    private void publishChange(String userId, ChangeEvent.Action action, Long id) {
+        eventPublisher.publishEvent(new ChangeEvent(userId, ChangeEvent.Entity.APPLICATION, action, id, id));
     }
 
     public List<Application> getApplicationsByStatus(String userId, Application.ApplicationStatus status) {
@@ -92,13 +150,4 @@ public class ApplicationService {
                         result -> (Long) result[1]
                 ));
     }
-
-    public Map<String, Long> getApplicationsPerWeek(String userId, LocalDate startDate) {
-        List<Object[]> results = applicationRepository.getApplicationsPerWeek(userId, startDate);
-        return results.stream()
-                .collect(Collectors.toMap(
-                        result -> result[0].toString(),
-                        result -> (Long) result[1]
-                ));
-    }
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.careerlog.service;
 
+import com.careerlog.events.ChangeEvent;
 import com.careerlog.model.Attachment;
 import com.careerlog.repository.AttachmentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,10 +17,11 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
+@Transactional(readOnly = true)
 public class AttachmentService {
 
     private final AttachmentRepository attachmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<Attachment> getAttachmentsByApplication(Long applicationId) {
         return attachmentRepository.findByApplicationIdOrderByUploadedAtDesc(applicationId);
@@ -37,7 +40,8 @@ public class AttachmentService {
                 .orElseThrow(() -> new RuntimeException("Attachment not found or access denied"));
     }
 
-    public Attachment createAttachment(Attachment attachment) {
+    @Transactional
+    public Attachment createAttachment(Attachment attachment, String userId) {
         log.info("Creating new attachment of type {} for application {}",
                 attachment.getType(), attachment.getApplication().getId());
 
@@ -49,14 +53,18 @@ public class AttachmentService {
             attachment.setOriginalFileName(attachment.getFileName());
         }
 
-        return attachmentRepository.save(attachment);
+        Attachment saved = attachmentRepository.save(attachment);
+        publishChange(userId, ChangeEvent.Action.CREATED, saved);
+        return saved;
     }
 
+    @Transactional
     public void deleteAttachment(Long id, String userId) {
         log.info("Deleting attachment {} for user: {}", id, userId);
 
         Attachment attachment = getAttachmentById(id, userId);
         attachmentRepository.delete(attachment);
+        publishChange(userId, ChangeEvent.Action.DELETED, attachment);
     }
 
     public List<Attachment> getAttachmentsByApplicationAndType(Long applicationId, Attachment.AttachmentType type) {
@@ -79,4 +87,9 @@ public class AttachmentService {
                         Collectors.counting()
                 ));
     }
-}
\ No newline at end of file
+
+    private void publishChange(String userId, ChangeEvent.Action action, Attachment attachment) {
+        eventPublisher.publishEvent(new ChangeEvent(userId, ChangeEvent.Entity.ATTACHMENT, action,
+                attachment.getId(), attachment.getApplication().getId()));
+    }
+}
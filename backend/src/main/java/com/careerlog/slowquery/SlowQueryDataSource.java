@@ -0,0 +1,161 @@
+package com.careerlog.slowquery;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Times every statement executed through the wrapped pool and hands those over the
+ * threshold to {@link SlowQueryLog}, with the bind parameters they ran with. Works below
+ * Hibernate, so native queries and plain JDBC are covered too.
+ * <p>
+ * Connections and statements are JDK proxies; apart from recording parameters on the
+ * {@code set*} calls and timing the {@code execute*} calls, everything is passed through.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final Supplier<SlowQueryLog> slowQueryLog;
+    private volatile SlowQueryLog resolvedLog;
+
+    /** The log is looked up on first use, since the pool is created before most other beans. */
+    public SlowQueryDataSource(DataSource target, Supplier<SlowQueryLog> slowQueryLog) {
+        super(target);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private SlowQueryLog log() {
+        SlowQueryLog log = resolvedLog;
+        if (log == null) {
+            log = slowQueryLog.get();
+            resolvedLog = log;
+        }
+        return log;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            Object result = SlowQueryDataSource.invoke(target, method, args);
+            return switch (name) {
+                case "prepareStatement" -> statement(PreparedStatement.class, result, (String) args[0], proxy);
+                case "prepareCall" -> statement(CallableStatement.class, result, (String) args[0], proxy);
+                case "createStatement" -> statement(Statement.class, result, null, proxy);
+                default -> result;
+            };
+        }
+
+        private Object statement(Class<? extends Statement> type, Object statement, String sql, Object connection) {
+            return Proxy.newProxyInstance(SlowQueryDataSource.class.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler((Statement) statement, sql, connection));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+        private final Object connection;
+        private final List<Object> parameters = new ArrayList<>();
+
+        private StatementHandler(Statement target, String sql, Object connection) {
+            this.target = target;
+            this.sql = sql;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (EXECUTE_METHODS.contains(name)) {
+                return execute(method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index
+                    && method.getDeclaringClass() != Statement.class) {
+                bind(index, name.equals("setNull") ? new SlowQueryLog.NullParameter((Integer) args[1]) : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            }
+            return switch (name) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "getConnection" -> connection;
+                default -> SlowQueryDataSource.invoke(target, method, args);
+            };
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            long start = System.nanoTime();
+            try {
+                return SlowQueryDataSource.invoke(target, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                SlowQueryLog log = log();
+                if (elapsed >= log.thresholdNanos() && executed != null) {
+                    log.record(executed, List.copyOf(parameters), elapsed, getTargetDataSource());
+                }
+            }
+        }
+
+        private void bind(int index, Object value) {
+            while (parameters.size() < index) {
+                parameters.add(new SlowQueryLog.NullParameter(Types.NULL));
+            }
+            parameters.set(index - 1, value == null ? new SlowQueryLog.NullParameter(Types.NULL) : value);
+        }
+    }
+}
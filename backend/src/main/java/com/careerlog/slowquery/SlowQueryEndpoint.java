@@ -0,0 +1,27 @@
+package com.careerlog.slowquery;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * {@code /actuator/slowqueries}: slow statements grouped by fingerprint, slowest total first,
+ * with the latest captured plan. DELETE clears the buffer. Restricted to admins in SecurityConfig.
+ */
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @ReadOperation
+    public SlowQueryLog.Report slowQueries() {
+        return slowQueryLog.report();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueryLog.clear();
+    }
+}
@@ -0,0 +1,274 @@
+package com.careerlog.slowquery;
+
+import com.careerlog.logging.RequestLogFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The last {@code capacity} slow statements, reported grouped by SQL fingerprint (the
+ * statement with literals and IN-list lengths normalized away).
+ * <p>
+ * A sampled share of slow SELECTs is re-run as {@code EXPLAIN (ANALYZE, BUFFERS)} on a
+ * background thread, over a separate pool connection in a read-only transaction that is
+ * rolled back, under a statement timeout. Only the latest plan per fingerprint is kept.
+ * Bind values are held only until that EXPLAIN runs; the buffer keeps their types.
+ */
+@Slf4j
+public class SlowQueryLog implements AutoCloseable {
+
+    /** A bound SQL NULL, remembered with its declared type so it can be bound again. */
+    public record NullParameter(int sqlType) {
+    }
+
+    public record SlowQuery(String fingerprint, String parameterShape, long durationNanos, Instant at,
+                            String requestId) {
+    }
+
+    public record Plan(Instant capturedAt, String parameterShape, List<String> lines) {
+    }
+
+    public record FingerprintSummary(String fingerprint, long count, double totalMillis, double meanMillis,
+                                     double maxMillis, Set<String> parameterShapes, Instant lastSeen,
+                                     String lastRequestId, Plan plan) {
+    }
+
+    public record Report(double thresholdMillis, int capacity, long recorded, List<FingerprintSummary> fingerprints) {
+    }
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_PLAN_LINES = 200;
+
+    private final SlowQueryProperties properties;
+    private final long thresholdNanos;
+    private final SlowQuery[] ring;
+    private final Map<String, Plan> plans;
+    private final Map<String, Long> lastExplained;
+    private final ThreadPoolExecutor explainer;
+    private final MeterRegistry meterRegistry;
+    private final Counter slowStatements;
+    private int next;
+    private long recorded;
+
+    public SlowQueryLog(SlowQueryProperties properties, MeterRegistry meterRegistry) {
+        if (properties.getCapacity() < 1) {
+            throw new IllegalStateException("careerlog.slow-query.capacity must be at least 1");
+        }
+        this.properties = properties;
+        this.thresholdNanos = properties.getThreshold().toNanos();
+        this.ring = new SlowQuery[properties.getCapacity()];
+        this.plans = boundedMap(properties.getCapacity());
+        this.lastExplained = boundedMap(properties.getCapacity());
+        this.explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getExplainQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.meterRegistry = meterRegistry;
+        this.slowStatements = Counter.builder("careerlog.sql.slow")
+                .description("Statements slower than careerlog.slow-query.threshold")
+                .register(meterRegistry);
+    }
+
+    long thresholdNanos() {
+        return thresholdNanos;
+    }
+
+    /**
+     * Records one slow execution, and queues an EXPLAIN if this one is sampled.
+     * {@code explainSource} should be the unwrapped pool, so the EXPLAIN isn't recorded itself.
+     */
+    public void record(String sql, List<Object> parameters, long durationNanos, DataSource explainSource) {
+        String fingerprint = fingerprint(sql);
+        String shape = shapeOf(parameters);
+        slowStatements.increment();
+
+        boolean explain;
+        synchronized (this) {
+            ring[next] = new SlowQuery(fingerprint, shape, durationNanos, Instant.now(),
+                    MDC.get(RequestLogFilter.REQUEST_ID_MDC_KEY));
+            next = (next + 1) % ring.length;
+            recorded++;
+            explain = explainSource != null && sampledForExplain(fingerprint, parameters);
+        }
+        log.warn("Slow SQL ({} ms, parameters [{}]): {}", millis(durationNanos), shape, fingerprint);
+
+        if (explain) {
+            try {
+                explainer.execute(() -> explain(fingerprint, sql, parameters, shape, explainSource));
+            } catch (RejectedExecutionException e) {
+                explained("dropped");
+            }
+        }
+    }
+
+    public synchronized Report report() {
+        Map<String, List<SlowQuery>> byFingerprint = new LinkedHashMap<>();
+        for (SlowQuery query : ring) {
+            if (query != null) {
+                byFingerprint.computeIfAbsent(query.fingerprint(), f -> new ArrayList<>()).add(query);
+            }
+        }
+
+        List<FingerprintSummary> summaries = new ArrayList<>();
+        byFingerprint.forEach((fingerprint, queries) -> {
+            long total = 0;
+            long max = 0;
+            SlowQuery last = queries.get(0);
+            Set<String> shapes = new LinkedHashSet<>();
+            for (SlowQuery query : queries) {
+                total += query.durationNanos();
+                max = Math.max(max, query.durationNanos());
+                shapes.add(query.parameterShape());
+                if (query.at().isAfter(last.at())) {
+                    last = query;
+                }
+            }
+            summaries.add(new FingerprintSummary(fingerprint, queries.size(), total / 1_000_000.0,
+                    total / 1_000_000.0 / queries.size(), max / 1_000_000.0, shapes, last.at(),
+                    last.requestId(), plans.get(fingerprint)));
+        });
+        summaries.sort(Comparator.comparingDouble(FingerprintSummary::totalMillis).reversed());
+        return new Report(thresholdNanos / 1_000_000.0, ring.length, recorded, summaries);
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(ring, null);
+        next = 0;
+        recorded = 0;
+        plans.clear();
+        lastExplained.clear();
+    }
+
+    @Override
+    public void close() {
+        explainer.shutdownNow();
+    }
+
+    /** Normalizes SQL so executions differing only in literals or IN-list length group together. */
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized.trim()).replaceAll(" ");
+        return IN_LIST.matcher(normalized).replaceAll("(?)").toLowerCase(Locale.ROOT);
+    }
+
+    static String shapeOf(List<Object> parameters) {
+        return parameters.stream()
+                .map(value -> value instanceof NullParameter ? "null" : value.getClass().getSimpleName())
+                .collect(Collectors.joining(", "));
+    }
+
+    // Called holding the lock
+    private boolean sampledForExplain(String fingerprint, List<Object> parameters) {
+        if (properties.getExplainSampleRate() <= 0
+                || !(fingerprint.startsWith("select") || fingerprint.startsWith("with"))
+                || !parameters.stream().allMatch(SlowQueryLog::rebindable)
+                || ThreadLocalRandom.current().nextDouble() >= properties.getExplainSampleRate()) {
+            return false;
+        }
+        long now = System.nanoTime();
+        Long last = lastExplained.get(fingerprint);
+        if (last != null && now - last < properties.getExplainMinInterval().toNanos()) {
+            return false;
+        }
+        lastExplained.put(fingerprint, now);
+        return true;
+    }
+
+    private static boolean rebindable(Object value) {
+        return value instanceof NullParameter || value instanceof Number || value instanceof String
+                || value instanceof Boolean || value instanceof Date || value instanceof Temporal
+                || value instanceof UUID || value instanceof byte[];
+    }
+
+    private void explain(String fingerprint, String sql, List<Object> parameters, String shape, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LOCAL statement_timeout = " + properties.getExplainTimeout().toMillis());
+                }
+                List<String> lines = new ArrayList<>();
+                try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                    for (int i = 0; i < parameters.size(); i++) {
+                        if (parameters.get(i) instanceof NullParameter nullParameter) {
+                            statement.setNull(i + 1, nullParameter.sqlType());
+                        } else {
+                            statement.setObject(i + 1, parameters.get(i));
+                        }
+                    }
+                    try (ResultSet plan = statement.executeQuery()) {
+                        while (plan.next() && lines.size() < MAX_PLAN_LINES) {
+                            lines.add(plan.getString(1));
+                        }
+                    }
+                }
+                synchronized (this) {
+                    plans.put(fingerprint, new Plan(Instant.now(), shape, List.copyOf(lines)));
+                }
+                explained("captured");
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            log.warn("Could not capture the plan of a slow query ({}): {}", e.getMessage(), fingerprint);
+            explained("failed");
+        }
+    }
+
+    private void explained(String outcome) {
+        Counter.builder("careerlog.sql.slow.explains")
+                .description("EXPLAIN ANALYZE runs for sampled slow statements")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static <V> Map<String, V> boundedMap(int capacity) {
+        return new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,37 @@
+package com.careerlog.slowquery;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Capture of statements slower than {@code threshold}, with a sampled
+ * {@code EXPLAIN (ANALYZE, BUFFERS)} of their plan.
+ */
+@ConfigurationProperties(prefix = "careerlog.slow-query")
+@Getter
+@Setter
+public class SlowQueryProperties {
+
+    private boolean enabled = true;
+
+    /** Statements taking at least this long are recorded. */
+    private Duration threshold = Duration.ofMillis(200);
+
+    /** How many slow statements the ring buffer keeps. */
+    private int capacity = 512;
+
+    /** Fraction of slow SELECTs whose plan is captured; 0 turns EXPLAIN off. */
+    private double explainSampleRate = 0.1;
+
+    /** At most one EXPLAIN per fingerprint in this interval. */
+    private Duration explainMinInterval = Duration.ofMinutes(5);
+
+    /** statement_timeout for the EXPLAIN, which runs the query again. */
+    private Duration explainTimeout = Duration.ofSeconds(5);
+
+    /** Pending EXPLAINs beyond this are dropped rather than queued. */
+    private int explainQueueCapacity = 16;
+}
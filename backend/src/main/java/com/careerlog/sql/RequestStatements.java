@@ -0,0 +1,86 @@
+package com.careerlog.sql;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL issued while serving one request, bound to the request thread. Hibernate
+ * hooks record into whatever scope is current and do nothing outside a request.
+ */
+public final class RequestStatements {
+
+    /** Request attribute holding the scope, for code that runs after the scope has ended. */
+    public static final String REQUEST_ATTRIBUTE = RequestStatements.class.getName();
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statements;
+    private long dbTimeNanos;
+
+    public static RequestStatements begin() {
+        RequestStatements scope = new RequestStatements();
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static RequestStatements current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /** Makes {@code scope} current again once a scope begun inside it has ended; null ends it too. */
+    public static void resume(RequestStatements scope) {
+        if (scope == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(scope);
+        }
+    }
+
+    void recordStatement(String sql) {
+        statements++;
+        shapes.merge(shapeOf(sql), 1, Integer::sum);
+    }
+
+    void recordExecution(long nanos) {
+        dbTimeNanos += nanos;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long dbTimeNanos() {
+        return dbTimeNanos;
+    }
+
+    /** Describes every way this request exceeded the given limits; empty if it did not. */
+    public List<String> violations(int maxStatements, int maxRepeats) {
+        List<String> violations = new ArrayList<>();
+        if (statements > maxStatements) {
+            violations.add(statements + " statements (budget " + maxStatements + ")");
+        }
+        shapes.forEach((shape, count) -> {
+            if (count > maxRepeats) {
+                violations.add(count + "x (limit " + maxRepeats + ", likely N+1): " + shape);
+            }
+        });
+        return violations;
+    }
+
+    /** Normalizes SQL so that the same query with a different IN-list length counts as one shape. */
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(shape).replaceAll("(?)");
+    }
+}
@@ -0,0 +1,27 @@
+package com.careerlog.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "careerlog.sql-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlBudgetConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementAccounting() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountingInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, StatementTimingListener.class.getName());
+        };
+    }
+
+    @Bean
+    public StatementBudgetFilter statementBudgetFilter(SqlBudgetProperties properties,
+                                                      MeterRegistry meterRegistry) {
+        return new StatementBudgetFilter(properties, meterRegistry);
+    }
+}
@@ -0,0 +1,35 @@
+package com.careerlog.sql;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-request SQL statement accounting. Handlers can override the default budget
+ * with {@link StatementBudget}.
+ */
+@ConfigurationProperties(prefix = "careerlog.sql-budget")
+@Getter
+@Setter
+public class SqlBudgetProperties {
+
+    public enum Mode {
+        /** Log budget violations as warnings. */
+        LOG,
+        /** Fail the request with {@link StatementBudgetExceededException}; meant for tests. */
+        FAIL
+    }
+
+    private boolean enabled = true;
+
+    private Mode mode = Mode.LOG;
+
+    /** Statements a request may issue unless its handler declares otherwise. */
+    private int defaultMaxStatements = 10;
+
+    /** How often one SQL shape may repeat in a request before it is reported as an N+1. */
+    private int defaultMaxRepeats = 3;
+
+    /** Report statement count and DB time in Server-Timing / X-SQL-Statements headers. */
+    private boolean responseHeader = false;
+}
@@ -0,0 +1,23 @@
+package com.careerlog.sql;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how many SQL statements a controller method may issue per request.
+ * Unset values fall back to {@code careerlog.sql-budget.default-*}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface StatementBudget {
+
+    /** Maximum statements per request. */
+    int max() default -1;
+
+    /** Maximum executions of any single SQL shape per request. */
+    int maxRepeats() default -1;
+}
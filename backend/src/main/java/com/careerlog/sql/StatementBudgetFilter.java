@@ -0,0 +1,175 @@
+package com.careerlog.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a {@link RequestStatements} scope around each request, then exports the
+ * statement count and DB time per endpoint and checks them against the handler's
+ * {@link StatementBudget}. Violations are logged, or fail the request in
+ * {@link SqlBudgetProperties.Mode#FAIL} mode so tests catch N+1 regressions. The failure is
+ * raised as the response is about to be committed, so the client gets the error rather than the
+ * body; statements issued after that, while a body streams, can only be logged.
+ */
+@Slf4j
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    static final String COUNT_HEADER = "X-SQL-Statements";
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final SqlBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public StatementBudgetFilter(SqlBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestStatements statements = RequestStatements.begin();
+        request.setAttribute(RequestStatements.REQUEST_ATTRIBUTE, statements);
+        HttpServletResponse target = response;
+        if (properties.isResponseHeader() || properties.getMode() == SqlBudgetProperties.Mode.FAIL) {
+            target = new CommittingResponse(response, request, statements);
+        }
+
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            RequestStatements.end();
+            if (target instanceof CommittingResponse committing && !response.isCommitted()) {
+                // Body-less responses (204, redirects) are never committed by a write; checked below
+                committing.commit(false);
+            }
+        }
+        record(request, statements, !response.isCommitted());
+    }
+
+    /**
+     * Exports the statement count and DB time of a request served by a controller and checks
+     * them against the handler's budget; also used for calls dispatched in-process, such as
+     * batched ones, each with a scope of its own.
+     */
+    public void record(HttpServletRequest request, RequestStatements statements) {
+        record(request, statements, true);
+    }
+
+    // Once the response is committed a violation can no longer fail it, so it is logged instead
+    private void record(HttpServletRequest request, RequestStatements statements, boolean canFail) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            // Not served by a controller: static resources, 404s, rejected before dispatch
+            return;
+        }
+        String uri = pattern.toString();
+        String method = request.getMethod();
+
+        DistributionSummary.builder("careerlog.sql.statements")
+                .description("SQL statements issued per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements.statements());
+        Timer.builder("careerlog.sql.time")
+                .description("JDBC execution time per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements.dbTimeNanos(), TimeUnit.NANOSECONDS);
+
+        String violation = violation(request, uri, statements);
+        if (violation == null) {
+            log.debug("{} {} issued {} statements in {} ms", method, uri, statements.statements(),
+                    millis(statements.dbTimeNanos()));
+            return;
+        }
+        if (properties.getMode() == SqlBudgetProperties.Mode.FAIL && canFail) {
+            throw new StatementBudgetExceededException(violation);
+        }
+        log.warn(violation);
+    }
+
+    private String violation(HttpServletRequest request, String uri, RequestStatements statements) {
+        StatementBudget budget = budgetFor(request);
+        int maxStatements = budget != null && budget.max() >= 0 ? budget.max() : properties.getDefaultMaxStatements();
+        int maxRepeats = budget != null && budget.maxRepeats() >= 0 ? budget.maxRepeats() : properties.getDefaultMaxRepeats();
+
+        List<String> violations = statements.violations(maxStatements, maxRepeats);
+        return violations.isEmpty() ? null
+                : request.getMethod() + " " + uri + " exceeded its SQL statement budget: " + String.join("; ", violations);
+    }
+
+    private static StatementBudget budgetFor(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            StatementBudget budget = AnnotatedElementUtils.findMergedAnnotation(handler.getMethod(), StatementBudget.class);
+            return budget != null ? budget : AnnotatedElementUtils.findMergedAnnotation(handler.getBeanType(), StatementBudget.class);
+        }
+        return null;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Adds the statement headers and, in FAIL mode, checks the budget just before the response is
+     * committed, while headers can still be set and the body replaced by an error.
+     */
+    private final class CommittingResponse extends OnCommittedResponseWrapper {
+
+        private final HttpServletRequest request;
+        private final RequestStatements statements;
+        private boolean committed;
+
+        private CommittingResponse(HttpServletResponse response, HttpServletRequest request,
+                                   RequestStatements statements) {
+            super(response);
+            this.request = request;
+            this.statements = statements;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            commit(true);
+        }
+
+        private void commit(boolean checkBudget) {
+            if (committed) {
+                return;
+            }
+            // Once only: the error response raised here is committed through this wrapper too
+            committed = true;
+            if (properties.isResponseHeader()) {
+                HttpServletResponse response = (HttpServletResponse) getResponse();
+                response.setHeader(COUNT_HEADER, Integer.toString(statements.statements()));
+                response.addHeader(SERVER_TIMING_HEADER, "db;dur=" + millis(statements.dbTimeNanos())
+                        + ";desc=\"" + statements.statements() + " statements\"");
+            }
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (checkBudget && properties.getMode() == SqlBudgetProperties.Mode.FAIL && pattern != null) {
+                String violation = violation(request, pattern.toString(), statements);
+                if (violation != null) {
+                    throw new StatementBudgetExceededException(violation);
+                }
+            }
+        }
+    }
+}
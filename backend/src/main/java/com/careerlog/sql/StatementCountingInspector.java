@@ -0,0 +1,16 @@
+package com.careerlog.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/** Counts every statement Hibernate prepares against the current request's budget. */
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatements scope = RequestStatements.current();
+        if (scope != null) {
+            scope.recordStatement(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,39 @@
+package com.careerlog.sql;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Adds JDBC execution time to the current request's totals. Hibernate creates one
+ * instance per session, and a session is used by one thread at a time.
+ */
+public class StatementTimingListener extends BaseSessionEventListener {
+
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        RequestStatements scope = RequestStatements.current();
+        if (scope != null) {
+            scope.recordExecution(System.nanoTime() - executionStart);
+        }
+    }
+}
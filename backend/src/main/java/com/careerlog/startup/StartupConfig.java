@@ -0,0 +1,26 @@
+package com.careerlog.startup;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.web.SecurityFilterChain;
+
+import javax.sql.DataSource;
+
+/**
+ * Beans that stay eager when the {@code fast-start} profile turns on lazy initialization.
+ * Everything else is created on first use; these are on every request's path, and creating
+ * them at startup keeps misconfiguration (bad credentials, broken mappings) a startup failure
+ * rather than a failed first request. Beans with {@code @Scheduled} methods are kept eager by
+ * Spring Boot already.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter criticalBeansExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                SecurityFilterChain.class, DataSource.class, EntityManagerFactory.class);
+    }
+}
@@ -0,0 +1,57 @@
+package com.careerlog.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.stream.Collectors;
+
+/**
+ * Logs the slowest bean instantiations once the application is ready, so a slow cold
+ * start can be diagnosed from the deploy log without querying {@code /actuator/startup}.
+ * Durations are inclusive: a bean's time contains the beans it pulled in as dependencies.
+ */
+@Component
+@Slf4j
+public class StartupStepReport implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final String BEAN_INSTANTIATION_STEP = "spring.beans.instantiate";
+
+    private final int top;
+
+    public StartupStepReport(@Value("${careerlog.startup.report-top:10}") int top) {
+        this.top = top;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (top <= 0 || !(event.getApplicationContext().getApplicationStartup()
+                instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        // getBufferedTimeline leaves the buffer in place for the actuator endpoint
+        StartupTimeline timeline = startup.getBufferedTimeline();
+        String slowest = timeline.getEvents().stream()
+                .filter(step -> BEAN_INSTANTIATION_STEP.equals(step.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(top)
+                .map(step -> beanName(step.getStartupStep()) + " " + step.getDuration().toMillis() + "ms")
+                .collect(Collectors.joining(", "));
+        log.info("Ready in {} ms; slowest beans: {}", event.getTimeTaken().toMillis(), slowest);
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+}
@@ -0,0 +1,30 @@
+package com.careerlog.tags;
+
+import com.careerlog.repository.ApplicationTagRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/** Keeps an application's tag links in step with its tech stack, inside the caller's transaction. */
+@Component
+@RequiredArgsConstructor
+public class ApplicationTagger {
+
+    private final TagDictionary tagDictionary;
+    private final ApplicationTagRepository applicationTagRepository;
+
+    /** Tags a new application, or one that has no tags yet. */
+    public void tag(Long applicationId, String techStack) {
+        for (Integer tagId : tagDictionary.idsCreatingMissing(TechStackTags.parse(techStack))) {
+            applicationTagRepository.insert(applicationId, tagId);
+        }
+    }
+
+    public void retag(Long applicationId, String techStack) {
+        untag(applicationId);
+        tag(applicationId, techStack);
+    }
+
+    public void untag(Long applicationId) {
+        applicationTagRepository.deleteByApplicationId(applicationId);
+    }
+}
@@ -0,0 +1,90 @@
+package com.careerlog.tags;
+
+import com.careerlog.repository.ApplicationTagRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Tags applications whose tech stack was entered before tagging existed. Runs at startup in
+ * batches; tagged applications are skipped, so it is safe to run repeatedly, and an advisory
+ * lock keeps concurrent instances from doubling up.
+ */
+@Component
+@Slf4j
+public class TagBackfill {
+
+    private static final long LOCK_KEY = 0x636c_7461_6762_66L;
+
+    private final ApplicationTagRepository applicationTagRepository;
+    private final ApplicationTagger applicationTagger;
+    private final TagProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public TagBackfill(ApplicationTagRepository applicationTagRepository, ApplicationTagger applicationTagger,
+                       TagProperties properties, PlatformTransactionManager transactionManager) {
+        this.applicationTagRepository = applicationTagRepository;
+        this.applicationTagger = applicationTagger;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!properties.isBackfillOnStartup()) {
+            return;
+        }
+        try {
+            int applications = backfill();
+            if (applications > 0) {
+                log.info("Tagged {} existing applications", applications);
+            }
+        } catch (RuntimeException e) {
+            // Filters and facets just miss older applications until the next successful run
+            log.warn("Tag backfill failed", e);
+        }
+    }
+
+    /** Returns the number of applications looked at. */
+    public int backfill() {
+        int total = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            Batch batch = transactionTemplate.execute(status -> backfillBatch(from));
+            if (batch == null) {
+                log.info("Tag backfill is running on another instance");
+                return total;
+            }
+            total += batch.applications();
+            if (batch.lastApplicationId() == null) {
+                return total;
+            }
+            afterId = batch.lastApplicationId();
+        }
+    }
+
+    private record Batch(int applications, Long lastApplicationId) {
+    }
+
+    private Batch backfillBatch(long afterId) {
+        if (!applicationTagRepository.tryAdvisoryLock(LOCK_KEY)) {
+            return null;
+        }
+        List<Object[]> applications = applicationTagRepository.findUntaggedApplications(afterId,
+                PageRequest.ofSize(properties.getBackfillBatchSize()));
+        if (applications.isEmpty()) {
+            return new Batch(0, null);
+        }
+        for (Object[] application : applications) {
+            applicationTagger.tag((Long) application[0], (String) application[1]);
+        }
+        return new Batch(applications.size(), (Long) applications.get(applications.size() - 1)[0]);
+    }
+}
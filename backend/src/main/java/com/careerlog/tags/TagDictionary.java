@@ -0,0 +1,101 @@
+package com.careerlog.tags;
+
+import com.careerlog.model.Tag;
+import com.careerlog.repository.TagRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tag names to their int ids and back. Ids are compact and stable (tags are never deleted),
+ * so lookups are cached for the life of the process; only committed tags are cached, since
+ * a tag created by a transaction that rolls back may never exist.
+ */
+@Component
+@RequiredArgsConstructor
+public class TagDictionary {
+
+    private final TagRepository tagRepository;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+
+    /**
+     * Ids for the given tags, creating the missing ones. Runs in the caller's transaction, so
+     * tags created here become visible (and cached) only when it commits.
+     */
+    public List<Integer> idsCreatingMissing(Collection<String> tags) {
+        Map<String, Integer> found = new HashMap<>();
+        List<String> uncached = new ArrayList<>();
+        for (String tag : tags) {
+            Integer id = ids.get(tag);
+            if (id != null) {
+                found.put(tag, id);
+            } else {
+                uncached.add(tag);
+            }
+        }
+        if (!uncached.isEmpty()) {
+            // Not cached: this transaction may have created some of them itself
+            tagRepository.findByNameIn(uncached).forEach(tag -> found.put(tag.getName(), tag.getId()));
+        }
+
+        List<Integer> result = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            Integer id = found.get(tag);
+            if (id == null) {
+                tagRepository.insertIfAbsent(tag);
+                id = tagRepository.findByName(tag).orElseThrow().getId();
+            }
+            result.add(id);
+        }
+        return result;
+    }
+
+    /** Ids of the tags that exist; unknown tags are left out of the map. Call outside write transactions. */
+    public Map<String, Integer> existingIds(Collection<String> tags) {
+        Map<String, Integer> result = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String tag : tags) {
+            Integer id = ids.get(tag);
+            if (id != null) {
+                result.put(tag, id);
+            } else {
+                missing.add(tag);
+            }
+        }
+        if (!missing.isEmpty()) {
+            tagRepository.findByNameIn(missing).forEach(tag -> result.put(remember(tag), tag.getId()));
+        }
+        return result;
+    }
+
+    /** Names for the given ids, all of which must exist. */
+    public Map<Integer, String> names(Collection<Integer> tagIds) {
+        Map<Integer, String> result = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : tagIds) {
+            String name = names.get(id);
+            if (name != null) {
+                result.put(id, name);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            tagRepository.findAllById(missing).forEach(tag -> result.put(tag.getId(), remember(tag)));
+        }
+        return result;
+    }
+
+    private String remember(Tag tag) {
+        ids.put(tag.getName(), tag.getId());
+        names.put(tag.getId(), tag.getName());
+        return tag.getName();
+    }
+}
@@ -0,0 +1,152 @@
+package com.careerlog.tags;
+
+import com.careerlog.dto.TagFacetsResponse;
+import com.careerlog.dto.TagFacetsResponse.TagFacet;
+import com.careerlog.events.ChangeEvent;
+import com.careerlog.repository.ApplicationTagRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tag filters and facet counts over a user's applications, answered from a per-user bitmap
+ * index ({@link UserTagIndex}). The index is built with one query on first read and dropped
+ * whenever one of the user's applications changes on this instance, or once it is older than
+ * {@code rebuild-after}.
+ */
+@Service
+public class TagFacets {
+
+    private final ApplicationTagRepository applicationTagRepository;
+    private final TagDictionary tagDictionary;
+    private final TagProperties properties;
+    private final Map<String, UserTagIndex> users;
+    // Bumped on every change to a user's applications, striped by user, so an index built
+    // meanwhile is known to be possibly stale
+    private final AtomicLongArray changes = new AtomicLongArray(64);
+
+    public TagFacets(ApplicationTagRepository applicationTagRepository, TagDictionary tagDictionary,
+                     TagProperties properties, MeterRegistry meterRegistry) {
+        this.applicationTagRepository = applicationTagRepository;
+        this.tagDictionary = tagDictionary;
+        this.properties = properties;
+        int maxUsers = properties.getMaxCachedUsers();
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserTagIndex> eldest) {
+                return size() > maxUsers;
+            }
+        };
+        Gauge.builder("careerlog.tags.cached.users", this, TagFacets::cachedUsers)
+                .description("Users whose tag facet index is held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Per-tag application and offer counts, over the applications matching {@code tags} or over
+     * all of them when {@code tags} is empty. Tags no application in scope carries are left out.
+     */
+    public TagFacetsResponse getFacets(String userId, Collection<String> tags, TagMatch match) {
+        UserTagIndex index = index(userId);
+        RoaringBitmap scope = tags.isEmpty() ? index.applications() : matching(index, tags, match);
+
+        Map<Integer, long[]> counts = new LinkedHashMap<>();
+        index.byTag().forEach((tagId, applications) -> {
+            long inScope = RoaringBitmap.andCardinality(applications, scope);
+            if (inScope > 0) {
+                RoaringBitmap tagged = RoaringBitmap.and(applications, scope);
+                counts.put(tagId, new long[]{inScope, RoaringBitmap.andCardinality(tagged, index.offers())});
+            }
+        });
+
+        Map<Integer, String> names = tagDictionary.names(counts.keySet());
+        List<TagFacet> facets = new ArrayList<>(counts.size());
+        counts.forEach((tagId, count) -> facets.add(new TagFacet(names.get(tagId), count[0], count[1],
+                Math.round(count[1] * 1000.0 / count[0]) / 10.0)));
+        facets.sort(Comparator.comparingLong(TagFacet::applications).reversed().thenComparing(TagFacet::tag));
+        return new TagFacetsResponse(scope.getLongCardinality(), facets);
+    }
+
+    /**
+     * Ids of {@code tags} for filtering applications in the database; empty when no application
+     * can match, because none of the tags exists or, for {@link TagMatch#ALL}, one of them doesn't.
+     */
+    public List<Integer> filterTagIds(Collection<String> tags, TagMatch match) {
+        Collection<Integer> ids = existingIds(tags, match);
+        return ids == null ? List.of() : List.copyOf(ids);
+    }
+
+    @TransactionalEventListener
+    public void onChange(ChangeEvent event) {
+        if (event.entity() == ChangeEvent.Entity.APPLICATION) {
+            changes.incrementAndGet(stripe(event.userId()));
+            synchronized (users) {
+                users.remove(event.userId());
+            }
+        }
+    }
+
+    private RoaringBitmap matching(UserTagIndex index, Collection<String> tags, TagMatch match) {
+        Collection<Integer> ids = existingIds(tags, match);
+        return ids == null ? new RoaringBitmap() : index.matching(List.copyOf(ids), match);
+    }
+
+    // Null when no application can match
+    private Collection<Integer> existingIds(Collection<String> tags, TagMatch match) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String tag : tags) {
+            String name = TechStackTags.normalize(tag);
+            if (name != null) {
+                normalized.add(name);
+            }
+        }
+        Map<String, Integer> ids = tagDictionary.existingIds(normalized);
+        if (match == TagMatch.ALL && ids.size() < normalized.size()) {
+            // A tag that doesn't exist anywhere can't be on every match
+            return null;
+        }
+        return ids.values();
+    }
+
+    private UserTagIndex index(String userId) {
+        synchronized (users) {
+            UserTagIndex index = users.get(userId);
+            if (index != null && System.nanoTime() - index.builtAt() < properties.getRebuildAfter().toNanos()) {
+                return index;
+            }
+        }
+        // Built outside the lock; kept only if nothing changed meanwhile, or the change could be missing
+        long changesBefore = changes.get(stripe(userId));
+        UserTagIndex index = new UserTagIndex(applicationTagRepository.findTagRowsByUserId(userId));
+        synchronized (users) {
+            if (changes.get(stripe(userId)) == changesBefore) {
+                users.put(userId, index);
+            } else {
+                users.remove(userId);
+            }
+        }
+        return index;
+    }
+
+    private int stripe(String userId) {
+        return userId.hashCode() & (changes.length() - 1);
+    }
+
+    private double cachedUsers() {
+        synchronized (users) {
+            return users.size();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.careerlog.tags;
+
+/** How a set of tags filters applications. */
+public enum TagMatch {
+    /** Applications carrying every one of the tags. */
+    ALL,
+    /** Applications carrying at least one of the tags. */
+    ANY
+}
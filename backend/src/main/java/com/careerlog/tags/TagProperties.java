@@ -0,0 +1,31 @@
+package com.careerlog.tags;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for tech-stack tags and the per-user tag facet index.
+ */
+@ConfigurationProperties(prefix = "careerlog.tags")
+@Getter
+@Setter
+public class TagProperties {
+
+    /** Users whose facet index is kept in memory; the least recently read are dropped first. */
+    private int maxCachedUsers = 10_000;
+
+    /**
+     * Age after which a user's index is rebuilt, which bounds how long writes made through
+     * other instances go unseen. Writes on this instance drop the index straight away.
+     */
+    private Duration rebuildAfter = Duration.ofMinutes(5);
+
+    /** Tag applications whose tech stack predates tagging at startup. */
+    private boolean backfillOnStartup = true;
+
+    /** Applications backfilled per transaction. */
+    private int backfillBatchSize = 500;
+}
@@ -0,0 +1,66 @@
+package com.careerlog.tags;
+
+import com.careerlog.model.Tag;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns the free-text tech stack ("Java, Spring Boot; ReactJS") into normalized tags
+ * ({@code java}, {@code spring boot}, {@code react}).
+ * <p>
+ * Entries are split on commas, semicolons, pipes and line breaks, lower-cased, with
+ * whitespace collapsed and surrounding punctuation stripped ({@code +}, {@code #} and
+ * {@code .} are kept for C++, C# and .NET). A few common spellings are folded into one tag.
+ */
+public final class TechStackTags {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[,;|\\r\\n]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern EDGE_PUNCTUATION = Pattern.compile("^[^\\p{L}\\p{N}+#.]+|[^\\p{L}\\p{N}+#]+$");
+
+    private static final Map<String, String> ALIASES = Map.ofEntries(
+            Map.entry("js", "javascript"),
+            Map.entry("ts", "typescript"),
+            Map.entry("golang", "go"),
+            Map.entry("k8s", "kubernetes"),
+            Map.entry("postgres", "postgresql"),
+            Map.entry("reactjs", "react"),
+            Map.entry("react.js", "react"),
+            Map.entry("vuejs", "vue"),
+            Map.entry("vue.js", "vue"),
+            Map.entry("node", "node.js"),
+            Map.entry("nodejs", "node.js"),
+            Map.entry("springboot", "spring boot"),
+            Map.entry("c sharp", "c#"),
+            Map.entry("py", "python"));
+
+    private TechStackTags() {
+    }
+
+    /** Distinct tags in order of appearance; empty for a null or blank tech stack. */
+    public static Set<String> parse(String techStack) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (techStack == null || techStack.isBlank()) {
+            return tags;
+        }
+        for (String entry : SEPARATORS.split(techStack)) {
+            String tag = normalize(entry);
+            if (tag != null) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+
+    /** The tag for one entry, or null if nothing usable is left or it is too long to be a tag. */
+    public static String normalize(String entry) {
+        String tag = WHITESPACE.matcher(entry.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+        tag = EDGE_PUNCTUATION.matcher(tag).replaceAll("");
+        tag = ALIASES.getOrDefault(tag, tag);
+        return tag.isEmpty() || tag.length() > Tag.MAX_LENGTH ? null : tag;
+    }
+}
@@ -0,0 +1,67 @@
+package com.careerlog.tags;
+
+import com.careerlog.model.Application.ApplicationStatus;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One user's applications as bitmaps over application ids: all of them, those at OFFER, and
+ * one per tag. Built once from the database and never modified; writes replace it.
+ * Application ids must fit in an int, which the identity sequence will for a long while.
+ */
+final class UserTagIndex {
+
+    private final RoaringBitmap applications = new RoaringBitmap();
+    private final RoaringBitmap offers = new RoaringBitmap();
+    private final Map<Integer, RoaringBitmap> byTag = new HashMap<>();
+    private final long builtAt = System.nanoTime();
+
+    /** Rows are (application id, status, tag id or null), as from {@code findTagRowsByUserId}. */
+    UserTagIndex(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            int id = Math.toIntExact((Long) row[0]);
+            applications.add(id);
+            if (row[1] == ApplicationStatus.OFFER) {
+                offers.add(id);
+            }
+            if (row[2] != null) {
+                byTag.computeIfAbsent((Integer) row[2], tag -> new RoaringBitmap()).add(id);
+            }
+        }
+        applications.runOptimize();
+        offers.runOptimize();
+        byTag.values().forEach(RoaringBitmap::runOptimize);
+    }
+
+    long builtAt() {
+        return builtAt;
+    }
+
+    RoaringBitmap applications() {
+        return applications;
+    }
+
+    RoaringBitmap offers() {
+        return offers;
+    }
+
+    Map<Integer, RoaringBitmap> byTag() {
+        return byTag;
+    }
+
+    /** Applications matching the tags; a tag the user never used matches nothing. */
+    RoaringBitmap matching(List<Integer> tagIds, TagMatch match) {
+        RoaringBitmap[] bitmaps = new RoaringBitmap[tagIds.size()];
+        for (int i = 0; i < bitmaps.length; i++) {
+            bitmaps[i] = byTag.getOrDefault(tagIds.get(i), new RoaringBitmap());
+        }
+        if (bitmaps.length == 0) {
+            return new RoaringBitmap();
+        }
+        return match == TagMatch.ALL ? FastAggregation.and(bitmaps) : FastAggregation.or(bitmaps);
+    }
+}
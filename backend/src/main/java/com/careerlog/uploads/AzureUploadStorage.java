@@ -0,0 +1,144 @@
+package com.careerlog.uploads;
+
+import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.UserDelegationKey;
+import com.azure.storage.blob.sas.BlobSasPermission;
+import com.azure.storage.blob.specialized.BlobInputStream;
+import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
+import com.azure.storage.common.sas.SasProtocol;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+/**
+ * Blob storage through the {@link BlobServiceClient} from AzureConfig. Upload URLs carry a
+ * user delegation SAS for one blob with create and write permission only, signed with a
+ * delegation key obtained with the app's Azure AD credential, so no account key is involved.
+ * The key is reused until shortly before it expires. The client is looked up on first use,
+ * keeping the Azure SDK off the startup path.
+ */
+@Component
+@Profile("azure")
+public class AzureUploadStorage implements UploadStorage {
+
+    private static final Duration KEY_LIFETIME = Duration.ofDays(1);
+    // Tolerates clock skew between us and the storage service
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(5);
+
+    private final ObjectProvider<BlobServiceClient> blobServiceClient;
+    private final String container;
+    private UserDelegationKey delegationKey;
+
+    public AzureUploadStorage(ObjectProvider<BlobServiceClient> blobServiceClient, UploadProperties properties) {
+        this.blobServiceClient = blobServiceClient;
+        this.container = properties.getContainer();
+    }
+
+    @Override
+    public URI signUpload(String path, Instant expiresAt) {
+        BlobClient blob = blob(path);
+        BlobServiceSasSignatureValues values = new BlobServiceSasSignatureValues(
+                expiresAt.atOffset(ZoneOffset.UTC),
+                new BlobSasPermission().setCreatePermission(true).setWritePermission(true))
+                .setStartTime(OffsetDateTime.now(ZoneOffset.UTC).minus(CLOCK_SKEW))
+                .setProtocol(SasProtocol.HTTPS_ONLY);
+        return URI.create(blob.getBlobUrl() + "?" + blob.generateUserDelegationSas(values, delegationKey(expiresAt)));
+    }
+
+    @Override
+    public Optional<StoredBlob> stat(String path) {
+        try {
+            BlobProperties properties = blob(path).getProperties();
+            return Optional.of(new StoredBlob(properties.getBlobSize(), properties.getContentMd5()));
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void delete(String path) {
+        blob(path).deleteIfExists();
+    }
+
+    @Override
+    public Optional<StoredBlob> copy(String from, String to) {
+        // Streamed through here rather than copied by the service, so the digest is of the bytes
+        // themselves: a block list upload can set the blob's Content-MD5 to anything
+        try (BlobInputStream source = blob(from).openInputStream();
+             DigestInputStream in = new DigestInputStream(source, md5())) {
+            long size = source.getProperties().getBlobSize();
+            blob(to).upload(in, size, true);
+            return Optional.of(new StoredBlob(size, in.getMessageDigest().digest()));
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String blobUrl(String path) {
+        return blob(path).getBlobUrl();
+    }
+
+    @Override
+    public Optional<InputStream> open(String blobUrl) {
+        BlobContainerClient containerClient = blobServiceClient.getObject().getBlobContainerClient(container);
+        String prefix = containerClient.getBlobContainerUrl() + "/";
+        if (!blobUrl.startsWith(prefix)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(containerClient.getBlobClient(blobUrl.substring(prefix.length())).openInputStream());
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+
+    private BlobClient blob(String path) {
+        return blobServiceClient.getObject().getBlobContainerClient(container).getBlobClient(path);
+    }
+
+    private synchronized UserDelegationKey delegationKey(Instant neededUntil) {
+        if (delegationKey == null || delegationKey.getSignedExpiry().toInstant().isBefore(neededUntil)) {
+            OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+            delegationKey = blobServiceClient.getObject().getUserDelegationKey(now.minus(CLOCK_SKEW),
+                    now.plus(KEY_LIFETIME));
+        }
+        return delegationKey;
+    }
+}
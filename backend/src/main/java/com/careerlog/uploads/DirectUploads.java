@@ -0,0 +1,212 @@
+package com.careerlog.uploads;
+
+import com.careerlog.dto.UploadSlotRequest;
+import com.careerlog.dto.UploadSlotResponse;
+import com.careerlog.exception.BadRequestException;
+import com.careerlog.model.Application;
+import com.careerlog.model.Attachment;
+import com.careerlog.model.UploadSlot;
+import com.careerlog.repository.UploadSlotRepository;
+import com.careerlog.service.ApplicationService;
+import com.careerlog.service.AttachmentService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Attachment uploads that go straight to blob storage instead of through the API.
+ * <p>
+ * The client first asks for a slot, declaring the file's size and MD5 digest, and gets a
+ * signed URL for one fresh blob path that accepts a single {@code PUT} until the slot
+ * expires. Once the upload is done it finalizes the slot: what arrived is copied to a path no
+ * URL was signed for, the digest of the bytes copied must match what was declared, and only then is the
+ * {@link Attachment} created for it, so uploads made afterwards cannot change it. An upload
+ * that does not match is deleted, and can be retried while the URL is valid. Slots, and
+ * whatever was uploaded to their paths, are removed by {@link UploadSlotCleanup} once expired.
+ */
+@Service
+@Slf4j
+public class DirectUploads {
+
+    private static final int MAX_FILE_NAME_LENGTH = 100;
+
+    private final UploadSlotRepository uploadSlotRepository;
+    private final UploadStorage storage;
+    private final ApplicationService applicationService;
+    private final AttachmentService attachmentService;
+    private final Duration slotTtl;
+    private final Duration finalizeGrace;
+    private final long maxSizeBytes;
+    private final int maxOpenSlotsPerUser;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter finalized;
+    private final Counter rejected;
+
+    public DirectUploads(UploadSlotRepository uploadSlotRepository, UploadStorage storage,
+                         ApplicationService applicationService, AttachmentService attachmentService,
+                         UploadProperties properties, PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry) {
+        // The Azure delegation key signing the URLs is valid for a day
+        if (properties.getSlotTtl().isNegative() || properties.getSlotTtl().isZero()
+                || properties.getSlotTtl().compareTo(Duration.ofDays(1)) > 0) {
+            throw new IllegalStateException("careerlog.uploads.slot-ttl must be positive and at most a day");
+        }
+        this.uploadSlotRepository = uploadSlotRepository;
+        this.storage = storage;
+        this.applicationService = applicationService;
+        this.attachmentService = attachmentService;
+        this.slotTtl = properties.getSlotTtl();
+        this.finalizeGrace = properties.getFinalizeGrace();
+        this.maxSizeBytes = properties.getMaxSize().toBytes();
+        this.maxOpenSlotsPerUser = properties.getMaxOpenSlotsPerUser();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.finalized = uploads(meterRegistry, "finalized");
+        this.rejected = uploads(meterRegistry, "rejected");
+    }
+
+    @Transactional
+    public UploadSlotResponse createSlot(String userId, UploadSlotRequest request) {
+        applicationService.getApplicationById(request.applicationId(), userId);
+        if (request.sizeBytes() > maxSizeBytes) {
+            throw new BadRequestException("Uploads are limited to " + maxSizeBytes + " bytes");
+        }
+        decodeMd5(request.md5());
+        if (uploadSlotRepository.countByUserIdAndFinalizedAtIsNull(userId) >= maxOpenSlotsPerUser) {
+            throw new BadRequestException("Too many uploads in progress; finalize or wait for them to expire");
+        }
+
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(slotTtl);
+        UploadSlot slot = uploadSlotRepository.save(UploadSlot.builder()
+                .userId(userId)
+                .applicationId(request.applicationId())
+                .type(request.type())
+                .fileName(request.fileName())
+                .contentType(request.contentType())
+                .description(request.description())
+                .blobPath(newBlobPath(request.applicationId(), request.fileName()))
+                .sizeBytes(request.sizeBytes())
+                .md5(request.md5())
+                .createdAt(LocalDateTime.ofInstant(now, ZoneOffset.UTC))
+                .expiresAt(LocalDateTime.ofInstant(expiresAt, ZoneOffset.UTC))
+                .build());
+        URI uploadUrl = storage.signUpload(slot.getBlobPath(), expiresAt);
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("x-ms-blob-type", "BlockBlob");
+        headers.put("Content-MD5", slot.getMd5());
+        if (slot.getContentType() != null) {
+            headers.put("Content-Type", slot.getContentType());
+        }
+        log.info("Issued upload slot {} for application {}", slot.getId(), slot.getApplicationId());
+        return new UploadSlotResponse(slot.getId(), uploadUrl, "PUT", headers, slot.getExpiresAt());
+    }
+
+    /**
+     * Creates the attachment for a completed upload and closes its slot. Storage is worked
+     * between two short transactions, so no row lock or connection is held meanwhile; the
+     * copy's path is committed before it is made, so the cleanup job can remove a copy whose
+     * attachment was never created.
+     */
+    public Attachment finalizeUpload(String userId, UUID slotId) {
+        UploadSlot slot = transactionTemplate.execute(status -> {
+            UploadSlot open = openSlot(userId, slotId);
+            if (open.getAttachmentPath() == null) {
+                open.setAttachmentPath(newBlobPath(open.getApplicationId(), open.getFileName()));
+            }
+            return open;
+        });
+        // The slot's URL can overwrite its path until it expires, so the attachment gets a copy,
+        // and the digest of what was copied is what gets checked
+        String path = slot.getAttachmentPath();
+        UploadStorage.StoredBlob blob = storage.copy(slot.getBlobPath(), path)
+                .orElseThrow(() -> new BadRequestException("Nothing has been uploaded to this slot yet"));
+        if (blob.sizeBytes() != slot.getSizeBytes()
+                || !MessageDigest.isEqual(blob.md5(), decodeMd5(slot.getMd5()))) {
+            storage.delete(path);
+            storage.delete(slot.getBlobPath());
+            rejected.increment();
+            throw new BadRequestException("The upload does not match the declared size and MD5 digest");
+        }
+
+        Attachment attachment = transactionTemplate.execute(status -> {
+            // Also turns away a finalize of the same slot that finished first
+            UploadSlot open = openSlot(userId, slotId);
+            Application application = applicationService.getApplicationById(open.getApplicationId(), userId);
+            Attachment created = attachmentService.createAttachment(Attachment.builder()
+                    .application(application)
+                    .type(open.getType())
+                    .fileName(path.substring(path.lastIndexOf('/') + 1))
+                    .originalFileName(open.getFileName())
+                    .contentType(open.getContentType())
+                    .fileSizeBytes(blob.sizeBytes())
+                    .blobUrl(storage.blobUrl(path))
+                    .description(open.getDescription())
+                    .build(), userId);
+            open.setFinalizedAt(LocalDateTime.now(ZoneOffset.UTC));
+            return created;
+        });
+        finalized.increment();
+        return attachment;
+    }
+
+    /** The caller's slot, locked until the transaction ends, if it can still be finalized. */
+    private UploadSlot openSlot(String userId, UUID slotId) {
+        UploadSlot slot = uploadSlotRepository.findForUpdate(slotId)
+                .filter(s -> s.getUserId().equals(userId) && s.getFinalizedAt() == null)
+                .orElseThrow(() -> new RuntimeException("Upload not found or access denied"));
+        if (slot.getExpiresAt().plus(finalizeGrace).isBefore(LocalDateTime.now(ZoneOffset.UTC))) {
+            throw new BadRequestException("Upload slot has expired");
+        }
+        return slot;
+    }
+
+    private static byte[] decodeMd5(String md5) {
+        try {
+            byte[] digest = Base64.getDecoder().decode(md5);
+            if (digest.length == 16) {
+                return digest;
+            }
+        } catch (IllegalArgumentException e) {
+            // Reported below
+        }
+        throw new BadRequestException("md5 must be the base64-encoded MD5 digest of the file");
+    }
+
+    private static String newBlobPath(Long applicationId, String fileName) {
+        return applicationId + "/" + UUID.randomUUID() + "/" + storedFileName(fileName);
+    }
+
+    /** The file name reduced to characters safe in a blob path and URL, keeping the extension. */
+    static String storedFileName(String fileName) {
+        String name = fileName.replaceAll("[^A-Za-z0-9._-]", "_").replaceAll("^[._]+", "");
+        if (name.length() > MAX_FILE_NAME_LENGTH) {
+            int dot = name.lastIndexOf('.');
+            String extension = dot >= 0 && name.length() - dot <= 10 ? name.substring(dot) : "";
+            name = name.substring(0, MAX_FILE_NAME_LENGTH - extension.length()) + extension;
+        }
+        return name.isEmpty() ? "file" : name;
+    }
+
+    private static Counter uploads(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("careerlog.uploads")
+                .description("Direct uploads, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,286 @@
+package com.careerlog.uploads;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A stand-in for blob storage for local runs and tests: a small HTTP server of its own, not
+ * the application's, that accepts a {@code PUT} to a signed URL and keeps the file on disk.
+ * <p>
+ * URLs are signed like a SAS, with an HMAC over the method, path and expiry under a key
+ * generated at startup, and only accept the upload before they expire. As in Azure, a
+ * {@code Content-MD5} header that does not match the body fails the upload with 400, and
+ * a body over the size limit is refused. CORS is open, so a browser can upload directly.
+ * The server starts when the first URL is signed.
+ */
+@Component
+@Profile("!azure")
+@Slf4j
+public class LocalUploadStorage implements UploadStorage, AutoCloseable {
+
+    private final String container;
+    private final UploadProperties.Local settings;
+    private final long maxSizeBytes;
+    private final Path root;
+    private final byte[] signingKey = new byte[32];
+    private HttpServer server;
+    private ExecutorService executor;
+    private String baseUrl;
+
+    public LocalUploadStorage(UploadProperties properties) {
+        this.container = properties.getContainer();
+        this.settings = properties.getLocal();
+        this.maxSizeBytes = properties.getMaxSize().toBytes();
+        this.root = (settings.getDirectory() != null
+                ? Path.of(settings.getDirectory())
+                : Path.of(System.getProperty("java.io.tmpdir"), "careerlog-uploads")).toAbsolutePath().normalize();
+        new SecureRandom().nextBytes(signingKey);
+    }
+
+    @Override
+    public URI signUpload(String path, Instant expiresAt) {
+        String urlPath = urlPath(path);
+        long expiry = expiresAt.getEpochSecond();
+        return URI.create(baseUrl() + urlPath + "?se=" + expiry + "&sig=" + sign(urlPath, expiry));
+    }
+
+    @Override
+    public Optional<StoredBlob> stat(String path) {
+        Path file = file(urlPath(path));
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (DigestInputStream in = new DigestInputStream(Files.newInputStream(file), md5())) {
+            long size = in.transferTo(OutputStream.nullOutputStream());
+            return Optional.of(new StoredBlob(size, in.getMessageDigest().digest()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void delete(String path) {
+        try {
+            Files.deleteIfExists(file(urlPath(path)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Optional<StoredBlob> copy(String from, String to) {
+        Path source = file(urlPath(from));
+        Path target = file(urlPath(to));
+        try {
+            Files.createDirectories(target.getParent());
+            try (DigestInputStream in = new DigestInputStream(Files.newInputStream(source), md5());
+                 OutputStream out = Files.newOutputStream(target)) {
+                long size = in.transferTo(out);
+                return Optional.of(new StoredBlob(size, in.getMessageDigest().digest()));
+            }
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String blobUrl(String path) {
+        return baseUrl() + urlPath(path);
+    }
+
+    @Override
+    public Optional<InputStream> open(String blobUrl) throws IOException {
+        // Matched on the path alone: the port changes between runs when it is picked at random
+        Path file;
+        try {
+            String urlPath = URI.create(blobUrl).getRawPath();
+            if (urlPath == null || !urlPath.startsWith("/" + container + "/")) {
+                return Optional.empty();
+            }
+            file = file(urlPath);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        return Files.isRegularFile(file) ? Optional.of(Files.newInputStream(file)) : Optional.empty();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    private synchronized String baseUrl() {
+        if (server == null) {
+            try {
+                Files.createDirectories(root);
+                server = HttpServer.create(new InetSocketAddress(settings.getHost(), settings.getPort()), 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start the local upload server", e);
+            }
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+            server.setExecutor(executor);
+            server.createContext("/", this::handle);
+            server.start();
+            baseUrl = "http://" + settings.getHost() + ":" + server.getAddress().getPort();
+            log.info("Local upload server on {}, storing under {}", baseUrl, root);
+        }
+        return baseUrl;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getResponseHeaders().add("Access-Control-Allow-Origin", "*");
+            if (exchange.getRequestMethod().equals("OPTIONS")) {
+                exchange.getResponseHeaders().add("Access-Control-Allow-Methods", "PUT");
+                exchange.getResponseHeaders().add("Access-Control-Allow-Headers",
+                        "Content-Type, Content-MD5, x-ms-blob-type");
+                exchange.sendResponseHeaders(204, -1);
+                return;
+            }
+            if (!exchange.getRequestMethod().equals("PUT")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            String urlPath = exchange.getRequestURI().getRawPath();
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            if (!authorized(urlPath, query.get("se"), query.get("sig"))) {
+                exchange.sendResponseHeaders(403, -1);
+                return;
+            }
+            if (!"BlockBlob".equals(exchange.getRequestHeaders().getFirst("x-ms-blob-type"))) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            store(exchange, file(urlPath));
+        }
+    }
+
+    private void store(HttpExchange exchange, Path file) throws IOException {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length != null && Long.parseLong(length) > maxSizeBytes) {
+            exchange.sendResponseHeaders(413, -1);
+            return;
+        }
+        Files.createDirectories(file.getParent());
+        Path partial = Files.createTempFile(file.getParent(), "upload", ".partial");
+        try {
+            MessageDigest digest = md5();
+            long size;
+            try (InputStream in = new DigestInputStream(exchange.getRequestBody(), digest);
+                 OutputStream out = Files.newOutputStream(partial)) {
+                size = in.transferTo(out);
+            }
+            if (size > maxSizeBytes) {
+                exchange.sendResponseHeaders(413, -1);
+                return;
+            }
+            String md5 = Base64.getEncoder().encodeToString(digest.digest());
+            String declared = exchange.getRequestHeaders().getFirst("Content-MD5");
+            if (declared != null && !declared.equals(md5)) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            exchange.getResponseHeaders().add("Content-MD5", md5);
+            exchange.sendResponseHeaders(201, -1);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    private boolean authorized(String urlPath, String expiry, String signature) {
+        if (expiry == null || signature == null) {
+            return false;
+        }
+        long expiresAt;
+        try {
+            expiresAt = Long.parseLong(expiry);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(sign(urlPath, expiresAt).getBytes(StandardCharsets.US_ASCII),
+                signature.getBytes(StandardCharsets.US_ASCII))
+                && Instant.now().getEpochSecond() < expiresAt;
+    }
+
+    private String sign(String urlPath, long expiry) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(signingKey, "HmacSHA256"));
+            byte[] signature = mac.doFinal(("PUT\n" + urlPath + "\n" + expiry).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    // Blob paths are made of URL-safe characters only, so the path needs no encoding
+    private String urlPath(String path) {
+        return "/" + container + "/" + path;
+    }
+
+    private Path file(String urlPath) {
+        Path file = root.resolve(urlPath.substring(1)).normalize();
+        if (!file.startsWith(root)) {
+            throw new IllegalArgumentException("Path outside the upload directory: " + urlPath);
+        }
+        return file;
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery != null) {
+            for (String parameter : rawQuery.split("&")) {
+                int equals = parameter.indexOf('=');
+                if (equals > 0) {
+                    parameters.put(parameter.substring(0, equals), parameter.substring(equals + 1));
+                }
+            }
+        }
+        return parameters;
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.careerlog.uploads;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Direct-to-storage attachment uploads: signed upload URLs, their slots and the cleanup of
+ * slots never finalized.
+ */
+@ConfigurationProperties(prefix = "careerlog.uploads")
+@Getter
+@Setter
+public class UploadProperties {
+
+    /** How long a signed upload URL accepts the upload. */
+    private Duration slotTtl = Duration.ofMinutes(15);
+
+    /**
+     * How long after its URL expires a slot can still be finalized; after that the cleanup job
+     * deletes it and anything uploaded to it. Must outlast the slowest upload.
+     */
+    private Duration finalizeGrace = Duration.ofHours(1);
+
+    private DataSize maxSize = DataSize.ofMegabytes(25);
+
+    /** Uploads a user may have requested and not yet finalized. */
+    private int maxOpenSlotsPerUser = 20;
+
+    /** Blob container uploads go to. */
+    private String container = "attachments";
+
+    private Duration cleanupInterval = Duration.ofMinutes(10);
+
+    /** Expired slots removed per transaction. */
+    private int cleanupBatchSize = 500;
+
+    /** The local stand-in for blob storage, used without the azure profile. */
+    private Local local = new Local();
+
+    @Getter
+    @Setter
+    public static class Local {
+
+        /** Port the stand-in listens on; 0 picks a free one when the first URL is signed. */
+        private int port = 0;
+
+        /** Host put in signed URLs and bound to. */
+        private String host = "localhost";
+
+        /** Where uploaded files are kept; defaults to careerlog-uploads in the temp directory. */
+        private String directory;
+    }
+}
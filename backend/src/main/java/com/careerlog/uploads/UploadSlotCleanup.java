@@ -0,0 +1,94 @@
+package com.careerlog.uploads;
+
+import com.careerlog.model.UploadSlot;
+import com.careerlog.repository.UploadSlotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Removes upload slots once their grace period is over, along with anything uploaded to their
+ * paths: uploads never finalized, copies made by a finalize that did not complete, and anything
+ * sent to a finalized slot's URL after the attachment was copied out. Runs in batches, each in its own transaction; slots are
+ * locked with {@code SKIP LOCKED}, so instances running it at the same time share the work
+ * and a slot being finalized is left alone.
+ */
+@Component
+@Slf4j
+public class UploadSlotCleanup {
+
+    private final UploadSlotRepository uploadSlotRepository;
+    private final UploadStorage storage;
+    private final Duration finalizeGrace;
+    private final int batchSize;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter expired;
+
+    public UploadSlotCleanup(UploadSlotRepository uploadSlotRepository, UploadStorage storage,
+                             UploadProperties properties, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        if (properties.getCleanupBatchSize() < 1) {
+            throw new IllegalStateException("careerlog.uploads.cleanup-batch-size must be at least 1");
+        }
+        this.uploadSlotRepository = uploadSlotRepository;
+        this.storage = storage;
+        this.finalizeGrace = properties.getFinalizeGrace();
+        this.batchSize = properties.getCleanupBatchSize();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expired = Counter.builder("careerlog.uploads")
+                .description("Direct uploads, by outcome")
+                .tag("outcome", "expired")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${careerlog.uploads.cleanup-interval:PT10M}")
+    public void cleanUp() {
+        try {
+            int removed = removeExpired();
+            if (removed > 0) {
+                log.info("Removed {} expired upload slots", removed);
+            }
+        } catch (RuntimeException e) {
+            // Database or storage unavailable; the next run picks up where this one stopped
+            log.warn("Could not remove expired upload slots: {}", e.getMessage());
+        }
+    }
+
+    /** Returns the number of slots removed. */
+    public int removeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC).minus(finalizeGrace);
+        int total = 0;
+        int removed;
+        do {
+            removed = transactionTemplate.execute(status -> removeBatch(cutoff));
+            total += removed;
+        } while (removed == batchSize);
+        return total;
+    }
+
+    private int removeBatch(LocalDateTime cutoff) {
+        List<UploadSlot> slots = uploadSlotRepository.lockExpired(cutoff, batchSize);
+        if (slots.isEmpty()) {
+            return 0;
+        }
+        // Blobs go first: if the transaction then fails, the slots are retried and deleting again is harmless
+        for (UploadSlot slot : slots) {
+            storage.delete(slot.getBlobPath());
+            if (slot.getFinalizedAt() == null && slot.getAttachmentPath() != null) {
+                storage.delete(slot.getAttachmentPath());
+            }
+        }
+        uploadSlotRepository.deleteByIds(slots.stream().map(UploadSlot::getId).toList());
+        expired.increment(slots.stream().filter(slot -> slot.getFinalizedAt() == null).count());
+        return slots.size();
+    }
+}
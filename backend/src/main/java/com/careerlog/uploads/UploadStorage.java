@@ -0,0 +1,49 @@
+package com.careerlog.uploads;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Blob storage as direct uploads see it: signed URLs the client uploads to itself, and what
+ * arrived at a path. Paths are relative to the configured container.
+ */
+public interface UploadStorage {
+
+    /**
+     * A URL accepting a {@code PUT} of the blob at {@code path}, and nothing else, until
+     * {@code expiresAt}. The request must carry {@code x-ms-blob-type: BlockBlob}; a
+     * {@code Content-MD5} header is checked against the body.
+     */
+    URI signUpload(String path, Instant expiresAt);
+
+    Optional<StoredBlob> stat(String path);
+
+    void delete(String path);
+
+    /**
+     * Copies the blob at {@code from} to {@code to}, which URLs signed for {@code from} cannot
+     * write to. Returns the size and MD5 digest of the bytes copied, computed as they pass
+     * through, unlike {@link #stat} whose digest is whatever the uploader declared; empty if
+     * nothing is at {@code from}.
+     */
+    Optional<StoredBlob> copy(String from, String to);
+
+    /** The blob's permanent, unsigned URL, as kept on the attachment. */
+    String blobUrl(String path);
+
+    /**
+     * Reads the blob an attachment's URL points at; empty if the URL is not in this storage's
+     * container, as for attachments registered with an outside URL, or the blob is gone.
+     */
+    Optional<InputStream> open(String blobUrl) throws IOException;
+
+    /**
+     * Size and MD5 digest of a blob. From {@link #stat} the digest is the one stored with the
+     * blob, which the uploader can set, or null if there is none.
+     */
+    record StoredBlob(long sizeBytes, byte[] md5) {
+    }
+}
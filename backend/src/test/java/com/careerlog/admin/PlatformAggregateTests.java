@@ -0,0 +1,59 @@
+package com.careerlog.admin;
+
+import com.careerlog.dto.PlatformAnalyticsResponse;
+import com.careerlog.dto.PlatformAnalyticsResponse.CompanyVolume;
+import com.careerlog.model.Activity.ActivityType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PlatformAggregateTests {
+
+	@Test
+	void mergedPartsMatchOneAggregateOverEverything() {
+		PlatformAggregate whole = new PlatformAggregate(100);
+		PlatformAggregate[] parts = {new PlatformAggregate(100), new PlatformAggregate(100), new PlatformAggregate(100)};
+		Random random = new Random(7);
+		for (int i = 0; i < 9_000; i++) {
+			double days = random.nextDouble() * 60;
+			whole.addDaysToOffer(days);
+			parts[i % 3].addDaysToOffer(days);
+		}
+		for (int i = 0; i < 3; i++) {
+			whole.addTotals(10, 40);
+			parts[i].addTotals(10, 40);
+			whole.addActivities(ActivityType.PHONE_SCREEN, i + 1);
+			parts[i].addActivities(ActivityType.PHONE_SCREEN, i + 1);
+		}
+
+		PlatformAnalyticsResponse merged = parts[0].merge(parts[1]).merge(parts[2]).toResponse(Instant.EPOCH, 10, 3, 0);
+		PlatformAnalyticsResponse expected = whole.toResponse(Instant.EPOCH, 10, 1, 0);
+
+		assertThat(merged.users()).isEqualTo(30);
+		assertThat(merged.applications()).isEqualTo(120);
+		assertThat(merged.activityMix()).containsEntry(ActivityType.PHONE_SCREEN, 6L);
+		assertThat(merged.timeToOffer().offers()).isEqualTo(9_000);
+		// Uniform over 60 days: median 30, p90 54, within t-digest error
+		assertThat(merged.timeToOffer().medianDays()).isCloseTo(expected.timeToOffer().medianDays(), within(0.5));
+		assertThat(merged.timeToOffer().medianDays()).isCloseTo(30, within(1.0));
+		assertThat(merged.timeToOffer().p90Days()).isCloseTo(54, within(1.0));
+	}
+
+	@Test
+	void companiesMergeAcrossCaseAndKeepTheCommonestSpelling() {
+		PlatformAggregate left = new PlatformAggregate(100);
+		left.addCompany("Acme", 5);
+		left.addCompany("acme ", 2);
+		left.addCompany(" ", 9);
+		PlatformAggregate right = new PlatformAggregate(100);
+		right.addCompany("ACME", 6);
+		right.addCompany("Globex", 4);
+
+		assertThat(left.merge(right).toResponse(Instant.EPOCH, 10, 2, 0).topCompanies())
+				.containsExactly(new CompanyVolume("ACME", 13), new CompanyVolume("Globex", 4));
+	}
+}
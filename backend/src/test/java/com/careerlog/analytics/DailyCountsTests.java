@@ -0,0 +1,51 @@
+package com.careerlog.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DailyCountsTests {
+
+	private final DailyCounts counts = new DailyCounts();
+
+	@Test
+	void weeksAreOrderedAndGapFilled() {
+		// 2024-03-04 is a Monday
+		counts.add(LocalDate.of(2024, 3, 20), 1);
+		counts.add(LocalDate.of(2024, 3, 5), 2);
+		counts.add(LocalDate.of(2024, 3, 6), 1);
+		counts.add(LocalDate.of(2024, 3, 20), 1);
+
+		long[] weeks = new long[4];
+		counts.sumInto(weeks, LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 31), Granularity.WEEK);
+
+		assertThat(weeks).containsExactly(3, 0, 2, 0);
+	}
+
+	@Test
+	void onlyDaysInsideTheRangeAreCounted() {
+		counts.add(LocalDate.of(2024, 1, 31), 5);
+		counts.add(LocalDate.of(2024, 2, 1), 1);
+		counts.add(LocalDate.of(2024, 3, 15), 2);
+		counts.add(LocalDate.of(2024, 3, 16), 7);
+
+		long[] months = new long[3];
+		counts.sumInto(months, LocalDate.of(2024, 1, 31), LocalDate.of(2024, 3, 15), Granularity.MONTH);
+
+		assertThat(months).containsExactly(5, 1, 2);
+	}
+
+	@Test
+	void deltasCanCancelOut() {
+		counts.add(LocalDate.of(2024, 5, 2), 1);
+		counts.add(LocalDate.of(2024, 5, 2), -1);
+		counts.add(LocalDate.of(2024, 5, 3), 1);
+
+		long[] days = new long[3];
+		counts.sumInto(days, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 3), Granularity.DAY);
+
+		assertThat(days).containsExactly(0, 0, 1);
+	}
+}
@@ -0,0 +1,138 @@
+package com.careerlog.analytics;
+
+import com.careerlog.dto.FunnelResponse;
+import com.careerlog.model.Activity.ActivityType;
+import com.careerlog.model.Application.ApplicationStatus;
+import com.careerlog.model.StatusTransition;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserFunnelTests {
+
+	private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 9, 0);
+	private static final LocalDateTime READ_AT = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+	private final UserFunnel funnel = new UserFunnel(Duration.ofMinutes(1));
+
+	@Test
+	void laterStagesCountAsReachingEarlierOnes() {
+		funnel.apply(List.of(
+				transition(1, 10, null, ApplicationStatus.APPLIED, 0),
+				transition(2, 10, ApplicationStatus.APPLIED, ApplicationStatus.TECHNICAL_INTERVIEW, 4),
+				transition(3, 20, null, ApplicationStatus.APPLIED, 1),
+				transition(4, 20, ApplicationStatus.APPLIED, ApplicationStatus.REJECTED, 2)), READ_AT);
+
+		FunnelResponse response = funnel.snapshot();
+
+		assertThat(response.totalApplications()).isEqualTo(2);
+		assertThat(response.stages()).extracting(FunnelResponse.Stage::reached)
+				.containsExactly(2L, 1L, 1L, 0L, 0L, 0L);
+		FunnelResponse.Stage applied = response.stages().get(0);
+		assertThat(applied.rejected()).isEqualTo(1);
+		assertThat(response.stages().get(1).conversionFromPrevious()).isEqualTo(50.0);
+		assertThat(response.stages().get(2).current()).isEqualTo(1);
+		assertThat(applied.timeInStage().samples()).isEqualTo(2);
+		assertThat(applied.timeInStage().meanDays()).isEqualTo(2.5);
+		assertThat(applied.timeInStage().histogram()).containsEntry("1-3d", 1L).containsEntry("3-7d", 1L);
+	}
+
+	@Test
+	void transitionsAlreadyAppliedAreIgnored() {
+		StatusTransition created = transition(1, 10, null, ApplicationStatus.APPLIED, 0);
+		StatusTransition screened = transition(2, 10, ApplicationStatus.APPLIED, ApplicationStatus.PHONE_SCREEN, 1);
+		funnel.apply(List.of(created, screened), READ_AT);
+
+		funnel.apply(screened);
+		funnel.apply(List.of(created, screened), READ_AT.plusSeconds(30));
+
+		assertThat(funnel.lastId()).isEqualTo(2);
+		assertThat(funnel.snapshot().stages()).extracting(FunnelResponse.Stage::reached)
+				.containsExactly(1L, 1L, 0L, 0L, 0L, 0L);
+		assertThat(funnel.snapshot().stages().get(0).timeInStage().samples()).isEqualTo(1);
+	}
+
+	@Test
+	void liveEventsDoNotMoveTheCatchUpWatermark() {
+		funnel.apply(List.of(transition(1, 10, null, ApplicationStatus.APPLIED, 0)), READ_AT);
+
+		// Committed here with id 5 while another instance has yet to commit ids 2 and 3
+		funnel.apply(transition(5, 30, null, ApplicationStatus.APPLIED, 2));
+		assertThat(funnel.lastId()).isEqualTo(1);
+
+		// The catch-up after the other instance commits still reads from id 1, and sees 5 again
+		funnel.apply(List.of(
+				transition(2, 20, null, ApplicationStatus.APPLIED, 1),
+				transition(3, 20, ApplicationStatus.APPLIED, ApplicationStatus.PHONE_SCREEN, 2),
+				transition(5, 30, null, ApplicationStatus.APPLIED, 2)), READ_AT.plusSeconds(30));
+
+		assertThat(funnel.lastId()).isEqualTo(5);
+		assertThat(funnel.snapshot().totalApplications()).isEqualTo(3);
+		assertThat(funnel.snapshot().stages()).extracting(FunnelResponse.Stage::reached)
+				.containsExactly(3L, 1L, 0L, 0L, 0L, 0L);
+	}
+
+	@Test
+	void rowsCommittedBehindTheWatermarkAreReadAgainAndCountedOnce() {
+		funnel.apply(List.of(
+				transition(1, 10, null, ApplicationStatus.APPLIED, 0),
+				transition(3, 20, null, ApplicationStatus.APPLIED, 1)), READ_AT);
+		assertThat(funnel.recheckSince()).isEqualTo(READ_AT.minusMinutes(1));
+		funnel.apply(transition(5, 20, ApplicationStatus.PHONE_SCREEN, ApplicationStatus.TECHNICAL_INTERVIEW, 4));
+
+		// Ids 2 and 4 committed after 3 and 5 were read; the catch-up window returns 3 and 5 again
+		funnel.apply(List.of(
+				transition(2, 30, null, ApplicationStatus.APPLIED, 1),
+				transition(3, 20, null, ApplicationStatus.APPLIED, 1),
+				transition(4, 20, ApplicationStatus.APPLIED, ApplicationStatus.PHONE_SCREEN, 3),
+				transition(5, 20, ApplicationStatus.PHONE_SCREEN, ApplicationStatus.TECHNICAL_INTERVIEW, 4)),
+				READ_AT.plusSeconds(30));
+
+		FunnelResponse response = funnel.snapshot();
+		assertThat(response.totalApplications()).isEqualTo(3);
+		assertThat(response.stages()).extracting(FunnelResponse.Stage::reached)
+				.containsExactly(3L, 1L, 1L, 0L, 0L, 0L);
+		// The late PHONE_SCREEN row does not move application 20 back from the interview
+		assertThat(response.stages()).extracting(FunnelResponse.Stage::current)
+				.containsExactly(2L, 0L, 1L, 0L, 0L, 0L);
+	}
+
+	@Test
+	void backfillFollowsActivitiesForwardAndEndsAtTheCurrentStatus() {
+		List<Object[]> timeline = List.of(
+				new Object[]{5L, ActivityType.NETWORKING_COFFEE, START.minusDays(3)},
+				new Object[]{5L, ActivityType.PHONE_SCREEN, START.plusDays(5)},
+				new Object[]{5L, ActivityType.CODING_TEST, START.plusDays(9)},
+				new Object[]{5L, ActivityType.PHONE_SCREEN, START.plusDays(10)},
+				new Object[]{5L, ActivityType.FINAL_ROUND, START.plusDays(60)});
+
+		List<StatusTransition> transitions = StatusHistoryBackfill.reconstruct(5L, "user", ApplicationStatus.OFFER,
+				START.toLocalDate(), timeline, START.plusDays(30));
+
+		assertThat(transitions).extracting(StatusTransition::getToStatus).containsExactly(
+				ApplicationStatus.APPLIED, ApplicationStatus.PHONE_SCREEN, ApplicationStatus.TECHNICAL_INTERVIEW,
+				ApplicationStatus.OFFER);
+		assertThat(transitions.get(0).getTransitionedAt()).isEqualTo(LocalDate.of(2024, 3, 1).atStartOfDay());
+		assertThat(transitions.get(3).getFromStatus()).isEqualTo(ApplicationStatus.TECHNICAL_INTERVIEW);
+		assertThat(transitions.get(3).getTransitionedAt()).isEqualTo(START.plusDays(9));
+	}
+
+	private static StatusTransition transition(long id, long applicationId, ApplicationStatus from,
+											   ApplicationStatus to, int day) {
+		return StatusTransition.builder()
+				.id(id)
+				.userId("user")
+				.applicationId(applicationId)
+				.fromStatus(from)
+				.toStatus(to)
+				.transitionedAt(START.plusDays(day))
+				.source(StatusTransition.Source.RECORDED)
+				.recordedAt(READ_AT.minusSeconds(10))
+				.build();
+	}
+}
@@ -0,0 +1,215 @@
+package com.careerlog.batch;
+
+import com.careerlog.dto.BatchRequest;
+import com.careerlog.dto.BatchResponse;
+import com.careerlog.exception.BadRequestException;
+import com.careerlog.ratelimit.RateLimitProperties;
+import com.careerlog.ratelimit.RequestRateLimiter;
+import com.careerlog.sql.RequestStatements;
+import com.careerlog.sql.SqlBudgetProperties;
+import com.careerlog.sql.StatementBudgetFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.web.DefaultSecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.firewall.HttpFirewall;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchDispatcherTests {
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+	private final BatchProperties properties = new BatchProperties();
+	private AnnotationConfigWebApplicationContext context;
+	private SimpleMeterRegistry meterRegistry;
+	private BatchDispatcher dispatcher;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		context = new AnnotationConfigWebApplicationContext();
+		context.register(TestConfig.class);
+		MockServletContext servletContext = new MockServletContext();
+		servletContext.setContextPath("/api");
+		context.setServletContext(servletContext);
+		DispatcherServlet dispatcherServlet = new DispatcherServlet(context);
+		dispatcherServlet.init(new MockServletConfig(servletContext, "dispatcherServlet"));
+
+		RequestMatcherDelegatingAuthorizationManager authorization = RequestMatcherDelegatingAuthorizationManager.builder()
+				.add(new AntPathRequestMatcher("/admin/**"), AuthorityAuthorizationManager.hasRole("Admin"))
+				.add(AnyRequestMatcher.INSTANCE, AuthenticatedAuthorizationManager.authenticated())
+				.build();
+		RateLimitProperties rateLimits = new RateLimitProperties();
+		rateLimits.setEnabled(false);
+		meterRegistry = context.getBean(SimpleMeterRegistry.class);
+		properties.setMaxBodySize(DataSize.ofBytes(100));
+		dispatcher = new BatchDispatcher(dispatcherServlet, context.getBeanProvider(HttpFirewall.class),
+				List.of(new DefaultSecurityFilterChain(AnyRequestMatcher.INSTANCE, new AuthorizationFilter(authorization))),
+				new RequestRateLimiter(rateLimits, meterRegistry), context.getBeanProvider(StatementBudgetFilter.class),
+				objectMapper, properties, meterRegistry);
+
+		Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject("user-1").build();
+		SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt, List.of(), "user-1"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		dispatcher.close();
+		context.close();
+	}
+
+	@Test
+	void readsRunTogetherAndWritesInOrder() throws Exception {
+		List<BatchResponse.Result> results = dispatch(
+				new BatchRequest.Item(null, "GET", "/echo/1?q=a%20b", null),
+				new BatchRequest.Item(null, "GET", "/echo/2", null),
+				new BatchRequest.Item("create", "POST", "/items", objectMapper.readTree("{\"name\":\"x\"}")),
+				new BatchRequest.Item(null, "GET", "/items/count", null));
+
+		assertThat(results).extracting(BatchResponse.Result::status).containsExactly(200, 200, 200, 200);
+		assertThat(results).extracting(BatchResponse.Result::id).containsExactly("0", "1", "create", "3");
+		// Both reads waited at the barrier for each other, on threads carrying the batch's user
+		assertThat(objectMapper.readTree(results.get(0).body()).get("q").asText()).isEqualTo("a b");
+		assertThat(objectMapper.readTree(results.get(1).body()).get("user").asText()).isEqualTo("user-1");
+		assertThat(objectMapper.readTree(results.get(2).body()).get("created").asBoolean()).isTrue();
+		assertThat(results.get(3).body()).isEqualTo("1");
+	}
+
+	@Test
+	void callsAreRefusedOneByOne() throws Exception {
+		List<BatchResponse.Result> results = dispatch(
+				new BatchRequest.Item(null, "GET", "/admin/secret", null),
+				new BatchRequest.Item(null, "GET", "/events", null),
+				new BatchRequest.Item(null, "GET", "/events;x", null),
+				new BatchRequest.Item(null, "POST", "/batch;x=1", null),
+				new BatchRequest.Item(null, "GET", "/items%2Fcount", null),
+				new BatchRequest.Item(null, "PATCH", "/items", null),
+				new BatchRequest.Item(null, "POST", "/items", objectMapper.readTree("{\"name\":\"" + "x".repeat(100) + "\"}")),
+				new BatchRequest.Item(null, "GET", "/items/../admin/secret", null),
+				new BatchRequest.Item(null, "GET", "/missing", null),
+				new BatchRequest.Item(null, "GET", "/items/count", null));
+
+		assertThat(results).extracting(BatchResponse.Result::status)
+				.containsExactly(403, 400, 400, 400, 400, 405, 413, 400, 404, 200);
+		assertThat(objectMapper.readTree(results.get(0).body()).get("path").asText()).isEqualTo("/api/admin/secret");
+		assertThat(results.get(9).body()).isEqualTo("0");
+	}
+
+	@Test
+	void eachCallIsAccountedOnItsOwn() throws Exception {
+		RequestStatements batch = RequestStatements.begin();
+		try {
+			dispatch(new BatchRequest.Item(null, "GET", "/items/count", null),
+					new BatchRequest.Item(null, "GET", "/items/count", null),
+					new BatchRequest.Item(null, "POST", "/items", objectMapper.readTree("{\"name\":\"x\"}")));
+
+			assertThat(RequestStatements.current()).isSameAs(batch);
+		} finally {
+			RequestStatements.end();
+		}
+		assertThat(meterRegistry.get("careerlog.sql.statements").tag("uri", "/items/count").summary().count())
+				.isEqualTo(2);
+		assertThat(meterRegistry.get("careerlog.sql.statements").tag("uri", "/items").summary().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	void oversizedBatchIsRefused() {
+		properties.setMaxRequests(1);
+
+		assertThatThrownBy(() -> dispatch(new BatchRequest.Item(null, "GET", "/echo/1", null),
+				new BatchRequest.Item(null, "GET", "/echo/2", null)))
+				.isInstanceOf(BadRequestException.class)
+				.hasMessageContaining("at most 1 requests");
+	}
+
+	private List<BatchResponse.Result> dispatch(BatchRequest.Item... items) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/batch");
+		request.setContextPath("/api");
+		return dispatcher.dispatch(List.of(items), request, new MockHttpServletResponse()).responses();
+	}
+
+	@Configuration
+	@EnableWebMvc
+	static class TestConfig {
+
+		@Bean
+		SimpleMeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+		@Bean
+		StatementBudgetFilter statementBudgetFilter(SimpleMeterRegistry meterRegistry) {
+			return new StatementBudgetFilter(new SqlBudgetProperties(), meterRegistry);
+		}
+
+		@Bean
+		TestController testController() {
+			return new TestController();
+		}
+	}
+
+	@RestController
+	static class TestController {
+
+		private final CyclicBarrier barrier = new CyclicBarrier(2);
+		private final AtomicInteger items = new AtomicInteger();
+
+		@GetMapping("/echo/{id}")
+		Map<String, String> echo(@PathVariable String id, @RequestParam(defaultValue = "") String q) throws Exception {
+			barrier.await(5, TimeUnit.SECONDS);
+			return Map.of("id", id, "q", q, "user", SecurityContextHolder.getContext().getAuthentication().getName());
+		}
+
+		@PostMapping("/items")
+		Map<String, Object> create(@RequestBody Map<String, Object> item) {
+			items.incrementAndGet();
+			return Map.of("name", item.get("name"), "created", true);
+		}
+
+		@GetMapping("/items/count")
+		int count() {
+			return items.get();
+		}
+
+		@GetMapping("/admin/secret")
+		String secret() {
+			return "secret";
+		}
+	}
+}
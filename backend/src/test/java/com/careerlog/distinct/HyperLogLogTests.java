@@ -0,0 +1,88 @@
+package com.careerlog.distinct;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTests {
+
+	@Test
+	void estimatesStayWithinThreeStandardErrorsOfExactCounts() {
+		Random random = new Random(42);
+		for (int exact : new int[]{1, 7, 60, 500, 4_000, 30_000, 250_000}) {
+			HyperLogLog sketch = new HyperLogLog(12);
+			// Repeats, as when a user applies to the same company more than once
+			for (int i = 0; i < exact * 3; i++) {
+				sketch.add(companyName(random.nextInt(exact)));
+			}
+			for (int i = 0; i < exact; i++) {
+				sketch.add(companyName(i));
+			}
+
+			double bound = Math.max(1, 3 * sketch.relativeStandardError() * exact);
+			assertThat((double) sketch.estimate()).as("estimate of %d", exact).isCloseTo(exact, within(bound));
+		}
+		assertThat(new HyperLogLog(12).estimate()).isZero();
+	}
+
+	@Test
+	void mergingMonthlySketchesMatchesOneSketchOfEveryValue() {
+		List<String> values = new ArrayList<>();
+		for (int i = 0; i < 20_000; i++) {
+			values.add(companyName(i % 9_000));
+		}
+		Collections.shuffle(values, new Random(7));
+
+		HyperLogLog all = new HyperLogLog(12);
+		HyperLogLog[] months = new HyperLogLog[12];
+		for (int i = 0; i < months.length; i++) {
+			months[i] = new HyperLogLog(12);
+		}
+		HyperLogLog finer = new HyperLogLog(14);
+		for (int i = 0; i < values.size(); i++) {
+			all.add(values.get(i));
+			months[i % months.length].add(values.get(i));
+			finer.add(values.get(i));
+		}
+
+		HyperLogLog merged = new HyperLogLog(12);
+		for (HyperLogLog month : months) {
+			merged.merge(month);
+		}
+		assertThat(merged.toBytes()).isEqualTo(all.toBytes());
+		assertThat(merged.merge(months[3])).isFalse();
+
+		// A finer sketch folds down to exactly the coarser one
+		HyperLogLog folded = new HyperLogLog(12);
+		folded.merge(finer);
+		assertThat(folded.toBytes()).isEqualTo(all.toBytes());
+	}
+
+	@Test
+	void storedFormListsOnlySetRegistersWhileThatIsSmaller() {
+		HyperLogLog small = new HyperLogLog(12);
+		for (int i = 0; i < 40; i++) {
+			small.add(companyName(i));
+		}
+		HyperLogLog large = new HyperLogLog(12);
+		for (int i = 0; i < 40_000; i++) {
+			large.add(companyName(i));
+		}
+
+		byte[] smallBytes = small.toBytes();
+		assertThat(smallBytes.length).isLessThanOrEqualTo(2 + 3 * 40);
+		assertThat(large.toBytes()).hasSize(2 + 4096);
+		assertThat(HyperLogLog.fromBytes(smallBytes).toBytes()).isEqualTo(smallBytes);
+		assertThat(HyperLogLog.fromBytes(large.toBytes()).estimate()).isEqualTo(large.estimate());
+	}
+
+	private static String companyName(int i) {
+		return "company " + i + " labs";
+	}
+}
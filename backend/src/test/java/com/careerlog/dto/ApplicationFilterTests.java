@@ -0,0 +1,41 @@
+package com.careerlog.dto;
+
+import com.careerlog.exception.BadRequestException;
+import com.careerlog.model.Activity.ActivityType;
+import com.careerlog.model.Application.ApplicationStatus;
+import com.careerlog.tags.TagMatch;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ApplicationFilterTests {
+
+	@Test
+	void filtersSelectingTheSameRowsAreEqual() {
+		ApplicationFilter filter = new ApplicationFilter(" Acme ", Set.of(ApplicationStatus.OFFER, ApplicationStatus.APPLIED),
+				null, null, "Remote", "", Set.of(ActivityType.PHONE_SCREEN), Set.of(), Set.of("React", "java"), null);
+		ApplicationFilter same = new ApplicationFilter("acme", Set.of(ApplicationStatus.APPLIED, ApplicationStatus.OFFER),
+				null, null, " remote", null, Set.of(ActivityType.PHONE_SCREEN), null, Set.of("Java", "reactjs"),
+				TagMatch.ALL);
+
+		assertThat(filter).isEqualTo(same).hasSameHashCodeAs(same);
+		assertThat(filter.source()).isNull();
+		assertThat(filter.tags()).containsExactly("java", "react");
+	}
+
+	@Test
+	void emptyFilterIsNone() {
+		assertThat(new ApplicationFilter("  ", Set.of(), null, null, null, null, null, null, Set.of(), TagMatch.ANY))
+				.isEqualTo(ApplicationFilter.NONE);
+	}
+
+	@Test
+	void invertedDateRangeIsRejected() {
+		assertThatExceptionOfType(BadRequestException.class).isThrownBy(() -> new ApplicationFilter(null, null,
+				LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1), null, null, null, null, null, null));
+	}
+}
@@ -0,0 +1,79 @@
+package com.careerlog.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventStreamServiceTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private EventStreamService service;
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void stalledStreamIsDroppedWithoutHoldingUpOthers() throws Exception {
+		EventStreamProperties properties = new EventStreamProperties();
+		properties.setWriterThreads(1);
+		properties.setSendTimeout(Duration.ofMillis(100));
+		service = new EventStreamService(properties, meterRegistry);
+
+		// Takes the only writer thread and keeps it until released, like a client that stopped reading
+		TestEmitter slow = new TestEmitter(new CountDownLatch(1));
+		service.subscribe("slow", slow);
+		assertThat(slow.sending.await(5, TimeUnit.SECONDS)).isTrue();
+		TestEmitter fast = new TestEmitter(null);
+		service.subscribe("fast", fast);
+
+		Thread.sleep(200);
+		service.dropStalledStreams();
+
+		assertThat(fast.sent.await(5, TimeUnit.SECONDS)).as("fast stream served").isTrue();
+		assertThat(meterRegistry.get("careerlog.events.stalled").counter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("careerlog.events.connections").gauge().value()).isEqualTo(1);
+
+		slow.release.countDown();
+		assertThat(slow.completed.await(5, TimeUnit.SECONDS)).as("slow stream closed").isTrue();
+	}
+
+	private static final class TestEmitter extends SseEmitter {
+
+		private final CountDownLatch release;
+		private final CountDownLatch sending = new CountDownLatch(1);
+		private final CountDownLatch sent = new CountDownLatch(1);
+		private final CountDownLatch completed = new CountDownLatch(1);
+
+		TestEmitter(CountDownLatch release) {
+			this.release = release;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			sending.countDown();
+			if (release != null) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					throw new IOException(e);
+				}
+			}
+			sent.countDown();
+		}
+
+		@Override
+		public void complete() {
+			completed.countDown();
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package com.careerlog.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestRateLimiterTests {
+
+	@Test
+	void idleUsersAreEvictedAndBusyOnesKept() {
+		RateLimitProperties.Group group = new RateLimitProperties.Group();
+		group.setPaths(List.of("/**"));
+		group.setRequestsPerSecond(1_000_000);
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.getGroups().put("api", group);
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		RequestRateLimiter limiter = new RequestRateLimiter(properties, meterRegistry);
+
+		RequestRateLimiter.Decision busy = limiter.tryAcquire("busy", "/applications");
+		limiter.tryAcquire("idle", "/applications").release().run();
+		// A refill of one token takes a microsecond at this rate
+		long deadline = System.nanoTime() + 1_000_000;
+		while (System.nanoTime() < deadline) {
+			Thread.onSpinWait();
+		}
+		limiter.evictIdleUsers();
+
+		assertThat(meterRegistry.get("careerlog.ratelimit.tracked.users").gauge().value()).isEqualTo(1);
+		busy.release().run();
+		limiter.evictIdleUsers();
+		assertThat(meterRegistry.get("careerlog.ratelimit.tracked.users").gauge().value()).isZero();
+	}
+
+	@Test
+	void concurrencyRejectionLeavesTheTokenUnspent() {
+		RateLimitProperties.Group group = new RateLimitProperties.Group();
+		group.setPaths(List.of("/**"));
+		group.setRequestsPerSecond(0.001);
+		group.setBurst(2);
+		group.setMaxInFlight(1);
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.getGroups().put("api", group);
+		RequestRateLimiter limiter = new RequestRateLimiter(properties, new SimpleMeterRegistry());
+
+		RequestRateLimiter.Decision first = limiter.tryAcquire("user", "/applications");
+		RequestRateLimiter.Decision second = limiter.tryAcquire("user", "/applications");
+		first.release().run();
+		RequestRateLimiter.Decision third = limiter.tryAcquire("user", "/applications");
+
+		assertThat(first.allowed()).isTrue();
+		assertThat(second.rejectedFor()).isEqualTo(RequestRateLimiter.Reason.CONCURRENCY);
+		assertThat(third.allowed()).isTrue();
+	}
+}
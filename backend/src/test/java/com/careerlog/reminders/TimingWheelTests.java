@@ -0,0 +1,62 @@
+package com.careerlog.reminders;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTests {
+
+	@Test
+	void timeoutsFireOnTheirTickAcrossLevels() {
+		// 4 slots per level, so these deadlines span three levels
+		TimingWheel wheel = new TimingWheel(10, 4, 1_000);
+		Random random = new Random(42);
+		List<long[]> fired = new ArrayList<>();
+		for (long key = 0; key < 500; key++) {
+			wheel.schedule(key, 1_000 + random.nextInt(5_000));
+		}
+
+		for (long now = 1_000; now <= 6_100; now += 7) {
+			long at = now;
+			wheel.advance(now, (key, deadline) -> fired.add(new long[]{key, deadline, at}));
+		}
+
+		assertThat(fired).hasSize(500);
+		for (long[] timeout : fired) {
+			// Never early, and no later than the next tick and advance step after the deadline
+			assertThat(timeout[2]).isBetween(timeout[1], timeout[1] + 10 + 7);
+		}
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void cancelledAndRescheduledKeysFireOnceAtTheirLatestDeadline() {
+		TimingWheel wheel = new TimingWheel(1_000, 8, 0);
+		wheel.schedule(1, 5_000);
+		wheel.schedule(2, 90_000);
+		wheel.schedule(3, 20_000);
+		wheel.schedule(3, 3_000);
+		assertThat(wheel.cancel(2)).isTrue();
+		assertThat(wheel.cancel(2)).isFalse();
+
+		List<Long> fired = new ArrayList<>();
+		wheel.advance(4_000, (key, deadline) -> fired.add(key));
+		assertThat(fired).containsExactly(3L);
+		wheel.advance(100_000, (key, deadline) -> fired.add(key));
+		assertThat(fired).containsExactly(3L, 1L);
+	}
+
+	@Test
+	void pastDeadlinesFireOnTheNextAdvance() {
+		TimingWheel wheel = new TimingWheel(1_000, 8, 10_000);
+		wheel.schedule(7, 2_000);
+
+		List<Long> fired = new ArrayList<>();
+		wheel.advance(10_000, (key, deadline) -> fired.add(key));
+		assertThat(fired).containsExactly(7L);
+	}
+}
@@ -0,0 +1,59 @@
+package com.careerlog.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttachmentIndexTests {
+
+	@Test
+	void matchesAttachmentsContainingEveryTermRankedByRelevance() {
+		AttachmentIndex index = new AttachmentIndex();
+		index.add(1, 10, "Resume: Kotlin and Java developer. Kotlin coroutines, Kotlin Multiplatform.");
+		index.add(2, 20, "Cover letter mentioning Java once, and Kotlin once, among many other words here.");
+		index.add(3, 30, "Resume: Python and Go developer.");
+
+		List<AttachmentIndex.Hit> hits = index.search(Set.of("kotlin", "java"), 10);
+
+		assertThat(hits).extracting(AttachmentIndex.Hit::attachmentId).containsExactly(1L, 2L);
+		assertThat(hits.get(0).applicationId()).isEqualTo(10);
+		assertThat(index.search(Set.of("kotlin", "rust"), 10)).isEmpty();
+	}
+
+	@Test
+	void keepsMatchingCorrectlyThroughRemovalsAndCompaction() {
+		AttachmentIndex index = new AttachmentIndex();
+		for (int i = 0; i < 200; i++) {
+			index.add(i, i % 3, (i % 2 == 0 ? "even " : "odd ") + "resume number" + i);
+		}
+		for (int i = 0; i < 150; i++) {
+			index.remove(i);
+		}
+		index.add(7, 1, "even again");
+		index.removeApplication(2);
+
+		List<AttachmentIndex.Hit> hits = index.search(Set.of("even"), 100);
+
+		assertThat(hits).extracting(AttachmentIndex.Hit::attachmentId)
+				.allMatch(id -> id == 7 || (id >= 150 && id % 2 == 0 && id % 3 != 2))
+				.contains(7L, 150L, 154L);
+		assertThat(index.search(Set.of("number160"), 10)).extracting(AttachmentIndex.Hit::attachmentId)
+				.containsExactly(160L);
+		assertThat(index.contains(3)).isFalse();
+	}
+
+	@Test
+	void cutsSnippetsAroundTheMatches() {
+		String text = "Intro paragraph. ".repeat(30) + "Senior Kotlin engineer building Android apps. "
+				+ "Filler text. ".repeat(30);
+
+		String snippet = AttachmentSearch.snippet(text, Tokenizer.terms("kotlin android"), 80);
+
+		assertThat(snippet).startsWith("…").endsWith("…").contains("Kotlin engineer building Android");
+		assertThat(snippet.length()).isLessThan(120);
+		assertThat(Tokenizer.terms("C++, C# and Node.js")).containsExactly("c++", "c#", "and", "node", "js");
+	}
+}
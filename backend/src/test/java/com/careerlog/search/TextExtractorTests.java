@@ -0,0 +1,69 @@
+package com.careerlog.search;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextExtractorTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void extractsPdfAndWordText() throws Exception {
+		Path pdf = directory.resolve("resume.pdf");
+		try (PDDocument document = new PDDocument()) {
+			PDPage page = new PDPage();
+			document.addPage(page);
+			try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+				content.beginText();
+				content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+				content.newLineAtOffset(72, 700);
+				content.showText("Kotlin developer with Spring experience");
+				content.endText();
+			}
+			document.save(pdf.toFile());
+		}
+		Path docx = directory.resolve("cover.docx");
+		try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(docx))) {
+			zip.putNextEntry(new ZipEntry("word/document.xml"));
+			zip.write(("<w:document xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\"><w:body>"
+					+ "<w:p><w:r><w:t>Dear hiring</w:t></w:r><w:r><w:t xml:space=\"preserve\"> manager,</w:t></w:r></w:p>"
+					+ "<w:p><w:r><w:t>I write</w:t><w:tab/><w:t>Kotlin.</w:t></w:r></w:p></w:body></w:document>")
+					.getBytes(StandardCharsets.UTF_8));
+			zip.closeEntry();
+		}
+
+		TextExtractor extractor = new TextExtractor(10_000);
+
+		assertThat(extractor.extract(TextExtractor.Format.PDF, pdf)).contains("Kotlin developer with Spring experience");
+		assertThat(extractor.extract(TextExtractor.Format.DOCX, docx)).isEqualTo("Dear hiring manager,\nI write Kotlin.\n");
+	}
+
+	@Test
+	void stopsAtTheCharacterLimit() throws Exception {
+		Path text = directory.resolve("notes.txt");
+		try (OutputStream out = Files.newOutputStream(text)) {
+			for (int i = 0; i < 10_000; i++) {
+				out.write("interview notes ".getBytes(StandardCharsets.UTF_8));
+			}
+		}
+
+		assertThat(new TextExtractor(100).extract(TextExtractor.Format.TEXT, text)).hasSize(100);
+		assertThat(TextExtractor.formatOf("application/octet-stream", "Resume.DOCX")).contains(TextExtractor.Format.DOCX);
+		assertThat(TextExtractor.formatOf("image/png", "photo.png")).isEmpty();
+	}
+}
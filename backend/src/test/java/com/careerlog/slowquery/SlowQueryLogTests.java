@@ -0,0 +1,64 @@
+package com.careerlog.slowquery;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Types;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryLogTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final SlowQueryLog slowQueryLog = new SlowQueryLog(properties(3), meterRegistry);
+
+	@AfterEach
+	void tearDown() {
+		slowQueryLog.close();
+	}
+
+	@Test
+	void fingerprintIgnoresLiteralsWhitespaceAndInListLength() {
+		String first = SlowQueryLog.fingerprint("SELECT * FROM job_applications  WHERE id IN (?, ?, ?)\n AND status = 'APPLIED' LIMIT 20");
+		String second = SlowQueryLog.fingerprint("select * from job_applications where id in (?,?) and status = 'it''s' limit 50");
+
+		assertThat(first).isEqualTo(second)
+				.isEqualTo("select * from job_applications where id in (?) and status = ? limit ?");
+	}
+
+	@Test
+	void reportGroupsByFingerprintSlowestTotalFirst() {
+		slowQueryLog.record("select * from activities where id = 1", List.of(), 300_000_000L, null);
+		slowQueryLog.record("select * from activities where id = 2", List.of(), 400_000_000L, null);
+		slowQueryLog.record("update activities set title = ? where id = ?",
+				List.of("call", new SlowQueryLog.NullParameter(Types.BIGINT)), 500_000_000L, null);
+
+		SlowQueryLog.Report report = slowQueryLog.report();
+
+		assertThat(report.recorded()).isEqualTo(3);
+		assertThat(report.fingerprints()).extracting(SlowQueryLog.FingerprintSummary::fingerprint)
+				.containsExactly("select * from activities where id = ?", "update activities set title = ? where id = ?");
+		assertThat(report.fingerprints().get(0).count()).isEqualTo(2);
+		assertThat(report.fingerprints().get(0).maxMillis()).isEqualTo(400.0);
+		assertThat(report.fingerprints().get(1).parameterShapes()).containsExactly("String, null");
+		assertThat(meterRegistry.get("careerlog.sql.slow").counter().count()).isEqualTo(3);
+	}
+
+	@Test
+	void bufferKeepsOnlyTheLatestStatements() {
+		for (int i = 0; i < 5; i++) {
+			slowQueryLog.record("select " + i + " from t" + i, List.of(), 250_000_000L, null);
+		}
+
+		assertThat(slowQueryLog.report().fingerprints()).extracting(SlowQueryLog.FingerprintSummary::fingerprint)
+				.containsExactlyInAnyOrder("select ? from t2", "select ? from t3", "select ? from t4");
+	}
+
+	private static SlowQueryProperties properties(int capacity) {
+		SlowQueryProperties properties = new SlowQueryProperties();
+		properties.setCapacity(capacity);
+		return properties;
+	}
+}
@@ -0,0 +1,116 @@
+package com.careerlog.smoke;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a packaged backend (the native binary or {@code java -jar}) as a child process and
+ * measures what the JVM/native comparison needs: time to the first healthy response and
+ * resident memory.
+ */
+class BackendProcess implements AutoCloseable {
+
+	private final Process process;
+	private final URI baseUri;
+	private final Path log;
+	private Duration timeToHealthy;
+
+	private BackendProcess(Process process, int port, Path log) {
+		this.process = process;
+		this.baseUri = URI.create("http://127.0.0.1:" + port + "/api");
+		this.log = log;
+	}
+
+	static BackendProcess start(List<String> command, Map<String, String> environment, Duration timeout)
+			throws IOException, InterruptedException {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		Path log = Files.createTempFile("careerlog-smoke-", ".log");
+		ProcessBuilder builder = new ProcessBuilder(command)
+				.redirectErrorStream(true)
+				.redirectOutput(log.toFile());
+		builder.environment().putAll(environment);
+		builder.environment().put("SERVER_PORT", Integer.toString(port));
+
+		long start = System.nanoTime();
+		BackendProcess backend = new BackendProcess(builder.start(), port, log);
+		backend.awaitHealthy(start, timeout);
+		return backend;
+	}
+
+	private void awaitHealthy(long start, Duration timeout) throws IOException, InterruptedException {
+		HttpClient client = HttpClient.newHttpClient();
+		HttpRequest health = HttpRequest.newBuilder(baseUri.resolve("/api/actuator/health"))
+				.timeout(Duration.ofSeconds(2))
+				.build();
+		while (System.nanoTime() - start < timeout.toNanos()) {
+			if (!process.isAlive()) {
+				throw new IllegalStateException("Backend exited with " + process.exitValue() + ":\n" + tail());
+			}
+			try {
+				if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+					timeToHealthy = Duration.ofNanos(System.nanoTime() - start);
+					return;
+				}
+			} catch (IOException e) {
+				// not listening yet
+			}
+			Thread.sleep(10);
+		}
+		close();
+		throw new IllegalStateException("Backend not healthy within " + timeout + ":\n" + tail());
+	}
+
+	URI baseUri() {
+		return baseUri;
+	}
+
+	Duration timeToHealthy() {
+		return timeToHealthy;
+	}
+
+	/** VmRSS of the process in KiB, or -1 where /proc is not available. */
+	long residentKiB() throws IOException {
+		Path status = Path.of("/proc", Long.toString(process.pid()), "status");
+		if (!Files.exists(status)) {
+			return -1;
+		}
+		return Files.readAllLines(status).stream()
+				.filter(line -> line.startsWith("VmRSS:"))
+				.map(line -> line.replaceAll("\\D", ""))
+				.mapToLong(Long::parseLong)
+				.findFirst()
+				.orElse(-1);
+	}
+
+	private String tail() throws IOException {
+		List<String> lines = Files.readAllLines(log);
+		return String.join("\n", lines.subList(Math.max(0, lines.size() - 40), lines.size()));
+	}
+
+	@Override
+	public void close() {
+		process.destroy();
+		try {
+			if (!process.waitFor(10, TimeUnit.SECONDS)) {
+				process.destroyForcibly();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			process.destroyForcibly();
+		}
+	}
+
+}
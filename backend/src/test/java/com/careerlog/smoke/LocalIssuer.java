@@ -0,0 +1,87 @@
+package com.careerlog.smoke;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * A minimal OpenID provider on localhost: discovery document plus JWKS, and RS256 tokens
+ * signed with its key. Lets the backend under test resolve its issuer and validate tokens
+ * exactly as it does against Entra ID, without network access.
+ */
+class LocalIssuer implements AutoCloseable {
+
+	private final HttpServer server;
+	private final RSAKey key;
+	private final String issuer;
+
+	LocalIssuer() throws IOException, JOSEException {
+		key = new RSAKeyGenerator(2048).keyID("smoke").generate();
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		issuer = "http://127.0.0.1:" + server.getAddress().getPort() + "/smoke/v2.0";
+
+		String discovery = "{\"issuer\":\"" + issuer + "\",\"jwks_uri\":\"" + issuer + "/keys\","
+				+ "\"id_token_signing_alg_values_supported\":[\"RS256\"],\"subject_types_supported\":[\"public\"]}";
+		String jwks = new JWKSet(key.toPublicJWK()).toString();
+		server.createContext("/smoke/v2.0/.well-known/openid-configuration", exchange -> respond(exchange, discovery));
+		server.createContext("/smoke/v2.0/keys", exchange -> respond(exchange, jwks));
+		server.start();
+	}
+
+	String issuer() {
+		return issuer;
+	}
+
+	String mint(String subject) throws JOSEException {
+		return mint(subject, new RSASSASigner(key));
+	}
+
+	/** A well-formed token the backend must reject: signed by a key it has never seen. */
+	String mintWithUnknownKey(String subject) throws JOSEException {
+		return mint(subject, new RSASSASigner(new RSAKeyGenerator(2048).generate()));
+	}
+
+	private String mint(String subject, RSASSASigner signer) throws JOSEException {
+		Instant now = Instant.now();
+		JWTClaimsSet claims = new JWTClaimsSet.Builder()
+				.subject(subject)
+				.issuer(issuer)
+				.issueTime(Date.from(now))
+				.expirationTime(Date.from(now.plus(Duration.ofHours(1))))
+				.build();
+		SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+		jwt.sign(signer);
+		return jwt.serialize();
+	}
+
+	private static void respond(HttpExchange exchange, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(200, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+
+}
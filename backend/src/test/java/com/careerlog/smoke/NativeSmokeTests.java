@@ -0,0 +1,199 @@
+package com.careerlog.smoke;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Smoke tests against a packaged backend, run as a separate process: the native binary from
+ * {@code mvn -Pnative native:compile}, or the executable jar for the JVM baseline.
+ * <pre>
+ * mvn test -Dtest=NativeSmokeTests -Dsmoke.command=target/careerlog-backend
+ * mvn test -Dtest=NativeSmokeTests -Dsmoke.command="java -jar target/careerlog-backend-0.0.1-SNAPSHOT-exec.jar" -Dsmoke.label=jvm
+ * </pre>
+ * They cover what native images typically lose to missing metadata: JPA entities and lazy
+ * associations, enum binding, Jackson (JSON and CBOR), and JWT validation against a JWKS
+ * endpoint. Startup time and RSS are written to {@code target/smoke/<label>.properties}
+ * for {@code scripts/native-vs-jvm.sh}.
+ */
+@EnabledIfSystemProperty(named = "smoke.command", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NativeSmokeTests {
+
+	private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(90);
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final HttpClient client = HttpClient.newHttpClient();
+	private final String user = "smoke-" + UUID.randomUUID();
+
+	private PostgreSQLContainer<?> postgres;
+	private LocalIssuer issuer;
+	private BackendProcess backend;
+	private String token;
+
+	@BeforeAll
+	void startBackend() throws Exception {
+		postgres = new PostgreSQLContainer<>("postgres:15");
+		postgres.start();
+		issuer = new LocalIssuer();
+		token = issuer.mint(user);
+
+		backend = BackendProcess.start(
+				Arrays.asList(System.getProperty("smoke.command").trim().split("\\s+")),
+				Map.of(
+						"SPRING_PROFILES_ACTIVE", System.getProperty("smoke.profiles", "native"),
+						"SPRING_DATASOURCE_URL", postgres.getJdbcUrl(),
+						"SPRING_DATASOURCE_USERNAME", postgres.getUsername(),
+						"SPRING_DATASOURCE_PASSWORD", postgres.getPassword(),
+						"AZURE_AD_ISSUER_URI", issuer.issuer(),
+						"CAREERLOG_RATE_LIMIT_ENABLED", "false",
+						"SPRING_JPA_SHOW_SQL", "false",
+						"LOGGING_LEVEL_COM_CAREERLOG", "INFO",
+						"LOGGING_LEVEL_ORG_SPRINGFRAMEWORK_SECURITY", "WARN"),
+				STARTUP_TIMEOUT);
+	}
+
+	@AfterAll
+	void stopBackend() throws IOException {
+		if (backend != null) {
+			writeReport();
+			backend.close();
+		}
+		if (issuer != null) {
+			issuer.close();
+		}
+		if (postgres != null) {
+			postgres.stop();
+		}
+	}
+
+	@Test
+	void healthIsUp() throws Exception {
+		HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/actuator/health")).GET());
+
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(json(response).path("status").asText()).isEqualTo("UP");
+	}
+
+	@Test
+	void requestsWithoutValidTokenAreRejected() throws Exception {
+		HttpResponse<String> anonymous = client.send(HttpRequest.newBuilder(uri("/applications")).GET().build(),
+				HttpResponse.BodyHandlers.ofString());
+		HttpResponse<String> forged = client.send(HttpRequest.newBuilder(uri("/applications"))
+						.header("Authorization", "Bearer " + issuer.mintWithUnknownKey(user)).GET().build(),
+				HttpResponse.BodyHandlers.ofString());
+
+		assertThat(anonymous.statusCode()).isEqualTo(401);
+		assertThat(forged.statusCode()).isEqualTo(401);
+	}
+
+	@Test
+	void applicationRoundTrip() throws Exception {
+		long id = createApplication("Native Corp", "TECHNICAL_INTERVIEW");
+
+		JsonNode full = json(send(HttpRequest.newBuilder(uri("/applications/" + id)).GET()));
+		JsonNode sparse = json(send(HttpRequest.newBuilder(uri("/applications/" + id + "?fields=id,status")).GET()));
+		JsonNode page = json(send(HttpRequest.newBuilder(uri("/applications?search=Native")).GET()));
+		HttpResponse<String> deleted = send(HttpRequest.newBuilder(uri("/applications/" + id)).DELETE());
+
+		assertThat(full.path("companyName").asText()).isEqualTo("Native Corp");
+		assertThat(full.path("status").asText()).isEqualTo("TECHNICAL_INTERVIEW");
+		assertThat(sparse.has("status")).isTrue();
+		assertThat(sparse.has("jobTitle")).isFalse();
+		assertThat(page.toString()).contains("Native Corp");
+		assertThat(deleted.statusCode()).isEqualTo(204);
+	}
+
+	@Test
+	void activitiesBindEnumsAndLazyApplication() throws Exception {
+		long applicationId = createApplication("Enum Labs", "PHONE_SCREEN");
+		String activity = "{\"application\":{\"id\":" + applicationId + "},\"type\":\"PHONE_SCREEN\","
+				+ "\"dateTime\":\"" + LocalDate.now() + "T10:30:00\",\"notes\":\"smoke\"}";
+
+		HttpResponse<String> created = send(HttpRequest.newBuilder(uri("/activities"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(activity)));
+		JsonNode listed = json(send(HttpRequest.newBuilder(uri("/activities/application/" + applicationId)).GET()));
+
+		assertThat(created.statusCode()).isEqualTo(200);
+		assertThat(listed.toString()).contains("PHONE_SCREEN").contains("Enum Labs");
+	}
+
+	@Test
+	void dashboardAggregatesAndCborNegotiation() throws Exception {
+		createApplication("Dashboard Inc", "OFFER");
+
+		JsonNode overview = json(send(HttpRequest.newBuilder(uri("/dashboard/overview")).GET()));
+		HttpResponse<byte[]> cbor = client.send(authorized(HttpRequest.newBuilder(uri("/applications")))
+				.header("Accept", "application/cbor").GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+
+		assertThat(overview.path("totalApplications").asLong()).isPositive();
+		assertThat(overview.path("applicationStatusBreakdown").path("Offer").asLong()).isPositive();
+		assertThat(cbor.statusCode()).isEqualTo(200);
+		assertThat(cbor.headers().firstValue("Content-Type")).hasValueSatisfying(
+				type -> assertThat(type).startsWith("application/cbor"));
+	}
+
+	private long createApplication(String company, String status) throws Exception {
+		String body = "{\"companyName\":\"" + company + "\",\"jobTitle\":\"Backend Engineer\","
+				+ "\"applicationDate\":\"" + LocalDate.now() + "\",\"status\":\"" + status + "\"}";
+		HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/applications"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body)));
+		assertThat(response.statusCode()).as(response.body()).isEqualTo(200);
+		return json(response).path("id").asLong();
+	}
+
+	private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+		return client.send(authorized(request).build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private HttpRequest.Builder authorized(HttpRequest.Builder request) {
+		return request.header("Authorization", "Bearer " + token).timeout(Duration.ofSeconds(30));
+	}
+
+	private URI uri(String path) {
+		return URI.create(backend.baseUri() + path);
+	}
+
+	private JsonNode json(HttpResponse<String> response) throws IOException {
+		return objectMapper.readTree(response.body());
+	}
+
+	private void writeReport() throws IOException {
+		String label = System.getProperty("smoke.label", "native");
+		Properties report = new Properties();
+		report.setProperty("label", label);
+		report.setProperty("timeToHealthyMillis", Long.toString(backend.timeToHealthy().toMillis()));
+		report.setProperty("rssKiB", Long.toString(backend.residentKiB()));
+
+		Path directory = Path.of("target", "smoke");
+		Files.createDirectories(directory);
+		try (Writer writer = Files.newBufferedWriter(directory.resolve(label + ".properties"))) {
+			report.store(writer, "NativeSmokeTests " + System.getProperty("smoke.command"));
+		}
+	}
+
+}
@@ -0,0 +1,122 @@
+package com.careerlog.sql;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatementBudgetFilterTests {
+
+	private static final String SELECT_ACTIVITIES = "select a1_0.id from activities a1_0 where a1_0.application_id=?";
+
+	private final StatementCountingInspector inspector = new StatementCountingInspector();
+	private final SqlBudgetProperties properties = new SqlBudgetProperties();
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		properties.setMode(SqlBudgetProperties.Mode.FAIL);
+		properties.setDefaultMaxStatements(10);
+		properties.setDefaultMaxRepeats(3);
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@Test
+	void requestWithinBudgetPassesAndIsRecorded() {
+		assertThatCode(() -> run("budgeted", 2, "select 1")).doesNotThrowAnyException();
+
+		assertThat(meterRegistry.get("careerlog.sql.statements").tag("uri", "/test").summary().totalAmount())
+				.isEqualTo(2);
+	}
+
+	@Test
+	void declaredBudgetIsEnforced() {
+		assertThatThrownBy(() -> run("budgeted", 3, "select 1"))
+				.isInstanceOf(StatementBudgetExceededException.class)
+				.hasMessageContaining("3 statements (budget 2)");
+	}
+
+	@Test
+	void repeatedShapeIsReportedAsNPlusOne() {
+		assertThatThrownBy(() -> run("unbudgeted", 4, SELECT_ACTIVITIES))
+				.isInstanceOf(StatementBudgetExceededException.class)
+				.hasMessageContaining("likely N+1")
+				.hasMessageContaining(SELECT_ACTIVITIES);
+	}
+
+	@Test
+	void budgetIsEnforcedBeforeTheBodyIsCommitted() {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		assertThatThrownBy(() -> run("budgeted", 3, "select 1", response, "{\"ok\":true}"))
+				.isInstanceOf(StatementBudgetExceededException.class);
+
+		// Still uncommitted, so the error handling that follows replaces the buffered body
+		assertThat(response.isCommitted()).isFalse();
+	}
+
+	@Test
+	void inListsOfDifferentLengthShareAShape() {
+		assertThat(RequestStatements.shapeOf("select * from t where id in (?, ?)"))
+				.isEqualTo(RequestStatements.shapeOf("select * from t where id in (?,?,?,?)"));
+	}
+
+	@Test
+	void logModeDoesNotFailTheRequest() {
+		properties.setMode(SqlBudgetProperties.Mode.LOG);
+
+		assertThatCode(() -> run("budgeted", 5, SELECT_ACTIVITIES)).doesNotThrowAnyException();
+	}
+
+	@Test
+	void headersReportStatementCount() throws Exception {
+		properties.setResponseHeader(true);
+
+		MockHttpServletResponse response = run("unbudgeted", 2, "select 1");
+
+		assertThat(response.getHeader(StatementBudgetFilter.COUNT_HEADER)).isEqualTo("2");
+		assertThat(response.getHeader(StatementBudgetFilter.SERVER_TIMING_HEADER)).startsWith("db;dur=");
+	}
+
+	private MockHttpServletResponse run(String handler, int statements, String sql) throws Exception {
+		return run(handler, statements, sql, new MockHttpServletResponse(), null);
+	}
+
+	private MockHttpServletResponse run(String handler, int statements, String sql, MockHttpServletResponse response,
+										String body) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/test");
+		HandlerMethod handlerMethod = new HandlerMethod(new Handlers(), Handlers.class.getMethod(handler));
+		FilterChain chain = (req, res) -> {
+			req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/test");
+			req.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handlerMethod);
+			for (int i = 0; i < statements; i++) {
+				inspector.inspect(sql);
+			}
+			if (body != null) {
+				res.getWriter().write(body);
+				res.flushBuffer();
+			}
+		};
+
+		new StatementBudgetFilter(properties, meterRegistry).doFilter(request, response, chain);
+		return response;
+	}
+
+	static class Handlers {
+
+		@StatementBudget(max = 2)
+		public void budgeted() {
+		}
+
+		public void unbudgeted() {
+		}
+	}
+}
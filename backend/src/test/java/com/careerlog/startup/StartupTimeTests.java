@@ -0,0 +1,63 @@
+package com.careerlog.startup;
+
+import com.careerlog.CareerLogApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards cold start: time from launching the application until {@code /actuator/health}
+ * first answers 200, under the {@code fast-start} profile. The target can be raised on
+ * slow CI machines with {@code -Dstartup.target=PT40S}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class StartupTimeTests {
+
+	private static final Duration TARGET = Duration.parse(System.getProperty("startup.target", "PT20S"));
+
+	@Container
+	static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+	@Test
+	void firstHealthyResponseWithinTarget() throws Exception {
+		HttpClient client = HttpClient.newHttpClient();
+		long start = System.nanoTime();
+
+		try (ConfigurableApplicationContext context = CareerLogApplication.createApplication().run(
+				"--server.port=0",
+				"--spring.profiles.active=fast-start",
+				"--spring.datasource.url=" + postgres.getJdbcUrl(),
+				"--spring.datasource.username=" + postgres.getUsername(),
+				"--spring.datasource.password=" + postgres.getPassword())) {
+
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/actuator/health"))
+					.timeout(Duration.ofSeconds(5))
+					.build();
+
+			int status = 0;
+			while (status != 200 && System.nanoTime() - start < TARGET.toNanos() * 2) {
+				status = client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode();
+				if (status != 200) {
+					Thread.sleep(50);
+				}
+			}
+			Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+			assertThat(status).isEqualTo(200);
+			assertThat(elapsed).as("time to first healthy response").isLessThan(TARGET);
+		}
+	}
+
+}
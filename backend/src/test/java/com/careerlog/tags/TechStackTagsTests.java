@@ -0,0 +1,40 @@
+package com.careerlog.tags;
+
+import com.careerlog.model.Application.ApplicationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TechStackTagsTests {
+
+	@Test
+	void entriesAreNormalizedAndDeduplicated() {
+		assertThat(TechStackTags.parse(" Java, Spring  Boot; ReactJS | js\nC++, C#, .NET, springboot, JAVA."))
+				.containsExactly("java", "spring boot", "react", "javascript", "c++", "c#", ".net");
+	}
+
+	@Test
+	void blankAndOverlongEntriesAreDropped() {
+		assertThat(TechStackTags.parse(null)).isEmpty();
+		assertThat(TechStackTags.parse(" , ;; - ,")).isEmpty();
+		assertThat(TechStackTags.parse("go, " + "x".repeat(51))).containsExactly("go");
+	}
+
+	@Test
+	void indexMatchesAllOrAnyOfTheTags() {
+		UserTagIndex index = new UserTagIndex(List.of(
+				new Object[]{1L, ApplicationStatus.OFFER, 10},
+				new Object[]{1L, ApplicationStatus.OFFER, 20},
+				new Object[]{2L, ApplicationStatus.APPLIED, 10},
+				new Object[]{3L, ApplicationStatus.APPLIED, 30},
+				new Object[]{4L, ApplicationStatus.REJECTED, null}));
+
+		assertThat(index.applications().toArray()).containsExactly(1, 2, 3, 4);
+		assertThat(index.offers().toArray()).containsExactly(1);
+		assertThat(index.matching(List.of(10, 20), TagMatch.ALL).toArray()).containsExactly(1);
+		assertThat(index.matching(List.of(20, 30), TagMatch.ANY).toArray()).containsExactly(1, 3);
+		assertThat(index.matching(List.of(10, 99), TagMatch.ALL).toArray()).isEmpty();
+	}
+}
@@ -0,0 +1,110 @@
+package com.careerlog.uploads;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalUploadStorageTests {
+
+	private static final byte[] CONTENT = "%PDF-1.7 resume".getBytes(StandardCharsets.UTF_8);
+
+	@TempDir
+	Path directory;
+
+	private LocalUploadStorage storage;
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@BeforeEach
+	void setUp() {
+		UploadProperties properties = new UploadProperties();
+		properties.getLocal().setDirectory(directory.toString());
+		storage = new LocalUploadStorage(properties);
+	}
+
+	@AfterEach
+	void tearDown() {
+		storage.close();
+	}
+
+	@Test
+	void acceptsASignedUploadAndReportsWhatArrived() throws Exception {
+		URI url = storage.signUpload("1/slot/resume.pdf", Instant.now().plusSeconds(60));
+
+		assertThat(put(url, md5(CONTENT))).isEqualTo(201);
+
+		UploadStorage.StoredBlob blob = storage.stat("1/slot/resume.pdf").orElseThrow();
+		assertThat(blob.sizeBytes()).isEqualTo(CONTENT.length);
+		assertThat(Base64.getEncoder().encodeToString(blob.md5())).isEqualTo(md5(CONTENT));
+		storage.delete("1/slot/resume.pdf");
+		assertThat(storage.stat("1/slot/resume.pdf")).isEmpty();
+	}
+
+	@Test
+	void refusesExpiredOrTamperedUrls() throws Exception {
+		URI expired = storage.signUpload("1/slot/resume.pdf", Instant.now().minusSeconds(1));
+		URI valid = storage.signUpload("1/slot/resume.pdf", Instant.now().plusSeconds(60));
+		URI otherPath = URI.create(valid.toString().replace("resume.pdf", "other.pdf"));
+
+		assertThat(put(expired, md5(CONTENT))).isEqualTo(403);
+		assertThat(put(otherPath, md5(CONTENT))).isEqualTo(403);
+		assertThat(storage.stat("1/slot/other.pdf")).isEmpty();
+	}
+
+	@Test
+	void rejectsABodyNotMatchingItsDigest() throws Exception {
+		URI url = storage.signUpload("1/slot/resume.pdf", Instant.now().plusSeconds(60));
+
+		assertThat(put(url, md5("something else".getBytes(StandardCharsets.UTF_8)))).isEqualTo(400);
+		assertThat(storage.stat("1/slot/resume.pdf")).isEmpty();
+	}
+
+	@Test
+	void uploadsAfterACopyLeaveTheCopyAlone() throws Exception {
+		URI url = storage.signUpload("1/slot/resume.pdf", Instant.now().plusSeconds(60));
+		assertThat(put(url, md5(CONTENT))).isEqualTo(201);
+
+		// What finalizing does before the attachment is created
+		UploadStorage.StoredBlob copied = storage.copy("1/slot/resume.pdf", "1/attached/resume.pdf").orElseThrow();
+		assertThat(copied.sizeBytes()).isEqualTo(CONTENT.length);
+		assertThat(Base64.getEncoder().encodeToString(copied.md5())).isEqualTo(md5(CONTENT));
+		assertThat(storage.copy("1/other/resume.pdf", "1/attached/other.pdf")).isEmpty();
+		byte[] replacement = "%PDF-1.7 something else".getBytes(StandardCharsets.UTF_8);
+		assertThat(put(url, replacement, md5(replacement))).isEqualTo(201);
+
+		try (InputStream in = storage.open(storage.blobUrl("1/attached/resume.pdf")).orElseThrow()) {
+			assertThat(in.readAllBytes()).isEqualTo(CONTENT);
+		}
+		assertThat(storage.stat("1/slot/resume.pdf").orElseThrow().sizeBytes()).isEqualTo(replacement.length);
+	}
+
+	private int put(URI url, String md5) throws Exception {
+		return put(url, CONTENT, md5);
+	}
+
+	private int put(URI url, byte[] content, String md5) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(url)
+				.header("x-ms-blob-type", "BlockBlob")
+				.header("Content-MD5", md5)
+				.PUT(HttpRequest.BodyPublishers.ofByteArray(content))
+				.build();
+		return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	private static String md5(byte[] content) throws Exception {
+		return Base64.getEncoder().encodeToString(MessageDigest.getInstance("MD5").digest(content));
+	}
+}
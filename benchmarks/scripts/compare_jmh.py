@@ -0,0 +1,85 @@
+#!/usr/bin/env python3
+"""Compare two JMH JSON result files and flag regressions.
+
+A benchmark regresses when it is worse than the baseline by more than the threshold
+(relative) and by more than the two runs' combined score error, so noisy results are
+not reported. Exits with status 1 if anything regressed.
+
+    compare_jmh.py baseline/jmh-baseline.json target/jmh-result.json --threshold 0.10
+"""
+import argparse
+import json
+import sys
+
+# Modes where a lower score is better; throughput ("thrpt") is the only higher-is-better mode.
+LOWER_IS_BETTER = {"avgt", "sample", "ss"}
+
+
+def load(path):
+    with open(path) as f:
+        results = json.load(f)
+    by_key = {}
+    for result in results:
+        params = result.get("params") or {}
+        label = result["benchmark"].rsplit(".", 2)[-2] + "." + result["benchmark"].rsplit(".", 1)[-1]
+        if params:
+            label += " [" + ", ".join(f"{k}={v}" for k, v in sorted(params.items())) + "]"
+        by_key[(result["benchmark"], result["mode"], tuple(sorted(params.items())))] = (label, result)
+    return by_key
+
+
+def error(metric):
+    value = metric.get("scoreError")
+    return 0.0 if value in (None, "NaN") or value != value else float(value)
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=0.10,
+                        help="relative change treated as a regression (default 0.10 = 10%%)")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+
+    rows = []
+    regressions = 0
+    for key, (label, result) in sorted(current.items(), key=lambda item: item[1][0]):
+        if key not in baseline:
+            rows.append((label, "-", fmt(result["primaryMetric"]), "-", "new"))
+            continue
+        old = baseline[key][1]["primaryMetric"]
+        new = result["primaryMetric"]
+        change = (new["score"] - old["score"]) / old["score"] if old["score"] else 0.0
+        worse = change if key[1] in LOWER_IS_BETTER else -change
+        significant = abs(new["score"] - old["score"]) > error(old) + error(new)
+        if worse > args.threshold and significant:
+            status = "REGRESSION"
+            regressions += 1
+        elif worse < -args.threshold and significant:
+            status = "improved"
+        else:
+            status = "ok"
+        rows.append((label, fmt(old), fmt(new), f"{change:+.1%}", status))
+
+    for key, (label, result) in baseline.items():
+        if key not in current:
+            rows.append((label, fmt(result["primaryMetric"]), "-", "-", "missing"))
+
+    print("| Benchmark | Baseline | Current | Change | Status |")
+    print("|-----------|----------|---------|--------|--------|")
+    for row in rows:
+        print("| " + " | ".join(row) + " |")
+    print()
+    print(f"{regressions} regression(s) beyond {args.threshold:.0%}")
+    return 1 if regressions else 0
+
+
+def fmt(metric):
+    return f"{metric['score']:.3f} ± {error(metric):.3f} {metric['scoreUnit']}"
+
+
+if __name__ == "__main__":
+    sys.exit(main())
@@ -0,0 +1,33 @@
+#!/usr/bin/env bash
+# Runs the JMH suites, writes target/jmh-result.json and compares it with the stored baseline.
+#
+#   benchmarks/scripts/run-jmh.sh                       # all benchmarks
+#   benchmarks/scripts/run-jmh.sh BreakdownMapping      # JMH include regex
+#   UPDATE_BASELINE=1 benchmarks/scripts/run-jmh.sh     # accept the results as the new baseline
+#
+# Extra JMH options can be passed through JMH_OPTS, e.g. JMH_OPTS="-f 3 -t 4".
+set -euo pipefail
+
+MODULE_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$MODULE_DIR/target/benchmarks.jar"
+RESULT="$MODULE_DIR/target/jmh-result.json"
+BASELINE="$MODULE_DIR/baseline/jmh-baseline.json"
+THRESHOLD="${THRESHOLD:-0.10}"
+
+if [[ ! -f "$JAR" ]]; then
+  echo "Missing $JAR; build it with: mvn -B package -f $MODULE_DIR/pom.xml" >&2
+  exit 2
+fi
+
+# shellcheck disable=SC2086
+java -jar "$JAR" ${JMH_OPTS:-} -rf json -rff "$RESULT" "$@"
+
+if [[ "${UPDATE_BASELINE:-0}" == "1" ]]; then
+  mkdir -p "$(dirname "$BASELINE")"
+  cp "$RESULT" "$BASELINE"
+  echo "Baseline updated: $BASELINE"
+elif [[ -f "$BASELINE" ]]; then
+  python3 "$MODULE_DIR/scripts/compare_jmh.py" "$BASELINE" "$RESULT" --threshold "$THRESHOLD"
+else
+  echo "No baseline at $BASELINE; rerun with UPDATE_BASELINE=1 to record one."
+fi
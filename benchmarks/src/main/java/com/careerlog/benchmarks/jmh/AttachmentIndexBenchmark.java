@@ -0,0 +1,94 @@
+package com.careerlog.benchmarks.jmh;
+
+import com.careerlog.benchmarks.support.SampleData;
+import com.careerlog.search.AttachmentIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Indexing and searching one user's attachments in {@link AttachmentIndex}, for resume-sized
+ * texts and for texts at the default {@code max-chars} limit. {@code add} indexes one more
+ * document into an index already holding the user's others; {@code search} runs a two-term
+ * query over them.
+ * <p>
+ * The memory the index retains is printed once per trial, measured as the heap in use after
+ * a full GC with and without it. It is an estimate, but close enough to size
+ * {@code max-cached-users}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AttachmentIndexBenchmark {
+
+    private static final int DISTINCT_TEXTS = 8;
+
+    /** resume: 200 documents of 20,000 characters; report: 20 of 1,000,000. */
+    @Param({"resume", "report"})
+    public String document;
+
+    private String[] texts;
+    private AttachmentIndex index;
+    private long nextAttachmentId;
+    private final Set<String> query = Set.of("kotlin", "spring");
+
+    @Setup
+    public void setUp() {
+        int chars = document.equals("resume") ? 20_000 : 1_000_000;
+        int documents = document.equals("resume") ? 200 : 20;
+        texts = new String[DISTINCT_TEXTS];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = SampleData.documentText(chars, i);
+        }
+
+        long before = usedHeap();
+        index = new AttachmentIndex();
+        for (int i = 0; i < documents; i++) {
+            // Each document built, indexed and dropped, so only the index stays reachable
+            index.add(i, i / 4, SampleData.documentText(chars, 1_000 + i));
+        }
+        long retained = usedHeap() - before;
+        nextAttachmentId = documents;
+        System.out.printf("%n%s: %d documents of %d characters, %d terms, about %d KB retained "
+                        + "(%.2f bytes per character indexed); query matches %d%n", document, documents, chars,
+                index.termCount(), retained / 1024, (double) retained / ((long) documents * chars),
+                index.search(query, Integer.MAX_VALUE).size());
+    }
+
+    @Benchmark
+    public AttachmentIndex add() {
+        long attachmentId = nextAttachmentId++;
+        index.add(attachmentId, attachmentId, texts[(int) (attachmentId % DISTINCT_TEXTS)]);
+        // Keep the size steady across iterations
+        index.remove(attachmentId);
+        return index;
+    }
+
+    @Benchmark
+    public List<AttachmentIndex.Hit> search() {
+        return index.search(query, 20);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,136 @@
+package com.careerlog.benchmarks.jmh;
+
+import com.careerlog.analytics.Granularity;
+import com.careerlog.analytics.TimeSeriesAnalytics;
+import com.careerlog.analytics.TimeSeriesProperties;
+import com.careerlog.benchmarks.support.RepositoryStubs;
+import com.careerlog.benchmarks.support.SampleData;
+import com.careerlog.distinct.DistinctProperties;
+import com.careerlog.distinct.DistinctSketches;
+import com.careerlog.dto.TimeSeriesResponse;
+import com.careerlog.model.Application;
+import com.careerlog.repository.ActivityRepository;
+import com.careerlog.repository.ApplicationRepository;
+import com.careerlog.repository.ApplicationTagRepository;
+import com.careerlog.repository.AttachmentRepository;
+import com.careerlog.repository.DistinctSketchRepository;
+import com.careerlog.repository.StatusTransitionRepository;
+import com.careerlog.repository.TagRepository;
+import com.careerlog.service.ActivityService;
+import com.careerlog.service.ApplicationService;
+import com.careerlog.service.AttachmentService;
+import com.careerlog.tags.ApplicationTagger;
+import com.careerlog.tags.TagDictionary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The service-side mapping of aggregate query rows: the {@code Object[]} casts and
+ * {@code Collectors.toMap} in the status and activity-type breakdowns, and the in-memory
+ * {@code groupingBy} over every attachment entity in the attachment breakdown. The weekly
+ * count is summed from daily buckets already loaded into {@code TimeSeriesAnalytics}.
+ * Repositories are stubs, so only the Java work after the query is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BreakdownMappingBenchmark {
+
+    private static final String USER_ID = "benchmark-user";
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 12, 29);
+
+    private ApplicationService applicationService;
+    private ActivityService activityService;
+
+    @Setup
+    public void setUp() {
+        applicationService = new ApplicationService(RepositoryStubs.stub(ApplicationRepository.class, Map.of(
+                "getApplicationStatusBreakdown", SampleData.statusBreakdownRows())),
+                RepositoryStubs.stub(StatusTransitionRepository.class, Map.of()),
+                new ApplicationTagger(new TagDictionary(RepositoryStubs.stub(TagRepository.class, Map.of())),
+                        RepositoryStubs.stub(ApplicationTagRepository.class, Map.of())),
+                new DistinctSketches(RepositoryStubs.stub(DistinctSketchRepository.class, Map.of()),
+                        new DistinctProperties()), event -> { });
+        activityService = new ActivityService(RepositoryStubs.stub(ActivityRepository.class, Map.of(
+                "getActivityTypeBreakdown", SampleData.activityTypeRows())), event -> { });
+    }
+
+    @State(Scope.Benchmark)
+    public static class WeeklyRows {
+
+        /** Weeks of history in the weekly breakdown. */
+        @Param({"12", "52"})
+        public int weeks;
+
+        private TimeSeriesAnalytics timeSeriesAnalytics;
+
+        @Setup
+        public void setUp() {
+            timeSeriesAnalytics = new TimeSeriesAnalytics(
+                    RepositoryStubs.stub(ApplicationRepository.class, Map.of(
+                            "countByUserIdPerApplicationDate", SampleData.dailyApplicationRows(weeks * 7, END))),
+                    RepositoryStubs.stub(ActivityRepository.class, Map.of()),
+                    new TimeSeriesProperties(), new SimpleMeterRegistry());
+            // Loads the daily buckets, which later calls only sum
+            timeSeriesAnalytics.getSeries(USER_ID, TimeSeriesAnalytics.Series.APPLICATIONS, null, START, END,
+                    Granularity.WEEK);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class OwnedAttachments {
+
+        /** Applications owned by the user; each carries two attachments. */
+        @Param({"50", "500"})
+        public int applications;
+
+        private AttachmentService attachmentService;
+
+        @Setup
+        public void setUp() {
+            List<Application> owned = SampleData.applications(applications, 0, 2);
+            attachmentService = new AttachmentService(RepositoryStubs.stub(AttachmentRepository.class, Map.of(
+                    "findByUserIdOrderByUploadedAtDesc", SampleData.attachments(owned))), event -> { });
+        }
+    }
+
+    @Benchmark
+    public Map<String, Long> statusBreakdown() {
+        return applicationService.getApplicationStatusBreakdown(USER_ID);
+    }
+
+    @Benchmark
+    public TimeSeriesResponse applicationsPerWeek(WeeklyRows state) {
+        return state.timeSeriesAnalytics.getSeries(USER_ID, TimeSeriesAnalytics.Series.APPLICATIONS, null,
+                END.minusWeeks(state.weeks), END, Granularity.WEEK);
+    }
+
+    @Benchmark
+    public Map<String, Long> activityTypeBreakdown() {
+        return activityService.getActivityTypeBreakdown(USER_ID);
+    }
+
+    @Benchmark
+    public Map<String, Long> attachmentTypeBreakdown(OwnedAttachments state) {
+        return state.attachmentService.getAttachmentTypeBreakdown(USER_ID);
+    }
+}
@@ -0,0 +1,141 @@
+package com.careerlog.benchmarks.jmh;
+
+import com.careerlog.analytics.FunnelAnalytics;
+import com.careerlog.analytics.FunnelProperties;
+import com.careerlog.analytics.TimeSeriesAnalytics;
+import com.careerlog.analytics.TimeSeriesProperties;
+import com.careerlog.benchmarks.support.RepositoryStubs;
+import com.careerlog.benchmarks.support.SampleData;
+import com.careerlog.controller.DashboardController;
+import com.careerlog.distinct.DistinctCounts;
+import com.careerlog.distinct.DistinctProperties;
+import com.careerlog.distinct.DistinctSketches;
+import com.careerlog.dto.ActivityTrendsResponse;
+import com.careerlog.dto.DashboardOverviewResponse;
+import com.careerlog.dto.StatusSummaryResponse;
+import com.careerlog.followup.FollowUpSuggestions;
+import com.careerlog.model.Activity;
+import com.careerlog.model.Application;
+import com.careerlog.repository.ActivityRepository;
+import com.careerlog.repository.ApplicationRepository;
+import com.careerlog.repository.ApplicationTagRepository;
+import com.careerlog.repository.AttachmentRepository;
+import com.careerlog.repository.DistinctSketchRepository;
+import com.careerlog.repository.FollowUpSuggestionRepository;
+import com.careerlog.repository.StatusTransitionRepository;
+import com.careerlog.repository.TagRepository;
+import com.careerlog.service.ActivityService;
+import com.careerlog.service.ApplicationService;
+import com.careerlog.service.AttachmentService;
+import com.careerlog.tags.ApplicationTagger;
+import com.careerlog.tags.TagDictionary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code DashboardController} endpoints end to end over stubbed repositories: the
+ * service breakdowns, the {@code RecentActivityResponse} mapping and the response records.
+ * {@code activities} is the user's total, which matters because the recent-activity
+ * lookup still loads every activity before taking the first ten.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardMappingBenchmark {
+
+    @Param({"100", "2000"})
+    public int activities;
+
+    private DashboardController controller;
+    private Jwt jwt;
+
+    @Setup
+    public void setUp() {
+        List<Application> owned = SampleData.applications(Math.max(1, activities / 5), 5, 2);
+        List<Activity> newestFirst = SampleData.activities(owned).stream()
+                .sorted(Comparator.comparing(Activity::getDateTime).reversed())
+                .toList();
+
+        StatusTransitionRepository transitionRepository = RepositoryStubs.stub(StatusTransitionRepository.class,
+                Map.of("findByUserIdAndIdGreaterThanOrderById", List.of()));
+        DistinctSketchRepository distinctSketchRepository = RepositoryStubs.stub(DistinctSketchRepository.class,
+                Map.of());
+        DistinctSketches distinctSketches = new DistinctSketches(distinctSketchRepository, new DistinctProperties());
+        ApplicationService applicationService = new ApplicationService(
+                RepositoryStubs.stub(ApplicationRepository.class, Map.of(
+                        "countByUserIdAndApplicationDateAfter", (long) owned.size(),
+                        "getApplicationStatusBreakdown", SampleData.statusBreakdownRows())),
+                transitionRepository,
+                new ApplicationTagger(new TagDictionary(RepositoryStubs.stub(TagRepository.class, Map.of())),
+                        RepositoryStubs.stub(ApplicationTagRepository.class, Map.of())),
+                distinctSketches, event -> { });
+        ActivityService activityService = new ActivityService(
+                RepositoryStubs.stub(ActivityRepository.class, Map.of(
+                        "findByUserIdOrderByDateTimeDesc", newestFirst,
+                        "getActivityTypeBreakdown", SampleData.activityTypeRows())),
+                event -> { });
+        AttachmentService attachmentService = new AttachmentService(
+                RepositoryStubs.stub(AttachmentRepository.class, Map.of(
+                        "findByUserIdOrderByUploadedAtDesc", SampleData.attachments(owned))),
+                event -> { });
+
+        FunnelAnalytics funnelAnalytics = new FunnelAnalytics(transitionRepository, new FunnelProperties(),
+                new SimpleMeterRegistry());
+        TimeSeriesAnalytics timeSeriesAnalytics = new TimeSeriesAnalytics(
+                RepositoryStubs.stub(ApplicationRepository.class, Map.of(
+                        "countByUserIdPerApplicationDate", SampleData.dailyApplicationRows(84, LocalDate.now()))),
+                RepositoryStubs.stub(ActivityRepository.class, Map.of()),
+                new TimeSeriesProperties(), new SimpleMeterRegistry());
+
+        FollowUpSuggestions followUpSuggestions = new FollowUpSuggestions(
+                RepositoryStubs.stub(FollowUpSuggestionRepository.class, Map.of()));
+        DistinctCounts distinctCounts = new DistinctCounts(distinctSketchRepository, distinctSketches,
+                new DistinctProperties());
+
+        controller = new DashboardController(applicationService, activityService, attachmentService, funnelAnalytics,
+                timeSeriesAnalytics, followUpSuggestions, distinctCounts);
+        jwt = Jwt.withTokenValue("benchmark")
+                .header("alg", "none")
+                .subject("benchmark-user")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+    }
+
+    @Benchmark
+    public ResponseEntity<DashboardOverviewResponse> overview() {
+        return controller.getDashboardOverview(jwt);
+    }
+
+    @Benchmark
+    public ResponseEntity<StatusSummaryResponse> statusSummary() {
+        return controller.getStatusSummary(jwt);
+    }
+
+    @Benchmark
+    public ResponseEntity<ActivityTrendsResponse> activityTrends() {
+        return controller.getActivityTrends(30, jwt);
+    }
+}
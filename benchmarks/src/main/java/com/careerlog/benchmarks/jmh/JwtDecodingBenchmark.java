@@ -0,0 +1,111 @@
+package com.careerlog.benchmarks.jmh;
+
+import com.careerlog.benchmarks.support.LocalJwt;
+import com.careerlog.config.SecurityConfig;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request bearer token cost: signature verification, claim parsing and validation
+ * in the decoder, then {@code SecurityConfig}'s authentication converter.
+ * <p>
+ * {@code RS256} mirrors production: Entra ID signs with RSA and {@code SecurityConfig}
+ * validates issuer and timestamps. {@code HS256} is what the load tests mint locally, so
+ * the gap shows how much cheaper auth is in those runs than in production.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtDecodingBenchmark {
+
+    private static final String ISSUER = "https://login.microsoftonline.com/benchmark-tenant/v2.0";
+
+    @Param({"RS256", "HS256"})
+    public String algorithm;
+
+    private JwtDecoder decoder;
+    private JwtAuthenticationConverter converter;
+    private String token;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException, JOSEException {
+        if (algorithm.equals("RS256")) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair keyPair = generator.generateKeyPair();
+
+            NimbusJwtDecoder rsaDecoder = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build();
+            // NimbusJwtDecoder.withIssuerLocation installs the same validators
+            rsaDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(ISSUER));
+            decoder = rsaDecoder;
+            token = rsaToken(keyPair);
+        } else {
+            decoder = LocalJwt.decoder();
+            token = LocalJwt.mint("benchmark-user", List.of("User"));
+        }
+        converter = new SecurityConfig().jwtAuthenticationConverter();
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return decoder.decode(token);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken decodeAndConvert() {
+        return converter.convert(decoder.decode(token));
+    }
+
+    private static String rsaToken(KeyPair keyPair) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("benchmark-user")
+                .issuer(ISSUER)
+                .audience("api://careerlog")
+                .issueTime(Date.from(now))
+                .notBeforeTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(Duration.ofHours(8))))
+                .claim("roles", List.of("User"))
+                .claim("name", "Benchmark User")
+                .claim("preferred_username", "benchmark.user@example.com")
+                .claim("tid", "benchmark-tenant")
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("benchmark").build(), claims);
+        jwt.sign(new RSASSASigner(keyPair.getPrivate()));
+        return jwt.serialize();
+    }
+}
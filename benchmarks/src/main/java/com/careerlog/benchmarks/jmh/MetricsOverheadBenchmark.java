@@ -0,0 +1,128 @@
+package com.careerlog.benchmarks.jmh;
+
+import com.careerlog.benchmarks.support.RepositoryStubs;
+import com.careerlog.benchmarks.support.SampleData;
+import com.careerlog.distinct.DistinctProperties;
+import com.careerlog.distinct.DistinctSketches;
+import com.careerlog.metrics.ServiceMetricsAspect;
+import com.careerlog.model.Application;
+import com.careerlog.repository.ApplicationRepository;
+import com.careerlog.repository.ApplicationTagRepository;
+import com.careerlog.repository.DistinctSketchRepository;
+import com.careerlog.repository.StatusTransitionRepository;
+import com.careerlog.repository.TagRepository;
+import com.careerlog.service.ApplicationService;
+import com.careerlog.tags.ApplicationTagger;
+import com.careerlog.tags.TagDictionary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the service timing aspect on a cheap service method
+ * ({@code ApplicationService.getApplicationById} over an in-memory repository stub).
+ * <p>
+ * {@code direct} is the bare call, {@code proxyOnly} adds a Spring AOP proxy with a
+ * pass-through advice, and {@code timed} is the production aspect recording into a
+ * Prometheus registry with percentile histograms enabled. The difference between the
+ * last two is what the metrics themselves cost; a real service call adds at least one
+ * database round trip, which is orders of magnitude larger. Run with {@code -t 8} to
+ * see contended recording.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    private static final String USER_ID = "benchmark-user";
+
+    private PrometheusMeterRegistry registry;
+    private ApplicationService direct;
+    private ApplicationService proxyOnly;
+    private ApplicationService timed;
+
+    @Setup
+    public void setUp() {
+        Application application = SampleData.applications(1, 0, 0).get(0);
+        direct = new ApplicationService(
+                RepositoryStubs.stub(ApplicationRepository.class, Map.of("findById", Optional.of(application))),
+                RepositoryStubs.stub(StatusTransitionRepository.class, Map.of()),
+                new ApplicationTagger(new TagDictionary(RepositoryStubs.stub(TagRepository.class, Map.of())),
+                        RepositoryStubs.stub(ApplicationTagRepository.class, Map.of())),
+                new DistinctSketches(RepositoryStubs.stub(DistinctSketchRepository.class, Map.of()),
+                        new DistinctProperties()), event -> { });
+
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                // mirrors management.metrics.distribution.percentiles-histogram in application.yml
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+
+        proxyOnly = proxy(new PassThroughAspect());
+        timed = proxy(new ServiceMetricsAspect(registry));
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.close();
+    }
+
+    @Benchmark
+    public Application direct() {
+        return direct.getApplicationById(1L, USER_ID);
+    }
+
+    @Benchmark
+    public Application proxyOnly() {
+        return proxyOnly.getApplicationById(1L, USER_ID);
+    }
+
+    @Benchmark
+    public Application timed() {
+        return timed.getApplicationById(1L, USER_ID);
+    }
+
+    private ApplicationService proxy(Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(direct);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    /** Same pointcut as {@link ServiceMetricsAspect}, without recording anything. */
+    @Aspect
+    public static class PassThroughAspect {
+
+        @Around("within(com.careerlog.service..*) && execution(public * *(..))")
+        public Object proceed(ProceedingJoinPoint joinPoint) throws Throwable {
+            return joinPoint.proceed();
+        }
+    }
+}
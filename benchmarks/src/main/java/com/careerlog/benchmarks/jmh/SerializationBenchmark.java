@@ -0,0 +1,75 @@
+package com.careerlog.benchmarks.jmh;
+
+import com.careerlog.benchmarks.support.ObjectMappers;
+import com.careerlog.benchmarks.support.SampleData;
+import com.careerlog.dto.ApplicationField;
+import com.careerlog.dto.ApplicationResponse;
+import com.careerlog.dto.PageResponse;
+import com.careerlog.dto.SparseFields;
+import com.careerlog.model.Application;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a page of {@code Application} entities (what the controllers returned before)
+ * against mapping to {@link ApplicationResponse} and serializing the list-view field set.
+ * Payload sizes for each path are printed once per trial.
+ * <p>
+ * This measures CPU and bytes only. The DTO path in production additionally selects fewer
+ * columns and never touches the lazy collections, which this in-memory setup cannot show.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter listViewWriter;
+    private Page<Application> entityPage;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = ObjectMappers.json();
+        listViewWriter = objectMapper.writer(SparseFields.filtersFor(ApplicationField.LIST_VIEW));
+        entityPage = SampleData.applicationPage(pageSize, 500);
+
+        System.out.printf("%npageSize=%d bytes: entity=%d dto(all fields)=%d dto(list view)=%d%n",
+                pageSize, entityPage().length, dtoPageAllFields().length, dtoPageListView().length);
+    }
+
+    @Benchmark
+    public byte[] entityPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entityPage);
+    }
+
+    @Benchmark
+    public byte[] dtoPageAllFields() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(PageResponse.from(entityPage.map(ApplicationResponse::from)));
+    }
+
+    @Benchmark
+    public byte[] dtoPageListView() throws JsonProcessingException {
+        return listViewWriter.writeValueAsBytes(PageResponse.from(entityPage.map(ApplicationResponse::from)));
+    }
+}
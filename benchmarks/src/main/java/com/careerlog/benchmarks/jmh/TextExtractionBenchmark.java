@@ -0,0 +1,149 @@
+package com.careerlog.benchmarks.jmh;
+
+import com.careerlog.benchmarks.support.SampleData;
+import com.careerlog.search.TextExtractor;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Time for an extraction worker to turn a downloaded attachment into text, per format, for a
+ * resume-sized document and for one at the default {@code max-chars} limit. The file size and
+ * the characters extracted are printed once per trial, so throughput in MB/s follows from the
+ * score. Run with {@code -prof gc} for the allocation per document.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextExtractionBenchmark {
+
+    private static final int LINE_LENGTH = 90;
+    private static final int LINES_PER_PAGE = 50;
+
+    @Param({"txt", "docx", "pdf"})
+    public String format;
+
+    /** resume: 20,000 characters, a few pages; report: 1,000,000, the default max-chars. */
+    @Param({"resume", "report"})
+    public String document;
+
+    private Path file;
+    private TextExtractor.Format extractFormat;
+    private TextExtractor extractor;
+
+    @Setup
+    public void setUp() throws IOException {
+        String text = SampleData.documentText(document.equals("resume") ? 20_000 : 1_000_000, 42);
+        file = Files.createTempFile("careerlog-extraction-", "." + format);
+        extractFormat = switch (format) {
+            case "txt" -> {
+                Files.writeString(file, text);
+                yield TextExtractor.Format.TEXT;
+            }
+            case "docx" -> {
+                writeDocx(text, file);
+                yield TextExtractor.Format.DOCX;
+            }
+            case "pdf" -> {
+                writePdf(text, file);
+                yield TextExtractor.Format.PDF;
+            }
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        extractor = new TextExtractor(1_000_000);
+        System.out.printf("%n%s / %s: %d bytes, %d characters extracted%n", format, document, Files.size(file),
+                extract().length());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public String extract() throws IOException {
+        return extractor.extract(extractFormat, file);
+    }
+
+    private static void writeDocx(String text, Path file) throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+            zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+            zip.write(("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                    + "<Override PartName=\"/word/document.xml\" ContentType=\"application/"
+                    + "vnd.openxmlformats-officedocument.wordprocessingml.document.main+xml\"/></Types>")
+                    .getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            OutputStream out = zip;
+            out.write("<w:document xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\"><w:body>"
+                    .getBytes(StandardCharsets.UTF_8));
+            for (String paragraph : text.split("\n")) {
+                out.write(("<w:p><w:r><w:t xml:space=\"preserve\">" + paragraph.replace("&", "&amp;")
+                        .replace("<", "&lt;") + "</w:t></w:r></w:p>").getBytes(StandardCharsets.UTF_8));
+            }
+            out.write("</w:body></w:document>".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+    }
+
+    private static void writePdf(String text, Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String paragraph : text.split("\n")) {
+            StringBuilder line = new StringBuilder();
+            for (String word : paragraph.split(" ")) {
+                if (line.length() + word.length() + 1 > LINE_LENGTH) {
+                    lines.add(line.toString());
+                    line.setLength(0);
+                }
+                line.append(word).append(' ');
+            }
+            lines.add(line.toString());
+        }
+        PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        try (PDDocument pdf = new PDDocument()) {
+            for (int start = 0; start < lines.size(); start += LINES_PER_PAGE) {
+                PDPage page = new PDPage();
+                pdf.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(pdf, page)) {
+                    content.beginText();
+                    content.setFont(font, 10);
+                    content.setLeading(14);
+                    content.newLineAtOffset(50, 740);
+                    for (String line : lines.subList(start, Math.min(lines.size(), start + LINES_PER_PAGE))) {
+                        content.showText(line);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            pdf.save(file.toFile());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.careerlog.benchmarks.jmh;
+
+import com.careerlog.benchmarks.support.ObjectMappers;
+import com.careerlog.benchmarks.support.SampleData;
+import com.careerlog.dto.ActivityResponse;
+import com.careerlog.dto.ApplicationField;
+import com.careerlog.dto.ApplicationResponse;
+import com.careerlog.dto.PageResponse;
+import com.careerlog.dto.SparseFields;
+import com.careerlog.model.Application;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization CPU per negotiated wire format, on the payloads the SPA and the reporting
+ * jobs actually pull. {@code json-gzip} includes the gzip pass Tomcat applies to JSON bodies
+ * over {@code server.compression.min-response-size}. Bytes on the wire per format and payload
+ * are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    @Param({"json", "json-gzip", "cbor", "smile"})
+    public String format;
+
+    /** applications-page: list view page of 50; applications-export: 1000 full rows; activities-export: 3000 activities. */
+    @Param({"applications-page", "applications-export", "activities-export"})
+    public String payload;
+
+    private ObjectWriter writer;
+    private Object body;
+    private boolean gzip;
+
+    @Setup
+    public void setUp() throws IOException {
+        writer = switch (format) {
+            case "json", "json-gzip" -> ObjectMappers.json().writer();
+            case "cbor" -> ObjectMappers.cbor().writer();
+            case "smile" -> ObjectMappers.smile().writer();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        gzip = format.equals("json-gzip");
+
+        switch (payload) {
+            case "applications-page" -> {
+                List<Application> applications = SampleData.applications(50, 0, 0);
+                body = PageResponse.from(new PageImpl<>(applications, PageRequest.of(0, 50), 500)
+                        .map(ApplicationResponse::from));
+                writer = writer.with(SparseFields.filtersFor(ApplicationField.LIST_VIEW));
+            }
+            case "applications-export" -> body = SampleData.applications(1000, 0, 0).stream()
+                    .map(ApplicationResponse::from)
+                    .toList();
+            case "activities-export" -> body = SampleData.applications(1000, 3, 0).stream()
+                    .flatMap(application -> application.getActivities().stream())
+                    .map(ActivityResponse::from)
+                    .toList();
+            default -> throw new IllegalArgumentException("Unknown payload " + payload);
+        }
+
+        System.out.printf("%n%s / %s: %d bytes on the wire%n", format, payload, serialize().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        if (!gzip) {
+            return writer.writeValueAsBytes(body);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            writer.writeValue(out, body);
+        }
+        return bytes.toByteArray();
+    }
+}
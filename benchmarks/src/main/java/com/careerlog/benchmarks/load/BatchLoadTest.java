@@ -0,0 +1,136 @@
+package com.careerlog.benchmarks.load;
+
+import com.careerlog.benchmarks.support.BackendInstance;
+import com.careerlog.benchmarks.support.DatabaseFixture;
+import com.careerlog.benchmarks.support.DatasetGenerator;
+import com.careerlog.benchmarks.support.LocalJwt;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Page load latency with the frontend's calls sent separately, all at once as a browser does,
+ * against the same calls in one {@code POST /batch}. Two pages: the dashboard (overview,
+ * applications per week, recent activities, status summary) and an application's detail
+ * (the application, its activities and its attachments).
+ * <p>
+ * Both runs share one backend and dataset. Before measuring, one batch per page is checked
+ * to return 200 for every call, since the batch itself succeeds either way.
+ * <p>
+ * Tunables (system properties): {@code clients}, {@code warmup}, {@code duration} (ISO-8601),
+ * {@code dbLatencyMillis}, plus the dataset shape read by
+ * {@link DatasetGenerator.Spec#fromSystemProperties()}.
+ */
+public class BatchLoadTest {
+
+    private static final String DASHBOARD = "dashboard";
+    private static final String DETAIL = "detail";
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("clients", 50);
+        Duration warmup = Duration.parse(System.getProperty("warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("duration", "PT30S"));
+        int dbLatencyMillis = Integer.getInteger("dbLatencyMillis", 1);
+        DatasetGenerator.Spec spec = DatasetGenerator.Spec.fromSystemProperties();
+
+        List<String> rows = new ArrayList<>();
+        DatasetGenerator.Dataset dataset;
+        try (DatabaseFixture database = new DatabaseFixture(Duration.ofMillis(dbLatencyMillis));
+             BackendInstance backend = BackendInstance.start(database, Map.of())) {
+            // Seeded after startup because Hibernate creates the schema
+            try (Connection connection = database.directConnection()) {
+                dataset = new DatasetGenerator(spec).seed(connection, "batch-user-");
+            }
+            List<DatasetGenerator.SeededUser> users = dataset.users().stream()
+                    .filter(user -> user.applicationIds().length > 0)
+                    .toList();
+            List<String> tokens = users.stream().map(user -> LocalJwt.mint(user.userId())).toList();
+            checkBatches(backend.baseUri(), users.get(0), tokens.get(0));
+
+            for (boolean batched : List.of(false, true)) {
+                String run = batched ? "batched" : "separate";
+                System.out.printf("Running '%s' with %d clients for %s after %s warmup%n", run, clients, duration,
+                        warmup);
+                LoadResult result = new ClosedLoopDriver().runPages(clients, warmup, duration, () -> {
+                    int user = ThreadLocalRandom.current().nextInt(users.size());
+                    return nextPage(backend.baseUri(), users.get(user), tokens.get(user), batched);
+                });
+                for (String label : List.of(DASHBOARD, DETAIL)) {
+                    rows.add(String.format("| %-8s | %-9s | %8.1f | %7.1f | %7.1f | %6d |", run, label,
+                            result.throughput(label), LoadResult.millis(result.byLabel().get(label), 50),
+                            LoadResult.millis(result.byLabel().get(label), 99), result.errors(label)));
+                }
+            }
+        }
+
+        System.out.printf("%nDataset: %s%n", dataset.summary());
+        System.out.printf("%d clients, DB round trip %d ms, measured %s%n%n", clients, dbLatencyMillis, duration);
+        System.out.println("| run      | page      | pages/s  | p50 ms  | p99 ms  | errors |");
+        System.out.println("|----------|-----------|----------|---------|---------|--------|");
+        rows.forEach(System.out::println);
+    }
+
+    private static List<String> calls(String page, DatasetGenerator.SeededUser user) {
+        if (page.equals(DASHBOARD)) {
+            return List.of("/dashboard/overview", "/dashboard/applications-per-week?weeks=12",
+                    "/dashboard/recent-activities?limit=10", "/dashboard/analytics/status-summary");
+        }
+        long id = user.applicationIds()[ThreadLocalRandom.current().nextInt(user.applicationIds().length)];
+        return List.of("/applications/" + id, "/activities/application/" + id, "/attachments/application/" + id);
+    }
+
+    private static LabeledPage nextPage(URI baseUri, DatasetGenerator.SeededUser user, String token, boolean batched) {
+        String page = ThreadLocalRandom.current().nextBoolean() ? DASHBOARD : DETAIL;
+        List<String> calls = calls(page, user);
+        if (batched) {
+            return new LabeledPage(page, List.of(batch(baseUri, token, calls)));
+        }
+        return new LabeledPage(page, calls.stream()
+                .map(path -> HttpRequest.newBuilder(URI.create(baseUri + path))
+                        .header("Authorization", "Bearer " + token)
+                        .timeout(Duration.ofSeconds(60))
+                        .GET()
+                        .build())
+                .toList());
+    }
+
+    private static HttpRequest batch(URI baseUri, String token, List<String> paths) {
+        String body = paths.stream()
+                .map(path -> "{\"method\":\"GET\",\"path\":\"" + path + "\"}")
+                .collect(Collectors.joining(",", "{\"requests\":[", "]}"));
+        return HttpRequest.newBuilder(URI.create(baseUri + "/batch"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static void checkBatches(URI baseUri, DatasetGenerator.SeededUser user, String token) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        for (String page : List.of(DASHBOARD, DETAIL)) {
+            HttpResponse<String> response = client.send(batch(baseUri, token, calls(page, user)),
+                    HttpResponse.BodyHandlers.ofString());
+            boolean failed = response.statusCode() != 200;
+            if (!failed) {
+                for (JsonNode call : new ObjectMapper().readTree(response.body()).get("responses")) {
+                    failed |= call.get("status").asInt() != 200;
+                }
+            }
+            if (failed) {
+                throw new IllegalStateException("Batch for the " + page + " page failed: " + response.body());
+            }
+        }
+    }
+}
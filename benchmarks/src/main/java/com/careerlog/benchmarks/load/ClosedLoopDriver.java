@@ -0,0 +1,136 @@
+package com.careerlog.benchmarks.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop load: each simulated client sends its next request as soon as the previous
+ * one completes, so offered load scales with the client count and back-pressure from the
+ * server shows up as latency. Clients are virtual threads, so 2000 of them are cheap and the
+ * driver itself is never the bottleneck. A client can also send a page's worth of requests at
+ * once ({@link #runPages}); the page counts as one sample, failed if any of its requests did.
+ */
+@Slf4j
+public class ClosedLoopDriver {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = Duration.ofMinutes(2).toNanos() / 1000;
+
+    private final HttpClient httpClient;
+
+    public ClosedLoopDriver() {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public LoadResult run(int clients, Duration warmup, Duration duration, Supplier<LabeledRequest> requests)
+            throws InterruptedException {
+        return runPages(clients, warmup, duration, () -> LabeledPage.of(requests.get()));
+    }
+
+    public LoadResult runPages(int clients, Duration warmup, Duration duration, Supplier<LabeledPage> pages)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+
+        List<Future<ClientStats>> futures = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> runClient(pages, measureFrom, measureUntil)));
+            }
+        }
+
+        Histogram overall = newHistogram();
+        Map<String, Histogram> byLabel = new HashMap<>();
+        Map<String, Long> errorsByLabel = new HashMap<>();
+        long errors = 0;
+        for (Future<ClientStats> future : futures) {
+            ClientStats stats;
+            try {
+                stats = future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Load client failed", e.getCause());
+            }
+            errors += stats.errors;
+            stats.errorsByLabel.forEach((label, count) -> errorsByLabel.merge(label, count, Long::sum));
+            stats.byLabel.forEach((label, histogram) -> {
+                overall.add(histogram);
+                byLabel.computeIfAbsent(label, l -> newHistogram()).add(histogram);
+            });
+        }
+        return new LoadResult(clients, duration, errors, overall, byLabel, errorsByLabel);
+    }
+
+    private ClientStats runClient(Supplier<LabeledPage> pages, long measureFrom, long measureUntil) {
+        ClientStats stats = new ClientStats();
+        while (true) {
+            long sent = System.nanoTime();
+            if (sent >= measureUntil) {
+                return stats;
+            }
+            LabeledPage next = pages.get();
+            boolean ok;
+            try {
+                ok = send(next.requests());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return stats;
+            } catch (Exception e) {
+                ok = false;
+            }
+            long completed = System.nanoTime();
+            if (sent < measureFrom || completed > measureUntil) {
+                continue;
+            }
+            if (ok) {
+                long micros = Math.min((completed - sent) / 1000, HIGHEST_TRACKABLE_MICROS);
+                stats.byLabel.computeIfAbsent(next.label(), l -> newHistogram()).recordValue(micros);
+            } else {
+                stats.errors++;
+                stats.errorsByLabel.merge(next.label(), 1L, Long::sum);
+            }
+        }
+    }
+
+    private boolean send(List<HttpRequest> requests) throws Exception {
+        if (requests.size() == 1) {
+            return httpClient.send(requests.get(0), HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+        }
+        List<CompletableFuture<HttpResponse<Void>>> responses = requests.stream()
+                .map(request -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()))
+                .toList();
+        boolean ok = true;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            ok &= response.get().statusCode() < 400;
+        }
+        return ok;
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    }
+
+    private static final class ClientStats {
+        private final Map<String, Histogram> byLabel = new HashMap<>();
+        private final Map<String, Long> errorsByLabel = new HashMap<>();
+        private long errors;
+    }
+}
@@ -0,0 +1,172 @@
+package com.careerlog.benchmarks.load;
+
+import com.careerlog.benchmarks.support.BackendInstance;
+import com.careerlog.benchmarks.support.DatabaseFixture;
+import com.careerlog.benchmarks.support.DatasetGenerator;
+import com.careerlog.distinct.DistinctCounts;
+import com.careerlog.distinct.DistinctSketchBackfill;
+import com.careerlog.dto.DistinctCountResponse;
+import com.careerlog.model.Application;
+import com.careerlog.model.DistinctSketch;
+import com.careerlog.service.ApplicationService;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Checks the distinct company and source estimates against exact
+ * {@code COUNT(DISTINCT LOWER(...))} counts on the synthetic dataset: per user and across all
+ * users, over the whole history and per month. The seeded applications are sketched by the
+ * backfill, and a few more per user are added through the application service, so both ways
+ * in are covered.
+ * <p>
+ * Every estimate should be within three relative standard errors of the exact count (or off
+ * by at most one); the run fails when more than 1% of the estimates of any kind are not.
+ * <p>
+ * Tunables (system properties): {@code addedPerUser}, plus the dataset shape read by
+ * {@link DatasetGenerator.Spec#fromSystemProperties()}.
+ */
+public class DistinctCountAccuracyTest {
+
+    private static final double MAX_OUTSIDE_BOUND = 0.01;
+
+    public static void main(String[] args) throws Exception {
+        int addedPerUser = Integer.getInteger("addedPerUser", 5);
+        DatasetGenerator.Spec spec = DatasetGenerator.Spec.fromSystemProperties();
+        YearMonth to = YearMonth.now();
+        YearMonth from = YearMonth.from(LocalDate.now().minusDays(spec.historyDays()));
+
+        Map<String, Accuracy> results = new LinkedHashMap<>();
+        DatasetGenerator.Dataset dataset;
+        try (DatabaseFixture database = new DatabaseFixture(Duration.ZERO);
+             BackendInstance backend = BackendInstance.start(database, Map.of(
+                     "careerlog.distinct.backfill-on-startup", false))) {
+            // Seeded after startup because Hibernate creates the schema
+            try (Connection connection = database.directConnection()) {
+                dataset = new DatasetGenerator(spec).seed(connection, "distinct-user-");
+            }
+            int backfilled = backend.context().getBean(DistinctSketchBackfill.class).backfill();
+            System.out.printf("Backfilled sketches for %d users%n", backfilled);
+
+            ApplicationService applicationService = backend.context().getBean(ApplicationService.class);
+            for (DatasetGenerator.SeededUser user : dataset.users()) {
+                for (int i = 0; i < addedPerUser; i++) {
+                    applicationService.createApplication(Application.builder()
+                            .userId(user.userId())
+                            .companyName("Added Company " + i)
+                            .jobTitle("Software Engineer " + i)
+                            .applicationDate(LocalDate.now())
+                            .status(Application.ApplicationStatus.APPLIED)
+                            .source("Meetup " + (i % 2))
+                            .build());
+                }
+            }
+
+            DistinctCounts distinctCounts = backend.context().getBean(DistinctCounts.class);
+            try (Connection connection = database.directConnection()) {
+                for (DistinctSketch.Field field : DistinctSketch.Field.values()) {
+                    Map<String, Map<YearMonth, Long>> exact = exactCounts(connection, field, from, to);
+                    Accuracy total = results.computeIfAbsent("user, all months, " + field, k -> new Accuracy());
+                    Accuracy monthly = results.computeIfAbsent("user, per month, " + field, k -> new Accuracy());
+                    for (DatasetGenerator.SeededUser user : dataset.users()) {
+                        DistinctCountResponse estimate = distinctCounts.getUserCounts(user.userId(), field, from, to);
+                        Map<YearMonth, Long> userExact = exact.getOrDefault(user.userId(), Map.of());
+                        total.add(estimate.distinct(), userExact.getOrDefault(null, 0L),
+                                estimate.relativeStandardError());
+                        addMonths(monthly, estimate, userExact);
+                    }
+
+                    DistinctCountResponse estimate = distinctCounts.getPlatformCounts(field, from, to);
+                    Map<YearMonth, Long> platformExact = exact.get(null);
+                    results.computeIfAbsent("platform, all months, " + field, k -> new Accuracy())
+                            .add(estimate.distinct(), platformExact.getOrDefault(null, 0L),
+                                    estimate.relativeStandardError());
+                    addMonths(results.computeIfAbsent("platform, per month, " + field, k -> new Accuracy()),
+                            estimate, platformExact);
+                }
+            }
+        }
+
+        System.out.printf("%nDataset: %s, plus %d applications per user through the service%n",
+                dataset.summary(), addedPerUser);
+        System.out.printf("Months %s to %s%n%n", from, to);
+        System.out.println("| estimate                      | count  | max exact | mean error | max error | outside 3σ |");
+        System.out.println("|-------------------------------|--------|-----------|------------|-----------|------------|");
+        boolean failed = false;
+        for (Map.Entry<String, Accuracy> result : results.entrySet()) {
+            Accuracy accuracy = result.getValue();
+            System.out.printf("| %-29s | %6d | %9d | %9.2f%% | %8.2f%% | %10d |%n", result.getKey(), accuracy.count,
+                    accuracy.maxExact, 100 * accuracy.errorSum / Math.max(1, accuracy.count),
+                    100 * accuracy.maxError, accuracy.outsideBound);
+            failed |= accuracy.outsideBound > MAX_OUTSIDE_BOUND * accuracy.count;
+        }
+        if (failed) {
+            System.out.println("\nFAILED: more than 1% of some estimates are outside three standard errors");
+            System.exit(1);
+        }
+        System.out.println("\nAll estimates within bounds");
+    }
+
+    private static void addMonths(Accuracy accuracy, DistinctCountResponse estimate, Map<YearMonth, Long> exact) {
+        for (int i = 0; i < estimate.months().length; i++) {
+            accuracy.add(estimate.counts()[i], exact.getOrDefault(estimate.months()[i], 0L),
+                    estimate.relativeStandardError());
+        }
+    }
+
+    /**
+     * Exact distinct values by user and month; the null user holds the platform counts and the
+     * null month each user's count over the whole range.
+     */
+    private static Map<String, Map<YearMonth, Long>> exactCounts(Connection connection, DistinctSketch.Field field,
+                                                               YearMonth from, YearMonth to) throws SQLException {
+        String column = field == DistinctSketch.Field.COMPANY ? "company_name" : "source";
+        String value = "NULLIF(LOWER(TRIM(" + column + ")), '')";
+        String monthOf = "DATE_TRUNC('month', application_date)";
+        String sql = "SELECT user_id, CAST(" + monthOf + " AS DATE), COUNT(DISTINCT " + value + ") FROM applications "
+                + "WHERE application_date BETWEEN ? AND ? "
+                + "GROUP BY GROUPING SETS ((user_id, " + monthOf + "), (user_id), (" + monthOf + "), ())";
+        Map<String, Map<YearMonth, Long>> counts = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, from.atDay(1));
+            statement.setObject(2, to.atEndOfMonth());
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    LocalDate month = rows.getObject(2, LocalDate.class);
+                    counts.computeIfAbsent(rows.getString(1), k -> new HashMap<>())
+                            .put(month == null ? null : YearMonth.from(month), rows.getLong(3));
+                }
+            }
+        }
+        return counts;
+    }
+
+    private static final class Accuracy {
+
+        private int count;
+        private long maxExact;
+        private double errorSum;
+        private double maxError;
+        private int outsideBound;
+
+        void add(long estimate, long exact, double relativeStandardError) {
+            long difference = Math.abs(estimate - exact);
+            double error = exact == 0 ? difference : (double) difference / exact;
+            count++;
+            maxExact = Math.max(maxExact, exact);
+            errorSum += error;
+            maxError = Math.max(maxError, error);
+            if (difference > Math.max(1, 3 * relativeStandardError * exact)) {
+                outsideBound++;
+            }
+        }
+    }
+}
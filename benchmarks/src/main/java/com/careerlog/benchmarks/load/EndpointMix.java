@@ -0,0 +1,152 @@
+package com.careerlog.benchmarks.load;
+
+import com.careerlog.benchmarks.support.DatasetGenerator;
+import com.careerlog.benchmarks.support.LocalJwt;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The frontend's real calls against a {@link DatasetGenerator} dataset: picks a user (weighted
+ * by data volume) and an endpoint (weighted by the mix) per request.
+ */
+final class EndpointMix {
+
+    static final String DEFAULT_MIX = "list=35,search=15,detail=25,dashboard=15,create-activity=10";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    enum Endpoint {
+        LIST("list", "GET /applications"),
+        SEARCH("search", "GET /applications?search"),
+        DETAIL("detail", "GET /applications/{id}"),
+        DASHBOARD("dashboard", "GET /dashboard/overview"),
+        CREATE_ACTIVITY("create-activity", "POST /activities");
+
+        private final String key;
+        private final String label;
+
+        Endpoint(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+
+        String label() {
+            return label;
+        }
+
+        static Endpoint fromKey(String key) {
+            return Arrays.stream(values())
+                    .filter(endpoint -> endpoint.key.equals(key))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint in mix: " + key));
+        }
+    }
+
+    private final URI baseUri;
+    private final List<DatasetGenerator.SeededUser> users;
+    private final String[] tokens;
+    private final long[] cumulativeApplications;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    EndpointMix(URI baseUri, DatasetGenerator.Dataset dataset, Map<Endpoint, Integer> mix) {
+        this.baseUri = baseUri;
+        this.users = new ArrayList<>(dataset.users());
+        this.tokens = new String[users.size()];
+        this.cumulativeApplications = new long[users.size()];
+        long total = 0;
+        for (int i = 0; i < users.size(); i++) {
+            tokens[i] = LocalJwt.mint(users.get(i).userId());
+            total += users.get(i).applicationIds().length;
+            cumulativeApplications[i] = total;
+        }
+
+        this.endpoints = mix.keySet().toArray(Endpoint[]::new);
+        this.cumulativeWeights = new int[endpoints.length];
+        int weights = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            weights += mix.get(endpoints[i]);
+            cumulativeWeights[i] = weights;
+        }
+    }
+
+    /** Parses {@code list=35,search=15,...}, dropping endpoints with weight 0. */
+    static Map<Endpoint, Integer> parse(String mix) {
+        Map<Endpoint, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Endpoint.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no endpoints with positive weight: " + mix);
+        }
+        return weights;
+    }
+
+    LabeledRequest next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int userIndex = search(cumulativeApplications, random.nextLong(cumulativeApplications[users.size() - 1]));
+        DatasetGenerator.SeededUser user = users.get(userIndex);
+        Endpoint endpoint = endpoints[search(cumulativeWeights, random.nextInt(cumulativeWeights[endpoints.length - 1]))];
+        int application = random.nextInt(user.applicationIds().length);
+
+        HttpRequest.Builder request = switch (endpoint) {
+            case LIST -> {
+                int pages = Math.max(1, (user.applicationIds().length + 19) / 20);
+                // Most views are the first page; the rest spread over the remaining ones
+                int page = random.nextInt(4) == 0 ? random.nextInt(pages) : 0;
+                yield get("/applications?page=" + page + "&size=20");
+            }
+            case SEARCH -> {
+                String company = user.companies()[application];
+                String term = company.substring(0, company.indexOf(' '));
+                yield get("/applications?size=20&search=" + URLEncoder.encode(term, StandardCharsets.UTF_8));
+            }
+            case DETAIL -> get("/applications/" + user.applicationIds()[application]);
+            case DASHBOARD -> get("/dashboard/overview");
+            case CREATE_ACTIVITY -> HttpRequest.newBuilder(URI.create(baseUri + "/activities"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(activityJson(user.applicationIds()[application])));
+        };
+        return new LabeledRequest(endpoint.label, request
+                .header("Authorization", "Bearer " + tokens[userIndex])
+                .timeout(REQUEST_TIMEOUT)
+                .build());
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path)).GET();
+    }
+
+    private static String activityJson(long applicationId) {
+        LocalDateTime when = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES)
+                .plusDays(ThreadLocalRandom.current().nextInt(1, 14));
+        return "{\"application\":{\"id\":" + applicationId + "},\"type\":\"FOLLOW_UP_EMAIL\","
+                + "\"dateTime\":\"" + when + "\",\"notes\":\"Load test follow-up\"}";
+    }
+
+    /** Index of the first cumulative bucket greater than {@code value}. */
+    private static int search(long[] cumulative, long value) {
+        int index = Arrays.binarySearch(cumulative, value + 1);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static int search(int[] cumulative, int value) {
+        int index = Arrays.binarySearch(cumulative, value + 1);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,90 @@
+package com.careerlog.benchmarks.load;
+
+import com.careerlog.benchmarks.load.EndpointMix.Endpoint;
+import com.careerlog.benchmarks.support.BackendInstance;
+import com.careerlog.benchmarks.support.DatabaseFixture;
+import com.careerlog.benchmarks.support.DatasetGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Replays a weighted mix of the frontend's real calls against a production-shaped dataset.
+ * <p>
+ * The dataset comes from {@link DatasetGenerator}: a power-law number of applications per
+ * user, so a few heavy users dominate. Requests pick a user weighted by their application
+ * count, which is roughly how traffic follows data, then one endpoint from the mix:
+ * <ul>
+ *   <li>{@code list} — {@code GET /applications?page=..&size=20}</li>
+ *   <li>{@code search} — {@code GET /applications?search=<company>}</li>
+ *   <li>{@code detail} — {@code GET /applications/{id}} for one of the user's applications</li>
+ *   <li>{@code dashboard} — {@code GET /dashboard/overview}</li>
+ *   <li>{@code create-activity} — {@code POST /activities} on one of the user's applications</li>
+ * </ul>
+ * The report lists throughput and p50/p95/p99 per endpoint.
+ * <p>
+ * Tunables (system properties): {@code clients}, {@code warmup}, {@code duration} (ISO-8601),
+ * {@code mix} (e.g. {@code list=35,search=15,detail=25,dashboard=15,create-activity=10}),
+ * {@code poolSize}, {@code dbLatencyMillis}, plus the dataset shape read by
+ * {@link DatasetGenerator.Spec#fromSystemProperties()}.
+ */
+@Slf4j
+public class EndpointMixLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("clients", 100);
+        Duration warmup = Duration.parse(System.getProperty("warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("duration", "PT60S"));
+        int poolSize = Integer.getInteger("poolSize", 10);
+        int dbLatencyMillis = Integer.getInteger("dbLatencyMillis", 1);
+        Map<Endpoint, Integer> mix = EndpointMix.parse(System.getProperty("mix", EndpointMix.DEFAULT_MIX));
+        DatasetGenerator.Spec spec = DatasetGenerator.Spec.fromSystemProperties();
+
+        try (DatabaseFixture database = new DatabaseFixture(Duration.ofMillis(dbLatencyMillis));
+             BackendInstance backend = BackendInstance.start(database, Map.of(
+                     "spring.datasource.hikari.maximum-pool-size", poolSize,
+                     "careerlog.pool.adaptive", false))) {
+
+            // Seeded after startup because Hibernate creates the schema
+            DatasetGenerator.Dataset dataset;
+            try (Connection connection = database.directConnection()) {
+                dataset = new DatasetGenerator(spec).seed(connection, "mix-user-");
+            }
+            EndpointMix traffic = new EndpointMix(backend.baseUri(), dataset, mix);
+
+            log.info("Running {} clients for {} after {} warmup", clients, duration, warmup);
+            LoadResult result = new ClosedLoopDriver().run(clients, warmup, duration, traffic::next);
+            report(result, mix, dataset, spec, clients, poolSize, dbLatencyMillis);
+        }
+    }
+
+    private static void report(LoadResult result, Map<Endpoint, Integer> mix, DatasetGenerator.Dataset dataset,
+                               DatasetGenerator.Spec spec, int clients, int poolSize, int dbLatencyMillis) {
+        System.out.printf("%nDataset: %s (alpha %.2f, seed %d)%n", dataset.summary(), spec.alpha(), spec.seed());
+        System.out.printf("%d clients, pool size %d, DB round trip %d ms, measured %s%n%n",
+                clients, poolSize, dbLatencyMillis, result.measured());
+        System.out.println("| endpoint                   | weight | requests |   req/s  | p50 ms  | p95 ms  | p99 ms  | max ms   | errors |");
+        System.out.println("|----------------------------|--------|----------|----------|---------|---------|---------|----------|--------|");
+        for (Endpoint endpoint : mix.keySet()) {
+            Histogram histogram = result.byLabel().get(endpoint.label());
+            if (histogram == null) {
+                System.out.printf("| %-26s | %6d | %8d | %8s | %7s | %7s | %7s | %8s | %6d |%n",
+                        endpoint.label(), mix.get(endpoint), 0, "-", "-", "-", "-", "-", result.errors(endpoint.label()));
+                continue;
+            }
+            printRow(endpoint.label(), String.valueOf(mix.get(endpoint)), histogram,
+                    result.throughput(endpoint.label()), result.errors(endpoint.label()));
+        }
+        printRow("all", "", result.overall(), result.throughput(), result.errors());
+    }
+
+    private static void printRow(String label, String weight, Histogram histogram, double throughput, long errors) {
+        System.out.printf("| %-26s | %6s | %8d | %8.1f | %7.1f | %7.1f | %7.1f | %8.1f | %6d |%n",
+                label, weight, histogram.getTotalCount(), throughput,
+                LoadResult.millis(histogram, 50), LoadResult.millis(histogram, 95),
+                LoadResult.millis(histogram, 99), LoadResult.millis(histogram, 100), errors);
+    }
+}
@@ -0,0 +1,183 @@
+package com.careerlog.benchmarks.load;
+
+import com.careerlog.benchmarks.support.BackendInstance;
+import com.careerlog.benchmarks.support.DatabaseFixture;
+import com.careerlog.benchmarks.support.LocalJwt;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Platform vs virtual thread request execution under blocking JDBC.
+ * <p>
+ * Both modes run the real backend against PostgreSQL behind a fixed network latency with a
+ * deliberately small Hikari pool, so the pool is the bottleneck. With platform threads the
+ * 200 Tomcat workers cap concurrency and excess clients queue in the acceptor; with virtual
+ * threads every request gets a thread and queues on the pool instead. The report shows how
+ * that moves p50/p99 and throughput as clients grow.
+ * <p>
+ * Tunables (system properties): {@code clients} (comma separated), {@code warmup},
+ * {@code duration} (ISO-8601), {@code poolSize}, {@code dbLatencyMillis}, {@code users},
+ * {@code applicationsPerUser}.
+ */
+@Slf4j
+public class ExecutionModeLoadTest {
+
+    private static final String[] STATUSES =
+            {"APPLIED", "PHONE_SCREEN", "TECHNICAL_INTERVIEW", "FINAL_ROUND", "OFFER", "REJECTED"};
+    private static final String[] ACTIVITY_TYPES =
+            {"APPLICATION_SUBMITTED", "PHONE_SCREEN", "TECHNICAL_INTERVIEW", "FOLLOW_UP_EMAIL", "REJECTION"};
+
+    public static void main(String[] args) throws Exception {
+        int[] clientLevels = Arrays.stream(System.getProperty("clients", "100,250,500,1000,2000").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Duration warmup = Duration.parse(System.getProperty("warmup", "PT5S"));
+        Duration duration = Duration.parse(System.getProperty("duration", "PT20S"));
+        int poolSize = Integer.getInteger("poolSize", 10);
+        int dbLatencyMillis = Integer.getInteger("dbLatencyMillis", 2);
+        int users = Integer.getInteger("users", 50);
+        int applicationsPerUser = Integer.getInteger("applicationsPerUser", 100);
+
+        List<String> rows = new ArrayList<>();
+        try (DatabaseFixture database = new DatabaseFixture(Duration.ofMillis(dbLatencyMillis))) {
+            for (boolean virtual : new boolean[]{false, true}) {
+                String mode = virtual ? "virtual" : "platform";
+                try (BackendInstance backend = BackendInstance.start(database, Map.of(
+                        "spring.threads.virtual.enabled", virtual,
+                        "server.tomcat.threads.max", 200,
+                        "server.tomcat.max-connections", 10_000,
+                        "spring.datasource.hikari.maximum-pool-size", poolSize,
+                        "spring.datasource.hikari.connection-timeout", 60_000))) {
+
+                    seedIfEmpty(database, users, applicationsPerUser);
+                    List<String> tokens = new ArrayList<>();
+                    for (int u = 0; u < users; u++) {
+                        tokens.add(LocalJwt.mint(userId(u)));
+                    }
+                    HikariPoolMXBean pool = backend.hikari().getHikariPoolMXBean();
+
+                    ClosedLoopDriver driver = new ClosedLoopDriver();
+                    for (int clients : clientLevels) {
+                        log.info("Running {} mode with {} clients", mode, clients);
+                        AtomicInteger maxWaiting = new AtomicInteger();
+                        AtomicBoolean sampling = new AtomicBoolean(true);
+                        Thread sampler = Thread.ofVirtual().start(() -> {
+                            while (sampling.get()) {
+                                maxWaiting.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max);
+                                try {
+                                    Thread.sleep(50);
+                                } catch (InterruptedException e) {
+                                    return;
+                                }
+                            }
+                        });
+
+                        LoadResult result = driver.run(clients, warmup, duration,
+                                () -> nextRequest(backend.baseUri(), tokens));
+
+                        sampling.set(false);
+                        sampler.join();
+                        rows.add(String.format("| %-8s | %7d | %10.1f | %8.1f | %8.1f | %8.1f | %7d | %12d |",
+                                mode, clients, result.throughput(),
+                                LoadResult.millis(result.overall(), 50),
+                                LoadResult.millis(result.overall(), 99),
+                                LoadResult.millis(result.overall(), 99.9),
+                                result.errors(), maxWaiting.get()));
+                    }
+                }
+            }
+        }
+
+        System.out.printf("%nPool size %d, DB round trip %d ms, warmup %s, measured %s%n%n",
+                poolSize, dbLatencyMillis, warmup, duration);
+        System.out.println("| mode     | clients |  req/s     | p50 ms   | p99 ms   | p99.9 ms | errors  | max pool wait |");
+        System.out.println("|----------|---------|------------|----------|----------|----------|---------|---------------|");
+        rows.forEach(System.out::println);
+    }
+
+    private static LabeledRequest nextRequest(URI baseUri, List<String> tokens) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String token = tokens.get(random.nextInt(tokens.size()));
+        boolean dashboard = random.nextInt(10) < 3;
+        String path = dashboard ? "/dashboard/overview" : "/applications?page=0&size=20";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(90))
+                .GET()
+                .build();
+        return new LabeledRequest(dashboard ? "GET /dashboard/overview" : "GET /applications", request);
+    }
+
+    private static String userId(int index) {
+        return "load-user-" + index;
+    }
+
+    private static void seedIfEmpty(DatabaseFixture database, int users, int applicationsPerUser) throws SQLException {
+        try (Connection connection = database.directConnection()) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet existing = statement.executeQuery("SELECT COUNT(*) FROM applications")) {
+                existing.next();
+                if (existing.getLong(1) > 0) {
+                    return;
+                }
+            }
+
+            connection.setAutoCommit(false);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            try (PreparedStatement application = connection.prepareStatement(
+                    "INSERT INTO applications (user_id, company_name, job_title, location, tech_stack, " +
+                    "application_date, status, source, description) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+                 PreparedStatement activity = connection.prepareStatement(
+                    "INSERT INTO activities (application_id, type, date_time, notes) VALUES (?, ?, ?, ?)")) {
+                for (int u = 0; u < users; u++) {
+                    for (int a = 0; a < applicationsPerUser; a++) {
+                        application.setString(1, userId(u));
+                        application.setString(2, "Company " + random.nextInt(500));
+                        application.setString(3, "Software Engineer " + a);
+                        application.setString(4, random.nextBoolean() ? "Remote" : "Seattle, WA");
+                        application.setString(5, "Java, Spring Boot, PostgreSQL, React");
+                        application.setObject(6, LocalDate.now().minusDays(random.nextInt(180)));
+                        application.setString(7, STATUSES[random.nextInt(STATUSES.length)]);
+                        application.setString(8, "LinkedIn");
+                        application.setString(9, "Backend role working on the payments platform.");
+                        application.executeUpdate();
+                        try (ResultSet keys = application.getGeneratedKeys()) {
+                            keys.next();
+                            long applicationId = keys.getLong(1);
+                            for (int k = 0; k < 3; k++) {
+                                activity.setLong(1, applicationId);
+                                activity.setString(2, ACTIVITY_TYPES[random.nextInt(ACTIVITY_TYPES.length)]);
+                                activity.setObject(3, LocalDateTime.now().minusHours(random.nextInt(24 * 180)));
+                                activity.setString(4, "Seeded activity");
+                                activity.addBatch();
+                            }
+                        }
+                    }
+                    activity.executeBatch();
+                }
+            }
+            connection.commit();
+        }
+        log.info("Seeded {} users with {} applications each", users, applicationsPerUser);
+    }
+}
@@ -0,0 +1,106 @@
+package com.careerlog.benchmarks.load;
+
+import com.careerlog.benchmarks.support.BackendInstance;
+import com.careerlog.benchmarks.support.DatabaseFixture;
+import com.careerlog.benchmarks.support.DatasetGenerator;
+import com.careerlog.benchmarks.support.LocalJwt;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency of the filtered application list on the synthetic dataset, with the per-filter
+ * count cache effectively off ({@code expire-after} of zero) and as shipped.
+ * <p>
+ * Each request picks a user and one of a fixed set of filter combinations (statuses, date
+ * range, location, source, has-activity and has-attachment of a type). The first page is
+ * requested with facet counts, as when a filter is changed in the UI; later pages without,
+ * as when paging through the result.
+ * <p>
+ * Tunables (system properties): {@code clients}, {@code warmup}, {@code duration} (ISO-8601),
+ * {@code dbLatencyMillis}, plus the dataset shape read by
+ * {@link DatasetGenerator.Spec#fromSystemProperties()}.
+ */
+public class FilterLoadTest {
+
+    private static final String FACETED = "GET /applications?<filter>&facets=true";
+    private static final String PAGED = "GET /applications?<filter>&page=n";
+
+    private static final List<String> FILTERS = List.of(
+            "status=APPLIED,PHONE_SCREEN",
+            "status=REJECTED&source=LinkedIn",
+            "location=Remote&activityType=TECHNICAL_INTERVIEW,SYSTEM_DESIGN",
+            "attachmentType=RESUME&status=APPLIED,PHONE_SCREEN,TECHNICAL_INTERVIEW",
+            "from=" + LocalDate.now().minusDays(90) + "&to=" + LocalDate.now(),
+            "source=Referral&activityType=PHONE_SCREEN&attachmentType=COVER_LETTER",
+            "search=engineer&location=Seattle,%20WA",
+            "status=OFFER,FINAL_ROUND&from=" + LocalDate.now().minusDays(180));
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("clients", 50);
+        Duration warmup = Duration.parse(System.getProperty("warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("duration", "PT30S"));
+        int dbLatencyMillis = Integer.getInteger("dbLatencyMillis", 1);
+        DatasetGenerator.Spec spec = DatasetGenerator.Spec.fromSystemProperties();
+
+        Map<String, Map<String, Object>> scenarios = new LinkedHashMap<>();
+        scenarios.put("uncached", Map.of("careerlog.filter.expire-after", "0s"));
+        scenarios.put("cached", Map.of());
+
+        List<String> rows = new ArrayList<>();
+        DatasetGenerator.Dataset dataset = null;
+        try (DatabaseFixture database = new DatabaseFixture(Duration.ofMillis(dbLatencyMillis))) {
+            for (Map.Entry<String, Map<String, Object>> scenario : scenarios.entrySet()) {
+                try (BackendInstance backend = BackendInstance.start(database, scenario.getValue())) {
+                    if (dataset == null) {
+                        // Seeded after the first startup because Hibernate creates the schema
+                        try (Connection connection = database.directConnection()) {
+                            dataset = new DatasetGenerator(spec).seed(connection, "filter-user-");
+                        }
+                    }
+                    List<String> users = dataset.users().stream().map(DatasetGenerator.SeededUser::userId).toList();
+                    List<String> tokens = users.stream().map(LocalJwt::mint).toList();
+
+                    System.out.printf("Running '%s' with %d clients for %s after %s warmup%n",
+                            scenario.getKey(), clients, duration, warmup);
+                    LoadResult result = new ClosedLoopDriver().run(clients, warmup, duration,
+                            () -> nextRequest(backend.baseUri(), tokens));
+
+                    for (String label : List.of(FACETED, PAGED)) {
+                        rows.add(String.format("| %-8s | %-40s | %8.1f | %7.1f | %7.1f | %6d |",
+                                scenario.getKey(), label, result.throughput(label),
+                                LoadResult.millis(result.byLabel().get(label), 50),
+                                LoadResult.millis(result.byLabel().get(label), 99), result.errors(label)));
+                    }
+                }
+            }
+        }
+
+        System.out.printf("%nDataset: %s%n", dataset.summary());
+        System.out.printf("%d clients, DB round trip %d ms, measured %s%n%n", clients, dbLatencyMillis, duration);
+        System.out.println("| run      | request                                  |   req/s  | p50 ms  | p99 ms  | errors |");
+        System.out.println("|----------|------------------------------------------|----------|---------|---------|--------|");
+        rows.forEach(System.out::println);
+    }
+
+    private static LabeledRequest nextRequest(URI baseUri, List<String> tokens) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String filter = FILTERS.get(random.nextInt(FILTERS.size()));
+        int page = random.nextInt(3);
+        String path = "/applications?size=20&" + filter + (page == 0 ? "&facets=true" : "&page=" + page);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + path))
+                .header("Authorization", "Bearer " + tokens.get(random.nextInt(tokens.size())))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        return new LabeledRequest(page == 0 ? FACETED : PAGED, request);
+    }
+}
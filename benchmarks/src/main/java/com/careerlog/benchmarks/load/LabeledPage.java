@@ -0,0 +1,12 @@
+package com.careerlog.benchmarks.load;
+
+import java.net.http.HttpRequest;
+import java.util.List;
+
+/** Requests sent together, as a page load does, timed until the last one completes. */
+public record LabeledPage(String label, List<HttpRequest> requests) {
+
+    public static LabeledPage of(LabeledRequest request) {
+        return new LabeledPage(request.label(), List.of(request.request()));
+    }
+}
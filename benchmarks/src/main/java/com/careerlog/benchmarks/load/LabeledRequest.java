@@ -0,0 +1,7 @@
+package com.careerlog.benchmarks.load;
+
+import java.net.http.HttpRequest;
+
+/** A request plus the endpoint label its latency is reported under. */
+public record LabeledRequest(String label, HttpRequest request) {
+}
@@ -0,0 +1,29 @@
+package com.careerlog.benchmarks.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Latencies are recorded in microseconds, per endpoint label and overall. */
+public record LoadResult(int clients, Duration measured, long errors,
+                         Histogram overall, Map<String, Histogram> byLabel, Map<String, Long> errorsByLabel) {
+
+    public double throughput() {
+        return overall.getTotalCount() / (measured.toNanos() / 1e9);
+    }
+
+    public double throughput(String label) {
+        Histogram histogram = byLabel.get(label);
+        return histogram == null ? 0 : histogram.getTotalCount() / (measured.toNanos() / 1e9);
+    }
+
+    public long errors(String label) {
+        return errorsByLabel.getOrDefault(label, 0L);
+    }
+
+    public static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / (double) TimeUnit.MILLISECONDS.toMicros(1);
+    }
+}
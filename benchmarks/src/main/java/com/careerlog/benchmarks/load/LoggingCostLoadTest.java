@@ -0,0 +1,145 @@
+package com.careerlog.benchmarks.load;
+
+import com.careerlog.benchmarks.load.EndpointMix.Endpoint;
+import com.careerlog.benchmarks.support.BackendInstance;
+import com.careerlog.benchmarks.support.DatabaseFixture;
+import com.careerlog.benchmarks.support.DatasetGenerator;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput cost of request logging, before and after the logging rework, under the endpoint mix.
+ * <p>
+ * {@code before} is what every deployment used to get: Hibernate SQL echo with formatting,
+ * DEBUG for the application and Spring Security, a line per request, all written synchronously
+ * on the request thread. {@code after} is production as shipped: INFO, no SQL echo, sampled
+ * JSON request events written through the asynchronous appender.
+ * <p>
+ * Console output is redirected to {@code target/logging-cost/<run>.log} while a run is active,
+ * so the cost of writing it is real but the report stays readable. Tunables (system
+ * properties): {@code clients}, {@code warmup}, {@code duration} (ISO-8601), {@code mix},
+ * {@code dbLatencyMillis}, plus the dataset shape read by
+ * {@link DatasetGenerator.Spec#fromSystemProperties()}.
+ */
+public class LoggingCostLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("clients", 100);
+        Duration warmup = Duration.parse(System.getProperty("warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("duration", "PT60S"));
+        int dbLatencyMillis = Integer.getInteger("dbLatencyMillis", 1);
+        Map<Endpoint, Integer> mix = EndpointMix.parse(System.getProperty("mix", EndpointMix.DEFAULT_MIX));
+        DatasetGenerator.Spec spec = DatasetGenerator.Spec.fromSystemProperties();
+
+        Map<String, Map<String, Object>> scenarios = new LinkedHashMap<>();
+        scenarios.put("before", Map.of(
+                "spring.jpa.show-sql", true,
+                "spring.jpa.properties.hibernate.format_sql", true,
+                "logging.level.com.careerlog", "DEBUG",
+                "logging.level.org.springframework.security", "DEBUG",
+                "careerlog.logging.appender", "text",
+                "careerlog.request-log.categories.dashboard.sample-every", 1,
+                "careerlog.request-log.categories.reads.sample-every", 1));
+        scenarios.put("after", Map.of(
+                "logging.level.com.careerlog", "INFO",
+                "logging.level.org.springframework.security", "WARN",
+                "careerlog.logging.format", "json",
+                "careerlog.logging.appender", "async",
+                "careerlog.request-log.categories.dashboard.sample-every", 10,
+                "careerlog.request-log.categories.reads.sample-every", 20));
+
+        Path logDirectory = Path.of("target", "logging-cost");
+        Files.createDirectories(logDirectory);
+        PrintStream console = System.out;
+        List<String> rows = new ArrayList<>();
+        DatasetGenerator.Dataset dataset = null;
+
+        try (DatabaseFixture database = new DatabaseFixture(Duration.ofMillis(dbLatencyMillis))) {
+            for (Map.Entry<String, Map<String, Object>> scenario : scenarios.entrySet()) {
+                Path logFile = logDirectory.resolve(scenario.getKey() + ".log");
+                CountingOutputStream logOutput = new CountingOutputStream(Files.newOutputStream(logFile));
+                System.setOut(new PrintStream(logOutput, false));
+                try (BackendInstance backend = BackendInstance.start(database, scenario.getValue())) {
+                    if (dataset == null) {
+                        // Seeded after the first startup because Hibernate creates the schema
+                        try (Connection connection = database.directConnection()) {
+                            dataset = new DatasetGenerator(spec).seed(connection, "logging-user-");
+                        }
+                    }
+                    EndpointMix traffic = new EndpointMix(backend.baseUri(), dataset, mix);
+
+                    console.printf("Running '%s' with %d clients for %s after %s warmup%n",
+                            scenario.getKey(), clients, duration, warmup);
+                    AtomicLong bytesAtMeasureStart = new AtomicLong();
+                    Thread marker = Thread.ofVirtual().start(() -> {
+                        try {
+                            Thread.sleep(warmup);
+                            bytesAtMeasureStart.set(logOutput.count());
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+                    LoadResult result = new ClosedLoopDriver().run(clients, warmup, duration, traffic::next);
+                    marker.join();
+                    long measuredBytes = logOutput.count() - bytesAtMeasureStart.get();
+                    long requests = result.overall().getTotalCount();
+
+                    rows.add(String.format("| %-6s | %8.1f | %7.1f | %7.1f | %8.1f | %13.0f | %10.1f | %6d |",
+                            scenario.getKey(), result.throughput(),
+                            LoadResult.millis(result.overall(), 50), LoadResult.millis(result.overall(), 99),
+                            LoadResult.millis(result.overall(), 99.9),
+                            requests == 0 ? 0.0 : (double) measuredBytes / requests,
+                            measuredBytes / 1_048_576.0, result.errors()));
+                } finally {
+                    System.out.flush();
+                    System.setOut(console);
+                    logOutput.close();
+                }
+            }
+        }
+
+        System.out.printf("%nDataset: %s%n", dataset.summary());
+        System.out.printf("%d clients, DB round trip %d ms, measured %s; logs in %s%n%n",
+                clients, dbLatencyMillis, duration, logDirectory.toAbsolutePath());
+        System.out.println("| run    |   req/s  | p50 ms  | p99 ms  | p99.9 ms | log bytes/req | log MiB    | errors |");
+        System.out.println("|--------|----------|---------|---------|----------|---------------|------------|--------|");
+        rows.forEach(System.out::println);
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private final AtomicLong count = new AtomicLong();
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count.incrementAndGet();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count.addAndGet(len);
+        }
+
+        long count() {
+            return count.get();
+        }
+    }
+}
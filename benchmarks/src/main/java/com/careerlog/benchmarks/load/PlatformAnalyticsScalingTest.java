@@ -0,0 +1,92 @@
+package com.careerlog.benchmarks.load;
+
+import com.careerlog.benchmarks.support.BackendInstance;
+import com.careerlog.benchmarks.support.DatabaseFixture;
+import com.careerlog.benchmarks.support.DatasetGenerator;
+import com.careerlog.benchmarks.support.LocalJwt;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How the platform-wide analytics scan scales with the number of user-id ranges scanned at
+ * once. Each run starts the backend with one {@code parallelism}, the result cache off and
+ * a pool large enough for every range scan, and a single admin client requests
+ * {@code /admin/analytics?refresh=true} back to back, so each request is one full scan.
+ * <p>
+ * Tunables (system properties): {@code parallelism} (comma-separated, default 1,2,4,8),
+ * {@code userRanges}, {@code warmup}, {@code duration} (ISO-8601), {@code dbLatencyMillis},
+ * plus the dataset shape read by {@link DatasetGenerator.Spec#fromSystemProperties()}.
+ */
+public class PlatformAnalyticsScalingTest {
+
+    private static final String LABEL = "GET /admin/analytics?refresh=true";
+
+    public static void main(String[] args) throws Exception {
+        int[] parallelisms = Arrays.stream(System.getProperty("parallelism", "1,2,4,8").split(","))
+                .mapToInt(value -> Integer.parseInt(value.trim()))
+                .toArray();
+        int userRanges = Integer.getInteger("userRanges", 32);
+        Duration warmup = Duration.parse(System.getProperty("warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("duration", "PT30S"));
+        int dbLatencyMillis = Integer.getInteger("dbLatencyMillis", 1);
+        DatasetGenerator.Spec spec = DatasetGenerator.Spec.fromSystemProperties();
+        String token = LocalJwt.mint("platform-admin", List.of("Admin"));
+
+        List<String> rows = new ArrayList<>();
+        DatasetGenerator.Dataset dataset = null;
+        double baselineMillis = 0;
+        try (DatabaseFixture database = new DatabaseFixture(Duration.ofMillis(dbLatencyMillis))) {
+            for (int parallelism : parallelisms) {
+                Map<String, Object> properties = Map.of(
+                        "careerlog.platform-analytics.parallelism", parallelism,
+                        "careerlog.platform-analytics.user-ranges", userRanges,
+                        "careerlog.platform-analytics.cache-ttl", "0s",
+                        "spring.datasource.hikari.maximum-pool-size", parallelism + 4);
+                try (BackendInstance backend = BackendInstance.start(database, properties)) {
+                    if (dataset == null) {
+                        // Seeded after the first startup because Hibernate creates the schema
+                        try (Connection connection = database.directConnection()) {
+                            dataset = new DatasetGenerator(spec).seed(connection, "platform-user-");
+                        }
+                    }
+
+                    System.out.printf("Running parallelism %d for %s after %s warmup%n", parallelism, duration, warmup);
+                    LoadResult result = new ClosedLoopDriver().run(1, warmup, duration,
+                            () -> nextRequest(backend.baseUri(), token));
+
+                    double p50 = LoadResult.millis(result.byLabel().get(LABEL), 50);
+                    if (baselineMillis == 0) {
+                        baselineMillis = p50;
+                    }
+                    rows.add(String.format("| %11d | %8.2f | %8.1f | %8.1f | %7.2fx | %6d |",
+                            parallelism, result.throughput(LABEL), p50,
+                            LoadResult.millis(result.byLabel().get(LABEL), 99), baselineMillis / p50,
+                            result.errors(LABEL)));
+                }
+            }
+        }
+
+        System.out.printf("%nDataset: %s%n", dataset.summary());
+        System.out.printf("%d user ranges, %d cores, DB round trip %d ms, measured %s%n%n", userRanges,
+                Runtime.getRuntime().availableProcessors(), dbLatencyMillis, duration);
+        System.out.println("| parallelism | scans/s  | p50 ms   | p99 ms   | speedup  | errors |");
+        System.out.println("|-------------|----------|----------|----------|----------|--------|");
+        rows.forEach(System.out::println);
+    }
+
+    private static LabeledRequest nextRequest(URI baseUri, String token) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + "/admin/analytics?refresh=true"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofMinutes(5))
+                .GET()
+                .build();
+        return new LabeledRequest(LABEL, request);
+    }
+}
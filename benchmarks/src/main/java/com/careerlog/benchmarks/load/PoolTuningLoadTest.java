@@ -0,0 +1,166 @@
+package com.careerlog.benchmarks.load;
+
+import com.careerlog.benchmarks.load.EndpointMix.Endpoint;
+import com.careerlog.benchmarks.support.BackendInstance;
+import com.careerlog.benchmarks.support.DatabaseFixture;
+import com.careerlog.benchmarks.support.DatasetGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection pool wait before and after the pool/transaction tuning, under the endpoint mix.
+ * <p>
+ * {@code before} restores the old settings: open-session-in-view, auto-commit connections,
+ * a fixed pool and the driver's default prepare threshold of 5. {@code after} runs
+ * application.yml as shipped: OSIV off, auto-commit off, server-side prepared statements
+ * from the first execution, and {@link com.careerlog.pool.AdaptivePoolSizer} with a short
+ * window so it can react within one run. Both start from the same pool size. The read-only
+ * service transactions are code, so both runs have them.
+ * <p>
+ * Mean acquire time comes from Hikari's {@code hikaricp.connections.acquire} timer over the
+ * measured interval; peak waiting is the most threads blocked on the pool in any 50 ms sample.
+ * <p>
+ * Tunables (system properties): {@code clients}, {@code warmup}, {@code duration} (ISO-8601),
+ * {@code mix}, {@code poolSize} (starting size), {@code maxPoolSize} (adaptive ceiling),
+ * {@code sizingWindow}, {@code dbLatencyMillis}, plus the dataset shape read by
+ * {@link DatasetGenerator.Spec#fromSystemProperties()}.
+ */
+@Slf4j
+public class PoolTuningLoadTest {
+
+    private static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("clients", 200);
+        Duration warmup = Duration.parse(System.getProperty("warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("duration", "PT60S"));
+        int poolSize = Integer.getInteger("poolSize", 10);
+        int maxPoolSize = Integer.getInteger("maxPoolSize", 30);
+        Duration sizingWindow = Duration.parse(System.getProperty("sizingWindow", "PT5S"));
+        int dbLatencyMillis = Integer.getInteger("dbLatencyMillis", 2);
+        Map<Endpoint, Integer> mix = EndpointMix.parse(System.getProperty("mix", EndpointMix.DEFAULT_MIX));
+        DatasetGenerator.Spec spec = DatasetGenerator.Spec.fromSystemProperties();
+
+        Map<String, Map<String, Object>> scenarios = new LinkedHashMap<>();
+        scenarios.put("before", Map.of(
+                "spring.jpa.open-in-view", true,
+                "spring.jpa.properties.hibernate.connection.provider_disables_autocommit", false,
+                "spring.datasource.hikari.auto-commit", true,
+                "spring.datasource.hikari.maximum-pool-size", poolSize,
+                "spring.datasource.hikari.minimum-idle", poolSize,
+                "spring.datasource.hikari.data-source-properties.prepareThreshold", 5,
+                "spring.datasource.hikari.data-source-properties.preparedStatementCacheQueries", 256,
+                "spring.datasource.hikari.data-source-properties.preparedStatementCacheSizeMiB", 5,
+                "careerlog.pool.adaptive", false));
+        scenarios.put("after", Map.of(
+                "spring.datasource.hikari.maximum-pool-size", poolSize,
+                "careerlog.pool.adaptive", true,
+                "careerlog.pool.max-size", maxPoolSize,
+                "careerlog.pool.window", sizingWindow));
+
+        List<String> rows = new ArrayList<>();
+        DatasetGenerator.Dataset dataset = null;
+        try (DatabaseFixture database = new DatabaseFixture(Duration.ofMillis(dbLatencyMillis))) {
+            for (Map.Entry<String, Map<String, Object>> scenario : scenarios.entrySet()) {
+                try (BackendInstance backend = BackendInstance.start(database, scenario.getValue())) {
+                    if (dataset == null) {
+                        // Seeded after the first startup because Hibernate creates the schema
+                        try (Connection connection = database.directConnection()) {
+                            dataset = new DatasetGenerator(spec).seed(connection, "pool-user-");
+                        }
+                    }
+                    EndpointMix traffic = new EndpointMix(backend.baseUri(), dataset, mix);
+                    PoolSampler sampler = new PoolSampler(backend, warmup);
+
+                    log.info("Running '{}' with {} clients for {} after {} warmup",
+                            scenario.getKey(), clients, duration, warmup);
+                    LoadResult result = new ClosedLoopDriver().run(clients, warmup, duration, traffic::next);
+                    sampler.stop();
+
+                    rows.add(String.format("| %-6s | %8.1f | %7.1f | %7.1f | %15.2f | %12d | %10d | %6d |",
+                            scenario.getKey(), result.throughput(),
+                            LoadResult.millis(result.overall(), 50), LoadResult.millis(result.overall(), 99),
+                            sampler.meanAcquireMillis(), sampler.peakWaiting(), sampler.finalPoolSize(),
+                            result.errors()));
+                }
+            }
+        }
+
+        System.out.printf("%nDataset: %s%n", dataset.summary());
+        System.out.printf("%d clients, starting pool size %d (adaptive ceiling %d), DB round trip %d ms, measured %s%n%n",
+                clients, poolSize, maxPoolSize, dbLatencyMillis, duration);
+        System.out.println("| run    |   req/s  | p50 ms  | p99 ms  | mean acquire ms | peak waiting | final pool | errors |");
+        System.out.println("|--------|----------|---------|---------|-----------------|--------------|------------|--------|");
+        rows.forEach(System.out::println);
+    }
+
+    /** Watches the backend's pool from the end of warmup until {@link #stop()}. */
+    private static final class PoolSampler {
+
+        private final HikariDataSource dataSource;
+        private final MeterRegistry meterRegistry;
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private final AtomicInteger peakWaiting = new AtomicInteger();
+        private final Thread thread;
+        private volatile long startCount;
+        private volatile double startNanos;
+        private long acquisitions;
+        private double acquireNanos;
+
+        private PoolSampler(BackendInstance backend, Duration warmup) {
+            this.dataSource = backend.hikari();
+            this.meterRegistry = backend.context().getBean(MeterRegistry.class);
+            this.thread = Thread.ofVirtual().start(() -> {
+                try {
+                    Thread.sleep(warmup);
+                    Timer acquire = acquireTimer();
+                    startCount = acquire.count();
+                    startNanos = acquire.totalTime(TimeUnit.NANOSECONDS);
+                    while (running.get()) {
+                        peakWaiting.accumulateAndGet(
+                                dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection(), Math::max);
+                        Thread.sleep(50);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        void stop() throws InterruptedException {
+            running.set(false);
+            thread.join();
+            Timer acquire = acquireTimer();
+            acquisitions = acquire.count() - startCount;
+            acquireNanos = acquire.totalTime(TimeUnit.NANOSECONDS) - startNanos;
+        }
+
+        double meanAcquireMillis() {
+            return acquisitions == 0 ? 0 : acquireNanos / acquisitions / 1_000_000;
+        }
+
+        int peakWaiting() {
+            return peakWaiting.get();
+        }
+
+        int finalPoolSize() {
+            return dataSource.getHikariConfigMXBean().getMaximumPoolSize();
+        }
+
+        private Timer acquireTimer() {
+            return meterRegistry.get(ACQUIRE_TIMER).tag("pool", dataSource.getPoolName()).timer();
+        }
+    }
+}
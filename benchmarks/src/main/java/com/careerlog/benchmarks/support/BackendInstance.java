@@ -0,0 +1,73 @@
+package com.careerlog.benchmarks.support;
+
+import com.careerlog.CareerLogApplication;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runs the real backend in-process on a random port against a {@link DatabaseFixture},
+ * with locally minted JWTs and request/SQL logging turned down so they don't skew timings.
+ */
+public class BackendInstance implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final URI baseUri;
+
+    private BackendInstance(ConfigurableApplicationContext context) {
+        this.context = context;
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        this.baseUri = URI.create("http://localhost:" + port + "/api");
+    }
+
+    public static BackendInstance start(DatabaseFixture database, Map<String, Object> overrides) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", database.proxiedJdbcUrl());
+        properties.put("spring.datasource.username", database.username());
+        properties.put("spring.datasource.password", database.password());
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("spring.jpa.properties.hibernate.format_sql", false);
+        properties.put("logging.level.com.careerlog", "WARN");
+        properties.put("logging.level.org.springframework.security", "WARN");
+        properties.put("careerlog.rate-limit.enabled", false);
+        properties.putAll(overrides);
+
+        // passed as command line arguments so they outrank application.yml
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CareerLogApplication.class)
+                .initializers(LocalJwt.initializer())
+                .run(args);
+        return new BackendInstance(context);
+    }
+
+    public URI baseUri() {
+        return baseUri;
+    }
+
+    public ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    /** The Hikari pool behind the DataSource bean, which may be wrapped (slow-query capture). */
+    public HikariDataSource hikari() {
+        return DataSourceUnwrapper.unwrap(context.getBean(DataSource.class), HikariConfigMXBean.class,
+                HikariDataSource.class);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,82 @@
+package com.careerlog.benchmarks.support;
+
+import eu.rekawek.toxiproxy.Proxy;
+import eu.rekawek.toxiproxy.ToxiproxyClient;
+import eu.rekawek.toxiproxy.model.ToxicDirection;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.ToxiproxyContainer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * A throwaway PostgreSQL 15 (matching docker-compose) reached through Toxiproxy, so
+ * the backend sees a realistic round-trip time to the database instead of loopback.
+ */
+@Slf4j
+public class DatabaseFixture implements AutoCloseable {
+
+    private static final int PROXIED_PORT = 8666;
+
+    private final Network network = Network.newNetwork();
+    private final PostgreSQLContainer<?> postgres;
+    private final ToxiproxyContainer toxiproxy;
+    private final Proxy proxy;
+
+    public DatabaseFixture(Duration roundTripLatency) {
+        postgres = new PostgreSQLContainer<>("postgres:15")
+                .withNetwork(network)
+                .withNetworkAliases("postgres")
+                .withDatabaseName("careerlog")
+                .withCommand("postgres", "-c", "max_connections=300");
+        toxiproxy = new ToxiproxyContainer("ghcr.io/shopify/toxiproxy:2.5.0")
+                .withNetwork(network);
+        postgres.start();
+        toxiproxy.start();
+
+        try {
+            ToxiproxyClient client = new ToxiproxyClient(toxiproxy.getHost(), toxiproxy.getControlPort());
+            proxy = client.createProxy("postgres", "0.0.0.0:" + PROXIED_PORT, "postgres:5432");
+            long halfTrip = roundTripLatency.toMillis() / 2;
+            if (halfTrip > 0) {
+                proxy.toxics().latency("upstream-latency", ToxicDirection.UPSTREAM, halfTrip);
+                proxy.toxics().latency("downstream-latency", ToxicDirection.DOWNSTREAM, halfTrip);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not configure toxiproxy", e);
+        }
+        log.info("PostgreSQL ready behind toxiproxy with {} ms round trip", roundTripLatency.toMillis());
+    }
+
+    /** JDBC URL routed through the latency proxy; this is what the backend should use. */
+    public String proxiedJdbcUrl() {
+        return String.format("jdbc:postgresql://%s:%d/%s",
+                toxiproxy.getHost(), toxiproxy.getMappedPort(PROXIED_PORT), postgres.getDatabaseName());
+    }
+
+    public String username() {
+        return postgres.getUsername();
+    }
+
+    public String password() {
+        return postgres.getPassword();
+    }
+
+    /** Direct connection that bypasses the proxy, for seeding and bookkeeping. */
+    public Connection directConnection() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+
+    @Override
+    public void close() {
+        toxiproxy.stop();
+        postgres.stop();
+        network.close();
+    }
+}
@@ -0,0 +1,279 @@
+package com.careerlog.benchmarks.support;
+
+import com.careerlog.model.Activity;
+import com.careerlog.model.Application;
+import com.careerlog.model.Attachment;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Seeds the backend's tables with a synthetic multi-user dataset shaped like production:
+ * <ul>
+ *   <li>applications per user follow a Pareto (power-law) distribution, so most users
+ *       have a handful and a few have hundreds;</li>
+ *   <li>statuses follow a hiring funnel, and activities per application grow with how far
+ *       the application got;</li>
+ *   <li>every {@code ApplicationStatus}, {@code ActivityType} and {@code AttachmentType}
+ *       value occurs, including ones added later (they get a small default weight);</li>
+ *   <li>application dates lean towards the recent past, and activity times fall on
+ *       weekday business hours after the application date.</li>
+ * </ul>
+ * Rows are written with batched JDBC inserts, so 100k applications take seconds, not minutes.
+ * The same {@link Spec#seed()} always produces the same dataset.
+ */
+@Slf4j
+public final class DatasetGenerator {
+
+    /**
+     * @param users            number of distinct {@code sub} values
+     * @param minApplications  Pareto scale: the fewest applications any user has
+     * @param alpha            Pareto shape; lower means a heavier tail (1.5 is very skewed, 3 is mild)
+     * @param maxApplications  cap for the heaviest users
+     * @param historyDays      how far back application dates go
+     * @param seed             random seed
+     */
+    public record Spec(int users, int minApplications, double alpha, int maxApplications,
+                       int historyDays, long seed) {
+
+        public static Spec fromSystemProperties() {
+            return new Spec(
+                    Integer.getInteger("users", 200),
+                    Integer.getInteger("minApplications", 3),
+                    Double.parseDouble(System.getProperty("alpha", "1.6")),
+                    Integer.getInteger("maxApplications", 1500),
+                    Integer.getInteger("historyDays", 365),
+                    Long.getLong("seed", 42L));
+        }
+    }
+
+    /** A seeded user, with what a load driver needs to issue valid requests on their behalf. */
+    public record SeededUser(String userId, long[] applicationIds, String[] companies) {
+    }
+
+    public record Dataset(List<SeededUser> users, long applications, long activities, long attachments) {
+
+        public String summary() {
+            int[] perUser = users.stream().mapToInt(user -> user.applicationIds().length).sorted().toArray();
+            return String.format("%d users, %d applications (per user: median %d, p99 %d, max %d), "
+                            + "%d activities, %d attachments",
+                    users.size(), applications, perUser[perUser.length / 2],
+                    perUser[(int) Math.min(perUser.length - 1, Math.floor(perUser.length * 0.99))],
+                    perUser[perUser.length - 1], activities, attachments);
+        }
+    }
+
+    private static final Map<String, Integer> STATUS_WEIGHTS = Map.of(
+            "APPLIED", 34, "PHONE_SCREEN", 10, "TECHNICAL_INTERVIEW", 6, "BEHAVIORAL_INTERVIEW", 4,
+            "FINAL_ROUND", 3, "OFFER", 2, "REJECTED", 36, "WITHDRAWN", 5);
+
+    private static final String[] COMPANY_STEMS = {"Acme", "Globex", "Initech", "Umbrella", "Hooli", "Stark",
+            "Wayne", "Wonka", "Cyberdyne", "Soylent", "Tyrell", "Aperture", "Massive", "Vandelay", "Pied Piper",
+            "Monarch", "Oscorp", "Gringotts", "Nakatomi", "Dunder"};
+    private static final String[] COMPANY_SUFFIXES = {"Labs", "Systems", "Cloud", "Health", "Payments",
+            "Analytics", "Robotics", "Media"};
+    private static final String[] TITLES = {"Software Engineer", "Senior Software Engineer", "Staff Engineer",
+            "Backend Engineer", "Full Stack Engineer", "Platform Engineer", "Site Reliability Engineer",
+            "Data Engineer", "Engineering Manager", "Frontend Engineer"};
+    private static final String[] LOCATIONS = {"Remote", "Seattle, WA", "San Francisco, CA", "New York, NY",
+            "Austin, TX", "Toronto, ON", "London, UK", "Berlin, DE"};
+    private static final String[] SOURCES = {"LinkedIn", "Referral", "Company Website", "Indeed", "Recruiter",
+            "Hacker News"};
+    private static final String[] STACKS = {"Java, Spring Boot, PostgreSQL, Kafka",
+            "TypeScript, React, Node.js", "Go, Kubernetes, gRPC", "Python, Django, Celery, Redis",
+            "Kotlin, Spring, AWS", "C#, .NET, Azure SQL", "Rust, Tokio, PostgreSQL"};
+
+    private static final int USERS_PER_COMMIT = 25;
+
+    private final Spec spec;
+    private final Random random;
+    private final Application.ApplicationStatus[] statuses = Application.ApplicationStatus.values();
+    private final int[] statusWeights;
+    private final Activity.ActivityType[] activityTypes = Activity.ActivityType.values();
+    private final Attachment.AttachmentType[] attachmentTypes = Attachment.AttachmentType.values();
+
+    public DatasetGenerator(Spec spec) {
+        this.spec = spec;
+        this.random = new Random(spec.seed());
+        this.statusWeights = Arrays.stream(statuses)
+                .mapToInt(status -> STATUS_WEIGHTS.getOrDefault(status.name(), 2))
+                .toArray();
+    }
+
+    public Dataset seed(Connection connection, String userIdPrefix) throws SQLException {
+        connection.setAutoCommit(false);
+        List<SeededUser> users = new ArrayList<>(spec.users());
+        long applications = 0;
+        long activities = 0;
+        long attachments = 0;
+
+        try (PreparedStatement applicationInsert = connection.prepareStatement(
+                "INSERT INTO applications (user_id, company_name, job_title, location, tech_stack, application_date, "
+                        + "status, salary_range, source, description) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement activityInsert = connection.prepareStatement(
+                "INSERT INTO activities (application_id, type, date_time, notes, location, participants, "
+                        + "duration_minutes) VALUES (?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement attachmentInsert = connection.prepareStatement(
+                "INSERT INTO attachments (application_id, type, file_name, original_file_name, content_type, "
+                        + "file_size_bytes, blob_url, uploaded_at, description) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+
+            for (int u = 0; u < spec.users(); u++) {
+                String userId = userIdPrefix + u;
+                int count = applicationCount();
+                List<PendingApplication> pending = new ArrayList<>(count);
+                for (int a = 0; a < count; a++) {
+                    pending.add(addApplication(applicationInsert, userId, a));
+                }
+                applicationInsert.executeBatch();
+
+                long[] ids = new long[count];
+                String[] companies = new String[count];
+                try (ResultSet keys = applicationInsert.getGeneratedKeys()) {
+                    for (int a = 0; a < count && keys.next(); a++) {
+                        ids[a] = keys.getLong("id");
+                        companies[a] = pending.get(a).company();
+                    }
+                }
+                for (int a = 0; a < count; a++) {
+                    activities += addActivities(activityInsert, ids[a], pending.get(a));
+                    attachments += addAttachments(attachmentInsert, ids[a], userId, pending.get(a));
+                }
+                activityInsert.executeBatch();
+                attachmentInsert.executeBatch();
+
+                applications += count;
+                users.add(new SeededUser(userId, ids, companies));
+                if ((u + 1) % USERS_PER_COMMIT == 0) {
+                    connection.commit();
+                    log.info("Seeded {}/{} users", u + 1, spec.users());
+                }
+            }
+        }
+        connection.commit();
+
+        Dataset dataset = new Dataset(users, applications, activities, attachments);
+        log.info("Seeded {}", dataset.summary());
+        return dataset;
+    }
+
+    private record PendingApplication(String company, LocalDate applicationDate, Application.ApplicationStatus status) {
+    }
+
+    /** Inverse-CDF sample from a Pareto distribution, rounded down and capped. */
+    private int applicationCount() {
+        double u = 1.0 - random.nextDouble();
+        double sample = spec.minApplications() / Math.pow(u, 1.0 / spec.alpha());
+        return (int) Math.min(spec.maxApplications(), Math.floor(sample));
+    }
+
+    private PendingApplication addApplication(PreparedStatement insert, String userId, int index) throws SQLException {
+        String company = pick(COMPANY_STEMS) + " " + pick(COMPANY_SUFFIXES);
+        // Squaring a uniform draw leans dates towards the recent end of the history window
+        double age = random.nextDouble();
+        LocalDate applicationDate = LocalDate.now().minusDays((long) (age * age * spec.historyDays()));
+        Application.ApplicationStatus status = statuses[weightedIndex(statusWeights)];
+
+        insert.setString(1, userId);
+        insert.setString(2, company);
+        insert.setString(3, pick(TITLES) + (random.nextInt(4) == 0 ? ", " + pick(SOURCES) + " team" : ""));
+        insert.setString(4, pick(LOCATIONS));
+        insert.setString(5, pick(STACKS));
+        insert.setObject(6, applicationDate);
+        insert.setString(7, status.name());
+        insert.setString(8, random.nextBoolean() ? null : "$" + (120 + random.nextInt(80)) + "k - $"
+                + (160 + random.nextInt(100)) + "k");
+        insert.setString(9, pick(SOURCES));
+        insert.setString(10, "Application " + index + " for " + company + ". " + "Building reliable services "
+                .repeat(1 + random.nextInt(20)));
+        insert.addBatch();
+        return new PendingApplication(company, applicationDate, status);
+    }
+
+    private int addActivities(PreparedStatement insert, long applicationId, PendingApplication application)
+            throws SQLException {
+        // One submission, then more the further the application progressed, plus a geometric tail
+        int count = 1 + application.status().ordinal() + geometric(0.5);
+        LocalDateTime submitted = application.applicationDate().atTime(9 + random.nextInt(9), random.nextInt(60));
+        for (int i = 0; i < count; i++) {
+            Activity.ActivityType type = i == 0
+                    ? Activity.ActivityType.APPLICATION_SUBMITTED
+                    : activityTypes[random.nextInt(activityTypes.length)];
+            insert.setLong(1, applicationId);
+            insert.setString(2, type.name());
+            insert.setObject(3, i == 0 ? submitted : businessHoursAfter(submitted));
+            insert.setString(4, random.nextInt(3) == 0 ? null : "Notes for " + type.getDisplayName().toLowerCase());
+            insert.setString(5, random.nextBoolean() ? "Video call" : null);
+            insert.setString(6, random.nextBoolean() ? "Recruiter, Hiring manager" : null);
+            insert.setObject(7, random.nextBoolean() ? 15 + 15 * random.nextInt(6) : null);
+            insert.addBatch();
+        }
+        return count;
+    }
+
+    private int addAttachments(PreparedStatement insert, long applicationId, String userId,
+                               PendingApplication application) throws SQLException {
+        int count = random.nextInt(5) == 0 ? 0 : 1 + geometric(0.6);
+        for (int i = 0; i < count; i++) {
+            Attachment.AttachmentType type = i == 0
+                    ? Attachment.AttachmentType.RESUME
+                    : attachmentTypes[random.nextInt(attachmentTypes.length)];
+            String fileName = applicationId + "-" + i + "-" + type.name().toLowerCase() + ".pdf";
+            insert.setLong(1, applicationId);
+            insert.setString(2, type.name());
+            insert.setString(3, fileName);
+            insert.setString(4, type.getDisplayName() + " - " + application.company() + ".pdf");
+            insert.setString(5, "application/pdf");
+            insert.setLong(6, 40_000L + random.nextInt(2_000_000));
+            insert.setString(7, "https://careerlog.blob.core.windows.net/attachments/" + userId + "/" + fileName);
+            insert.setObject(8, application.applicationDate().atStartOfDay().plusMinutes(random.nextInt(24 * 60)));
+            insert.setString(9, random.nextBoolean() ? "Tailored for " + application.company() : null);
+            insert.addBatch();
+        }
+        return count;
+    }
+
+    private LocalDateTime businessHoursAfter(LocalDateTime start) {
+        LocalDateTime time = start.plusDays(1 + random.nextInt(45)).withHour(9 + random.nextInt(8))
+                .withMinute(random.nextInt(4) * 15);
+        while (time.getDayOfWeek().getValue() > 5) {
+            time = time.plusDays(1);
+        }
+        return time;
+    }
+
+    private int geometric(double continueProbability) {
+        int n = 0;
+        while (random.nextDouble() < continueProbability) {
+            n++;
+        }
+        return n;
+    }
+
+    private int weightedIndex(int[] weights) {
+        int total = Arrays.stream(weights).sum();
+        int target = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            target -= weights[i];
+            if (target < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,83 @@
+package com.careerlog.benchmarks.support;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Mints HS256 tokens locally and swaps the backend's Entra ID decoder for one that
+ * trusts them, so load runs need neither network access nor a real tenant.
+ */
+public final class LocalJwt {
+
+    private static final byte[] SECRET =
+            "careerlog-benchmarks-local-signing-key-not-for-production".getBytes(StandardCharsets.UTF_8);
+
+    private LocalJwt() {
+    }
+
+    public static String mint(String subject) {
+        return mint(subject, List.of());
+    }
+
+    public static String mint(String subject, List<String> roles) {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(subject)
+                .issuer("careerlog-benchmarks")
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(Duration.ofHours(8))))
+                .claim("roles", roles)
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        try {
+            jwt.sign(new MACSigner(SECRET));
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Could not sign benchmark token", e);
+        }
+        return jwt.serialize();
+    }
+
+    public static JwtDecoder decoder() {
+        return NimbusJwtDecoder.withSecretKey(new SecretKeySpec(SECRET, "HmacSHA256")).build();
+    }
+
+    /** Registers {@link DecoderOverride} so it runs after the configuration classes are parsed. */
+    public static ApplicationContextInitializer<GenericApplicationContext> initializer() {
+        return context -> context.registerBean(DecoderOverride.class);
+    }
+
+    /**
+     * Replaces the {@code jwtDecoder} bean definition from {@code SecurityConfig}. The
+     * security chain obtains its decoder through that bean method, so it picks this up.
+     */
+    public static class DecoderOverride implements BeanDefinitionRegistryPostProcessor {
+
+        @Override
+        public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+            if (registry.containsBeanDefinition("jwtDecoder")) {
+                registry.removeBeanDefinition("jwtDecoder");
+            }
+            registry.registerBeanDefinition("jwtDecoder",
+                    BeanDefinitionBuilder.genericBeanDefinition(JwtDecoder.class, LocalJwt::decoder)
+                            .getBeanDefinition());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.careerlog.benchmarks.support;
+
+import com.careerlog.dto.SparseFields;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/** ObjectMappers configured the way Spring Boot and {@code JacksonConfig} configure the backend's. */
+public final class ObjectMappers {
+
+    private ObjectMappers() {
+    }
+
+    public static ObjectMapper json() {
+        return backendDefaults(Jackson2ObjectMapperBuilder.json()).build();
+    }
+
+    public static ObjectMapper cbor() {
+        return backendDefaults(Jackson2ObjectMapperBuilder.json()).factory(new CBORFactory()).build();
+    }
+
+    public static ObjectMapper smile() {
+        return backendDefaults(Jackson2ObjectMapperBuilder.json()).factory(new SmileFactory()).build();
+    }
+
+    private static Jackson2ObjectMapperBuilder backendDefaults(Jackson2ObjectMapperBuilder builder) {
+        return builder
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .filters(SparseFields.DEFAULT_FILTERS);
+    }
+}
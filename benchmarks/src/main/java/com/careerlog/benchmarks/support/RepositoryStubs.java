@@ -0,0 +1,31 @@
+package com.careerlog.benchmarks.support;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+/**
+ * In-memory stand-ins for Spring Data repositories, so service and controller code can
+ * be benchmarked without a database. Only the named methods answer; anything else throws,
+ * which keeps a benchmark from silently measuring a path it did not set up.
+ */
+public final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    public static <T> T stub(Class<T> repositoryType, Map<String, Object> answers) {
+        Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] {repositoryType},
+                (self, method, args) -> {
+                    if (answers.containsKey(method.getName())) {
+                        return answers.get(method.getName());
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.getName().equals("toString") ? repositoryType.getSimpleName() + " stub"
+                                : method.getName().equals("hashCode") ? System.identityHashCode(self)
+                                : self == args[0];
+                    }
+                    throw new UnsupportedOperationException(repositoryType.getSimpleName() + "." + method.getName());
+                });
+        return repositoryType.cast(proxy);
+    }
+}
@@ -0,0 +1,183 @@
+package com.careerlog.benchmarks.support;
+
+import com.careerlog.model.Activity;
+import com.careerlog.model.Application;
+import com.careerlog.model.Attachment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * In-memory entity graphs shaped like production rows: long descriptions, a tech stack,
+ * and a handful of activities and attachments per application. Seeded, so every run and
+ * every fork sees the same data.
+ */
+public final class SampleData {
+
+    private static final String DESCRIPTION = ("Own the design and delivery of backend services for the payments "
+            + "platform, partnering with product and SRE on reliability, observability and cost. ").repeat(6);
+
+    private SampleData() {
+    }
+
+    public static List<Application> applications(int count, int activitiesEach, int attachmentsEach) {
+        Random random = new Random(42);
+        Application.ApplicationStatus[] statuses = Application.ApplicationStatus.values();
+        Activity.ActivityType[] activityTypes = Activity.ActivityType.values();
+        Attachment.AttachmentType[] attachmentTypes = Attachment.AttachmentType.values();
+
+        List<Application> applications = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Application application = Application.builder()
+                    .id((long) i + 1)
+                    .userId("benchmark-user")
+                    .companyName("Company " + random.nextInt(1000))
+                    .jobTitle("Senior Software Engineer, Platform " + i)
+                    .location(random.nextBoolean() ? "Remote" : "Seattle, WA")
+                    .techStack("Java, Spring Boot, PostgreSQL, Kafka, Kubernetes, React, TypeScript")
+                    .applicationDate(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365)))
+                    .status(statuses[random.nextInt(statuses.length)])
+                    .salaryRange("$150k - $190k")
+                    .source("LinkedIn")
+                    .description(DESCRIPTION)
+                    .build();
+
+            List<Activity> activities = new ArrayList<>(activitiesEach);
+            for (int a = 0; a < activitiesEach; a++) {
+                activities.add(Activity.builder()
+                        .id((long) i * 100 + a)
+                        .application(application)
+                        .type(activityTypes[random.nextInt(activityTypes.length)])
+                        .dateTime(LocalDateTime.of(2024, 1, 1, 9, 0).plusHours(random.nextInt(24 * 365)))
+                        .notes("Discussed system design, team structure and on-call expectations.")
+                        .location("Video call")
+                        .participants("Hiring manager, Staff engineer")
+                        .durationMinutes(45)
+                        .build());
+            }
+            application.setActivities(activities);
+
+            List<Attachment> attachments = new ArrayList<>(attachmentsEach);
+            for (int f = 0; f < attachmentsEach; f++) {
+                attachments.add(Attachment.builder()
+                        .id((long) i * 100 + f)
+                        .application(application)
+                        .type(attachmentTypes[random.nextInt(attachmentTypes.length)])
+                        .fileName("resume-" + i + "-" + f + ".pdf")
+                        .originalFileName("Resume 2024 final v" + f + ".pdf")
+                        .contentType("application/pdf")
+                        .fileSizeBytes(180_000L + random.nextInt(100_000))
+                        .blobUrl("https://careerlog.blob.core.windows.net/attachments/benchmark-user/resume-" + i + "-" + f + ".pdf")
+                        .uploadedAt(LocalDateTime.of(2024, 1, 1, 9, 0).plusHours(random.nextInt(24 * 365)))
+                        .description("Tailored resume")
+                        .build());
+            }
+            application.setAttachments(attachments);
+            applications.add(application);
+        }
+        return applications;
+    }
+
+    public static List<Activity> activities(List<Application> applications) {
+        return applications.stream().flatMap(application -> application.getActivities().stream()).toList();
+    }
+
+    public static List<Attachment> attachments(List<Application> applications) {
+        return applications.stream().flatMap(application -> application.getAttachments().stream()).toList();
+    }
+
+    /** Rows as returned by {@code ApplicationRepository.getApplicationStatusBreakdown}. */
+    public static List<Object[]> statusBreakdownRows() {
+        List<Object[]> rows = new ArrayList<>();
+        for (Application.ApplicationStatus status : Application.ApplicationStatus.values()) {
+            rows.add(new Object[] {status, (long) (status.ordinal() + 1) * 7});
+        }
+        return rows;
+    }
+
+    /**
+     * Rows as returned by {@code ApplicationRepository.countByUserIdPerApplicationDate}: day, count.
+     * Applications on roughly two days out of three, ending on {@code last}.
+     */
+    public static List<Object[]> dailyApplicationRows(int days, LocalDate last) {
+        List<Object[]> rows = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            if (i % 3 != 1) {
+                rows.add(new Object[] {last.minusDays(i), (long) (i % 4) + 1});
+            }
+        }
+        return rows;
+    }
+
+    /** Rows as returned by {@code ActivityRepository.getActivityTypeBreakdown}. */
+    public static List<Object[]> activityTypeRows() {
+        List<Object[]> rows = new ArrayList<>();
+        for (Activity.ActivityType type : Activity.ActivityType.values()) {
+            rows.add(new Object[] {type, (long) (type.ordinal() + 1) * 3});
+        }
+        return rows;
+    }
+
+    public static Page<Application> applicationPage(int pageSize, long totalElements) {
+        PageRequest pageable = PageRequest.of(0, pageSize,
+                Sort.by(Sort.Direction.DESC, "applicationDate").and(Sort.by(Sort.Direction.DESC, "id")));
+        return new PageImpl<>(applications(pageSize, 3, 1), pageable, totalElements);
+    }
+
+    /**
+     * Resume-like prose of about {@code chars} characters: words drawn from a 20,000-word
+     * vocabulary with Zipf-distributed frequencies, as in natural text, plus technology names,
+     * in sentences and paragraphs. Plain ASCII, so any PDF standard font can show it.
+     */
+    public static String documentText(int chars, long seed) {
+        Random random = new Random(seed);
+        String[] vocabulary = new String[20_000];
+        Random words = new Random(7);
+        for (int i = 0; i < vocabulary.length; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 2 + Math.min(10, (int) Math.round(Math.abs(words.nextGaussian()) * 4));
+            for (int c = 0; c < length; c++) {
+                word.append((char) ('a' + words.nextInt(26)));
+            }
+            vocabulary[i] = word.toString();
+        }
+        String[] technologies = {"Kotlin", "Java", "Spring Boot", "PostgreSQL", "Kafka", "Kubernetes", "React",
+                "TypeScript", "C++", "C#", "Go", "Python", "AWS", "Terraform"};
+        // Cumulative Zipf weights, s = 1
+        double[] cumulative = new double[vocabulary.length];
+        double total = 0;
+        for (int i = 0; i < vocabulary.length; i++) {
+            total += 1.0 / (i + 1);
+            cumulative[i] = total;
+        }
+
+        StringBuilder text = new StringBuilder(chars + 100);
+        int sentence = 0;
+        while (text.length() < chars) {
+            int length = 6 + random.nextInt(14);
+            for (int w = 0; w < length; w++) {
+                String word;
+                if (random.nextInt(25) == 0) {
+                    word = technologies[random.nextInt(technologies.length)];
+                } else {
+                    int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+                    word = vocabulary[index < 0 ? -index - 1 : index];
+                }
+                text.append(w == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word)
+                        .append(w == length - 1 ? ". " : " ");
+            }
+            if (++sentence % 5 == 0) {
+                text.append('\n');
+            }
+        }
+        return text.substring(0, chars);
+    }
+}
@@ -4,15 +4,21 @@ import {
   ActivityType,
   Application,
   ApplicationStatus,
+  BatchCall,
+  BatchResult,
   DashboardOverview,
   PaginatedResponse,
+  TimeSeries,
 } from '../types/application'
 
+// The columns list views render; the API returns every field unless asked for fewer
+const LIST_FIELDS = 'id,companyName,jobTitle,location,applicationDate,status,source'
+
 export const applicationService = {
   getApplications: (page = 0, size = 10, sortBy = 'applicationDate', sortDir = 'desc', search = '') => {
     const searchParam = search ? `&search=${encodeURIComponent(search)}` : ''
     return axios.get<PaginatedResponse<Application>>(
-      `/applications?page=${page}&size=${size}&sortBy=${sortBy}&sortDir=${sortDir}${searchParam}`
+      `/applications?page=${page}&size=${size}&sortBy=${sortBy}&sortDir=${sortDir}${searchParam}&fields=${LIST_FIELDS}`
     )
   },
 
@@ -50,7 +56,7 @@ export const dashboardService = {
   getOverview: () => axios.get<DashboardOverview>('/dashboard/overview'),
 
   getApplicationsPerWeek: (weeks = 12) =>
-    axios.get<Record<string, number>>(`/dashboard/applications-per-week?weeks=${weeks}`),
+    axios.get<TimeSeries>(`/dashboard/applications-per-week?weeks=${weeks}`),
 
   getRecentActivities: (limit = 10) =>
     axios.get(`/dashboard/recent-activities?limit=${limit}`),
@@ -58,4 +64,10 @@ export const dashboardService = {
   getStatusSummary: () => axios.get('/dashboard/analytics/status-summary'),
 }
 
+// Several calls in one round trip; results come back in call order, each with its own status
+export const batchService = {
+  send: (requests: BatchCall[]) =>
+    axios.post<{ responses: BatchResult[] }>('/batch', { requests }),
+}
+
 export { ActivityType, ApplicationStatus }
@@ -0,0 +1,98 @@
+import { apiConfig } from '@/auth/config'
+import { msalInstance } from '@/auth/msalInstance'
+
+export type ChangeNotification = {
+  entity: 'APPLICATION' | 'ACTIVITY' | 'ATTACHMENT'
+  action: 'CREATED' | 'UPDATED' | 'DELETED'
+  id: number
+  applicationId: number
+}
+
+export type ServerEvent =
+  | { type: 'change'; notification: ChangeNotification }
+  | { type: 'resync' }
+
+const MAX_RETRY_DELAY_MS = 30_000
+
+// EventSource cannot send an Authorization header, so the stream is read with fetch instead.
+const openStream = async (signal: AbortSignal) => {
+  const headers: Record<string, string> = { Accept: 'text/event-stream' }
+  const accounts = msalInstance.getAllAccounts()
+  if (accounts.length > 0) {
+    const response = await msalInstance.acquireTokenSilent({
+      scopes: apiConfig.scopes,
+      account: accounts[0],
+    })
+    headers.Authorization = `Bearer ${response.accessToken}`
+  }
+  const response = await fetch(`${apiConfig.uri}/events`, { headers, signal })
+  if (!response.ok || !response.body) {
+    throw new Error(`Event stream failed with status ${response.status}`)
+  }
+  return response.body.pipeThrough(new TextDecoderStream()).getReader()
+}
+
+const parseFrame = (frame: string): ServerEvent | null => {
+  let name = 'message'
+  const data: string[] = []
+  for (const line of frame.split('\n')) {
+    if (line.startsWith('event:')) {
+      name = line.slice(6).trim()
+    } else if (line.startsWith('data:')) {
+      data.push(line.slice(5).trimStart())
+    }
+  }
+  if (name === 'change' && data.length > 0) {
+    return { type: 'change', notification: JSON.parse(data.join('\n')) }
+  }
+  if (name === 'resync') {
+    return { type: 'resync' }
+  }
+  return null
+}
+
+/**
+ * Subscribes to the current user's change notifications. Reconnects with backoff
+ * and emits a resync after every reconnect, since events may have been missed.
+ * Returns a function that closes the stream.
+ */
+export const subscribeToChanges = (onEvent: (event: ServerEvent) => void) => {
+  const controller = new AbortController()
+
+  const run = async () => {
+    let retryDelay = 1_000
+    let connectedBefore = false
+    while (!controller.signal.aborted) {
+      try {
+        const reader = await openStream(controller.signal)
+        if (connectedBefore) {
+          onEvent({ type: 'resync' })
+        }
+        connectedBefore = true
+        retryDelay = 1_000
+
+        let buffer = ''
+        for (;;) {
+          const { value, done } = await reader.read()
+          if (done) break
+          buffer += value.replace(/\r\n/g, '\n')
+          let boundary = buffer.indexOf('\n\n')
+          while (boundary >= 0) {
+            const event = parseFrame(buffer.slice(0, boundary))
+            buffer = buffer.slice(boundary + 2)
+            if (event) onEvent(event)
+            boundary = buffer.indexOf('\n\n')
+          }
+        }
+      } catch (error) {
+        if (controller.signal.aborted) return
+        console.warn('Event stream disconnected:', error)
+      }
+      await new Promise((resolve) => setTimeout(resolve, retryDelay))
+      retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MS)
+    }
+  }
+
+  run()
+  return () => controller.abort()
+}
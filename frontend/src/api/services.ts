@@ -1,2 +1,2 @@
-export { applicationService, activityService, dashboardService } from './applicationService'
+export { applicationService, activityService, dashboardService, batchService } from './applicationService'
 export * from '../types/application'
@@ -1,12 +1,14 @@
 import { useState, useEffect } from 'react'
 import { dashboardService } from '@/api/applicationService'
+import { subscribeToChanges } from '@/api/events'
 import { BarChart, Bar, XAxis, YAxis, CartesianGrid, Tooltip, ResponsiveContainer, PieChart, Pie, Cell } from 'recharts'
 import { Briefcase, Calendar, TrendingUp, Activity } from 'lucide-react'
+import { TimeSeries } from '@/types/application'
 
 interface DashboardData {
   totalApplications: number
   applicationStatusBreakdown: Record<string, number>
-  weeklyApplications: Record<string, number>
+  weeklyApplications: TimeSeries
   recentActivities: Array<{
     id: number
     type: string
@@ -16,6 +18,8 @@ interface DashboardData {
   }>
 }
 
+const REFRESH_DEBOUNCE_MS = 500
+
 const COLORS = ['#3B82F6', '#10B981', '#F59E0B', '#EF4444', '#8B5CF6', '#EC4899']
 
 const Dashboard = () => {
@@ -23,19 +27,31 @@ const Dashboard = () => {
   const [loading, setLoading] = useState(true)
 
   useEffect(() => {
-    const fetchDashboardData = async () => {
+    const fetchDashboardData = async (showLoading: boolean) => {
       try {
-        setLoading(true)
+        if (showLoading) setLoading(true)
         const response = await dashboardService.getOverview()
         setDashboardData(response.data)
       } catch (error) {
         console.error('Failed to fetch dashboard data:', error)
       } finally {
-        setLoading(false)
+        if (showLoading) setLoading(false)
       }
     }
 
-    fetchDashboardData()
+    fetchDashboardData(true)
+
+    // Refetch only when the server reports a change, coalescing bursts of notifications.
+    let refreshTimer: ReturnType<typeof setTimeout> | undefined
+    const unsubscribe = subscribeToChanges(() => {
+      clearTimeout(refreshTimer)
+      refreshTimer = setTimeout(() => fetchDashboardData(false), REFRESH_DEBOUNCE_MS)
+    })
+
+    return () => {
+      clearTimeout(refreshTimer)
+      unsubscribe()
+    }
   }, [])
 
   if (loading) {
@@ -64,12 +80,11 @@ const Dashboard = () => {
     value: count,
   }))
 
-  const weeklyChartData = Object.entries(dashboardData.weeklyApplications)
-    .sort(([a], [b]) => a.localeCompare(b))
-    .map(([week, count]) => ({
-      week: new Date(week).toLocaleDateString('en-US', { month: 'short', day: 'numeric' }),
-      applications: count,
-    }))
+  const weeklyChartData = dashboardData.weeklyApplications.buckets.map((week, i) => ({
+    // Bucket starts are plain dates; parsed as UTC midnight, so format them in UTC too
+    week: new Date(week).toLocaleDateString('en-US', { month: 'short', day: 'numeric', timeZone: 'UTC' }),
+    applications: dashboardData.weeklyApplications.counts[i],
+  }))
 
   const statCards = [
     {
@@ -71,10 +71,21 @@ export interface PaginatedResponse<T> {
   number: number
 }
 
+// Oldest bucket first, empty buckets included: counts[i] belongs to the bucket starting on buckets[i]
+export interface TimeSeries {
+  series: 'applications' | 'activities'
+  activityType: ActivityType | null
+  granularity: 'DAY' | 'WEEK' | 'MONTH'
+  from: string
+  to: string
+  buckets: string[]
+  counts: number[]
+}
+
 export interface DashboardOverview {
   totalApplications: number
   applicationStatusBreakdown: Record<string, number>
-  weeklyApplications: Record<string, number>
+  weeklyApplications: TimeSeries
   recentActivities: Array<{
     id: number
     type: string
@@ -85,3 +96,16 @@ export interface DashboardOverview {
   totalActivities?: number
   totalAttachments?: number
 }
+
+export interface BatchCall {
+  id?: string
+  method: 'GET' | 'POST' | 'PUT' | 'DELETE'
+  path: string
+  body?: unknown
+}
+
+export interface BatchResult<T = unknown> {
+  id: string
+  status: number
+  body: T | null
+}